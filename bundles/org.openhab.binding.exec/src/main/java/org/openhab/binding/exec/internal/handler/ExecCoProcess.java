@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.exec.internal.handler;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ExecCoProcess} is a long-lived process that gets a request as a line on its stdin and answers with a
+ * line on its stdout. The answer is read with a blocking read by the thread that sends the request, so the process
+ * doesn't need a thread of its own while it is idle. A process that doesn't answer in time is terminated, which ends
+ * the read. The error output is collected and logged along with the requests.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ExecCoProcess {
+    private final Logger logger = LoggerFactory.getLogger(ExecCoProcess.class);
+    private final String[] cmdArray;
+    private final Process process;
+    private final InputStream output;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream error = new ByteArrayOutputStream();
+
+    public ExecCoProcess(String[] cmdArray) throws IOException {
+        this.cmdArray = cmdArray;
+        this.process = new ProcessBuilder(cmdArray).start();
+        this.output = new BufferedInputStream(process.getInputStream());
+        logger.debug("Started co-process '{}'", Arrays.asList(cmdArray));
+    }
+
+    /**
+     * Send a request to the process and wait for the answer
+     *
+     * @param request the request, a line break is added
+     * @param timeOut the maximum time to wait for the answer in ms
+     * @return the answer without the line break
+     * @throws IOException if the process has terminated or can't be written to
+     * @throws TimeoutException if the process didn't answer in time
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public synchronized String request(String request, int timeOut)
+            throws IOException, TimeoutException, InterruptedException {
+        try {
+            // discard anything the process wrote on its own since the last request
+            output.skipNBytes(output.available());
+            logError();
+
+            OutputStream stdin = process.getOutputStream();
+            stdin.write((request + "\n").getBytes(Charset.defaultCharset()));
+            stdin.flush();
+        } catch (IOException e) {
+            if (!process.isAlive()) {
+                throw new IOException("The process has terminated with exit value " + exitValue(), e);
+            }
+            throw e;
+        }
+
+        // terminates the process and its children if it doesn't answer in time, which ends the blocking read
+        CompletableFuture<Void> answered = new CompletableFuture<>();
+        answered.orTimeout(timeOut, TimeUnit.MILLISECONDS).exceptionally(e -> {
+            destroyForcibly(process);
+            return null;
+        });
+        @Nullable
+        String answer = null;
+        @Nullable
+        IOException readError = null;
+        try {
+            answer = readLine();
+            if (answer == null) {
+                // the process has closed its output, it is terminating or is terminated when the time is up
+                process.waitFor();
+            }
+        } catch (IOException e) {
+            readError = e;
+        } finally {
+            answered.complete(null);
+        }
+        logError();
+
+        if (answered.isCompletedExceptionally()) {
+            throw new TimeoutException("No answer from the process within " + timeOut + " ms");
+        } else if (readError != null) {
+            throw readError;
+        } else if (answer == null) {
+            throw new IOException("The process has terminated with exit value " + exitValue());
+        }
+        return answer;
+    }
+
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * @return the exit value of the process, or -1 if it is still running
+     */
+    public int exitValue() {
+        return process.isAlive() ? -1 : process.exitValue();
+    }
+
+    /**
+     * Stop the process by closing its stdin, and terminate it if it doesn't stop by itself
+     */
+    public void stop() {
+        try {
+            process.getOutputStream().close();
+            if (!process.waitFor(1, TimeUnit.SECONDS)) {
+                destroyForcibly(process);
+            }
+        } catch (IOException e) {
+            destroyForcibly(process);
+        } catch (InterruptedException e) {
+            destroyForcibly(process);
+            Thread.currentThread().interrupt();
+        }
+        logger.debug("Stopped co-process '{}'", Arrays.asList(cmdArray));
+    }
+
+    private void logError() {
+        try {
+            drain(process.getErrorStream(), error);
+        } catch (IOException e) {
+            // the stream is closed once the process has been terminated
+            logger.trace("Could not read the error output of the process: {}", e.getMessage());
+        }
+        if (error.size() > 0) {
+            logger.debug("Exec [{}]: '{}'", "ERROR", error.toString(Charset.defaultCharset()).stripTrailing());
+            error.reset();
+        }
+    }
+
+    /**
+     * Terminate a process together with the processes it has started, which could otherwise keep its output open and
+     * block a read of it
+     */
+    static void destroyForcibly(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    /**
+     * Read a line of the output, blocking until it is complete
+     *
+     * @return the line without the line break, or null if the output has ended
+     */
+    private @Nullable String readLine() throws IOException {
+        line.reset();
+        int b;
+        while ((b = output.read()) >= 0) {
+            if (b == '\n') {
+                String answer = line.toString(Charset.defaultCharset());
+                return answer.endsWith("\r") ? answer.substring(0, answer.length() - 1) : answer;
+            }
+            line.write(b);
+        }
+        return null;
+    }
+
+    /**
+     * Read what is available from a stream without blocking
+     */
+    private static void drain(InputStream in, ByteArrayOutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        while (in.available() > 0) {
+            int read = in.read(buffer, 0, Math.min(buffer.length, in.available()));
+            if (read < 0) {
+                return;
+            }
+            out.write(buffer, 0, read);
+        }
+    }
+}
@@ -14,18 +14,22 @@ package org.openhab.binding.exec.internal.handler;
 
 import static org.openhab.binding.exec.internal.ExecBindingConstants.*;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.nio.charset.Charset;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.IllegalFormatException;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -33,6 +37,7 @@ import java.util.regex.PatternSyntaxException;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.exec.internal.ExecWhitelistWatchService;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.OnOffType;
@@ -84,12 +89,28 @@ public class ExecHandler extends BaseThingHandler {
     public static final String COMMAND = "command";
     public static final String TRANSFORM = "transform";
     public static final String AUTORUN = "autorun";
+    public static final String PERSISTENT = "persistent";
+    public static final String REQUEST = "request";
+
+    /**
+     * Commands are executed on a pool of their own instead of the shared scheduler, so long-running commands don't
+     * block other things. The size of the pool can be configured like other openHAB thread pools.
+     */
+    private static final String LAUNCHER_POOL_NAME = "exec";
 
     // RegEx to extract a parse a function String <code>'(.*?)\((.*)\)'</code>
     private static final Pattern EXTRACT_FUNCTION_PATTERN = Pattern.compile("(.*?)\\((.*)\\)");
 
     private @Nullable ScheduledFuture<?> executionJob;
     private @Nullable String lastInput;
+    // the co-process is only started and replaced while holding the lock, so none is started after dispose
+    private final Object coProcessLock = new Object();
+    private @Nullable ExecCoProcess coProcess;
+    private boolean disposed;
+
+    private final ExecutorService launcherPool = ThreadPoolManager.getPool(LAUNCHER_POOL_NAME);
+    private final AtomicBoolean executionPending = new AtomicBoolean();
+    private final AtomicBoolean executing = new AtomicBoolean();
 
     private static Runtime rt = Runtime.getRuntime();
 
@@ -107,7 +128,7 @@ public class ExecHandler extends BaseThingHandler {
             if (channelUID.getId().equals(RUN)) {
                 if (command instanceof OnOffType) {
                     if (command == OnOffType.ON) {
-                        scheduler.schedule(this::execute, 0, TimeUnit.SECONDS);
+                        submitExecution();
                     }
                 }
             } else if (channelUID.getId().equals(INPUT)) {
@@ -118,7 +139,7 @@ public class ExecHandler extends BaseThingHandler {
                         if (getConfig().get(AUTORUN) != null && ((Boolean) getConfig().get(AUTORUN))) {
                             logger.trace("Executing command '{}' after a change of the input channel to '{}'",
                                     getConfig().get(COMMAND), lastInput);
-                            scheduler.schedule(this::execute, 0, TimeUnit.SECONDS);
+                            submitExecution();
                         }
                     }
                 }
@@ -128,10 +149,14 @@ public class ExecHandler extends BaseThingHandler {
 
     @Override
     public void initialize() {
+        synchronized (coProcessLock) {
+            disposed = false;
+        }
         if (executionJob == null || executionJob.isCancelled()) {
             if ((getConfig().get(INTERVAL)) != null && ((BigDecimal) getConfig().get(INTERVAL)).intValue() > 0) {
                 int pollingInterval = ((BigDecimal) getConfig().get(INTERVAL)).intValue();
-                executionJob = scheduler.scheduleWithFixedDelay(this::execute, 0, pollingInterval, TimeUnit.SECONDS);
+                executionJob = scheduler.scheduleWithFixedDelay(this::submitExecution, 0, pollingInterval,
+                        TimeUnit.SECONDS);
             }
         }
 
@@ -144,6 +169,55 @@ public class ExecHandler extends BaseThingHandler {
             executionJob.cancel(true);
             executionJob = null;
         }
+        @Nullable
+        ExecCoProcess coProcess;
+        synchronized (coProcessLock) {
+            disposed = true;
+            coProcess = this.coProcess;
+            this.coProcess = null;
+        }
+        if (coProcess != null) {
+            coProcess.stop();
+        }
+    }
+
+    /**
+     * Run the command on the launcher pool. The thing executes one command at a time, a request while the command is
+     * running executes it once more afterwards, with the input at that time.
+     */
+    private void submitExecution() {
+        if (executionPending.getAndSet(true)) {
+            // the pending execution uses the latest input
+            return;
+        }
+        if (executing.compareAndSet(false, true)) {
+            launch();
+        }
+    }
+
+    private void launch() {
+        try {
+            launcherPool.execute(this::executePending);
+        } catch (RejectedExecutionException e) {
+            // the request is dropped, the next one has to launch again
+            executionPending.set(false);
+            executing.set(false);
+            logger.debug("Unable to execute command of thing {}: {}", getThing().getUID(), e.getMessage());
+        }
+    }
+
+    private void executePending() {
+        try {
+            while (executionPending.getAndSet(false)) {
+                execute();
+            }
+        } finally {
+            executing.set(false);
+        }
+        if (executionPending.get() && executing.compareAndSet(false, true)) {
+            // requested after the loop has ended
+            launch();
+        }
     }
 
     public void execute() {
@@ -161,14 +235,17 @@ public class ExecHandler extends BaseThingHandler {
         if (commandLine != null && !commandLine.isEmpty()) {
             updateState(RUN, OnOffType.ON);
 
+            if (getConfig().get(PERSISTENT) != null && ((Boolean) getConfig().get(PERSISTENT))) {
+                executeCoProcess(commandLine, timeOut);
+                return;
+            }
+
             // For some obscure reason, when using Apache Common Exec, or using a straight implementation of
             // Runtime.Exec(), on Mac OS X (Yosemite and El Capitan), there seems to be a lock race condition
             // randomly appearing (on UNIXProcess) *when* one tries to gobble up the stdout and sterr output of the
             // subprocess in separate threads. It seems to be common "wisdom" to do that in separate threads, but
             // only when keeping everything between .exec() and .waitfor() in the same thread, this lock race
-            // condition seems to go away. This approach of not reading the outputs in separate threads *might* be a
-            // problem for external commands that generate a lot of output, but this will be dependent on the limits
-            // of the underlying operating system.
+            // condition seems to go away. The outputs are therefore read by the thread that waits for the process.
 
             Date date = Calendar.getInstance().getTime();
             try {
@@ -186,47 +263,8 @@ public class ExecHandler extends BaseThingHandler {
                 return;
             }
 
-            String[] cmdArray;
-            String[] shell;
-            if (commandLine.contains(CMD_LINE_DELIMITER)) {
-                logger.debug("Splitting by '{}'", CMD_LINE_DELIMITER);
-                try {
-                    cmdArray = commandLine.split(CMD_LINE_DELIMITER);
-                } catch (PatternSyntaxException e) {
-                    logger.warn("An exception occurred while splitting '{}' : '{}'", commandLine, e.getMessage());
-                    updateState(RUN, OnOffType.OFF);
-                    updateState(OUTPUT, new StringType(e.getMessage()));
-                    return;
-                }
-            } else {
-                // Invoke shell with 'c' option and pass string
-                logger.debug("Passing to shell for parsing command.");
-                switch (getOperatingSystemType()) {
-                    case WINDOWS:
-                        shell = SHELL_WINDOWS;
-                        logger.debug("OS: WINDOWS ({})", getOperatingSystemName());
-                        cmdArray = createCmdArray(shell, "/c", commandLine);
-                        break;
-                    case LINUX:
-                    case MAC:
-                    case BSD:
-                    case SOLARIS:
-                        // assume sh is present, should all be POSIX-compliant
-                        shell = SHELL_NIX;
-                        logger.debug("OS: *NIX ({})", getOperatingSystemName());
-                        cmdArray = createCmdArray(shell, "-c", commandLine);
-                        break;
-                    default:
-                        logger.debug("OS: Unknown ({})", getOperatingSystemName());
-                        logger.warn("OS {} not supported, please manually split commands!", getOperatingSystemName());
-                        updateState(RUN, OnOffType.OFF);
-                        updateState(OUTPUT, new StringType("OS not supported, please manually split commands!"));
-                        return;
-                }
-            }
-
-            if (cmdArray.length == 0) {
-                logger.trace("Empty command received, not executing");
+            String[] cmdArray = toCmdArray(commandLine);
+            if (cmdArray == null) {
                 return;
             }
 
@@ -243,65 +281,191 @@ public class ExecHandler extends BaseThingHandler {
                 return;
             }
 
-            StringBuilder outputBuilder = new StringBuilder();
-            StringBuilder errorBuilder = new StringBuilder();
-
-            try (InputStreamReader isr = new InputStreamReader(proc.getInputStream());
-                    BufferedReader br = new BufferedReader(isr)) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    outputBuilder.append(line).append("\n");
-                    logger.debug("Exec [{}]: '{}'", "OUTPUT", line);
-                }
-            } catch (IOException e) {
-                logger.warn("An exception occurred while reading the stdout when executing '{}' : '{}'", commandLine,
-                        e.getMessage());
-            }
-
-            try (InputStreamReader isr = new InputStreamReader(proc.getErrorStream());
-                    BufferedReader br = new BufferedReader(isr)) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    errorBuilder.append(line).append("\n");
-                    logger.debug("Exec [{}]: '{}'", "ERROR", line);
-                }
-            } catch (IOException e) {
-                logger.warn("An exception occurred while reading the stderr when executing '{}' : '{}'", commandLine,
-                        e.getMessage());
-            }
-
+            // Both outputs are read with blocking reads by this thread. A process that doesn't terminate in time is
+            // terminated when the time is up, which ends the reads.
+            CompletableFuture<Process> exit = proc.onExit();
+            exit.orTimeout(timeOut, TimeUnit.MILLISECONDS).exceptionally(e -> {
+                ExecCoProcess.destroyForcibly(proc);
+                return proc;
+            });
+            byte[] output = new byte[0];
+            byte[] error = new byte[0];
             boolean exitVal = false;
             try {
-                exitVal = proc.waitFor(timeOut, TimeUnit.MILLISECONDS);
+                output = proc.getInputStream().readAllBytes();
+                error = proc.getErrorStream().readAllBytes();
+                proc.waitFor();
+                exitVal = !exit.isCompletedExceptionally();
+            } catch (IOException e) {
+                logger.warn("An exception occurred while reading the output when executing '{}' : '{}'", commandLine,
+                        e.getMessage());
             } catch (InterruptedException e) {
                 logger.warn("An exception occurred while waiting for the process ('{}') to finish : '{}'", commandLine,
                         e.getMessage());
+                Thread.currentThread().interrupt();
             }
 
             if (!exitVal) {
                 logger.warn("Forcibly termininating the process ('{}') after a timeout of {} ms", commandLine, timeOut);
-                proc.destroyForcibly();
+                ExecCoProcess.destroyForcibly(proc);
             }
 
             updateState(RUN, OnOffType.OFF);
             updateState(EXIT, new DecimalType(proc.exitValue()));
 
-            outputBuilder.append(errorBuilder.toString());
+            StringBuilder outputBuilder = new StringBuilder(toLines(output, "OUTPUT"));
+            String errorLines = toLines(error, "ERROR");
 
-            outputBuilder.append(errorBuilder.toString());
+            outputBuilder.append(errorLines);
 
-            String transformedResponse = Objects.requireNonNull(StringUtils.chomp(outputBuilder.toString()));
-            String transformation = (String) getConfig().get(TRANSFORM);
+            outputBuilder.append(errorLines);
 
-            if (transformation != null && transformation.length() > 0) {
-                transformedResponse = transformResponse(transformedResponse, transformation);
+            updateOutput(Objects.requireNonNull(StringUtils.chomp(outputBuilder.toString())));
+        }
+    }
+
+    /**
+     * Send the request to the co-process and use the answer as output. The co-process is started on the first request
+     * and restarted if it has terminated.
+     */
+    private void executeCoProcess(String commandLine, int timeOut) {
+        String request = (String) getConfig().get(REQUEST);
+        Date date = Calendar.getInstance().getTime();
+        try {
+            request = String.format(request != null ? request : "%2$s", date, lastInput != null ? lastInput : "");
+        } catch (IllegalFormatException e) {
+            logger.warn(
+                    "An exception occurred while formatting the request '{}' with the current time '{}' and input value '{}': {}",
+                    request, date, lastInput, e.getMessage());
+            updateState(RUN, OnOffType.OFF);
+            updateState(OUTPUT, new StringType(e.getMessage()));
+            return;
+        }
+
+        @Nullable
+        ExecCoProcess coProcess = null;
+        try {
+            synchronized (coProcessLock) {
+                if (disposed) {
+                    return;
+                }
+                coProcess = this.coProcess;
+                if (coProcess == null || !coProcess.isAlive()) {
+                    if (coProcess != null) {
+                        logger.debug("Restarting co-process '{}', it has terminated with exit value {}",
+                                commandLine, coProcess.exitValue());
+                    }
+                    String[] cmdArray = toCmdArray(commandLine);
+                    if (cmdArray == null) {
+                        return;
+                    }
+                    coProcess = new ExecCoProcess(cmdArray);
+                    this.coProcess = coProcess;
+                }
+            }
+            String response = coProcess.request(request, timeOut);
+            logger.debug("Exec [{}]: '{}'", "OUTPUT", response);
+            updateState(RUN, OnOffType.OFF);
+            updateOutput(response);
+        } catch (IOException e) {
+            logger.warn("An exception occurred while sending '{}' to '{}' : '{}'", request, commandLine,
+                    e.getMessage());
+            updateState(RUN, OnOffType.OFF);
+            if (coProcess != null && !coProcess.isAlive()) {
+                updateState(EXIT, new DecimalType(coProcess.exitValue()));
+            }
+            updateState(OUTPUT, new StringType(e.getMessage()));
+        } catch (TimeoutException e) {
+            // a late answer would be taken for the answer to the next request
+            logger.warn("Forcibly termininating the process ('{}') after a timeout of {} ms", commandLine, timeOut);
+            if (coProcess != null) {
+                coProcess.stop();
             }
+            synchronized (coProcessLock) {
+                if (this.coProcess == coProcess) {
+                    this.coProcess = null;
+                }
+            }
+            updateState(RUN, OnOffType.OFF);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            updateState(RUN, OnOffType.OFF);
+        }
+    }
+
+    private void updateOutput(String response) {
+        String transformedResponse = response;
+        String transformation = (String) getConfig().get(TRANSFORM);
+
+        if (transformation != null && transformation.length() > 0) {
+            transformedResponse = transformResponse(transformedResponse, transformation);
+        }
 
-            updateState(OUTPUT, new StringType(transformedResponse));
+        updateState(OUTPUT, new StringType(transformedResponse));
+
+        DateTimeType stampType = new DateTimeType(ZonedDateTime.now());
+        updateState(LAST_EXECUTION, stampType);
+    }
+
+    private String toLines(byte[] output, String type) {
+        StringBuilder lines = new StringBuilder();
+        new String(output, Charset.defaultCharset()).lines().forEach(line -> {
+            lines.append(line).append("\n");
+            logger.debug("Exec [{}]: '{}'", type, line);
+        });
+        return lines.toString();
+    }
+
+    /**
+     * Split the command line or pass it to the shell
+     *
+     * @return the command array, or null if the command can't be executed
+     */
+    private String @Nullable [] toCmdArray(String commandLine) {
+        String[] cmdArray;
+        String[] shell;
+        if (commandLine.contains(CMD_LINE_DELIMITER)) {
+            logger.debug("Splitting by '{}'", CMD_LINE_DELIMITER);
+            try {
+                cmdArray = commandLine.split(CMD_LINE_DELIMITER);
+            } catch (PatternSyntaxException e) {
+                logger.warn("An exception occurred while splitting '{}' : '{}'", commandLine, e.getMessage());
+                updateState(RUN, OnOffType.OFF);
+                updateState(OUTPUT, new StringType(e.getMessage()));
+                return null;
+            }
+        } else {
+            // Invoke shell with 'c' option and pass string
+            logger.debug("Passing to shell for parsing command.");
+            switch (getOperatingSystemType()) {
+                case WINDOWS:
+                    shell = SHELL_WINDOWS;
+                    logger.debug("OS: WINDOWS ({})", getOperatingSystemName());
+                    cmdArray = createCmdArray(shell, "/c", commandLine);
+                    break;
+                case LINUX:
+                case MAC:
+                case BSD:
+                case SOLARIS:
+                    // assume sh is present, should all be POSIX-compliant
+                    shell = SHELL_NIX;
+                    logger.debug("OS: *NIX ({})", getOperatingSystemName());
+                    cmdArray = createCmdArray(shell, "-c", commandLine);
+                    break;
+                default:
+                    logger.debug("OS: Unknown ({})", getOperatingSystemName());
+                    logger.warn("OS {} not supported, please manually split commands!", getOperatingSystemName());
+                    updateState(RUN, OnOffType.OFF);
+                    updateState(OUTPUT, new StringType("OS not supported, please manually split commands!"));
+                    return null;
+            }
+        }
 
-            DateTimeType stampType = new DateTimeType(ZonedDateTime.now());
-            updateState(LAST_EXECUTION, stampType);
+        if (cmdArray.length == 0) {
+            logger.trace("Empty command received, not executing");
+            return null;
         }
+        return cmdArray;
     }
 
     protected @Nullable String transformResponse(String response, String transformation) {
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.exec.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+/**
+ * Tests for {@link ExecCoProcess}, with processes started by the shell.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+@DisabledOnOs(OS.WINDOWS)
+public class ExecCoProcessTest {
+    private static final int TIMEOUT_MS = 5000;
+
+    private @NonNullByDefault({}) ExecCoProcess subject;
+
+    @AfterEach
+    public void tearDown() {
+        if (subject != null) {
+            subject.stop();
+        }
+    }
+
+    @Test
+    public void requestIsAnswered() throws Exception {
+        subject = new ExecCoProcess(new String[] { "cat" });
+
+        assertTrue(subject.isAlive());
+        assertEquals(-1, subject.exitValue());
+        assertEquals("first", subject.request("first", TIMEOUT_MS));
+    }
+
+    @Test
+    public void processAnswersManyRequests() throws Exception {
+        subject = new ExecCoProcess(new String[] { "cat" });
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("request " + i, subject.request("request " + i, TIMEOUT_MS));
+        }
+        assertTrue(subject.isAlive());
+    }
+
+    @Test
+    public void errorOutputIsNoAnswer() throws Exception {
+        subject = new ExecCoProcess(
+                new String[] { "sh", "-c", "while read line; do echo \"failed\" >&2; echo \"$line\"; done" });
+
+        assertEquals("answer", subject.request("answer", TIMEOUT_MS));
+    }
+
+    @Test
+    public void terminatedProcessFailsRequest() throws Exception {
+        subject = new ExecCoProcess(new String[] { "sh", "-c", "read line; echo \"$line\"; exit 3" });
+
+        assertEquals("once", subject.request("once", TIMEOUT_MS));
+        assertThrows(IOException.class, () -> subject.request("twice", TIMEOUT_MS));
+        assertFalse(subject.isAlive());
+        assertEquals(3, subject.exitValue());
+    }
+
+    @Test
+    public void processCanBeRestartedAfterExit() throws Exception {
+        String[] cmdArray = new String[] { "sh", "-c", "read line; echo \"$line\"" };
+        subject = new ExecCoProcess(cmdArray);
+        assertEquals("first", subject.request("first", TIMEOUT_MS));
+        subject.stop();
+        assertFalse(subject.isAlive());
+
+        // the handler starts a new process for the next request
+        subject = new ExecCoProcess(cmdArray);
+        assertEquals("second", subject.request("second", TIMEOUT_MS));
+    }
+
+    @Test
+    public void missingAnswerTimesOut() throws Exception {
+        subject = new ExecCoProcess(new String[] { "sh", "-c", "read line; sleep 10" });
+
+        // the sleep started by the shell is terminated with it, so it doesn't keep the read blocked
+        assertTimeout(Duration.ofMillis(TIMEOUT_MS),
+                () -> assertThrows(TimeoutException.class, () -> subject.request("request", 200)));
+        assertFalse(subject.isAlive());
+    }
+}
@@ -20,6 +20,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.openhab.binding.http.internal.http.UrlCacheRegistry;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.io.net.http.HttpClientFactory;
 import org.openhab.core.thing.Thing;
@@ -51,11 +52,12 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory implements HttpC
 
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
     private final TimeZoneProvider timeZoneProvider;
+    private final UrlCacheRegistry urlCacheRegistry;
 
     @Activate
     public HttpHandlerFactory(@Reference HttpClientFactory httpClientFactory,
             @Reference HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
-            @Reference TimeZoneProvider timeZoneProvider) {
+            @Reference TimeZoneProvider timeZoneProvider, @Reference UrlCacheRegistry urlCacheRegistry) {
         this.secureClient = new HttpClient(new SslContextFactory.Client());
         this.insecureClient = new HttpClient(new SslContextFactory.Client(true));
         // clear user agent, this needs to be set later in the thing configuration as additional header
@@ -71,6 +73,7 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory implements HttpC
         }
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
         this.timeZoneProvider = timeZoneProvider;
+        this.urlCacheRegistry = urlCacheRegistry;
     }
 
     @Deactivate
@@ -94,7 +97,8 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory implements HttpC
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (THING_TYPE_URL.equals(thingTypeUID)) {
-            return new HttpThingHandler(thing, this, httpDynamicStateDescriptionProvider, timeZoneProvider);
+            return new HttpThingHandler(thing, this, httpDynamicStateDescriptionProvider, timeZoneProvider,
+                    urlCacheRegistry);
         }
 
         return null;
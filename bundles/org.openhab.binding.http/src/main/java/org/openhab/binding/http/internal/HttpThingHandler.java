@@ -44,6 +44,7 @@ import org.openhab.binding.http.internal.http.HttpResponseListener;
 import org.openhab.binding.http.internal.http.HttpStatusListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
 import org.openhab.binding.http.internal.http.RefreshingUrlCache;
+import org.openhab.binding.http.internal.http.UrlCacheRegistry;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.PointType;
@@ -90,6 +91,7 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
     private final RateLimitedHttpClient rateLimitedHttpClient;
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
     private final TimeZoneProvider timeZoneProvider;
+    private final UrlCacheRegistry urlCacheRegistry;
 
     private HttpThingConfig config = new HttpThingConfig();
     private final Map<String, RefreshingUrlCache> urlHandlers = new HashMap<>();
@@ -98,12 +100,13 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
             HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
-            TimeZoneProvider timeZoneProvider) {
+            TimeZoneProvider timeZoneProvider, UrlCacheRegistry urlCacheRegistry) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
         this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClientProvider.getSecureClient(), scheduler);
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
         this.timeZoneProvider = timeZoneProvider;
+        this.urlCacheRegistry = urlCacheRegistry;
     }
 
     @Override
@@ -334,7 +337,7 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
             channelUrls.put(channelUID, key);
             Objects.requireNonNull(
                     urlHandlers.computeIfAbsent(key,
-                            k -> new RefreshingUrlCache(rateLimitedHttpClient, stateUrl, config,
+                            k -> new RefreshingUrlCache(urlCacheRegistry, rateLimitedHttpClient, stateUrl, config,
                                     channelConfig.stateContent, config.contentType, this)))
                     .addConsumer(itemValueConverter::process);
         }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.console;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.http.internal.http.SharedUrlCache;
+import org.openhab.binding.http.internal.http.UrlCacheRegistry;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link HttpCommandExtension} is responsible for handling console commands
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class HttpCommandExtension extends AbstractConsoleCommandExtension {
+    private static final String CACHE = "cache";
+
+    private final UrlCacheRegistry urlCacheRegistry;
+
+    @Activate
+    public HttpCommandExtension(final @Reference UrlCacheRegistry urlCacheRegistry) {
+        super("http", "Interact with the HTTP binding");
+        this.urlCacheRegistry = urlCacheRegistry;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length != 1 || !CACHE.equals(args[0])) {
+            printUsage(console);
+            return;
+        }
+
+        List<SharedUrlCache> caches = urlCacheRegistry.getCaches();
+        if (caches.isEmpty()) {
+            console.println("No active requests");
+            return;
+        }
+        long requests = 0;
+        long requestsSaved = 0;
+        long bytesReceived = 0;
+        for (SharedUrlCache cache : caches) {
+            console.printf("%s%n", cache.getKey());
+            console.printf("    things: %d, refresh: %ds, requests: %d, saved by sharing: %d%n",
+                    cache.getSubscriberCount(), cache.getRefreshTime(), cache.getRequests(), cache.getRequestsSaved());
+            console.printf("    not modified: %d, unchanged content: %d, bytes received: %d%n", cache.getNotModified(),
+                    cache.getUnchanged(), cache.getBytesReceived());
+            requests += cache.getRequests();
+            requestsSaved += cache.getRequestsSaved();
+            bytesReceived += cache.getBytesReceived();
+        }
+        console.printf("Total: %d requests, %d saved by sharing, %d bytes received%n", requests, requestsSaved,
+                bytesReceived);
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CACHE, "list the shared requests with their statistics"));
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link HttpNotModifiedException} signals that the content has not changed since the last request
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class HttpNotModifiedException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public HttpNotModifiedException() {
+        super();
+    }
+}
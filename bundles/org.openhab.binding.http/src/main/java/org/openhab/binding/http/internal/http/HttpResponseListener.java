@@ -87,6 +87,11 @@ public class HttpResponseListener extends BufferingResponseListener {
                     }
                     httpStatusListener.onHttpSuccess();
                     break;
+                case HttpStatus.NOT_MODIFIED_304:
+                    // answer to a conditional request, the content is still the same
+                    future.completeExceptionally(new HttpNotModifiedException());
+                    httpStatusListener.onHttpSuccess();
+                    break;
                 case HttpStatus.UNAUTHORIZED_401:
                     logger.debug("Requesting '{}' (method='{}', content='{}') failed: Authorization error",
                             request.getURI(), request.getMethod(), request.getContent());
@@ -0,0 +1,334 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
+import org.openhab.binding.http.internal.Util;
+import org.openhab.binding.http.internal.config.HttpAuthMode;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SharedUrlCache} is responsible for requesting from a single URL for all {@link RefreshingUrlCache}s with
+ * the same request and passing the content to them. The request is conditional if the server sent an ETag or a
+ * modification date with the last response, and the content is compared to the last content to detect changes.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class SharedUrlCache implements HttpStatusListener {
+    private final Logger logger = LoggerFactory.getLogger(SharedUrlCache.class);
+
+    private final Key key;
+    private final List<RefreshingUrlCache> subscribers = new CopyOnWriteArrayList<>();
+
+    private @Nullable ScheduledExecutorService executor;
+    private @Nullable ScheduledFuture<?> future;
+    private @Nullable ScheduledFuture<?> initialRefresh;
+    private int refreshTime;
+
+    private @Nullable ChannelHandlerContent lastContent;
+    private @Nullable URI lastUri;
+    private @Nullable String lastETag;
+    private @Nullable String lastModified;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong requestsSaved = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    /**
+     * The parts of the thing configuration that influence the request, only requests with the same key share a cache
+     */
+    public record Key(String url, HttpMethod method, Map<String, String> headers, String content,
+            @Nullable String contentType, String username, String password, HttpAuthMode authMode,
+            boolean ignoreSSLErrors, int timeout, int bufferSize, @Nullable String encoding) {
+
+        public static Key of(String url, HttpThingConfig thingConfig, String content, @Nullable String contentType) {
+            return new Key(url, thingConfig.stateMethod, thingConfig.getHeaders(), content, contentType,
+                    thingConfig.username, thingConfig.password, thingConfig.authMode, thingConfig.ignoreSSLErrors,
+                    thingConfig.timeout, thingConfig.bufferSize, thingConfig.encoding);
+        }
+
+        @Override
+        public String toString() {
+            // don't leak credentials
+            return method + " " + url;
+        }
+    }
+
+    public SharedUrlCache(Key key) {
+        this.key = key;
+    }
+
+    /**
+     * Add a subscriber and start (or speed up) the refresh task if necessary
+     *
+     * @param subscriber the subscriber
+     * @param executor the executor for the refresh task
+     */
+    synchronized void subscribe(RefreshingUrlCache subscriber, ScheduledExecutorService executor) {
+        subscribers.add(subscriber);
+        this.executor = executor;
+        reschedule(executor, true);
+    }
+
+    /**
+     * Remove a subscriber
+     *
+     * @param subscriber the subscriber
+     * @return true if this was the last subscriber and the refresh task was stopped
+     */
+    synchronized boolean unsubscribe(RefreshingUrlCache subscriber) {
+        subscribers.remove(subscriber);
+        ScheduledExecutorService executor = this.executor;
+        if (subscribers.isEmpty() || executor == null) {
+            cancel(initialRefresh, true);
+            initialRefresh = null;
+            cancel(future, true);
+            future = null;
+            logger.trace("Stopped refresh task for URL '{}'", key.url());
+            return true;
+        }
+        reschedule(executor, false);
+        return false;
+    }
+
+    private void reschedule(ScheduledExecutorService executor, boolean newSubscriber) {
+        // the shortest refresh time of all subscribers is used
+        int refreshTime = subscribers.stream().mapToInt(RefreshingUrlCache::getRefreshTime).min().orElse(1);
+        ScheduledFuture<?> future = this.future;
+        if (future == null || refreshTime != this.refreshTime) {
+            cancel(future, false);
+            this.refreshTime = refreshTime;
+            this.future = executor.scheduleWithFixedDelay(this::refresh, 1, refreshTime, TimeUnit.SECONDS);
+            logger.trace("Started refresh task for URL '{}' with interval {}s", key.url(), refreshTime);
+        } else if (newSubscriber && future.getDelay(TimeUnit.SECONDS) > 1) {
+            // don't let the new subscriber wait for the next refresh, subscribers starting together share this one
+            ScheduledFuture<?> initialRefresh = this.initialRefresh;
+            if (initialRefresh == null || initialRefresh.isDone()) {
+                this.initialRefresh = executor.schedule(this::refresh, 1, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static void cancel(@Nullable ScheduledFuture<?> future, boolean mayInterrupt) {
+        if (future != null) {
+            future.cancel(mayInterrupt);
+        }
+    }
+
+    private void refresh() {
+        refresh(false);
+    }
+
+    private void refresh(boolean isRetry) {
+        Iterator<RefreshingUrlCache> iterator = subscribers.iterator();
+        if (!iterator.hasNext()) {
+            // do not refresh if we don't have listeners
+            return;
+        }
+        // the request is sent with the HTTP client (authentication, rate limit) of the first subscriber
+        RateLimitedHttpClient httpClient = iterator.next().getHttpClient();
+        if (!isRetry) {
+            requests.incrementAndGet();
+            requestsSaved.addAndGet(subscribers.size() - 1);
+        }
+
+        // format URL
+        try {
+            URI uri = Util.uriFromString(String.format(key.url(), new Date()));
+            logger.trace("Requesting refresh (retry={}) from '{}' with timeout {}ms", isRetry, uri, key.timeout());
+
+            httpClient.newRequest(uri, key.method(), key.content(), key.contentType()).thenAccept(request -> {
+                request.timeout(key.timeout(), TimeUnit.MILLISECONDS);
+                key.headers().forEach(request::header);
+                addConditions(request, uri);
+                request.onResponseHeaders(response -> storeConditions(response, uri));
+
+                CompletableFuture<@Nullable ChannelHandlerContent> responseContentFuture = new CompletableFuture<>();
+                responseContentFuture.exceptionally(t -> {
+                    if (t instanceof HttpNotModifiedException) {
+                        notModified.incrementAndGet();
+                        return getLastContent();
+                    } else if (t instanceof HttpAuthException) {
+                        if (isRetry || !httpClient.reAuth(uri)) {
+                            logger.debug("Authentication failed for '{}', retry={}", uri, isRetry);
+                            onHttpError("Authentication failed");
+                        } else {
+                            refresh(true);
+                        }
+                    }
+                    return null;
+                }).thenAccept(this::processResult);
+
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
+                }
+
+                request.send(new HttpResponseListener(responseContentFuture, key.encoding(), key.bufferSize(), this));
+            }).exceptionally(e -> {
+                if (e instanceof CancellationException) {
+                    logger.debug("Request to URL {} was cancelled by thing handler.", uri);
+                } else {
+                    logger.warn("Request to URL {} failed: {}", uri, e.getMessage());
+                }
+                return null;
+            });
+        } catch (IllegalArgumentException | URISyntaxException | MalformedURLException e) {
+            logger.warn("Creating request for '{}' failed: {}", key.url(), e.getMessage());
+        }
+    }
+
+    /**
+     * Make the request conditional, if the last response for the same URI had an ETag or modification date
+     */
+    private synchronized void addConditions(Request request, URI uri) {
+        if (key.method() != HttpMethod.GET || lastContent == null || !uri.equals(lastUri)) {
+            return;
+        }
+        String eTag = lastETag;
+        if (eTag != null) {
+            request.header(HttpHeader.IF_NONE_MATCH, eTag);
+        }
+        String modified = lastModified;
+        if (modified != null) {
+            request.header(HttpHeader.IF_MODIFIED_SINCE, modified);
+        }
+    }
+
+    private synchronized void storeConditions(Response response, URI uri) {
+        if (response.getStatus() == HttpStatus.OK_200) {
+            lastUri = uri;
+            lastETag = response.getHeaders().get(HttpHeader.ETAG);
+            lastModified = response.getHeaders().get(HttpHeader.LAST_MODIFIED);
+        }
+    }
+
+    private void processResult(@Nullable ChannelHandlerContent content) {
+        boolean changed;
+        synchronized (this) {
+            ChannelHandlerContent lastContent = this.lastContent;
+            if (content == null) {
+                // nothing to compare the next response with
+                changed = true;
+                lastUri = null;
+            } else if (content == lastContent) {
+                // not modified
+                changed = false;
+            } else {
+                bytesReceived.addAndGet(content.getRawContent().length);
+                changed = lastContent == null || !isSameContent(lastContent, content);
+                if (!changed) {
+                    unchanged.incrementAndGet();
+                }
+            }
+            this.lastContent = content;
+        }
+        for (RefreshingUrlCache subscriber : subscribers) {
+            subscriber.process(content, changed);
+        }
+    }
+
+    private static boolean isSameContent(ChannelHandlerContent content1, ChannelHandlerContent content2) {
+        return Arrays.equals(content1.getRawContent(), content2.getRawContent())
+                && Objects.equals(content1.getMediaType(), content2.getMediaType());
+    }
+
+    public synchronized @Nullable ChannelHandlerContent getLastContent() {
+        return lastContent;
+    }
+
+    @Override
+    public void onHttpError(@Nullable String message) {
+        subscribers.forEach(subscriber -> subscriber.getHttpStatusListener().onHttpError(message));
+    }
+
+    @Override
+    public void onHttpSuccess() {
+        subscribers.forEach(subscriber -> subscriber.getHttpStatusListener().onHttpSuccess());
+    }
+
+    public Key getKey() {
+        return key;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public synchronized int getRefreshTime() {
+        return refreshTime;
+    }
+
+    /**
+     * @return the number of requests that have been sent
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return the number of requests that would have been sent without sharing the cache
+     */
+    public long getRequestsSaved() {
+        return requestsSaved.get();
+    }
+
+    /**
+     * @return the number of conditional requests that were answered with 304 Not Modified
+     */
+    public long getNotModified() {
+        return notModified.get();
+    }
+
+    /**
+     * @return the number of responses with the same content as the previous response
+     */
+    public long getUnchanged() {
+        return unchanged.get();
+    }
+
+    /**
+     * @return the number of content bytes that have been received (after decompression)
+     */
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+}
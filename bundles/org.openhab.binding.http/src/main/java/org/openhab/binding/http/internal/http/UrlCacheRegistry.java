@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.http.internal.http.SharedUrlCache.Key;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * The {@link UrlCacheRegistry} keeps the {@link SharedUrlCache}s of all things, so things requesting the same URL
+ * share one request. A cache is removed when the last {@link RefreshingUrlCache} using it is stopped.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = UrlCacheRegistry.class)
+public class UrlCacheRegistry {
+    private final Map<Key, SharedUrlCache> caches = new HashMap<>();
+
+    synchronized SharedUrlCache subscribe(Key key, RefreshingUrlCache subscriber, ScheduledExecutorService executor) {
+        SharedUrlCache cache = caches.computeIfAbsent(key, SharedUrlCache::new);
+        cache.subscribe(subscriber, executor);
+        return cache;
+    }
+
+    synchronized void unsubscribe(SharedUrlCache cache, RefreshingUrlCache subscriber) {
+        if (cache.unsubscribe(subscriber)) {
+            caches.remove(cache.getKey(), cache);
+        }
+    }
+
+    public synchronized List<SharedUrlCache> getCaches() {
+        return List.copyOf(caches.values());
+    }
+}
@@ -13,7 +13,10 @@
 package org.openhab.binding.http;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
@@ -33,6 +36,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -46,8 +50,12 @@ import org.openhab.binding.http.internal.config.HttpThingConfig;
 import org.openhab.binding.http.internal.http.HttpStatusListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
 import org.openhab.binding.http.internal.http.RefreshingUrlCache;
+import org.openhab.binding.http.internal.http.SharedUrlCache;
+import org.openhab.binding.http.internal.http.UrlCacheRegistry;
 import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
 
+import com.github.tomakehurst.wiremock.client.WireMock;
+
 /**
  * The {@link RefreshingUrlCacheTest} implements tests for the {@link RefreshingUrlCache}
  *
@@ -63,6 +71,7 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
     private @NonNullByDefault({}) HttpThingConfig thingConfig;
     private @NonNullByDefault({}) String url;
     private @NonNullByDefault({}) HttpStatusListener statusListener;
+    private @NonNullByDefault({}) UrlCacheRegistry urlCacheRegistry;
 
     private final List<@Nullable ChannelHandlerContent> contentWrappers = new CopyOnWriteArrayList<>();
 
@@ -75,6 +84,7 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
         rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
         rateLimitedHttpClient.setDelay(0);
         statusListener = mock(HttpStatusListener.class);
+        urlCacheRegistry = new UrlCacheRegistry();
 
         // initialize thing config with some default values
         thingConfig = new HttpThingConfig();
@@ -245,6 +255,80 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
         assertTrue(returnedQueryValue.matches("\\d{4}-\\d{2}-\\d{2}"));
     }
 
+    @Test
+    public void testThingsShareTheRequest() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+        List<@Nullable ChannelHandlerContent> otherContentWrappers = new CopyOnWriteArrayList<>();
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+        RefreshingUrlCache otherUrlCache = getUrlCache(TEST_CONTENT, otherContentWrappers::add);
+        assertEquals(1, urlCacheRegistry.getCaches().size());
+
+        waitForAssert(() -> assertEquals(3, otherContentWrappers.size()));
+        otherUrlCache.stop();
+        urlCache.stop();
+        assertTrue(urlCacheRegistry.getCaches().isEmpty());
+
+        // both things received every response, but each response was requested only once
+        int requests = WireMock.findAll(getRequestedFor(urlEqualTo(TEST_LOCATION))).size();
+        // one request may have been in flight when the caches were stopped
+        assertTrue(requests <= contentWrappers.size() + 1, "requests: " + requests);
+        assertTrue(contentWrappers.containsAll(otherContentWrappers));
+    }
+
+    @Test
+    public void testDifferentHeadersAreNotShared() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+        thingConfig.headers = new ArrayList<>(List.of("X-SMARTHOME=TESTVALUE"));
+        RefreshingUrlCache otherUrlCache = getUrlCache(TEST_CONTENT);
+        assertEquals(2, urlCacheRegistry.getCaches().size());
+
+        otherUrlCache.stop();
+        assertEquals(1, urlCacheRegistry.getCaches().size());
+        urlCache.stop();
+    }
+
+    @Test
+    public void testConditionalRequestWithETag() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", absent())
+                .willReturn(aResponse().withHeader("ETag", "\"1\"").withBody(TEST_CONTENT)));
+        stubFor(get(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", equalTo("\"1\""))
+                .willReturn(aResponse().withStatus(304)));
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        // the content of the first response is passed on for the not modified responses
+        waitForAssert(() -> assertEquals(3, contentWrappers.size()));
+        urlCache.stop();
+
+        verify(statusListener, never()).onHttpError(any());
+        assertTrue(contentWrappers.stream().map(Objects::requireNonNull).map(ChannelHandlerContent::getAsString)
+                .allMatch(TEST_CONTENT::equals));
+        WireMock.verify(1, getRequestedFor(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", absent()));
+    }
+
+    @Test
+    public void testOnlyChangedContentIsPassedOn() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+        thingConfig.onlyOnChange = true;
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        // wait for some requests, only the first one is passed on
+        verify(statusListener, timeout(5000).atLeast(3)).onHttpSuccess();
+        assertEquals(1, contentWrappers.size());
+
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody("CHANGED")));
+        waitForAssert(() -> assertEquals(2, contentWrappers.size()));
+        SharedUrlCache cache = urlCacheRegistry.getCaches().get(0);
+        urlCache.stop();
+
+        assertEquals("CHANGED", Objects.requireNonNull(contentWrappers.get(1)).getAsString());
+        assertTrue(cache.getUnchanged() >= 2);
+    }
+
     /**
      * helper method to create a {@link RefreshingUrlCache} and add a test listener
      *
@@ -252,9 +336,13 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
      * @return the cache object
      */
     private RefreshingUrlCache getUrlCache(String content) {
-        RefreshingUrlCache urlCache = new RefreshingUrlCache(rateLimitedHttpClient, url, thingConfig, content, null,
-                statusListener);
-        urlCache.addConsumer(contentWrappers::add);
+        return getUrlCache(content, contentWrappers::add);
+    }
+
+    private RefreshingUrlCache getUrlCache(String content, Consumer<@Nullable ChannelHandlerContent> consumer) {
+        RefreshingUrlCache urlCache = new RefreshingUrlCache(urlCacheRegistry, rateLimitedHttpClient, url, thingConfig,
+                content, null, statusListener);
+        urlCache.addConsumer(consumer);
         urlCache.start(scheduler, thingConfig.refresh);
         return urlCache;
     }
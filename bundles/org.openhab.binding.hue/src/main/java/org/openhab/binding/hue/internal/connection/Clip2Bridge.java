@@ -12,12 +12,10 @@
  */
 package org.openhab.binding.hue.internal.connection;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.Reader;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
@@ -25,6 +23,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -40,7 +39,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 import javax.ws.rs.core.MediaType;
 
@@ -89,11 +88,10 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * This class handles HTTP and SSE connections to/from a Hue Bridge running CLIP 2.
@@ -252,10 +250,6 @@ public class Clip2Bridge implements Closeable {
             return new String(buffer, 0, usedSize, StandardCharsets.UTF_8);
         }
 
-        public Reader contentStreamReader() {
-            return new InputStreamReader(new ByteArrayInputStream(buffer, 0, usedSize), StandardCharsets.UTF_8);
-        }
-
         public void reset() {
             usedSize = 0;
         }
@@ -264,10 +258,9 @@ public class Clip2Bridge implements Closeable {
     /**
      * Adapter for listening to SSE event stream events.
      *
-     * It receives the incoming text lines. Receipt of the first data line causes the CompletableFuture to complete. It
-     * then parses subsequent data according to the SSE specification. If the line starts with a 'data:' message, it
-     * adds the data to the list of strings. And if the line is empty (i.e. the last line of an event), it passes the
-     * full set of strings to the owner via a call-back method.
+     * It passes the incoming data to an incremental SSE parser. Receipt of the first message causes the
+     * CompletableFuture to complete. And for each message with 'data' fields, it passes the data to the owner via a
+     * call-back method.
      *
      * The stream must be permanently connected, so it ignores onIdleTimeout() events.
      *
@@ -278,7 +271,7 @@ public class Clip2Bridge implements Closeable {
      * <li>onReset()</li>
      */
     private class EventStreamListenerAdapter extends BaseStreamListenerAdapter<Boolean> {
-        private final DataFrameCollector eventData = new DataFrameCollector();
+        private final Clip2EventStreamParser parser = new Clip2EventStreamParser();
 
         @Override
         public void onClosed(@Nullable Stream stream) {
@@ -291,32 +284,15 @@ public class Clip2Bridge implements Closeable {
             Objects.requireNonNull(frame);
             Objects.requireNonNull(callback);
             synchronized (this) {
-                eventData.append(frame.getData());
-                BufferedReader reader = new BufferedReader(eventData.contentStreamReader());
-                @SuppressWarnings("null")
-                List<String> receivedLines = reader.lines().collect(Collectors.toList());
-
-                // a blank line marks the end of an SSE message
-                boolean endOfMessage = !receivedLines.isEmpty()
-                        && receivedLines.get(receivedLines.size() - 1).isBlank();
-
-                if (endOfMessage) {
-                    eventData.reset();
+                parser.append(frame.getData(), (data, length) -> {
                     // receipt of ANY message means the event stream is established
                     if (!completable.isDone()) {
                         completable.complete(Boolean.TRUE);
                     }
-                    // append any 'data' field values to the event message
-                    StringBuilder eventContent = new StringBuilder();
-                    for (String receivedLine : receivedLines) {
-                        if (receivedLine.startsWith("data:")) {
-                            eventContent.append(receivedLine.substring(5).stripLeading());
-                        }
+                    if (length > 0) {
+                        onEventData(data, length);
                     }
-                    if (eventContent.length() > 0) {
-                        onEventData(eventContent.toString().trim());
-                    }
-                }
+                });
             }
             callback.succeeded();
         }
@@ -469,26 +445,34 @@ public class Clip2Bridge implements Closeable {
      * <p>
      * The Hue Bridge can get confused if they receive too many HTTP requests in a short period of time (e.g. on start
      * up), or if too many HTTP sessions are opened at the same time, which cause it to respond with an HTML error page.
-     * So this class a) waits to acquire permitCount (or no more than MAX_CONCURRENT_SESSIONS) stream permits, and b)
-     * throttles the requests to a maximum of one per REQUEST_INTERVAL_MILLISECS.
+     * So this class a) waits to acquire permitCount (or no more than MAX_CONCURRENT_STREAMS) stream permits, and b)
+     * throttles the requests to a maximum of requestsPerInterval (or no more than MAX_CONCURRENT_STREAMS) per
+     * REQUEST_INTERVAL_MILLISECS.
      */
     private class Throttler implements AutoCloseable {
         private final int permitCount;
 
         /**
          * @param permitCount indicates how many stream permits to be acquired.
+         * @param requestsPerInterval indicates how many requests may start within one request interval.
          * @throws InterruptedException
          */
-        Throttler(int permitCount) throws InterruptedException {
+        Throttler(int permitCount, int requestsPerInterval) throws InterruptedException {
             this.permitCount = permitCount;
             streamMutex.acquire(permitCount);
             long delay;
             synchronized (Clip2Bridge.this) {
                 Instant now = Instant.now();
-                delay = lastRequestTime
-                        .map(t -> Math.max(0, Duration.between(now, t).toMillis() + REQUEST_INTERVAL_MILLISECS))
-                        .orElse(0L);
-                lastRequestTime = Optional.of(now.plusMillis(delay));
+                // start no earlier than one interval after the request which started requestsPerInterval requests ago
+                int index = requestTimes.size() - requestsPerInterval;
+                delay = index < 0 ? 0
+                        : Math.max(0,
+                                Duration.between(now, requestTimes.get(index)).toMillis() + REQUEST_INTERVAL_MILLISECS);
+                requestTimes.add(now.plusMillis(delay));
+                Collections.sort(requestTimes);
+                while (requestTimes.size() > MAX_CONCURRENT_STREAMS) {
+                    requestTimes.remove(0);
+                }
             }
             Thread.sleep(delay);
         }
@@ -567,7 +551,8 @@ public class Clip2Bridge implements Closeable {
     private boolean recreatingSession;
     private boolean closing;
     private State onlineState = State.CLOSED;
-    private Optional<Instant> lastRequestTime = Optional.empty();
+    private final List<Instant> requestTimes = new ArrayList<>();
+    private final Clip2PutCoalescer putCoalescer = new Clip2PutCoalescer(TIMEOUT_SECONDS);
     private Instant sessionExpireTime = Instant.MAX;
 
     private @Nullable Session http2Session;
@@ -809,7 +794,7 @@ public class Clip2Bridge implements Closeable {
             return new Resources();
         }
         Stream stream = null;
-        try (Throttler throttler = new Throttler(1);
+        try (Throttler throttler = new Throttler(1, 1);
                 SessionSynchronizer sessionSynchronizer = new SessionSynchronizer(false)) {
             Session session = getSession();
             String url = getUrl(reference);
@@ -853,6 +838,13 @@ public class Clip2Bridge implements Closeable {
         }
     }
 
+    /**
+     * @return the number of PUT requests which were merged into another PUT request to the same resource.
+     */
+    public long getMergedPutCount() {
+        return putCoalescer.getMergedCount();
+    }
+
     /**
      * Safe access to the session object.
      *
@@ -883,37 +875,34 @@ public class Clip2Bridge implements Closeable {
     }
 
     /**
-     * The event stream calls this method when it has received text data. It parses the text as JSON into a list of
-     * Event entries, converts the list of events to a list of resources, and forwards that list to the bridge
-     * handler.
+     * The event stream calls this method when it has received data. It parses the UTF-8 encoded JSON directly from
+     * the buffer into a list of Event entries, converts the list of events to a list of resources, and forwards that
+     * list to the bridge handler.
      *
-     * @param data the incoming (presumed to be JSON) text.
+     * @param data buffer containing the incoming (presumed to be JSON) UTF-8 encoded text.
+     * @param length the number of valid bytes in the buffer.
      */
-    protected void onEventData(String data) {
+    private void onEventData(byte[] data, int length) {
         if (onlineState != State.ACTIVE && !recreatingSession) {
             return;
         }
         if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace("onEventData() data:{}", data);
+            LOGGER.trace("onEventData() data:{}", new String(data, 0, length, StandardCharsets.UTF_8));
         } else {
-            LOGGER.debug("onEventData() data length:{}", data.length());
-        }
-        JsonElement jsonElement;
-        try {
-            jsonElement = JsonParser.parseString(data);
-        } catch (JsonSyntaxException e) {
-            LOGGER.debug("onEventData() invalid data '{}'", data, e);
-            return;
-        }
-        if (!(jsonElement instanceof JsonArray)) {
-            LOGGER.debug("onEventData() data is not a JsonArray {}", data);
-            return;
+            LOGGER.debug("onEventData() data length:{}", length);
         }
         List<Event> events;
-        try {
-            events = jsonParser.fromJson(jsonElement, Event.EVENT_LIST_TYPE);
-        } catch (JsonParseException e) {
-            LOGGER.debug("onEventData() parsing error json:{}", data, e);
+        try (JsonReader jsonReader = new JsonReader(
+                new InputStreamReader(new ByteArrayInputStream(data, 0, length), StandardCharsets.UTF_8))) {
+            if (jsonReader.peek() != JsonToken.BEGIN_ARRAY) {
+                LOGGER.debug("onEventData() data is not a JsonArray {}",
+                        new String(data, 0, length, StandardCharsets.UTF_8));
+                return;
+            }
+            events = jsonParser.fromJson(jsonReader, Event.EVENT_LIST_TYPE);
+        } catch (IOException | JsonParseException e) {
+            LOGGER.debug("onEventData() parsing error json:{}", new String(data, 0, length, StandardCharsets.UTF_8),
+                    e);
             return;
         }
         if (Objects.isNull(events) || events.isEmpty()) {
@@ -1081,8 +1070,10 @@ public class Clip2Bridge implements Closeable {
     }
 
     /**
-     * Use an HTTP/2 PUT command to send a resource to the server. Uses a Throttler to prevent too many concurrent
-     * calls, and to prevent too frequent calls on the Hue bridge server. Also uses a SessionSynchronizer to delay
+     * Use an HTTP/2 PUT command to send a resource to the server. Uses a PUT coalescer to merge the request into a
+     * request to the same resource which is still waiting to be sent. Uses a Throttler to prevent too many concurrent
+     * calls, and to prevent too frequent calls on the Hue bridge server, whereby PUT requests to different resources
+     * are sent concurrently on up to MAX_CONCURRENT_STREAMS streams. Also uses a SessionSynchronizer to delay
      * accessing the session while it is being recreated.
      *
      * @param resource the resource to put.
@@ -1091,13 +1082,33 @@ public class Clip2Bridge implements Closeable {
      * @throws InterruptedException
      */
     public Resources putResource(Resource resource) throws ApiException, InterruptedException {
+        String url = getUrl(new ResourceReference().setId(resource.getId()).setType(resource.getType()));
+        JsonObject request;
+        try {
+            request = jsonParser.toJsonTree(resource).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new ApiException("Serialization error", e);
+        }
+        return putCoalescer.put(url, request, requestJson -> putResourceImpl(url, requestJson));
+    }
+
+    /**
+     * Internal method to send an HTTP/2 PUT request to the Hue Bridge and process its response.
+     *
+     * @param url the url of the resource.
+     * @param requestJsonSupplier supplies the request JSON when the request is actually sent.
+     * @return the resource, which may contain errors.
+     * @throws ApiException if something fails.
+     * @throws InterruptedException
+     */
+    private Resources putResourceImpl(String url, Supplier<String> requestJsonSupplier)
+            throws ApiException, InterruptedException {
         Stream stream = null;
-        try (Throttler throttler = new Throttler(MAX_CONCURRENT_STREAMS);
+        try (Throttler throttler = new Throttler(1, MAX_CONCURRENT_STREAMS);
                 SessionSynchronizer sessionSynchronizer = new SessionSynchronizer(false)) {
             Session session = getSession();
-            String requestJson = jsonParser.toJson(resource);
+            String requestJson = requestJsonSupplier.get();
             ByteBuffer requestBytes = ByteBuffer.wrap(requestJson.getBytes(StandardCharsets.UTF_8));
-            String url = getUrl(new ResourceReference().setId(resource.getId()).setType(resource.getType()));
             HeadersFrame headers = prepareHeaders(url, MediaType.APPLICATION_JSON, "PUT", requestBytes.capacity(),
                     MediaType.APPLICATION_JSON);
             LOGGER.trace("PUT {} HTTP/2 >> {}", url, requestJson);
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Incremental parser for an SSE event stream.
+ *
+ * It scans the incoming HTTP 2 data frames byte by byte, so each byte is looked at only once, regardless of how many
+ * frames a message is split into. The values of the 'data' fields of a message are collected in a buffer which is
+ * reused for all messages, and the message is passed to a listener when the blank line ending it arrives. All other
+ * fields (e.g. 'id', 'event', 'retry', and comments) are ignored.
+ *
+ * Since the line terminators are ASCII characters, which never occur within a multi-byte UTF-8 sequence, the data is
+ * not decoded by the parser.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class Clip2EventStreamParser {
+
+    /**
+     * Listener for the messages of the event stream.
+     */
+    @FunctionalInterface
+    interface MessageListener {
+        /**
+         * Called when a complete message has been received. The buffer is only valid during the call.
+         *
+         * @param data buffer containing the UTF-8 encoded values of the message's 'data' fields, joined by line feeds.
+         * @param length the number of valid bytes in the buffer, 0 if the message has no data.
+         */
+        void onMessage(byte[] data, int length);
+    }
+
+    private static final byte[] DATA_FIELD = { 'd', 'a', 't', 'a', ':' };
+
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private byte[] data = new byte[1024];
+    private int dataLength;
+    private boolean dataFieldFound;
+    private boolean lastWasCarriageReturn;
+
+    /**
+     * Parse the given frame data, and call the listener for each message which is completed by it.
+     *
+     * @param frameData the data of an HTTP 2 frame.
+     * @param listener the message listener.
+     * @return the number of completed messages.
+     */
+    public int append(ByteBuffer frameData, MessageListener listener) {
+        int messages = 0;
+        int limit = frameData.limit();
+        for (int i = frameData.position(); i < limit; i++) {
+            byte b = frameData.get(i);
+            if (b == '\n' && lastWasCarriageReturn) {
+                // second half of a CR LF line terminator
+                lastWasCarriageReturn = false;
+                continue;
+            }
+            lastWasCarriageReturn = b == '\r';
+            if (b == '\r' || b == '\n') {
+                if (endOfLine(listener)) {
+                    messages++;
+                }
+            } else {
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, 2 * line.length);
+                }
+                line[lineLength++] = b;
+            }
+        }
+        frameData.position(limit);
+        return messages;
+    }
+
+    /**
+     * Process a completed line.
+     *
+     * @return true if the line completed a message.
+     */
+    private boolean endOfLine(MessageListener listener) {
+        if (lineLength == 0) {
+            listener.onMessage(data, dataLength);
+            dataLength = 0;
+            dataFieldFound = false;
+            return true;
+        }
+        if (isDataField()) {
+            int start = DATA_FIELD.length;
+            if (start < lineLength && line[start] == ' ') {
+                start++;
+            }
+            int needed = dataLength + (dataFieldFound ? 1 : 0) + lineLength - start;
+            if (needed > data.length) {
+                data = Arrays.copyOf(data, Math.max(2 * data.length, needed));
+            }
+            if (dataFieldFound) {
+                data[dataLength++] = '\n';
+            }
+            System.arraycopy(line, start, data, dataLength, lineLength - start);
+            dataLength += lineLength - start;
+            dataFieldFound = true;
+        }
+        lineLength = 0;
+        return false;
+    }
+
+    private boolean isDataField() {
+        if (lineLength < DATA_FIELD.length) {
+            return false;
+        }
+        for (int i = 0; i < DATA_FIELD.length; i++) {
+            if (line[i] != DATA_FIELD[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resources;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Coalescer for HTTP PUT requests to the same resource.
+ *
+ * While a PUT request for a resource is waiting to be sent (e.g. for a free stream, or for the request interval),
+ * further PUT requests for the same resource are merged into it, the fields of the later request overriding those of
+ * the earlier one. All callers of the merged request receive its response. PUT requests for the same resource are
+ * sent one after the other, so that the bridge applies them in the order of the calls, whereas PUT requests for
+ * different resources are sent independently of each other.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class Clip2PutCoalescer {
+
+    /**
+     * Sender of a PUT request.
+     */
+    @FunctionalInterface
+    interface Sender {
+        /**
+         * Send the request. The sender shall call the supplier only when it is actually about to send the request,
+         * since the request can no longer be changed after that.
+         *
+         * @param request supplier of the request JSON.
+         * @return the response.
+         */
+        Resources send(Supplier<String> request) throws ApiException, InterruptedException;
+    }
+
+    private static class PendingPut {
+        private final JsonObject request;
+        private @Nullable PendingPut previous;
+        private final CompletableFuture<Resources> result = new CompletableFuture<>();
+        private boolean sent;
+
+        PendingPut(JsonObject request, @Nullable PendingPut previous) {
+            this.request = request;
+            this.previous = previous;
+        }
+    }
+
+    private final Map<String, PendingPut> pendingPuts = new HashMap<>();
+    private final long timeoutSeconds;
+    private final AtomicLong merged = new AtomicLong();
+
+    /**
+     * @param timeoutSeconds the maximum time to wait for a single request.
+     */
+    Clip2PutCoalescer(long timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * Send a PUT request, or merge it into a request to the same resource which is still waiting to be sent.
+     *
+     * @param key the key of the resource, e.g. its url.
+     * @param request the request JSON.
+     * @param sender the sender of the request.
+     * @return the response.
+     * @throws ApiException if sending failed.
+     * @throws InterruptedException
+     */
+    public Resources put(String key, JsonObject request, Sender sender) throws ApiException, InterruptedException {
+        PendingPut pending;
+        boolean isMerged;
+        synchronized (pendingPuts) {
+            @Nullable
+            PendingPut last = pendingPuts.get(key);
+            isMerged = last != null && !last.sent;
+            if (last != null && isMerged) {
+                merge(last.request, request);
+                merged.incrementAndGet();
+                pending = last;
+            } else {
+                pending = new PendingPut(request, last);
+                pendingPuts.put(key, pending);
+            }
+        }
+        return isMerged ? await(pending.result) : send(key, pending, sender);
+    }
+
+    private Resources send(String key, PendingPut pending, Sender sender) throws ApiException, InterruptedException {
+        try {
+            PendingPut previous = pending.previous;
+            if (previous != null) {
+                pending.previous = null;
+                try {
+                    previous.result.get(timeoutSeconds, TimeUnit.SECONDS);
+                } catch (ExecutionException | TimeoutException e) {
+                    // the previous request failed, which does not prevent sending this one
+                }
+            }
+            Resources resources = sender.send(() -> {
+                synchronized (pendingPuts) {
+                    pending.sent = true;
+                    return pending.request.toString();
+                }
+            });
+            pending.result.complete(resources);
+            return resources;
+        } catch (ApiException | InterruptedException | RuntimeException e) {
+            pending.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (pendingPuts) {
+                pending.sent = true;
+                pendingPuts.remove(key, pending);
+            }
+        }
+    }
+
+    private Resources await(CompletableFuture<Resources> result) throws ApiException, InterruptedException {
+        try {
+            // the sender may wait for a previous request, for a free stream, and for the response
+            return result.get(3 * timeoutSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ApiException apiException) {
+                throw apiException;
+            }
+            if (cause instanceof InterruptedException) {
+                throw new ApiException("Merged PUT request was interrupted", cause);
+            }
+            throw new ApiException("Error sending merged PUT request", cause);
+        } catch (TimeoutException e) {
+            throw new ApiException("Timeout waiting for merged PUT request", e);
+        }
+    }
+
+    /**
+     * Merge the source into the target, whereby nested objects are merged recursively, and all other values of the
+     * source replace those of the target.
+     *
+     * @param target the target object.
+     * @param source the source object.
+     */
+    static void merge(JsonObject target, JsonObject source) {
+        for (Entry<String, JsonElement> entry : source.entrySet()) {
+            JsonElement targetValue = target.get(entry.getKey());
+            JsonElement sourceValue = entry.getValue();
+            if (targetValue instanceof JsonObject targetObject && sourceValue instanceof JsonObject sourceObject) {
+                merge(targetObject, sourceObject);
+            } else {
+                target.add(entry.getKey(), sourceValue.deepCopy());
+            }
+        }
+    }
+
+    /**
+     * @return the number of PUT requests which were merged into another request.
+     */
+    public long getMergedCount() {
+        return merged.get();
+    }
+}
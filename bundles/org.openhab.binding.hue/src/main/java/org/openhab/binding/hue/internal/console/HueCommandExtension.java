@@ -69,11 +69,12 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
     private static final String SCENES = "scenes";
     private static final String APPLICATION_KEY = "applicationkey";
     private static final String THINGS = "things";
+    private static final String EVENTS = "events";
 
     private static final StringsCompleter SUBCMD_COMPLETER = new StringsCompleter(List.of(USER_NAME, SCENES), false);
 
     private static final StringsCompleter SUBCMD_COMPLETER_2 = new StringsCompleter(
-            List.of(APPLICATION_KEY, THINGS, SCENES), false);
+            List.of(APPLICATION_KEY, THINGS, SCENES, EVENTS), false);
 
     private static final StringsCompleter SCENES_COMPLETER = new StringsCompleter(List.of(SCENES), false);
 
@@ -139,6 +140,10 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
                             console.println(String.format(FMT_APPKEY, applicationKey));
                             return;
 
+                        case EVENTS:
+                            clip2BridgeHandler.getEventStatistics().forEach(console::println);
+                            return;
+
                         case SCENES:
                             console.println(String.format(FMT_BRIDGE, thing.getUID(), ipAddress, applicationKey));
                             try {
@@ -231,6 +236,8 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
                 buildCommandUsage("<bridgeUID> " + APPLICATION_KEY, "show the API v2 application key"),
                 buildCommandUsage("<bridgeUID> " + SCENES, "list all the scenes with their id"),
                 buildCommandUsage("<bridgeUID> " + THINGS, "list all the API v2 device/room/zone things with their id"),
+                buildCommandUsage("<bridgeUID> " + EVENTS,
+                        "show the API v2 event routing statistics and event to state latencies"),
                 buildCommandUsage("<groupThingUID> " + SCENES, "list all the scenes from this group with their id") });
     }
 
@@ -15,6 +15,7 @@ package org.openhab.binding.hue.internal.handler;
 import static org.openhab.binding.hue.internal.HueBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -116,6 +117,8 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     private @Nullable Future<?> updateOnlineStateTask;
     private @Nullable ScheduledFuture<?> scheduledUpdateTask;
     private Map<Integer, Future<?>> resourcesEventTasks = new ConcurrentHashMap<>();
+    private final Clip2ResourceIndex resourceIndex = new Clip2ResourceIndex();
+    private final Clip2LatencyHistogram eventLatencyHistogram = new Clip2LatencyHistogram();
 
     private boolean assetsLoaded;
     private int applKeyRetriesRemaining;
@@ -250,6 +253,51 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Set the ids of the resources which a child thing handler consumes, so that SSE events are routed to it.
+     *
+     * @param handler the child thing handler.
+     * @param resourceIds the ids of its own resource, and of its service and scene contributors.
+     */
+    public void putResourceIds(Clip2ThingHandler handler, Set<String> resourceIds) {
+        resourceIndex.put(handler, resourceIds);
+    }
+
+    /**
+     * Remove a child thing handler from the SSE event routing.
+     *
+     * @param handler the child thing handler.
+     */
+    public void removeResourceIds(Clip2ThingHandler handler) {
+        resourceIndex.remove(handler);
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof Clip2ThingHandler clip2ThingHandler) {
+            resourceIndex.remove(clip2ThingHandler);
+        }
+        super.childHandlerDisposed(childHandler, childThing);
+    }
+
+    /**
+     * Get the statistics of the SSE event routing and of the PUT requests for the console.
+     *
+     * @return a list of lines.
+     */
+    public List<String> getEventStatistics() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Resource index: %d things, %d resource ids", resourceIndex.handlerCount(),
+                resourceIndex.resourceIdCount()));
+        lines.add("Event to state latency:");
+        lines.addAll(eventLatencyHistogram.format());
+        Clip2Bridge bridge = clip2Bridge;
+        if (Objects.nonNull(bridge)) {
+            lines.add(String.format("Merged PUT requests: %d", bridge.getMergedPutCount()));
+        }
+        return lines;
+    }
+
     @Override
     public void dispose() {
         if (assetsLoaded) {
@@ -509,34 +557,34 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Called when an SSE event message comes in with a valid list of resources. For each resource received, inform all
-     * child thing handlers with the respective resource.
+     * Called when an SSE event message comes in with a valid list of resources. For each resource received, inform the
+     * child thing handlers which consume the respective resource.
      *
      * @param resources a list of incoming resource objects.
      */
     public void onResourcesEvent(List<Resource> resources) {
         if (assetsLoaded) {
+            long receivedNanos = System.nanoTime();
             synchronized (resourcesEventTasks) {
                 int index = resourcesEventTasks.size();
                 resourcesEventTasks.put(index, scheduler.submit(() -> {
-                    onResourcesEventTask(resources);
+                    onResourcesEventTask(resources, receivedNanos);
                     resourcesEventTasks.remove(index);
                 }));
             }
         }
     }
 
-    private void onResourcesEventTask(List<Resource> resources) {
+    private void onResourcesEventTask(List<Resource> resources, long receivedNanos) {
         int numberOfResources = resources.size();
         logger.debug("onResourcesEventTask() resource count {}", numberOfResources);
         Setters.mergeLightResources(resources);
         if (numberOfResources != resources.size()) {
             logger.debug("onResourcesEventTask() merged to {} resources", resources.size());
         }
-        getThing().getThings().forEach(thing -> {
-            if (thing.getHandler() instanceof Clip2ThingHandler clip2ThingHandler) {
-                clip2ThingHandler.onResources(resources);
-            }
+        resourceIndex.route(resources).forEach((clip2ThingHandler, handlerResources) -> {
+            clip2ThingHandler.onResources(handlerResources);
+            eventLatencyHistogram.record(System.nanoTime() - receivedNanos);
         });
     }
 
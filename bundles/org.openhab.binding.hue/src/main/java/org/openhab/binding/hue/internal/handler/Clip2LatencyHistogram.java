@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Histogram of the latencies between the reception of an SSE event by the bridge and the completion of the state
+ * update in the respective thing handler.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class Clip2LatencyHistogram {
+
+    /**
+     * Upper bounds (exclusive) of the buckets in milliseconds; the last bucket holds all larger latencies.
+     */
+    private static final long[] BUCKET_LIMITS_MS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000 };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_LIMITS_MS.length + 1);
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Add a latency to the histogram.
+     *
+     * @param nanos the latency in nano seconds.
+     */
+    public void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < BUCKET_LIMITS_MS.length && millis >= BUCKET_LIMITS_MS[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @param bucket the index of the bucket.
+     * @return the number of latencies in the bucket.
+     */
+    long getBucketCount(int bucket) {
+        return counts.get(bucket);
+    }
+
+    /**
+     * Format the histogram for the console.
+     *
+     * @return a list of lines, one per non-empty bucket, followed by a summary line.
+     */
+    public List<String> format() {
+        List<String> lines = new ArrayList<>();
+        long count = getCount();
+        long lower = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount > 0) {
+                String range = i < BUCKET_LIMITS_MS.length ? String.format("%4d..%4d ms", lower, BUCKET_LIMITS_MS[i])
+                        : String.format("%4d..     ms", lower);
+                lines.add(String.format("  %s: %8d (%5.1f%%)", range, bucketCount, 100.0 * bucketCount / count));
+            }
+            if (i < BUCKET_LIMITS_MS.length) {
+                lower = BUCKET_LIMITS_MS[i];
+            }
+        }
+        lines.add(String.format("  count %d, average %.2f ms, maximum %.2f ms", count,
+                count > 0 ? totalNanos.get() / 1e6 / count : 0.0, maxNanos.get() / 1e6));
+        return lines;
+    }
+}
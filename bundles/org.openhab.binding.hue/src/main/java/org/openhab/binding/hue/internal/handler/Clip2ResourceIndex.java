@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
+
+/**
+ * Index of the resource ids that each child thing handler of a CLIP 2 bridge consumes, i.e. the id of its own
+ * resource, plus the ids of its service and scene contributors. It is used to route the resources of an SSE event only
+ * to the thing handlers which own them, instead of passing all resources to all thing handlers.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class Clip2ResourceIndex {
+
+    private final Map<String, List<Clip2ThingHandler>> handlersByResourceId = new HashMap<>();
+    private final Map<Clip2ThingHandler, Set<String>> resourceIdsByHandler = new HashMap<>();
+
+    /**
+     * Set the resource ids consumed by the given handler, replacing those previously set.
+     *
+     * @param handler the thing handler.
+     * @param resourceIds the ids of the resources which the handler consumes.
+     */
+    public synchronized void put(Clip2ThingHandler handler, Set<String> resourceIds) {
+        remove(handler);
+        resourceIdsByHandler.put(handler, Set.copyOf(resourceIds));
+        for (String resourceId : resourceIds) {
+            handlersByResourceId.computeIfAbsent(resourceId, k -> new ArrayList<>()).add(handler);
+        }
+    }
+
+    /**
+     * Remove all resource ids of the given handler.
+     *
+     * @param handler the thing handler.
+     */
+    public synchronized void remove(Clip2ThingHandler handler) {
+        @Nullable
+        Set<String> resourceIds = resourceIdsByHandler.remove(handler);
+        if (resourceIds == null) {
+            return;
+        }
+        for (String resourceId : resourceIds) {
+            @Nullable
+            List<Clip2ThingHandler> handlers = handlersByResourceId.get(resourceId);
+            if (handlers != null) {
+                handlers.remove(handler);
+                if (handlers.isEmpty()) {
+                    handlersByResourceId.remove(resourceId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Group the given resources by the thing handlers which consume them, keeping the order of the resources. A
+     * resource which is consumed by several handlers is contained in the list of each of them, and a resource which
+     * is consumed by no handler is dropped.
+     *
+     * @param resources the resources of an SSE event.
+     * @return a map of the thing handlers to the resources which they consume.
+     */
+    public Map<Clip2ThingHandler, List<Resource>> route(Collection<Resource> resources) {
+        Map<Clip2ThingHandler, List<Resource>> result = new LinkedHashMap<>();
+        synchronized (this) {
+            for (Resource resource : resources) {
+                @Nullable
+                List<Clip2ThingHandler> handlers = handlersByResourceId.get(resource.getId());
+                if (handlers != null) {
+                    for (Clip2ThingHandler handler : handlers) {
+                        result.computeIfAbsent(handler, k -> new ArrayList<>()).add(resource);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of thing handlers in the index.
+     */
+    public synchronized int handlerCount() {
+        return resourceIdsByHandler.size();
+    }
+
+    /**
+     * @return the number of resource ids in the index.
+     */
+    public synchronized int resourceIdCount() {
+        return handlersByResourceId.size();
+    }
+
+    public synchronized void clear() {
+        handlersByResourceId.clear();
+        resourceIdsByHandler.clear();
+    }
+}
@@ -251,6 +251,11 @@ public class Clip2ThingHandler extends BaseThingHandler {
     public void dispose() {
         logger.debug("{} -> dispose()", resourceId);
         disposing = true;
+        try {
+            getBridgeHandler().removeResourceIds(this);
+        } catch (AssetNotLoadedException e) {
+            // bridge handler already gone
+        }
         cancelTask(alertResetTask, true);
         cancelTask(dynamicsResetTask, true);
         cancelTask(updateDependenciesTask, true);
@@ -624,11 +629,31 @@ public class Clip2ThingHandler extends BaseThingHandler {
         if (Objects.nonNull(bridge)) {
             BridgeHandler bridgeHandler = bridge.getHandler();
             if (bridgeHandler instanceof Clip2BridgeHandler) {
+                updateResourceIndex();
                 ((Clip2BridgeHandler) bridgeHandler).childInitialized();
             }
         }
     }
 
+    /**
+     * Inform the bridge handler about the ids of the resources which this thing consumes, i.e. its own resource id,
+     * and the ids of its service and scene contributors, so that the bridge routes the respective SSE events here.
+     */
+    private void updateResourceIndex() {
+        if (disposing) {
+            return;
+        }
+        Set<String> resourceIds = new HashSet<>();
+        resourceIds.add(resourceId);
+        resourceIds.addAll(serviceContributorsCache.keySet());
+        resourceIds.addAll(sceneContributorsCache.keySet());
+        try {
+            getBridgeHandler().putResourceIds(this, resourceIds);
+        } catch (AssetNotLoadedException e) {
+            logger.debug("{} -> updateResourceIndex() bridge handler missing", resourceId);
+        }
+    }
+
     /**
      * Update the channel state depending on new resources sent from the bridge.
      *
@@ -1109,6 +1134,8 @@ public class Clip2ThingHandler extends BaseThingHandler {
             commandResourceIds.clear();
             commandResourceIds.putAll(services.stream() // use a 'mergeFunction' to prevent duplicates
                     .collect(Collectors.toMap(ResourceReference::getType, ResourceReference::getId, (r1, r2) -> r1)));
+
+            updateResourceIndex();
         }
     }
 
@@ -1252,6 +1279,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
                 logger.debug("{} -> updateSceneContributors() found {} normal resp. smart scenes", resourceId,
                         scenes.size());
             }
+            updateResourceIndex();
             updateSceneContributorsDone = true;
         }
         return updateSceneContributorsDone;
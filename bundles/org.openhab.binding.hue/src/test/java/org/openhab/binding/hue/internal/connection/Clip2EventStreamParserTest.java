@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Clip2EventStreamParser}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class Clip2EventStreamParserTest {
+
+    private final Clip2EventStreamParser parser = new Clip2EventStreamParser();
+    private final List<String> messages = new ArrayList<>();
+
+    private int append(String text) {
+        return parser.append(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)),
+                (data, length) -> messages.add(new String(data, 0, length, StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testSingleMessage() {
+        assertEquals(1, append("id: 1:0\ndata: [{\"id\":\"a\"}]\n\n"));
+        assertEquals(List.of("[{\"id\":\"a\"}]"), messages);
+    }
+
+    @Test
+    void testMessageSplitAcrossFrames() {
+        String text = "id: 1:0\r\ndata: [{\"name\":\"Küche\"}]\r\n\r\n";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int count = 0;
+        // one byte per frame, splitting the multi-byte character and the CR LF terminators
+        for (byte b : bytes) {
+            count += parser.append(ByteBuffer.wrap(new byte[] { b }), (data, length) -> messages
+                    .add(new String(data, 0, length, StandardCharsets.UTF_8)));
+        }
+        assertEquals(1, count);
+        assertEquals(List.of("[{\"name\":\"Küche\"}]"), messages);
+    }
+
+    @Test
+    void testSeveralMessagesInOneFrame() {
+        assertEquals(3, append(": hi\n\ndata:[1]\n\ndata: [2]\rdata: [3]\r\r"));
+        // the comment only message has no data, multiple data lines are joined by line feeds
+        assertEquals(List.of("", "[1]", "[2]\n[3]"), messages);
+    }
+
+    @Test
+    void testIncompleteMessageIsKept() {
+        assertEquals(0, append("data: [1"));
+        assertEquals(0, append(",2]\n"));
+        assertTrue(messages.isEmpty());
+        assertEquals(1, append("\n"));
+        assertEquals(List.of("[1,2]"), messages);
+    }
+
+    @Test
+    void testLargeMessage() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 5000; i++) {
+            json.append(i).append(',');
+        }
+        json.append("0]");
+        assertEquals(1, append("data: " + json + "\n\n"));
+        assertEquals(List.of(json.toString()), messages);
+    }
+
+    @Test
+    void testBufferPosition() {
+        ByteBuffer buffer = ByteBuffer.wrap("xxdata: [1]\n\n".getBytes(StandardCharsets.UTF_8));
+        buffer.position(2);
+        assertEquals(1, parser.append(buffer, (data, length) -> messages
+                .add(new String(data, 0, length, StandardCharsets.UTF_8))));
+        assertEquals(List.of("[1]"), messages);
+        assertFalse(buffer.hasRemaining());
+    }
+}
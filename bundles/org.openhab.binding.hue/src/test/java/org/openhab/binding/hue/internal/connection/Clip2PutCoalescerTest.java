@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resources;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests for {@link Clip2PutCoalescer}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class Clip2PutCoalescerTest {
+
+    private static JsonObject json(String json) {
+        return JsonParser.parseString(json).getAsJsonObject();
+    }
+
+    @Test
+    void testMerge() {
+        JsonObject target = json("{\"on\":{\"on\":false},\"dimming\":{\"brightness\":10.0},\"type\":\"light\"}");
+        Clip2PutCoalescer.merge(target,
+                json("{\"on\":{\"on\":true},\"color\":{\"xy\":{\"x\":0.3,\"y\":0.3}},\"type\":\"light\"}"));
+        assertEquals(json("{\"on\":{\"on\":true},\"dimming\":{\"brightness\":10.0},\"type\":\"light\","
+                + "\"color\":{\"xy\":{\"x\":0.3,\"y\":0.3}}}"), target);
+    }
+
+    @Test
+    void testPendingRequestsToSameResourceAreMerged() throws Exception {
+        Clip2PutCoalescer coalescer = new Clip2PutCoalescer(5);
+        List<String> sent = new CopyOnWriteArrayList<>();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        Resources response = new Resources();
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            // the first request is being sent, and blocks
+            Future<Resources> first = executor.submit(() -> coalescer.put("light/1", json("{\"on\":{\"on\":true}}"),
+                    request -> {
+                        sent.add(request.get());
+                        firstStarted.countDown();
+                        releaseFirst.await(5, TimeUnit.SECONDS);
+                        return response;
+                    }));
+            assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+            // the second request waits for the first one, the third and fourth are merged into it
+            Future<Resources> second = executor.submit(() -> coalescer.put("light/1",
+                    json("{\"dimming\":{\"brightness\":50.0}}"), request -> {
+                        sent.add(request.get());
+                        return response;
+                    }));
+            waitForPending(second);
+            Future<Resources> third = executor.submit(() -> coalescer.put("light/1",
+                    json("{\"dimming\":{\"brightness\":60.0}}"), request -> fail("must be merged")));
+            Future<Resources> fourth = executor.submit(() -> coalescer.put("light/1",
+                    json("{\"color\":{\"xy\":{\"x\":0.3,\"y\":0.3}}}"), request -> fail("must be merged")));
+            while (coalescer.getMergedCount() < 2) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, sent.size());
+
+            releaseFirst.countDown();
+            assertSame(response, first.get(5, TimeUnit.SECONDS));
+            assertSame(response, second.get(5, TimeUnit.SECONDS));
+            assertSame(response, third.get(5, TimeUnit.SECONDS));
+            assertSame(response, fourth.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, sent.size());
+        assertEquals(json("{\"on\":{\"on\":true}}"), json(sent.get(0)));
+        assertEquals(json("{\"dimming\":{\"brightness\":60.0},\"color\":{\"xy\":{\"x\":0.3,\"y\":0.3}}}"),
+                json(sent.get(1)));
+    }
+
+    @Test
+    void testDifferentResourcesAreSentConcurrently() throws Exception {
+        Clip2PutCoalescer coalescer = new Clip2PutCoalescer(5);
+        int resources = 3;
+        CountDownLatch allStarted = new CountDownLatch(resources);
+        Resources response = new Resources();
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            List<Future<Resources>> futures = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < resources; i++) {
+                String key = "light/" + i;
+                futures.add(executor.submit(() -> coalescer.put(key, json("{\"on\":{\"on\":true}}"), request -> {
+                    request.get();
+                    allStarted.countDown();
+                    // only returns if all requests are in flight at the same time
+                    assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+                    return response;
+                })));
+            }
+            for (Future<Resources> future : futures) {
+                assertSame(response, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, coalescer.getMergedCount());
+    }
+
+    @Test
+    void testErrorIsPassedToMergedCallers() throws Exception {
+        Clip2PutCoalescer coalescer = new Clip2PutCoalescer(5);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch secondWaiting = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            Future<Resources> first = executor.submit(() -> coalescer.put("light/1", json("{}"), request -> {
+                request.get();
+                firstStarted.countDown();
+                releaseFirst.await(5, TimeUnit.SECONDS);
+                return new Resources();
+            }));
+            assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+            Future<Resources> second = executor.submit(() -> coalescer.put("light/1", json("{}"), request -> {
+                // wait until the third request is merged, before sending
+                secondWaiting.await(5, TimeUnit.SECONDS);
+                request.get();
+                throw new ApiException("failed");
+            }));
+            waitForPending(second);
+            Future<Resources> third = executor
+                    .submit(() -> coalescer.put("light/1", json("{}"), request -> fail("must be merged")));
+            while (coalescer.getMergedCount() < 1) {
+                Thread.sleep(10);
+            }
+            secondWaiting.countDown();
+            releaseFirst.countDown();
+
+            first.get(5, TimeUnit.SECONDS);
+            Exception e = assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ApiException.class, e.getCause());
+            e = assertThrows(Exception.class, () -> third.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ApiException.class, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Give the submitted request time to register as pending request.
+     */
+    private static void waitForPending(Future<Resources> future) throws InterruptedException {
+        Thread.sleep(100);
+        assertFalse(future.isDone());
+    }
+}
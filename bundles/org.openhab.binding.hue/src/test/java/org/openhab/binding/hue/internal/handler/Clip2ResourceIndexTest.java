@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
+import org.openhab.binding.hue.internal.api.dto.clip2.enums.ResourceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for {@link Clip2ResourceIndex} and {@link Clip2LatencyHistogram}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class Clip2ResourceIndexTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Clip2ResourceIndexTest.class);
+
+    private static Clip2ThingHandler createHandler() {
+        return Objects.requireNonNull(mock(Clip2ThingHandler.class));
+    }
+
+    private static Resource createResource(String id) {
+        return new Resource(ResourceType.LIGHT).setId(id);
+    }
+
+    @Test
+    void testRouteToOwners() {
+        Clip2ResourceIndex index = new Clip2ResourceIndex();
+        Clip2ThingHandler device = createHandler();
+        Clip2ThingHandler room = createHandler();
+        index.put(device, Set.of("device", "light"));
+        index.put(room, Set.of("room", "grouped_light", "light"));
+
+        Resource light = createResource("light");
+        Resource groupedLight = createResource("grouped_light");
+        Resource unknown = createResource("unknown");
+        Map<Clip2ThingHandler, List<Resource>> routes = index.route(List.of(groupedLight, unknown, light));
+
+        assertEquals(2, routes.size());
+        assertEquals(List.of(light), routes.get(device));
+        // the order of the resources is kept
+        assertEquals(List.of(groupedLight, light), routes.get(room));
+    }
+
+    @Test
+    void testPutReplacesResourceIds() {
+        Clip2ResourceIndex index = new Clip2ResourceIndex();
+        Clip2ThingHandler handler = createHandler();
+        index.put(handler, Set.of("device"));
+        index.put(handler, Set.of("device", "light"));
+
+        assertEquals(1, index.handlerCount());
+        assertEquals(2, index.resourceIdCount());
+        assertEquals(Set.of(handler), index.route(List.of(createResource("light"))).keySet());
+
+        index.put(handler, Set.of("device"));
+        assertTrue(index.route(List.of(createResource("light"))).isEmpty());
+        assertEquals(1, index.resourceIdCount());
+    }
+
+    @Test
+    void testRemove() {
+        Clip2ResourceIndex index = new Clip2ResourceIndex();
+        Clip2ThingHandler handler1 = createHandler();
+        Clip2ThingHandler handler2 = createHandler();
+        index.put(handler1, Set.of("a", "b"));
+        index.put(handler2, Set.of("b"));
+
+        index.remove(handler1);
+        assertEquals(1, index.handlerCount());
+        assertEquals(1, index.resourceIdCount());
+        assertTrue(index.route(List.of(createResource("a"))).isEmpty());
+        assertEquals(Set.of(handler2), index.route(List.of(createResource("b"))).keySet());
+
+        // removing an unknown handler is ignored
+        index.remove(handler1);
+        index.remove(handler2);
+        assertEquals(0, index.handlerCount());
+        assertEquals(0, index.resourceIdCount());
+    }
+
+    @Test
+    void testLatencyHistogram() {
+        Clip2LatencyHistogram histogram = new Clip2LatencyHistogram();
+        histogram.record(500_000L); // 0.5 ms
+        histogram.record(1_500_000L); // 1.5 ms
+        histogram.record(1_999_999L); // 1.99 ms
+        histogram.record(5_000_000_000L); // 5 s
+
+        assertEquals(4, histogram.getCount());
+        assertEquals(1, histogram.getBucketCount(0));
+        assertEquals(2, histogram.getBucketCount(1));
+        assertEquals(1, histogram.getBucketCount(10));
+        List<String> lines = histogram.format();
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(3).contains("count 4"));
+    }
+
+    /**
+     * Simulates a scene change on a bridge with 150 lights, and compares the number of resources which the thing
+     * handlers have to look at when each event is passed to every thing handler, and when it is routed via the index.
+     */
+    @Test
+    void testSceneChangeStorm() {
+        int lights = 150;
+        int events = 200;
+
+        Clip2ResourceIndex index = new Clip2ResourceIndex();
+        List<Set<String>> thingResourceIds = new ArrayList<>();
+        List<String> lightIds = new ArrayList<>();
+        for (int i = 0; i < lights; i++) {
+            Set<String> resourceIds = new HashSet<>(
+                    Set.of("device" + i, "light" + i, "zigbee_connectivity" + i, "entertainment" + i));
+            thingResourceIds.add(resourceIds);
+            lightIds.add("light" + i);
+            index.put(createHandler(), resourceIds);
+        }
+
+        // every event contains the state change of all lights
+        Random random = new Random(42);
+        List<List<Resource>> bus = new ArrayList<>();
+        for (int e = 0; e < events; e++) {
+            List<Resource> resources = new ArrayList<>();
+            for (int i = 0; i < lights; i++) {
+                resources.add(createResource(lightIds.get(random.nextInt(lights))));
+            }
+            bus.add(resources);
+        }
+
+        long start = System.nanoTime();
+        long fanOutLookups = 0;
+        long fanOutMatches = 0;
+        for (List<Resource> resources : bus) {
+            for (Set<String> resourceIds : thingResourceIds) {
+                for (Resource resource : resources) {
+                    fanOutLookups++;
+                    if (resourceIds.contains(resource.getId())) {
+                        fanOutMatches++;
+                    }
+                }
+            }
+        }
+        double fanOutSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        long indexMatches = 0;
+        for (List<Resource> resources : bus) {
+            for (List<Resource> handlerResources : index.route(resources).values()) {
+                indexMatches += handlerResources.size();
+            }
+        }
+        double indexSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(fanOutMatches, indexMatches);
+        assertEquals((long) events * lights * lights, fanOutLookups);
+        LOGGER.info("Dispatching {} events of {} resources to {} things: fan out {} events/s, index {} events/s",
+                events, lights, lights, String.format("%.0f", events / fanOutSeconds),
+                String.format("%.0f", events / indexSeconds));
+    }
+}
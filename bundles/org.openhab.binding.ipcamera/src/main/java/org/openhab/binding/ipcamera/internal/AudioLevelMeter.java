@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link AudioLevelMeter} measures the RMS level of the raw audio of a camera, to detect sound like the
+ * silencedetect filter of FFmpeg does. The audio is expected as signed 16 bit little endian mono samples, at
+ * {@link #SAMPLE_RATE}.
+ *
+ * Sound is detected as soon as a block of audio is louder than the threshold, and ends once it has been quiet for
+ * {@link #HOLD_SECONDS}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class AudioLevelMeter {
+    public static final int SAMPLE_RATE = 8000;
+    public static final int HOLD_SECONDS = 2;
+    /** the level that is reported for digital silence */
+    public static final double MIN_LEVEL = -100;
+
+    private final double thresholdDb;
+    private long quietSamples;
+    private boolean detected;
+
+    /**
+     * @param threshold the level in dB below full scale above which audio is detected, so 35 means -35 dBFS
+     */
+    public AudioLevelMeter(int threshold) {
+        thresholdDb = -Math.abs(threshold);
+    }
+
+    /**
+     * @return the RMS level of the samples in dB relative to full scale, which is between {@link #MIN_LEVEL} and 0
+     */
+    public static double level(byte[] pcm, int length) {
+        int samples = length / 2;
+        if (samples == 0) {
+            return MIN_LEVEL;
+        }
+        double sumOfSquares = 0;
+        for (int i = 0; i < samples * 2; i += 2) {
+            int sample = (short) ((pcm[i] & 0xff) | (pcm[i + 1] << 8));
+            sumOfSquares += (double) sample * sample;
+        }
+        double rms = Math.sqrt(sumOfSquares / samples) / 32768;
+        if (rms == 0) {
+            return MIN_LEVEL;
+        }
+        return Math.max(MIN_LEVEL, 20 * Math.log10(rms));
+    }
+
+    /**
+     * Measure the next block of audio.
+     *
+     * @return true while audio is detected
+     */
+    public boolean update(byte[] pcm, int length) {
+        if (level(pcm, length) > thresholdDb) {
+            quietSamples = 0;
+            detected = true;
+        } else if (detected) {
+            quietSamples += length / 2;
+            if (quietSamples >= (long) SAMPLE_RATE * HOLD_SECONDS) {
+                detected = false;
+            }
+        }
+        return detected;
+    }
+}
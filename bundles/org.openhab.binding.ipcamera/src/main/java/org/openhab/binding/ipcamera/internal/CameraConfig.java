@@ -47,6 +47,8 @@ public class CameraConfig {
     private String mjpegOptions = "";
     private String snapshotOptions = "";
     private String motionOptions = "";
+    private boolean alarmAnalysis;
+    private String motionRegions = "";
     private boolean ptzContinuous;
     private int gifPreroll;
 
@@ -70,6 +72,14 @@ public class CameraConfig {
         return motionOptions;
     }
 
+    public boolean getAlarmAnalysis() {
+        return alarmAnalysis;
+    }
+
+    public String getMotionRegions() {
+        return motionRegions;
+    }
+
     public String getMp4OutOptions() {
         return mp4OutOptions;
     }
@@ -54,6 +54,7 @@ public class Ffmpeg {
     private int keepAlive = 8;
     private String password;
     private Boolean notFrozen = true;
+    private @Nullable AudioLevelMeter audioLevelMeter;
 
     public Ffmpeg(IpCameraHandler handle, FFmpegFormat format, String ffmpegLocation, String inputArguments,
             String input, String outArguments, String output, String username, String password) {
@@ -78,6 +79,14 @@ public class Ffmpeg {
         commandArrayList.add(0, ffmpegLocation);
     }
 
+    /**
+     * Read the output of FFmpeg as raw audio and detect sound with the meter, instead of parsing the log of FFmpeg.
+     * The output needs to be signed 16 bit little endian mono samples sent to stdout.
+     */
+    public void analyseAudio(AudioLevelMeter meter) {
+        audioLevelMeter = meter;
+    }
+
     public void setKeepAlive(int numberOfEightSeconds) {
         // We poll every 8 seconds due to mjpeg stream requirement.
         if (keepAlive == -1 && numberOfEightSeconds > 1) {
@@ -122,7 +131,17 @@ public class Ffmpeg {
         @Override
         public void run() {
             try {
-                process = Runtime.getRuntime().exec(commandArrayList.toArray(new String[commandArrayList.size()]));
+                ProcessBuilder builder = new ProcessBuilder(commandArrayList);
+                AudioLevelMeter meter = audioLevelMeter;
+                if (meter != null) {
+                    // the log is not needed, and a pipe nobody reads from would block FFmpeg once it is full
+                    builder.redirectError(ProcessBuilder.Redirect.DISCARD);
+                    Process localProcess = builder.start();
+                    process = localProcess;
+                    readAudio(localProcess.getInputStream(), meter);
+                    return;
+                }
+                process = builder.start();
 
                 InputStream errorStream = process.getErrorStream();
                 InputStreamReader errorStreamReader = new InputStreamReader(errorStream);
@@ -195,6 +214,24 @@ public class Ffmpeg {
         }
     }
 
+    private void readAudio(InputStream audio, AudioLevelMeter meter) throws IOException {
+        // blocks of 100ms
+        byte[] buffer = new byte[AudioLevelMeter.SAMPLE_RATE / 10 * 2];
+        boolean detected = false;
+        int length;
+        while ((length = audio.readNBytes(buffer, 0, buffer.length)) > 0) {
+            notFrozen = true;
+            if (meter.update(buffer, length) != detected) {
+                detected = !detected;
+                if (detected) {
+                    ipCameraHandler.audioDetected();
+                } else {
+                    ipCameraHandler.noAudioDetected();
+                }
+            }
+        }
+    }
+
     public void startConverting() {
         if (!ipCameraFfmpegThread.isAlive()) {
             ipCameraFfmpegThread = new IpCameraFfmpegThread();
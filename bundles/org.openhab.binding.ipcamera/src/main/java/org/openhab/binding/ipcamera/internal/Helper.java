@@ -69,6 +69,30 @@ public class Helper {
         return "";
     }
 
+    /**
+     * The {@link getBoundary} Returns the boundary parameter of a multipart Content-Type. Surrounding quotes are
+     * removed, and so are leading dashes that some cameras wrongly include in the parameter.
+     */
+    public static String getBoundary(String contentType) {
+        int index = contentType.toLowerCase().indexOf("boundary=");
+        if (index == -1) {
+            return "";
+        }
+        String boundary = contentType.substring(index + "boundary=".length());
+        index = boundary.indexOf(';');
+        if (index != -1) {
+            boundary = boundary.substring(0, index);
+        }
+        boundary = boundary.trim();
+        if (boundary.length() >= 2 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        if (boundary.startsWith("--")) {
+            boundary = boundary.substring(2);
+        }
+        return boundary;
+    }
+
     public static String fetchXML(String message, String sectionHeading, String key) {
         String result = "";
         int sectionHeaderBeginning = 0;
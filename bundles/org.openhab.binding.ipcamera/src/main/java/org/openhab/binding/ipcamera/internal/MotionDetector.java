@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link MotionDetector} compares each JPEG snapshot of a camera with the one before it, so motion can be detected
+ * without an FFmpeg process decoding the video stream. The JPEG is decoded at a reduced resolution and only its
+ * brightness is compared, inside the configured regions of the picture.
+ *
+ * The score is the mean change of brightness of the pixels in the regions, from 0 for no change to 1 for a picture
+ * that turned from black to white, which is comparable to the scene score of FFmpeg.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MotionDetector {
+    /** the width the snapshots are reduced to, roughly, before they are compared */
+    private static final int ANALYSIS_WIDTH = 160;
+    /** changes of brightness up to this are considered to be noise from the compression or the sensor */
+    private static final int NOISE_FLOOR = 8;
+
+    /**
+     * A part of the picture, in percent of its width and height.
+     */
+    public record Region(int x, int y, int width, int height) {
+    }
+
+    private final List<Region> regions;
+    private int width;
+    private int height;
+    private int[] pixels = new int[0];
+    private byte[] previous = new byte[0];
+    private byte[] current = new byte[0];
+    private boolean[] mask = new boolean[0];
+    private int maskedPixels;
+    private boolean hasPrevious;
+
+    /**
+     * @param regions the parts of the picture to look for motion in, or an empty list for the whole picture
+     */
+    public MotionDetector(List<Region> regions) {
+        this.regions = List.copyOf(regions);
+    }
+
+    /**
+     * Parse regions in the format {@code x,y,width,height} in percent, separated by {@code ;}.
+     *
+     * @return the regions, which is empty for the whole picture
+     * @throws IllegalArgumentException if the regions are not in this format
+     */
+    public static List<Region> parseRegions(String config) {
+        List<Region> regions = new ArrayList<>();
+        for (String region : config.split(";")) {
+            if (region.isBlank()) {
+                continue;
+            }
+            String[] values = region.split(",");
+            if (values.length != 4) {
+                throw new IllegalArgumentException("A region needs to be x,y,width,height but was: " + region);
+            }
+            int[] percent = new int[4];
+            for (int i = 0; i < 4; i++) {
+                try {
+                    percent[i] = Integer.parseInt(values[i].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("A region needs to be x,y,width,height but was: " + region);
+                }
+                if (percent[i] < 0 || percent[i] > 100) {
+                    throw new IllegalArgumentException("A region needs to be given in percent but was: " + region);
+                }
+            }
+            if (percent[2] == 0 || percent[3] == 0) {
+                throw new IllegalArgumentException("A region can not be empty: " + region);
+            }
+            regions.add(new Region(percent[0], percent[1], percent[2], percent[3]));
+        }
+        return regions;
+    }
+
+    /**
+     * Compare a snapshot with the previous one. Only one snapshot can be analysed at a time.
+     *
+     * @param jpeg the snapshot
+     * @return the score of the change since the previous snapshot, or {@link Double#NaN} when there is nothing to
+     *         compare with, like for the first snapshot or after the resolution of the camera changed.
+     * @throws IOException if the snapshot could not be decoded
+     */
+    public synchronized double analyse(byte[] jpeg) throws IOException {
+        BufferedImage image = decode(jpeg);
+        int imageWidth = image.getWidth();
+        int imageHeight = image.getHeight();
+        if (imageWidth != width || imageHeight != height) {
+            resize(imageWidth, imageHeight);
+        }
+        image.getRGB(0, 0, width, height, pixels, 0, width);
+        for (int i = 0; i < pixels.length; i++) {
+            int rgb = pixels[i];
+            int luma = (((rgb >> 16) & 0xff) * 299 + ((rgb >> 8) & 0xff) * 587 + (rgb & 0xff) * 114) / 1000;
+            current[i] = (byte) luma;
+        }
+        byte[] swap = previous;
+        previous = current;
+        current = swap;
+        if (!hasPrevious) {
+            hasPrevious = true;
+            return Double.NaN;
+        }
+        if (maskedPixels == 0) {
+            return 0;
+        }
+        long change = 0;
+        for (int i = 0; i < previous.length; i++) {
+            if (mask[i]) {
+                int difference = Math.abs((previous[i] & 0xff) - (current[i] & 0xff));
+                if (difference > NOISE_FLOOR) {
+                    change += difference;
+                }
+            }
+        }
+        return (double) change / (maskedPixels * 255L);
+    }
+
+    /**
+     * Forget the previous snapshot, for example when the stream of the camera has been interrupted.
+     */
+    public synchronized void reset() {
+        hasPrevious = false;
+    }
+
+    private BufferedImage decode(byte[] jpeg) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(jpeg))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Snapshot is not a supported image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // decoding only every n-th pixel is a lot cheaper than decoding the full picture and scaling it down
+                int step = Math.max(1, reader.getWidth(0) / ANALYSIS_WIDTH);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                @Nullable
+                BufferedImage image = reader.read(0, param);
+                if (image == null) {
+                    throw new IOException("Snapshot could not be decoded");
+                }
+                return image;
+            } catch (RuntimeException e) {
+                // the decoder throws these for some corrupt images
+                throw new IOException("Snapshot could not be decoded: " + e.getMessage(), e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void resize(int newWidth, int newHeight) {
+        width = newWidth;
+        height = newHeight;
+        pixels = new int[width * height];
+        previous = new byte[width * height];
+        current = new byte[width * height];
+        mask = new boolean[width * height];
+        hasPrevious = false;
+        maskedPixels = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (isInRegions(x * 100 / width, y * 100 / height)) {
+                    mask[y * width + x] = true;
+                    maskedPixels++;
+                }
+            }
+        }
+    }
+
+    private boolean isInRegions(int xPercent, int yPercent) {
+        if (regions.isEmpty()) {
+            return true;
+        }
+        for (Region region : regions) {
+            if (xPercent >= region.x() && xPercent < region.x() + region.width() && yPercent >= region.y()
+                    && yPercent < region.y() + region.height()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -33,8 +33,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +46,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.ipcamera.internal.AmcrestHandler;
+import org.openhab.binding.ipcamera.internal.AudioLevelMeter;
 import org.openhab.binding.ipcamera.internal.CameraConfig;
 import org.openhab.binding.ipcamera.internal.ChannelTracking;
 import org.openhab.binding.ipcamera.internal.DahuaHandler;
@@ -58,12 +61,14 @@ import org.openhab.binding.ipcamera.internal.InstarHandler;
 import org.openhab.binding.ipcamera.internal.IpCameraActions;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
+import org.openhab.binding.ipcamera.internal.MotionDetector;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
 import org.openhab.binding.ipcamera.internal.ReolinkHandler;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection.RequestType;
 import org.openhab.binding.ipcamera.internal.servlet.CameraServlet;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.IncreaseDecreaseType;
 import org.openhab.core.library.types.OnOffType;
@@ -129,7 +134,16 @@ import io.netty.util.concurrent.GlobalEventExecutor;
 public class IpCameraHandler extends BaseThingHandler {
     public final Logger logger = LoggerFactory.getLogger(getClass());
     public final IpCameraDynamicStateDescriptionProvider stateDescriptionProvider;
+    private static final String ANALYSIS_POOL_NAME = "ipcamera-analysis";
+    // The number of snapshots without motion before the motion alarm of the analysis turns OFF.
+    private static final int MOTION_QUIET_SNAPSHOTS = 3;
     private ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(2);
+    // Shared by all cameras, so the number of snapshots analysed at the same time is limited.
+    private final ExecutorService analysisPool = ThreadPoolManager.getPool(ANALYSIS_POOL_NAME);
+    private @Nullable MotionDetector motionDetector;
+    private final AtomicBoolean motionAnalysisRunning = new AtomicBoolean();
+    private boolean analysedMotion = false;
+    private int quietSnapshots = 0;
     private GroupTracker groupTracker;
     public CameraConfig cameraConfig = new CameraConfig();
 
@@ -240,7 +254,7 @@ public class IpCameraHandler extends BaseThingHandler {
                                 }
                             }
                             if (contentType.contains("multipart")) {
-                                boundary = Helper.searchString(contentType, "boundary=");
+                                boundary = Helper.getBoundary(contentType);
                                 if (mjpegUri.equals(requestUrl)) {
                                     if (msg instanceof HttpMessage) {
                                         // very start of stream only
@@ -268,11 +282,9 @@ public class IpCameraHandler extends BaseThingHandler {
                 if (msg instanceof HttpContent content) {
                     if (mjpegUri.equals(requestUrl) && !(content instanceof LastHttpContent)) {
                         // multiple MJPEG stream packets come back as this.
-                        byte[] chunkedFrame = new byte[content.content().readableBytes()];
-                        content.content().getBytes(content.content().readerIndex(), chunkedFrame);
                         CameraServlet localServlet = servlet;
                         if (localServlet != null) {
-                            localServlet.openStreams.queueFrame(chunkedFrame);
+                            localServlet.openStreams.queueFrame(content.content().nioBuffer());
                         }
                     } else {
                         // Found some cameras use Content-Type: image/jpg instead of image/jpeg
@@ -699,6 +711,81 @@ public class IpCameraHandler extends BaseThingHandler {
             updateState(CHANNEL_IMAGE, new RawType(incommingSnapshot, "image/jpeg"));
             firstAudioAlarm = audioAlarmUpdateSnapshot = false;
         }
+        if (ffmpegMotionAlarmEnabled && motionDetector != null) {
+            analyseMotion(incommingSnapshot);
+        }
+    }
+
+    /**
+     * Look for motion in the snapshot on the analysis pool. Snapshots that arrive while the previous one is still being
+     * analysed are skipped, so a slow analysis can not build up a backlog.
+     */
+    private void analyseMotion(byte[] snapshot) {
+        MotionDetector localDetector = motionDetector;
+        if (localDetector == null || !motionAnalysisRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            analysisPool.execute(() -> {
+                try {
+                    double score = localDetector.analyse(snapshot);
+                    if (!Double.isNaN(score)) {
+                        motionScored(score);
+                    }
+                } catch (IOException e) {
+                    logger.debug("Could not analyse snapshot for motion: {}", e.getMessage());
+                } finally {
+                    motionAnalysisRunning.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            motionAnalysisRunning.set(false);
+        }
+    }
+
+    private void motionScored(double score) {
+        if (!ffmpegMotionAlarmEnabled) {
+            return;
+        }
+        // the same scale as the scene score that FFmpeg uses
+        if (score >= motionThreshold.doubleValue() / BIG_DECIMAL_SCALE_MOTION.doubleValue()) {
+            logger.trace("Motion score {} of snapshot is above the threshold", score);
+            quietSnapshots = 0;
+            if (!analysedMotion) {
+                analysedMotion = true;
+                motionDetected(CHANNEL_FFMPEG_MOTION_ALARM);
+            }
+        } else if (analysedMotion && ++quietSnapshots >= MOTION_QUIET_SNAPSHOTS) {
+            analysedMotion = false;
+            noMotionDetected(CHANNEL_FFMPEG_MOTION_ALARM);
+        }
+    }
+
+    /**
+     * Motion is detected from the snapshots in the binding, so FFmpeg is only needed to extract the audio of the
+     * camera, which is far cheaper than decoding the video.
+     */
+    private void setupAnalysedAlarms(String inputOptions) {
+        if (ffmpegMotionAlarmEnabled) {
+            startSnapshotPolling();
+        } else {
+            analysedMotion = false;
+            MotionDetector localDetector = motionDetector;
+            if (localDetector != null) {
+                localDetector.reset();
+            }
+        }
+        if (!ffmpegAudioAlarmEnabled) {
+            ffmpegRtspHelper = null;
+            return;
+        }
+        String input = (cameraConfig.getAlarmInputUrl().isEmpty()) ? rtspUri : cameraConfig.getAlarmInputUrl();
+        Ffmpeg localAlarms = new Ffmpeg(this, FFmpegFormat.RTSP_ALARMS, cameraConfig.getFfmpegLocation(),
+                inputOptions, input, "-vn -ac 1 -ar " + AudioLevelMeter.SAMPLE_RATE + " -f s16le", "-",
+                cameraConfig.getUser(), cameraConfig.getPassword());
+        localAlarms.analyseAudio(new AudioLevelMeter(audioThreshold));
+        ffmpegRtspHelper = localAlarms;
+        localAlarms.startConverting();
     }
 
     public void startStreamServer() {
@@ -904,6 +991,10 @@ public class IpCameraHandler extends BaseThingHandler {
                         return;
                     }
                 }
+                if (motionDetector != null) {
+                    setupAnalysedAlarms(inputOptions);
+                    break;
+                }
                 String input = (cameraConfig.getAlarmInputUrl().isEmpty()) ? rtspUri : cameraConfig.getAlarmInputUrl();
                 String filterOptions = "";
                 if (!ffmpegAudioAlarmEnabled) {
@@ -1514,6 +1605,9 @@ public class IpCameraHandler extends BaseThingHandler {
 
     public void stopSnapshotPolling() {
         Future<?> localFuture;
+        if (ffmpegMotionAlarmEnabled && motionDetector != null) {
+            return; // The snapshots are needed to detect motion
+        }
         if (!streamingSnapshotMjpeg && cameraConfig.getGifPreroll() == 0
                 && !cameraConfig.getUpdateImageWhen().contains("1")) {
             snapshotPolling = false;
@@ -1534,7 +1628,8 @@ public class IpCameraHandler extends BaseThingHandler {
         if (snapshotPolling || ffmpegSnapshotGeneration) {
             return; // Already polling or creating with FFmpeg from RTSP
         }
-        if (streamingSnapshotMjpeg || streamingAutoFps || cameraConfig.getUpdateImageWhen().contains("4")) {
+        if (streamingSnapshotMjpeg || streamingAutoFps || cameraConfig.getUpdateImageWhen().contains("4")
+                || (ffmpegMotionAlarmEnabled && motionDetector != null)) {
             snapshotPolling = true;
             snapshotJob = threadPool.scheduleWithFixedDelay(this::snapshotRunnable, 0, cameraConfig.getPollTime(),
                     TimeUnit.MILLISECONDS);
@@ -1615,7 +1710,10 @@ public class IpCameraHandler extends BaseThingHandler {
         if (localFfmpeg != null) {
             localFfmpeg.checkKeepAlive();
         }
-        if (ffmpegMotionAlarmEnabled || ffmpegAudioAlarmEnabled) {
+        if (ffmpegMotionAlarmEnabled && motionDetector != null) {
+            startSnapshotPolling();
+        }
+        if ((ffmpegMotionAlarmEnabled && motionDetector == null) || ffmpegAudioAlarmEnabled) {
             localFfmpeg = ffmpegRtspHelper;
             if (localFfmpeg == null || !localFfmpeg.isAlive()) {
                 setupFfmpegFormat(FFmpegFormat.RTSP_ALARMS);
@@ -1631,6 +1729,10 @@ public class IpCameraHandler extends BaseThingHandler {
             logger.debug("There are {} open Channels being tracked.", openChannels.size());
             cleanChannels();
         }
+        CameraServlet localServlet = servlet;
+        if (localServlet != null && !localServlet.openStreams.isEmpty()) {
+            logger.debug("ipcamera.mjpeg: {}", localServlet.openStreams.getStatistics());
+        }
     }
 
     @Override
@@ -1645,6 +1747,17 @@ public class IpCameraHandler extends BaseThingHandler {
             cameraConfig
                     .setFfmpegOutput(OpenHAB.getUserDataFolder() + "/ipcamera/" + this.thing.getUID().getId() + "/");
         }
+        motionDetector = null;
+        if (cameraConfig.getAlarmAnalysis()) {
+            List<MotionDetector.Region> regions = List.of();
+            try {
+                regions = MotionDetector.parseRegions(cameraConfig.getMotionRegions());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Looking for motion in the whole picture, since the motionRegions are not valid: {}",
+                        e.getMessage());
+            }
+            motionDetector = new MotionDetector(regions);
+        }
         // Known cameras will connect quicker if we skip ONVIF questions.
         switch (thing.getThingTypeUID().getId()) {
             case AMCREST_THING:
@@ -1770,8 +1883,10 @@ public class IpCameraHandler extends BaseThingHandler {
         if (localServlet != null && !localServlet.openStreams.isEmpty()) {
             if (!mjpegUri.isEmpty() && !"ffmpeg".equals(mjpegUri)) {
                 localServlet.openStreams.queueFrame(("--" + localServlet.openStreams.boundary + "\r\n\r\n").getBytes());
+                localServlet.openStreams.queueFrame(getSnapshot());
+            } else {
+                localServlet.openStreams.queueJpeg(getSnapshot());
             }
-            localServlet.openStreams.queueFrame(getSnapshot());
         }
     }
 
@@ -70,7 +70,7 @@ public class CameraServlet extends IpCameraServlet {
             case "/ipcamera.jpg":
                 // ffmpeg sends data here for ipcamera.mjpeg streams when camera has no native stream.
                 ServletInputStream snapshotData = req.getInputStream();
-                openStreams.queueFrame(snapshotData.readAllBytes());
+                openStreams.queueJpeg(snapshotData, req.getContentLength());
                 snapshotData.close();
                 break;
             case "/snapshot.jpg":
@@ -200,30 +200,10 @@ public class CameraServlet extends IpCameraServlet {
                     output = new StreamOutput(resp, handler.mjpegContentType);
                 }
                 openStreams.addStream(output);
-                do {
-                    try {
-                        output.sendFrame();
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openStreams.removeStream(output);
-                        logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
-                        if (openStreams.isEmpty()) {
-                            if (output.isSnapshotBased) {
-                                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
-                                if (localMjpeg != null) {
-                                    localMjpeg.stopConverting();
-                                    // Set reference to ffmpegMjpeg to null to prevent automatic reconnection
-                                    // in handler's pollCameraRunnable() check for frozen camera
-                                    handler.ffmpegMjpeg = null;
-                                }
-                            } else {
-                                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
-                            }
-                            logger.debug("All ipcamera.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (!openStreams.isEmpty());
+                final StreamOutput mjpegOutput = output;
+                mjpegOutput.startStreaming(req.startAsync(req, resp), openStreams,
+                        () -> mjpegStreamClosed(mjpegOutput));
+                return;
             case "/autofps.mjpeg":
                 handler.streamingAutoFps = true;
                 output = new StreamOutput(resp);
@@ -270,6 +250,26 @@ public class CameraServlet extends IpCameraServlet {
         }
     }
 
+    private void mjpegStreamClosed(StreamOutput output) {
+        openStreams.removeStream(output);
+        logger.debug("Now there are {} ipcamera.mjpeg streams open. The closed stream sent {} frames and dropped {}.",
+                openStreams.getNumberOfStreams(), output.getSentFrames(), output.getDroppedFrames());
+        if (openStreams.isEmpty()) {
+            if (output.isSnapshotBased) {
+                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
+                if (localMjpeg != null) {
+                    localMjpeg.stopConverting();
+                    // Set reference to ffmpegMjpeg to null to prevent automatic reconnection
+                    // in handler's pollCameraRunnable() check for frozen camera
+                    handler.ffmpegMjpeg = null;
+                }
+            } else {
+                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
+            }
+            logger.debug("All ipcamera.mjpeg streams have stopped.");
+        }
+    }
+
     @Override
     protected void sendFile(HttpServletResponse response, String filename, String contentType) throws IOException {
         // Ensure no files can be sourced from parent or child folders
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link MjpegFrameRing} holds the most recent chunks of a cameras mjpeg stream, so that any number of clients
+ * can read them by their sequence number without the data being copied for each client. A client that falls behind
+ * does not hold up the camera or the other clients, it simply misses the chunks that have been overwritten.
+ * The buffers are reference counted, so a chunk that is still being written to a client is not reused, and are kept
+ * in a pool once they have left the ring.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class MjpegFrameRing {
+
+    /**
+     * A chunk of the stream. Chunks that contain the start of a jpeg frame are marked, so that a client can
+     * (re-)start the stream from there.
+     */
+    static class Frame {
+        byte[] data;
+        int offset;
+        int length;
+        /** index in data where a new jpeg frame starts, or -1 if the chunk continues the previous frame */
+        int frameStart = -1;
+        long sequence = -1;
+        /** the number of frames which have been started up to and including this chunk */
+        long frameNumber;
+        private int references;
+
+        Frame(int capacity) {
+            data = new byte[capacity];
+        }
+
+        /**
+         * Grow the buffer, keeping its content.
+         */
+        void ensureCapacity(int capacity) {
+            if (data.length < capacity) {
+                data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+            }
+        }
+    }
+
+    private static final int INITIAL_FRAME_CAPACITY = 8192;
+
+    private final @Nullable Frame[] slots;
+    private final Deque<Frame> pool = new ArrayDeque<>();
+    private long nextSequence;
+    private long frameCount;
+    private long latestFrameStart = -1;
+
+    MjpegFrameRing(int capacity) {
+        slots = new Frame[capacity];
+    }
+
+    /**
+     * Take a buffer from the pool. It must either be given to {@link #publish(Frame)} or to {@link #release(Frame)}.
+     */
+    synchronized Frame acquire(int capacity) {
+        Frame frame = pool.poll();
+        if (frame == null) {
+            frame = new Frame(Math.max(capacity, INITIAL_FRAME_CAPACITY));
+        } else {
+            frame.ensureCapacity(capacity);
+        }
+        frame.offset = 0;
+        frame.length = 0;
+        frame.frameStart = -1;
+        frame.sequence = -1;
+        frame.references = 1;
+        return frame;
+    }
+
+    /**
+     * Add a chunk to the ring, replacing the oldest one. The reference acquired with the chunk is handed over to the
+     * ring.
+     */
+    synchronized void publish(Frame frame) {
+        frame.sequence = nextSequence++;
+        if (frame.frameStart >= 0) {
+            frameCount++;
+            latestFrameStart = frame.sequence;
+        }
+        frame.frameNumber = frameCount;
+        int index = (int) (frame.sequence % slots.length);
+        Frame evicted = slots[index];
+        slots[index] = frame;
+        if (evicted != null) {
+            releaseLocked(evicted);
+        }
+    }
+
+    /**
+     * @return the chunk with the given sequence number, which has to be released after use, or null if it has not
+     *         been published yet or has already been overwritten.
+     */
+    synchronized @Nullable Frame retain(long sequence) {
+        if (sequence < 0 || sequence >= nextSequence || sequence < nextSequence - slots.length) {
+            return null;
+        }
+        Frame frame = slots[(int) (sequence % slots.length)];
+        if (frame == null || frame.sequence != sequence) {
+            return null;
+        }
+        frame.references++;
+        return frame;
+    }
+
+    synchronized void release(Frame frame) {
+        releaseLocked(frame);
+    }
+
+    private void releaseLocked(Frame frame) {
+        if (--frame.references == 0 && pool.size() < slots.length) {
+            pool.push(frame);
+        }
+    }
+
+    /**
+     * @return the sequence number of the newest chunk that starts a frame, or -1 if there is none.
+     */
+    synchronized long getLatestFrameStart() {
+        return latestFrameStart;
+    }
+
+    /**
+     * @return the sequence number the next published chunk will get.
+     */
+    synchronized long getNextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Drop all chunks, for example when the camera stream is restarted and the old chunks would not fit the new
+     * stream.
+     */
+    synchronized void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            Frame frame = slots[i];
+            if (frame != null) {
+                slots[i] = null;
+                releaseLocked(frame);
+            }
+        }
+        latestFrameStart = -1;
+    }
+}
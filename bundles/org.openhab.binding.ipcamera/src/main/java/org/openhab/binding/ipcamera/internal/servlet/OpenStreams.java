@@ -12,22 +12,39 @@
  */
 package org.openhab.binding.ipcamera.internal.servlet;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.ipcamera.internal.servlet.MjpegFrameRing.Frame;
 
 /**
  * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
  * 1 to many streams without needing to open more than 1 source stream.
  *
+ * The data of the source stream is kept once in a {@link MjpegFrameRing}, from which each stream reads at its own
+ * pace.
+ *
  * @author Matthew Skinner - Initial contribution
  */
 @NonNullByDefault
 public class OpenStreams {
-    private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<>());
+    private static final int RING_CAPACITY = 64;
+    // room in front of a jpeg for the multipart headers, which are only known once the jpeg has been read.
+    private static final int PART_HEADER_SPACE = 128;
+    private static final byte[] CRLF = { '\r', '\n' };
+
+    private List<StreamOutput> openStreams = new CopyOnWriteArrayList<>();
+    final MjpegFrameRing frames = new MjpegFrameRing(RING_CAPACITY);
     public String boundary = "thisMjpegStream";
+    private volatile byte[] boundaryMarker = ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+    // the end of the previous chunk, in case the boundary of the next frame is split across two chunks
+    private byte[] carry = new byte[0];
+    private int carryLength;
 
     public synchronized void addStream(StreamOutput stream) {
         openStreams.add(stream);
@@ -45,17 +62,144 @@ public class OpenStreams {
         return openStreams.isEmpty();
     }
 
+    /**
+     * @param contentType the Content-Type of the camera's stream, which is sent on to the clients
+     * @param boundary the boundary of the camera's stream, as returned by
+     *            {@link org.openhab.binding.ipcamera.internal.Helper#getBoundary(String)}
+     */
     public synchronized void updateContentType(String contentType, String boundary) {
         this.boundary = boundary;
+        // without a boundary no frame start can be found, the streams then start with the newest chunk
+        boundaryMarker = boundary.isEmpty() ? new byte[0] : ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        // chunks of a previous stream from the camera do not fit to the new one
+        frames.clear();
         for (StreamOutput stream : openStreams) {
             stream.updateContentType(contentType);
         }
     }
 
-    public synchronized void queueFrame(byte[] frame) {
+    /**
+     * Queue a chunk of the mjpeg stream of the camera. The chunk is copied once, whatever the number of open streams.
+     * Chunks are only queued by the single thread reading the camera's stream.
+     *
+     * If the boundary of a frame starts at the end of the previous chunk, that part of the boundary is copied in
+     * front of the chunk, so a stream that starts with this chunk sends the complete boundary, while a stream that
+     * has already sent the previous chunk continues at the offset.
+     *
+     * @param chunk the data of the chunk, from its position to its limit.
+     */
+    public void queueFrame(ByteBuffer chunk) {
+        byte[] marker = boundaryMarker;
+        int carried = Math.min(carryLength, Math.max(marker.length - 1, 0));
+        int length = chunk.remaining();
+        Frame frame = frames.acquire(carried + length);
+        System.arraycopy(carry, carryLength - carried, frame.data, 0, carried);
+        chunk.get(frame.data, carried, length);
+        frame.offset = carried;
+        frame.length = length;
+        frame.frameStart = indexOf(frame.data, carried + length, marker);
+        keepEnd(frame.data, carried + length, marker.length - 1);
+        publish(frame);
+    }
+
+    /**
+     * Queue a chunk of the mjpeg stream of the camera.
+     */
+    public void queueFrame(byte[] chunk) {
+        queueFrame(ByteBuffer.wrap(chunk));
+    }
+
+    /**
+     * Queue a complete jpeg, which is sent as a part of the multipart stream created by the binding.
+     */
+    public void queueJpeg(byte[] jpeg) {
+        Frame frame = frames.acquire(PART_HEADER_SPACE + jpeg.length + CRLF.length);
+        System.arraycopy(jpeg, 0, frame.data, PART_HEADER_SPACE, jpeg.length);
+        publishJpeg(frame, jpeg.length);
+    }
+
+    /**
+     * Queue a complete jpeg, read directly into a pooled buffer.
+     *
+     * @param input the jpeg
+     * @param contentLength the length of the jpeg if known, otherwise -1
+     * @throws IOException if reading the jpeg failed, in which case nothing is queued
+     */
+    public void queueJpeg(InputStream input, int contentLength) throws IOException {
+        Frame frame = frames.acquire(PART_HEADER_SPACE + Math.max(contentLength, 0) + CRLF.length);
+        try {
+            int length = 0;
+            int read;
+            do {
+                frame.ensureCapacity(PART_HEADER_SPACE + length + CRLF.length + 1);
+                read = input.read(frame.data, PART_HEADER_SPACE + length,
+                        frame.data.length - PART_HEADER_SPACE - length - CRLF.length);
+                if (read > 0) {
+                    length += read;
+                }
+            } while (read >= 0);
+            publishJpeg(frame, length);
+        } catch (IOException | RuntimeException e) {
+            frames.release(frame);
+            throw e;
+        }
+    }
+
+    private void publishJpeg(Frame frame, int jpegLength) {
+        byte[] header = ("--" + StreamOutput.SNAPSHOT_BOUNDARY + "\r\nContent-Type: image/jpeg\r\nContent-Length: "
+                + jpegLength + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        frame.offset = PART_HEADER_SPACE - header.length;
+        System.arraycopy(header, 0, frame.data, frame.offset, header.length);
+        System.arraycopy(CRLF, 0, frame.data, PART_HEADER_SPACE + jpegLength, CRLF.length);
+        frame.length = header.length + jpegLength + CRLF.length;
+        frame.frameStart = frame.offset;
+        publish(frame);
+    }
+
+    private void publish(Frame frame) {
+        frames.publish(frame);
+        for (StreamOutput stream : openStreams) {
+            stream.frameAvailable();
+        }
+    }
+
+    private void keepEnd(byte[] data, int length, int count) {
+        carryLength = Math.max(0, Math.min(count, length));
+        if (carry.length < carryLength) {
+            carry = new byte[carryLength];
+        }
+        System.arraycopy(data, length - carryLength, carry, 0, carryLength);
+    }
+
+    private static int indexOf(byte[] data, int length, byte[] pattern) {
+        if (pattern.length == 0) {
+            return -1;
+        }
+        outer: for (int i = 0; i <= length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return a summary of the lag and the dropped frames of the open streams, for logging.
+     */
+    public String getStatistics() {
+        long maxLag = 0;
+        long dropped = 0;
+        long sent = 0;
         for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+            maxLag = Math.max(maxLag, stream.getLag());
+            dropped += stream.getDroppedFrames();
+            sent += stream.getSentFrames();
         }
+        return String.format("%d streams, max lag %d chunks, %d frames sent, %d frames dropped", openStreams.size(),
+                maxLag, sent, dropped);
     }
 
     public synchronized void closeAllStreams() {
@@ -63,5 +207,6 @@ public class OpenStreams {
             stream.close();
         }
         openStreams.clear();
+        frames.clear();
     }
 }
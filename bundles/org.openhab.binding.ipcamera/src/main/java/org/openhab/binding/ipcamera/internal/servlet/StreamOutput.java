@@ -13,34 +13,59 @@
 package org.openhab.binding.ipcamera.internal.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.servlet.MjpegFrameRing.Frame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The {@link StreamOutput} Streams mjpeg out to a client
  *
+ * Streams of the {@link OpenStreams} read the frames from its {@link MjpegFrameRing} with non-blocking servlet output.
+ * A stream that falls behind skips to the newest frame instead of building up a backlog.
+ *
  * @author Matthew Skinner - Initial contribution
  */
 @NonNullByDefault
-public class StreamOutput {
+public class StreamOutput implements WriteListener, AsyncListener {
+    static final String SNAPSHOT_BOUNDARY = "thisMjpegStream";
+
     public final Logger logger = LoggerFactory.getLogger(getClass());
     private final HttpServletResponse response;
     private final String boundary;
     private String contentType;
     private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<>(50);
     private boolean connected = false;
     public boolean isSnapshotBased = false;
 
+    private @Nullable AsyncContext asyncContext;
+    private @Nullable MjpegFrameRing frames;
+    private @Nullable Runnable onClose;
+    private final AtomicBoolean waitingForFrame = new AtomicBoolean();
+    private @Nullable Frame inFlight;
+    private boolean repeatInFlight;
+    private boolean startAtFrame;
+    private int inFlightOffset;
+    private int inFlightLength;
+    private long nextSequence = -1;
+    private long lastFrameNumber = -1;
+    private volatile long lag;
+    private volatile long sentFrames;
+    private volatile long droppedFrames;
+    private boolean closed;
+
     public StreamOutput(HttpServletResponse response) throws IOException {
-        boundary = "thisMjpegStream";
+        boundary = SNAPSHOT_BOUNDARY;
         contentType = "multipart/x-mixed-replace; boundary=" + boundary;
         this.response = response;
         output = response.getOutputStream();
@@ -74,30 +99,222 @@ public class StreamOutput {
         output.write("\r\n".getBytes());
     }
 
-    public void queueFrame(byte[] frame) {
-        try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            logger.debug("FIFO buffer has run out of space: {}", e.getMessage());
-            fifo.remove();
-            fifo.add(frame);
-        }
-    }
-
-    public void updateContentType(String contentType) {
+    public synchronized void updateContentType(String contentType) {
         this.contentType = contentType;
         if (!connected) {
             sendInitialHeaders();
             connected = true;
         }
+        // start over at the first frame of the new stream from the camera
+        nextSequence = -1;
+        startAtFrame = false;
+        frameAvailable();
+    }
+
+    /**
+     * Start streaming the frames of the open streams to the client, without blocking a thread while waiting for frames
+     * or for the client.
+     *
+     * @param asyncContext the started async context of the request
+     * @param openStreams the open streams this stream has been added to
+     * @param onClose called once when the stream has been closed
+     */
+    public void startStreaming(AsyncContext asyncContext, OpenStreams openStreams, Runnable onClose) {
+        this.asyncContext = asyncContext;
+        this.frames = openStreams.frames;
+        this.onClose = onClose;
+        asyncContext.setTimeout(0);
+        asyncContext.addListener(this);
+        synchronized (this) {
+            if (isSnapshotBased && !connected) {
+                sendInitialHeaders();
+                connected = true;
+            }
+        }
+        output.setWriteListener(this);
     }
 
-    public void sendFrame() throws IOException, InterruptedException {
-        if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
-        } else if (connected) {
-            output.write(fifo.take());
+    /**
+     * Called by the {@link OpenStreams} when a frame has been added to the ring.
+     */
+    void frameAvailable() {
+        AsyncContext context = asyncContext;
+        if (context != null && waitingForFrame.compareAndSet(true, false)) {
+            try {
+                context.start(this::pump);
+            } catch (IllegalStateException e) {
+                // the request has already been completed
+                close();
+            }
+        }
+    }
+
+    @Override
+    public void onWritePossible() throws IOException {
+        pump();
+    }
+
+    /**
+     * Write frames for as long as the client accepts them without blocking.
+     */
+    private void pump() {
+        synchronized (this) {
+            MjpegFrameRing localFrames = frames;
+            if (localFrames == null || closed) {
+                return;
+            }
+            if (!connected) {
+                // the content type of the camera's stream is not known yet
+                waitingForFrame.set(true);
+                return;
+            }
+            try {
+                while (output.isReady()) {
+                    // the previous write has completed, so its buffer is no longer needed
+                    Frame previous = inFlight;
+                    if (previous != null) {
+                        if (repeatInFlight) {
+                            // iOS needs to have two jpgs sent for the picture to appear instantly.
+                            repeatInFlight = false;
+                            output.write(previous.data, inFlightOffset, inFlightLength);
+                            continue;
+                        }
+                        inFlight = null;
+                        localFrames.release(previous);
+                    }
+                    @Nullable
+                    Frame frame = nextFrame(localFrames);
+                    if (frame == null) {
+                        // the flag has to be set before looking again, so that no new frame is missed
+                        waitingForFrame.set(true);
+                        frame = nextFrame(localFrames);
+                        if (frame == null) {
+                            return;
+                        }
+                        waitingForFrame.set(false);
+                    }
+                    inFlight = frame;
+                    output.write(frame.data, inFlightOffset, inFlightLength);
+                }
+                return;
+            } catch (IOException | IllegalStateException e) {
+                // Occurs when browser stops the stream.
+                logger.debug("Stream to client stopped: {}", e.getMessage());
+            }
+        }
+        // not while holding the lock, since closing takes the lock of the open streams
+        close();
+    }
+
+    /**
+     * Take the next chunk to send from the ring, and set the part of it to send. The stream skips to the newest frame
+     * when it has fallen so far behind that its next chunk has been overwritten, or when it has completed a frame
+     * while a newer frame is already waiting.
+     */
+    private @Nullable Frame nextFrame(MjpegFrameRing localFrames) {
+        long latestFrameStart = localFrames.getLatestFrameStart();
+        long published = localFrames.getNextSequence();
+        lag = nextSequence < 0 ? 0 : Math.max(0, published - nextSequence);
+        @Nullable
+        Frame frame = localFrames.retain(nextSequence);
+        if (frame == null) {
+            if (nextSequence >= published) {
+                // waiting for the camera
+                return null;
+            }
+            // the stream has just started, or its next chunk has been overwritten
+            nextSequence = latestFrameStart;
+            startAtFrame = true;
+            frame = localFrames.retain(nextSequence);
+            if (frame == null) {
+                // no frame start is known, for example because the boundary of the camera's stream was not found, so
+                // the newest chunk is sent and the client skips the data before the next boundary
+                nextSequence = published - 1;
+                startAtFrame = false;
+                frame = localFrames.retain(nextSequence);
+                if (frame == null) {
+                    return null;
+                }
+            }
+        } else if (!startAtFrame && frame.frameStart >= 0 && latestFrameStart > nextSequence) {
+            // finish the current frame, then skip to the newest one
+            if (frame.frameStart > frame.offset) {
+                inFlightOffset = frame.offset;
+                inFlightLength = frame.frameStart - frame.offset;
+                nextSequence = latestFrameStart;
+                startAtFrame = true;
+                return frame;
+            }
+            localFrames.release(frame);
+            nextSequence = latestFrameStart;
+            startAtFrame = true;
+            frame = localFrames.retain(nextSequence);
+            if (frame == null) {
+                return null;
+            }
+        }
+        nextSequence++;
+        if (startAtFrame) {
+            startAtFrame = false;
+            if (lastFrameNumber >= 0) {
+                droppedFrames += Math.max(0, frame.frameNumber - lastFrameNumber - 1);
+            } else {
+                repeatInFlight = isSnapshotBased;
+            }
+            inFlightOffset = frame.frameStart;
+            inFlightLength = frame.offset + frame.length - frame.frameStart;
+        } else {
+            inFlightOffset = frame.offset;
+            inFlightLength = frame.length;
+        }
+        if (frame.frameStart >= 0) {
+            sentFrames++;
+            lastFrameNumber = frame.frameNumber;
         }
+        return frame;
+    }
+
+    @Override
+    public void onError(@Nullable Throwable t) {
+        logger.debug("Stream to client failed: {}", t == null ? "" : t.getMessage());
+        close();
+    }
+
+    @Override
+    public void onComplete(@Nullable AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onTimeout(@Nullable AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onError(@Nullable AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onStartAsync(@Nullable AsyncEvent event) {
+    }
+
+    /**
+     * @return the number of chunks the stream is behind the camera
+     */
+    public long getLag() {
+        return lag;
+    }
+
+    public long getSentFrames() {
+        return sentFrames;
+    }
+
+    /**
+     * @return the number of frames skipped because the client could not keep up
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
     }
 
     private void sendInitialHeaders() {
@@ -107,9 +324,30 @@ public class StreamOutput {
     }
 
     public void close() {
+        Runnable localOnClose;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            localOnClose = onClose;
+            // a pending write may still use the buffer, so it is left to the garbage collector instead of the pool
+            inFlight = null;
+        }
+        AsyncContext context = asyncContext;
+        if (context != null) {
+            try {
+                context.complete();
+            } catch (IllegalStateException e) {
+                // already completed
+            }
+        }
         try {
             output.close();
-        } catch (IOException e) {
+        } catch (IOException | IllegalStateException e) {
+        }
+        if (localOnClose != null) {
+            localOnClose.run();
         }
     }
 }
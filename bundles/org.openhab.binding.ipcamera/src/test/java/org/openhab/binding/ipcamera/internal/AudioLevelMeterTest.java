@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AudioLevelMeter}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class AudioLevelMeterTest {
+    // 100ms of audio, as read from FFmpeg
+    private static final int BLOCK_SAMPLES = AudioLevelMeter.SAMPLE_RATE / 10;
+
+    /**
+     * @return a block of a 1kHz sine wave with the given peak level in dB below full scale
+     */
+    private static byte[] tone(double peakDb) {
+        byte[] pcm = new byte[BLOCK_SAMPLES * 2];
+        double amplitude = 32767 * Math.pow(10, -peakDb / 20);
+        for (int i = 0; i < BLOCK_SAMPLES; i++) {
+            double phase = 2 * Math.PI * 1000 * i / AudioLevelMeter.SAMPLE_RATE;
+            short sample = (short) Math.round(amplitude * Math.sin(phase));
+            pcm[i * 2] = (byte) sample;
+            pcm[i * 2 + 1] = (byte) (sample >> 8);
+        }
+        return pcm;
+    }
+
+    @Test
+    public void level() {
+        assertEquals(AudioLevelMeter.MIN_LEVEL, AudioLevelMeter.level(new byte[BLOCK_SAMPLES * 2], BLOCK_SAMPLES * 2));
+        // the RMS of a sine wave is 3dB below its peak
+        assertEquals(-3.0, AudioLevelMeter.level(tone(0), BLOCK_SAMPLES * 2), 0.1);
+        assertEquals(-23.0, AudioLevelMeter.level(tone(20), BLOCK_SAMPLES * 2), 0.1);
+        assertEquals(AudioLevelMeter.MIN_LEVEL, AudioLevelMeter.level(new byte[1], 1));
+    }
+
+    @Test
+    public void soundIsHeldUntilQuietForTwoSeconds() {
+        AudioLevelMeter meter = new AudioLevelMeter(35);
+        byte[] quiet = tone(60);
+        byte[] loud = tone(10);
+        assertFalse(meter.update(quiet, quiet.length));
+        assertTrue(meter.update(loud, loud.length));
+        for (int i = 0; i < 19; i++) {
+            assertTrue(meter.update(quiet, quiet.length));
+        }
+        assertFalse(meter.update(quiet, quiet.length));
+    }
+
+    @Test
+    public void soundRestartsTheHoldTime() {
+        AudioLevelMeter meter = new AudioLevelMeter(35);
+        byte[] quiet = tone(60);
+        byte[] loud = tone(10);
+        meter.update(loud, loud.length);
+        for (int i = 0; i < 15; i++) {
+            meter.update(quiet, quiet.length);
+        }
+        meter.update(loud, loud.length);
+        for (int i = 0; i < 15; i++) {
+            assertTrue(meter.update(quiet, quiet.length));
+        }
+    }
+}
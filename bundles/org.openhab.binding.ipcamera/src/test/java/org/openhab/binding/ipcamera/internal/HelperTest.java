@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Helper}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class HelperTest {
+
+    @Test
+    public void boundaryIsTakenFromContentType() {
+        assertEquals("myboundary", Helper.getBoundary("multipart/x-mixed-replace; boundary=myboundary"));
+        assertEquals("myboundary", Helper.getBoundary("multipart/x-mixed-replace;Boundary=myboundary; charset=x"));
+        assertEquals("", Helper.getBoundary("image/jpeg"));
+    }
+
+    @Test
+    public void quotesAndDashesAreRemovedFromBoundary() {
+        assertEquals("myboundary", Helper.getBoundary("multipart/x-mixed-replace; boundary=\"myboundary\""));
+        assertEquals("myboundary", Helper.getBoundary("multipart/x-mixed-replace; boundary=--myboundary"));
+        assertEquals("myboundary", Helper.getBoundary("multipart/x-mixed-replace; boundary=\"--myboundary\""));
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.ipcamera.internal.MotionDetector.Region;
+
+/**
+ * Tests for {@link MotionDetector}, with snapshots of a grey scene that a dark object moves through.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MotionDetectorTest {
+
+    private static byte[] snapshot(int width, int height, int objectX, int objectY) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.LIGHT_GRAY);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.DARK_GRAY);
+        graphics.fillRect(objectX, objectY, width / 8, height / 4);
+        graphics.dispose();
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", jpeg);
+        return jpeg.toByteArray();
+    }
+
+    @Test
+    public void firstSnapshotHasNothingToCompareWith() throws IOException {
+        MotionDetector detector = new MotionDetector(List.of());
+        assertTrue(Double.isNaN(detector.analyse(snapshot(640, 480, 0, 0))));
+    }
+
+    @Test
+    public void sameSnapshotHasNoMotion() throws IOException {
+        MotionDetector detector = new MotionDetector(List.of());
+        byte[] snapshot = snapshot(640, 480, 100, 100);
+        detector.analyse(snapshot);
+        assertEquals(0, detector.analyse(snapshot));
+    }
+
+    @Test
+    public void movingObjectIsDetected() throws IOException {
+        MotionDetector detector = new MotionDetector(List.of());
+        detector.analyse(snapshot(640, 480, 0, 0));
+        double score = detector.analyse(snapshot(640, 480, 320, 240));
+        // above a motion threshold of 50 on the scale of ffmpegMotionControl
+        assertTrue(score > 0.01, "score was " + score);
+    }
+
+    @Test
+    public void motionOutsideTheRegionsIsIgnored() throws IOException {
+        // only the right half of the picture
+        MotionDetector detector = new MotionDetector(List.of(new Region(50, 0, 50, 100)));
+        detector.analyse(snapshot(640, 480, 0, 0));
+        assertEquals(0, detector.analyse(snapshot(640, 480, 0, 240)));
+        assertTrue(detector.analyse(snapshot(640, 480, 480, 240)) > 0);
+    }
+
+    @Test
+    public void changeOfResolutionStartsOver() throws IOException {
+        MotionDetector detector = new MotionDetector(List.of());
+        detector.analyse(snapshot(640, 480, 0, 0));
+        assertTrue(Double.isNaN(detector.analyse(snapshot(1280, 720, 0, 0))));
+        assertEquals(0, detector.analyse(snapshot(1280, 720, 0, 0)));
+    }
+
+    @Test
+    public void corruptSnapshotThrows() {
+        MotionDetector detector = new MotionDetector(List.of());
+        assertThrows(IOException.class, () -> detector.analyse(new byte[] { (byte) 0xff, (byte) 0xd8, 0x00 }));
+    }
+
+    @Test
+    public void parseRegions() {
+        assertEquals(List.of(), MotionDetector.parseRegions(""));
+        assertEquals(List.of(new Region(0, 50, 100, 50), new Region(10, 0, 20, 30)),
+                MotionDetector.parseRegions("0,50,100,50; 10, 0, 20, 30"));
+        assertThrows(IllegalArgumentException.class, () -> MotionDetector.parseRegions("0,50,100"));
+        assertThrows(IllegalArgumentException.class, () -> MotionDetector.parseRegions("0,50,101,50"));
+        assertThrows(IllegalArgumentException.class, () -> MotionDetector.parseRegions("a,b,c,d"));
+    }
+}
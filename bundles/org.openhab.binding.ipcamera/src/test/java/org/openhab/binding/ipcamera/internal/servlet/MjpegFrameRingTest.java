@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.ipcamera.internal.servlet.MjpegFrameRing.Frame;
+
+/**
+ * Tests for {@link MjpegFrameRing}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MjpegFrameRingTest {
+    private final MjpegFrameRing ring = new MjpegFrameRing(4);
+
+    private Frame publish(boolean frameStart) {
+        Frame frame = ring.acquire(16);
+        frame.length = 16;
+        frame.frameStart = frameStart ? 0 : -1;
+        ring.publish(frame);
+        return frame;
+    }
+
+    @Test
+    public void publishedChunksAreRetainedBySequence() {
+        Frame first = publish(true);
+        Frame second = publish(false);
+
+        assertSame(first, ring.retain(0));
+        assertSame(second, ring.retain(1));
+        assertNull(ring.retain(2));
+        assertNull(ring.retain(-1));
+        assertEquals(2, ring.getNextSequence());
+    }
+
+    @Test
+    public void overwrittenChunksCannotBeRetained() {
+        for (int i = 0; i < 6; i++) {
+            publish(false);
+        }
+
+        assertNull(ring.retain(0));
+        assertNull(ring.retain(1));
+        for (long sequence = 2; sequence < 6; sequence++) {
+            @Nullable
+            Frame frame = ring.retain(sequence);
+            assertNotNull(frame);
+            assertEquals(sequence, frame.sequence);
+        }
+    }
+
+    @Test
+    public void frameStartsAreCounted() {
+        publish(true);
+        publish(false);
+        publish(true);
+        publish(false);
+
+        assertEquals(2, ring.getLatestFrameStart());
+        @Nullable
+        Frame frame = ring.retain(3);
+        assertNotNull(frame);
+        assertEquals(2, frame.frameNumber);
+
+        ring.clear();
+        assertEquals(-1, ring.getLatestFrameStart());
+        assertNull(ring.retain(3));
+    }
+
+    @Test
+    public void overwrittenChunkIsReused() {
+        Frame first = publish(false);
+        for (int i = 0; i < 4; i++) {
+            publish(false);
+        }
+
+        assertSame(first, ring.acquire(16));
+    }
+
+    @Test
+    public void retainedChunkIsNotReusedUntilReleased() {
+        Frame first = publish(false);
+        assertSame(first, ring.retain(0));
+        for (int i = 0; i < 4; i++) {
+            publish(false);
+        }
+
+        Frame acquired = ring.acquire(16);
+        assertNotSame(first, acquired);
+        ring.release(acquired);
+
+        ring.release(first);
+        Frame reused = ring.acquire(16);
+        // both buffers are in the pool, the one released last is taken first
+        assertSame(first, reused);
+    }
+
+    @Test
+    public void reusedChunkGrowsToTheRequestedCapacity() {
+        Frame first = publish(false);
+        for (int i = 0; i < 4; i++) {
+            publish(false);
+        }
+
+        int capacity = first.data.length * 3;
+        Frame reused = ring.acquire(capacity);
+        assertSame(first, reused);
+        assertTrue(reused.data.length >= capacity);
+        assertEquals(-1, reused.frameStart);
+        assertEquals(0, reused.length);
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests which chunks of the camera's stream a {@link StreamOutput} sends from the {@link OpenStreams}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class StreamOutputTest {
+    private static final String CONTENT_TYPE = "multipart/x-mixed-replace; boundary=myboundary";
+
+    private @Mock @NonNullByDefault({}) HttpServletResponse response;
+    private @Mock @NonNullByDefault({}) ServletOutputStream output;
+    private @Mock @NonNullByDefault({}) AsyncContext asyncContext;
+
+    private final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+    private final OpenStreams openStreams = new OpenStreams();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        when(response.getOutputStream()).thenReturn(output);
+        when(output.isReady()).thenReturn(true);
+        doAnswer(invocation -> {
+            sent.write((byte[]) invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(output).write(any(byte[].class), anyInt(), anyInt());
+        openStreams.updateContentType(CONTENT_TYPE, "myboundary");
+    }
+
+    private StreamOutput startStream() throws Exception {
+        StreamOutput stream = new StreamOutput(response, CONTENT_TYPE);
+        stream.startStreaming(asyncContext, openStreams, () -> {
+        });
+        return stream;
+    }
+
+    private void queue(String... chunks) {
+        for (String chunk : chunks) {
+            openStreams.queueFrame(chunk.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private String takeSent() {
+        String result = sent.toString(StandardCharsets.US_ASCII);
+        sent.reset();
+        return result;
+    }
+
+    @Test
+    public void newClientStartsAtNewestFrame() throws Exception {
+        queue("--myboundary\r\nA1", "A2", "--myboundary\r\nB1", "B2");
+
+        startStream().onWritePossible();
+
+        assertEquals("--myboundary\r\nB1B2", takeSent());
+    }
+
+    @Test
+    public void clientKeepsUpWithCamera() throws Exception {
+        queue("--myboundary\r\nA1");
+        StreamOutput stream = startStream();
+        stream.onWritePossible();
+        queue("A2--myboundary\r\nB1");
+        stream.onWritePossible();
+        queue("B2");
+        stream.onWritePossible();
+
+        assertEquals("--myboundary\r\nA1A2--myboundary\r\nB1B2", takeSent());
+        assertEquals(2, stream.getSentFrames());
+        assertEquals(0, stream.getDroppedFrames());
+    }
+
+    @Test
+    public void laggingClientFinishesFrameAndSkipsToNewestFrame() throws Exception {
+        queue("--myboundary\r\nA1");
+        StreamOutput stream = startStream();
+        stream.onWritePossible();
+        assertEquals("--myboundary\r\nA1", takeSent());
+
+        queue("A2--myboundary\r\nB1", "B2", "--myboundary\r\nC1");
+        stream.onWritePossible();
+
+        assertEquals("A2--myboundary\r\nC1", takeSent());
+        assertEquals(1, stream.getDroppedFrames());
+    }
+
+    @Test
+    public void clientSkipsOverwrittenChunks() throws Exception {
+        queue("--myboundary\r\nA1");
+        StreamOutput stream = startStream();
+        stream.onWritePossible();
+        takeSent();
+
+        for (int i = 0; i < 100; i++) {
+            queue("--myboundary\r\nF" + i);
+        }
+        queue("G");
+        stream.onWritePossible();
+
+        assertEquals("--myboundary\r\nF99G", takeSent());
+        assertEquals(99, stream.getDroppedFrames());
+    }
+
+    @Test
+    public void clientStartsAtNewestChunkWithoutFrameStart() throws Exception {
+        // for example when the boundary of the camera's stream is not known
+        queue("X1", "X2");
+
+        StreamOutput stream = startStream();
+        stream.onWritePossible();
+        queue("X3");
+        stream.onWritePossible();
+
+        assertEquals("X2X3", takeSent());
+    }
+
+    @Test
+    public void boundarySplitAcrossChunksStartsFrame() throws Exception {
+        queue("--myboundary\r\nA1");
+        StreamOutput stream = startStream();
+        stream.onWritePossible();
+        queue("A2--my", "boundary\r\nB1");
+        stream.onWritePossible();
+        assertEquals("--myboundary\r\nA1A2--myboundary\r\nB1", takeSent());
+
+        // a new client gets the whole boundary
+        startStream().onWritePossible();
+        assertEquals("--myboundary\r\nB1", takeSent());
+    }
+
+    @Test
+    public void waitingClientIsNotifiedOfNewChunk() throws Exception {
+        StreamOutput stream = startStream();
+        openStreams.addStream(stream);
+        stream.onWritePossible();
+        assertEquals("", takeSent());
+
+        queue("--myboundary\r\nA1");
+
+        verify(asyncContext).start(any(Runnable.class));
+    }
+}
@@ -15,11 +15,11 @@ package org.openhab.binding.knx.internal.client;
 import static org.openhab.binding.knx.internal.dpt.DPTUtil.NORMALIZED_DPT;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -27,6 +27,7 @@ import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.internal.channel.KNXChannel;
 import org.openhab.binding.knx.internal.dpt.ValueEncoder;
 import org.openhab.binding.knx.internal.handler.GroupAddressListener;
 import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler.CommandExtensionData;
@@ -82,14 +83,16 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private ClientState state = ClientState.INIT;
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    // interval of the read job if the read rate is limited instead of pausing between read requests
+    private static final int READ_BATCH_INTERVAL_MS = 100;
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
 
     private final ThingUID thingUID;
     private final int responseTimeout;
     private final int readingPause;
+    private final int maxReadRate;
     private final int autoReconnectPeriod;
-    private final int readRetriesLimit;
     private final StatusUpdateCallback statusUpdateCallback;
     private final ScheduledExecutorService knxScheduler;
     private final CommandExtensionData commandExtensionData;
@@ -104,13 +107,19 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> connectJob;
 
     private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final GroupAddressIndex groupAddressIndex = new GroupAddressIndex();
+    private final ReadScheduler readScheduler;
 
     @FunctionalInterface
     private interface ListenerNotification {
         void apply(BusMessageListener listener, IndividualAddress source, GroupAddress destination, byte[] asdu);
     }
 
+    @FunctionalInterface
+    private interface ChannelNotification {
+        void apply(GroupAddressIndex.Entry entry, IndividualAddress source, GroupAddress destination, byte[] asdu);
+    }
+
     @NonNullByDefault({})
     private final ProcessListener processListener = new ProcessListener() {
 
@@ -121,31 +130,42 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
         @Override
         public void groupWrite(ProcessEvent e) {
-            processEvent("Group Write", e, (listener, source, destination, asdu) -> listener
-                    .onGroupWrite(AbstractKNXClient.this, source, destination, asdu));
+            processEvent("Group Write", e,
+                    (entry, source, destination, asdu) -> entry.listener().onGroupWrite(AbstractKNXClient.this,
+                            source, destination, asdu, entry.channel(), entry.listenSpec()),
+                    (listener, source, destination, asdu) -> listener.onGroupWrite(AbstractKNXClient.this, source,
+                            destination, asdu));
         }
 
         @Override
         public void groupReadRequest(ProcessEvent e) {
-            processEvent("Group Read Request", e, (listener, source, destination, asdu) -> listener
-                    .onGroupRead(AbstractKNXClient.this, source, destination, asdu));
+            processEvent("Group Read Request", e,
+                    (entry, source, destination, asdu) -> entry.listener().onGroupRead(AbstractKNXClient.this, source,
+                            destination, entry.channel()),
+                    (listener, source, destination, asdu) -> listener.onGroupRead(AbstractKNXClient.this, source,
+                            destination, asdu));
         }
 
         @Override
         public void groupReadResponse(ProcessEvent e) {
-            processEvent("Group Read Response", e, (listener, source, destination, asdu) -> listener
-                    .onGroupReadResponse(AbstractKNXClient.this, source, destination, asdu));
+            // GroupValueResponses are treated the same as GroupValueWrite telegrams
+            processEvent("Group Read Response", e,
+                    (entry, source, destination, asdu) -> entry.listener().onGroupWrite(AbstractKNXClient.this,
+                            source, destination, asdu, entry.channel(), entry.listenSpec()),
+                    (listener, source, destination, asdu) -> listener.onGroupReadResponse(AbstractKNXClient.this,
+                            source, destination, asdu));
         }
     };
 
     public AbstractKNXClient(int autoReconnectPeriod, ThingUID thingUID, int responseTimeout, int readingPause,
-            int readRetriesLimit, ScheduledExecutorService knxScheduler, CommandExtensionData commandExtensionData,
-            StatusUpdateCallback statusUpdateCallback) {
+            int readRetriesLimit, int maxReadRate, ScheduledExecutorService knxScheduler,
+            CommandExtensionData commandExtensionData, StatusUpdateCallback statusUpdateCallback) {
         this.autoReconnectPeriod = autoReconnectPeriod;
         this.thingUID = thingUID;
         this.responseTimeout = responseTimeout;
         this.readingPause = readingPause;
-        this.readRetriesLimit = readRetriesLimit;
+        this.maxReadRate = maxReadRate;
+        this.readScheduler = new ReadScheduler(readRetriesLimit, maxReadRate, commandExtensionData.readStatistics());
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
         this.commandExtensionData = commandExtensionData;
@@ -243,9 +263,13 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             // register this class, callbacks will be triggered
             link.addLinkListener(this);
 
-            // create a job carrying out read requests
-            busJob = knxScheduler.scheduleWithFixedDelay(this::readNextQueuedDatapoint, 0, readingPause,
-                    TimeUnit.MILLISECONDS);
+            // create a job carrying out read requests, either one request after each reading pause, or as many
+            // requests as the read rate allows
+            busJob = maxReadRate > 0
+                    ? knxScheduler.scheduleWithFixedDelay(this::readQueuedDatapoints, 0, READ_BATCH_INTERVAL_MS,
+                            TimeUnit.MILLISECONDS)
+                    : knxScheduler.scheduleWithFixedDelay(this::readNextQueuedDatapoint, 0, readingPause,
+                            TimeUnit.MILLISECONDS);
 
             statusUpdateCallback.updateStatus(ThingStatus.ONLINE);
             connectJob = null;
@@ -299,7 +323,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             tmplink.removeLinkListener(this);
         }
         busJob = nullify(busJob, j -> j.cancel(true));
-        readDatapoints.clear();
+        readScheduler.clear();
         responseCommunicator = nullify(responseCommunicator, rc -> {
             rc.removeProcessListener(processListener);
             rc.detach();
@@ -322,12 +346,28 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return null;
     }
 
-    private void processEvent(String task, ProcessEvent event, ListenerNotification action) {
+    private void processEvent(String task, ProcessEvent event, ChannelNotification channelAction,
+            ListenerNotification action) {
         GroupAddress destination = event.getDestination();
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        boolean isHandled = false;
+        // registered channels are found with a single lookup, all of them are notified by the same task
+        List<GroupAddressIndex.Entry> entries = groupAddressIndex.get(destination);
+        boolean isHandled = !entries.isEmpty();
+        if (isHandled) {
+            knxScheduler.execute(() -> {
+                for (GroupAddressIndex.Entry entry : entries) {
+                    try {
+                        channelAction.apply(entry, source, destination, asdu);
+                    } catch (RuntimeException e) {
+                        logger.warn("Failed to process {} telegram to '{}' for channel '{}': {}", task, destination,
+                                entry.channel().getChannelUID(), e.getMessage());
+                    }
+                }
+            });
+        }
+        // listeners without registered channels have to be asked whether they are interested
         for (GroupAddressListener listener : groupAddressListeners) {
             if (listener.listensTo(destination)) {
                 isHandled = true;
@@ -349,43 +389,61 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     }
 
-    // datapoint is null at end of the list, warning is misleading
-    @SuppressWarnings("null")
-    private void readNextQueuedDatapoint() {
+    private void readQueuedDatapoints() {
+        while (!readScheduler.isEmpty() && readScheduler.tryAcquire()) {
+            if (!readNextQueuedDatapoint()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sends the next queued read request.
+     *
+     * @return false if no request could be sent as the client is not connected or the queue is empty
+     */
+    private boolean readNextQueuedDatapoint() {
         if (!connectIfNotAutomatic()) {
-            return;
+            return false;
         }
         ProcessCommunicator processCommunicator = this.processCommunicator;
         if (processCommunicator == null) {
-            return;
+            return false;
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
-        if (datapoint != null) {
-            datapoint.incrementRetries();
-            try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
-                processCommunicator.read(datapoint.getDatapoint());
-            } catch (KNXException e) {
-                // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
-                // KnxIllegArgumentException
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
-                } else {
-                    logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
-                            datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
-                }
-            } catch (InterruptedException | CancellationException e) {
-                logger.debug("Interrupted sending KNX read request");
-            } catch (Exception e) {
-                // Any other exception: Fail gracefully, i.e. notify user and continue reading next DP.
-                // Not catching this would end the scheduled read for all DPs in case of an error.
-                // Severity is warning as this is likely caused by a configuration error.
-                logger.warn("Error reading datapoint {}: {}", datapoint.getDatapoint().getMainAddress(),
-                        e.getMessage());
+        ReadDatapoint datapoint = readScheduler.poll();
+        if (datapoint == null) {
+            return false;
+        }
+        datapoint.incrementRetries();
+        try {
+            logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
+            processCommunicator.read(datapoint.getDatapoint());
+            readScheduler.completed(datapoint, true);
+        } catch (KNXException e) {
+            // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
+            // KnxIllegArgumentException
+            if (datapoint.getRetries() < datapoint.getLimit()) {
+                readScheduler.retry(datapoint);
+                logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
+                        datapoint.getDatapoint().getMainAddress(), e.getMessage());
+            } else {
+                readScheduler.completed(datapoint, false);
+                logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
+                        datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
             }
+        } catch (InterruptedException | CancellationException e) {
+            readScheduler.completed(datapoint, false);
+            logger.debug("Interrupted sending KNX read request");
+            return false;
+        } catch (Exception e) {
+            // Any other exception: Fail gracefully, i.e. notify user and continue reading next DP.
+            // Not catching this would end the scheduled read for all DPs in case of an error.
+            // Severity is warning as this is likely caused by a configuration error.
+            readScheduler.completed(datapoint, false);
+            logger.warn("Error reading datapoint {}: {}", datapoint.getDatapoint().getMainAddress(),
+                    e.getMessage());
         }
+        return true;
     }
 
     public void dispose() {
@@ -456,13 +514,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readScheduler.add(datapoint, priority);
     }
 
     @Override
@@ -473,6 +526,17 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     @Override
     public final void unregisterGroupAddressListener(GroupAddressListener listener) {
         groupAddressListeners.remove(listener);
+        groupAddressIndex.removeAll(listener);
+    }
+
+    @Override
+    public final void registerChannel(GroupAddressListener listener, KNXChannel channel) {
+        groupAddressIndex.add(listener, channel);
+    }
+
+    @Override
+    public final void unregisterChannel(GroupAddressListener listener, KNXChannel channel) {
+        groupAddressIndex.remove(listener, channel);
     }
 
     @Override
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.internal.channel.KNXChannel;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Index of all channels listening to a group address, used to dispatch incoming telegrams with a single lookup instead
+ * of asking every {@link GroupAddressListener} and every channel whether they are interested.
+ *
+ * The lists stored for a group address are never modified, but replaced when a channel is added or removed. Lookups
+ * therefore do not need to synchronize and always see a consistent list.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class GroupAddressIndex {
+
+    /**
+     * A channel of a listener interested in a group address, together with the spec used to decode telegrams sent to
+     * this group address.
+     */
+    public record Entry(GroupAddressListener listener, KNXChannel channel, InboundSpec listenSpec) {
+    }
+
+    private final Map<GroupAddress, List<Entry>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Adds all listening group addresses of the given channel. A channel that was added before is replaced.
+     *
+     * @param listener the listener owning the channel
+     * @param channel the channel
+     */
+    public void add(GroupAddressListener listener, KNXChannel channel) {
+        for (GroupAddress groupAddress : channel.getAllGroupAddresses()) {
+            InboundSpec listenSpec = channel.getListenSpec(groupAddress);
+            if (listenSpec == null) {
+                continue;
+            }
+            Entry entry = new Entry(listener, channel, listenSpec);
+            entries.compute(groupAddress, (ga, current) -> {
+                List<Entry> updated = without(current, listener, channel);
+                updated.add(entry);
+                return List.copyOf(updated);
+            });
+        }
+    }
+
+    /**
+     * Removes all group addresses of the given channel.
+     *
+     * @param listener the listener owning the channel
+     * @param channel the channel
+     */
+    public void remove(GroupAddressListener listener, KNXChannel channel) {
+        for (GroupAddress groupAddress : channel.getAllGroupAddresses()) {
+            entries.computeIfPresent(groupAddress, (ga, current) -> {
+                List<Entry> updated = without(current, listener, channel);
+                return updated.isEmpty() ? null : List.copyOf(updated);
+            });
+        }
+    }
+
+    /**
+     * Removes all channels of the given listener.
+     *
+     * @param listener the listener
+     */
+    public void removeAll(GroupAddressListener listener) {
+        for (Iterator<GroupAddress> it = entries.keySet().iterator(); it.hasNext();) {
+            entries.computeIfPresent(it.next(), (ga, current) -> {
+                List<Entry> updated = without(current, listener, null);
+                return updated.isEmpty() ? null : List.copyOf(updated);
+            });
+        }
+    }
+
+    /**
+     * Returns the channels listening to the given group address.
+     *
+     * @param groupAddress the destination of a telegram
+     * @return an unmodifiable list of entries, empty if no channel listens to the group address
+     */
+    public List<Entry> get(GroupAddress groupAddress) {
+        return entries.getOrDefault(groupAddress, List.of());
+    }
+
+    /**
+     * @return the number of group addresses at least one channel listens to
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static List<Entry> without(@Nullable List<Entry> current, GroupAddressListener listener,
+            @Nullable KNXChannel channel) {
+        List<Entry> result = new ArrayList<>();
+        if (current != null) {
+            for (Entry entry : current) {
+                if (entry.listener() != listener || (channel != null && entry.channel() != channel)) {
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+}
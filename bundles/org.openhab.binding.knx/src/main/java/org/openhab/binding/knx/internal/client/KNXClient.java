@@ -14,6 +14,7 @@ package org.openhab.binding.knx.internal.client;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.internal.channel.KNXChannel;
 import org.openhab.binding.knx.internal.handler.GroupAddressListener;
 
 import tuwien.auto.calimero.IndividualAddress;
@@ -68,18 +69,36 @@ public interface KNXClient {
     void registerGroupAddressListener(GroupAddressListener listener);
 
     /**
-     * Remove the given listener.
+     * Remove the given listener, including all channels registered for it.
      *
      * @param listener the listener
      */
     void unregisterGroupAddressListener(GroupAddressListener listener);
 
+    /**
+     * Register a channel of the given listener. Telegrams sent to one of the channel's listening group addresses are
+     * passed to the listener together with the channel, without asking other listeners or channels.
+     *
+     * @param listener the listener owning the channel
+     * @param channel the channel
+     */
+    void registerChannel(GroupAddressListener listener, KNXChannel channel);
+
+    /**
+     * Remove a channel registered before.
+     *
+     * @param listener the listener owning the channel
+     * @param channel the channel
+     */
+    void unregisterChannel(GroupAddressListener listener, KNXChannel channel);
+
     /**
      * Schedule the given data point for asynchronous reading.
      *
      * @param datapoint the datapoint
+     * @param priority the priority of the read request
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
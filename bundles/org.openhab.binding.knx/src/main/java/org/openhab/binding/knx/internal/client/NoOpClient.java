@@ -14,6 +14,7 @@ package org.openhab.binding.knx.internal.client;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.internal.channel.KNXChannel;
 import org.openhab.binding.knx.internal.handler.GroupAddressListener;
 
 import tuwien.auto.calimero.IndividualAddress;
@@ -57,7 +58,15 @@ public class NoOpClient implements KNXClient {
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
+    public void registerChannel(GroupAddressListener listener, KNXChannel channel) {
+    }
+
+    @Override
+    public void unregisterChannel(GroupAddressListener listener, KNXChannel channel) {
+    }
+
+    @Override
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
     }
 
     @Override
@@ -28,11 +28,17 @@ public class ReadDatapoint {
     private final Datapoint datapoint;
     private int retries;
     private final int limit;
+    private final ReadPriority priority;
 
     public ReadDatapoint(Datapoint datapoint, int limit) {
+        this(datapoint, limit, ReadPriority.ON_DEMAND);
+    }
+
+    public ReadDatapoint(Datapoint datapoint, int limit, ReadPriority priority) {
         this.datapoint = datapoint;
         this.retries = 0;
         this.limit = limit;
+        this.priority = priority;
     }
 
     public Datapoint getDatapoint() {
@@ -51,6 +57,10 @@ public class ReadDatapoint {
         return limit;
     }
 
+    public ReadPriority getPriority() {
+        return priority;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Priority classes of read requests, in descending order of priority.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public enum ReadPriority {
+    /** read requested by the user, e.g. by a REFRESH command */
+    ON_DEMAND,
+    /** initial read of a value after startup or after linking a channel */
+    STARTUP,
+    /** periodic read configured by the read interval of a thing */
+    REFRESH
+}
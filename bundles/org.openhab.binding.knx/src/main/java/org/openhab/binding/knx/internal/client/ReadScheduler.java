@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Queue of the read requests of a bridge.
+ *
+ * Requests are sent in the order of their {@link ReadPriority}, and in the order they were added within a priority.
+ * Only one request per group address is queued: adding a group address again is ignored, unless the new request has a
+ * higher priority, in which case the request is moved to the higher priority.
+ *
+ * If a maximum read rate is given, the number of requests sent per second is limited by a token bucket, allowing
+ * bursts of up to a tenth of the rate.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ReadScheduler {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final int retriesLimit;
+    private final ReadStatistics statistics;
+    // one queue per priority, indexed by ordinal
+    private final List<ArrayDeque<ReadDatapoint>> queues = new ArrayList<>();
+    // the queued request per group address, entries not contained here are skipped when polling
+    private final Map<GroupAddress, ReadDatapoint> queued = new HashMap<>();
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param retriesLimit the maximum number of attempts to read a datapoint
+     * @param maxReadRate the maximum number of read requests per second, 0 for no limit
+     * @param statistics the counters to be updated
+     */
+    public ReadScheduler(int retriesLimit, int maxReadRate, ReadStatistics statistics) {
+        this.retriesLimit = retriesLimit;
+        this.statistics = statistics;
+        for (int i = 0; i < ReadPriority.values().length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+        this.tokensPerNano = (double) Math.max(0, maxReadRate) / NANOS_PER_SECOND;
+        this.capacity = Math.max(1.0, maxReadRate / 10.0);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Adds a read request.
+     *
+     * @param datapoint the datapoint to be read
+     * @param priority the priority of the request
+     * @return true if the request was queued, false if the group address is already queued with the same or a higher
+     *         priority
+     */
+    public synchronized boolean add(Datapoint datapoint, ReadPriority priority) {
+        GroupAddress groupAddress = datapoint.getMainAddress();
+        @Nullable
+        ReadDatapoint existing = queued.get(groupAddress);
+        if (existing != null) {
+            if (existing.getPriority().compareTo(priority) <= 0) {
+                statistics.merged();
+                return false;
+            }
+            // the existing entry stays in its queue, but is skipped as it is no longer contained in the map
+            statistics.queued(existing.getPriority(), -1);
+            statistics.requested(existing.getPriority(), -1);
+            statistics.merged();
+        }
+        ReadDatapoint readDatapoint = new ReadDatapoint(datapoint, retriesLimit, priority);
+        enqueue(readDatapoint);
+        statistics.requested(priority, 1);
+        return true;
+    }
+
+    /**
+     * Removes the next request to be sent.
+     *
+     * @return the request, or null if no request is queued
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        for (ArrayDeque<ReadDatapoint> queue : queues) {
+            @Nullable
+            ReadDatapoint readDatapoint;
+            while ((readDatapoint = queue.poll()) != null) {
+                GroupAddress groupAddress = readDatapoint.getDatapoint().getMainAddress();
+                if (queued.get(groupAddress) == readDatapoint) {
+                    queued.remove(groupAddress);
+                    statistics.queued(readDatapoint.getPriority(), -1);
+                    return readDatapoint;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Queues a request again after sending failed. The request is dropped if the group address was queued again in the
+     * meantime.
+     *
+     * @param readDatapoint a request returned by {@link #poll()}
+     */
+    public synchronized void retry(ReadDatapoint readDatapoint) {
+        statistics.retried();
+        if (queued.containsKey(readDatapoint.getDatapoint().getMainAddress())) {
+            statistics.completed(readDatapoint.getPriority());
+            return;
+        }
+        enqueue(readDatapoint);
+    }
+
+    /**
+     * Marks a request returned by {@link #poll()} as completed.
+     *
+     * @param readDatapoint the request
+     * @param success false if the request was given up
+     */
+    public void completed(ReadDatapoint readDatapoint, boolean success) {
+        statistics.completed(readDatapoint.getPriority());
+        if (!success) {
+            statistics.failed();
+        }
+    }
+
+    /**
+     * Takes a token for sending a request, if the rate limit allows it.
+     *
+     * @return true if a request may be sent
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    synchronized boolean tryAcquire(long nowNanos) {
+        if (tokensPerNano == 0) {
+            return true;
+        }
+        tokens = Math.min(capacity, tokens + (nowNanos - lastRefill) * tokensPerNano);
+        lastRefill = nowNanos;
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+
+    public synchronized boolean isEmpty() {
+        return queued.isEmpty();
+    }
+
+    public synchronized int size() {
+        return queued.size();
+    }
+
+    /**
+     * Drops all queued requests, e.g. when the connection is lost.
+     */
+    public synchronized void clear() {
+        for (ReadDatapoint readDatapoint : queued.values()) {
+            statistics.queued(readDatapoint.getPriority(), -1);
+            statistics.requested(readDatapoint.getPriority(), -1);
+        }
+        queued.clear();
+        queues.forEach(ArrayDeque::clear);
+    }
+
+    private void enqueue(ReadDatapoint readDatapoint) {
+        queued.put(readDatapoint.getDatapoint().getMainAddress(), readDatapoint);
+        queues.get(readDatapoint.getPriority().ordinal()).add(readDatapoint);
+        statistics.queued(readDatapoint.getPriority(), 1);
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counters of the {@link ReadScheduler} of a bridge, shown on the openHAB console.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ReadStatistics {
+    private final AtomicLongArray queued = new AtomicLongArray(ReadPriority.values().length);
+    private final AtomicLongArray requested = new AtomicLongArray(ReadPriority.values().length);
+    private final AtomicLongArray completed = new AtomicLongArray(ReadPriority.values().length);
+    private final AtomicLong merged = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    void queued(ReadPriority priority, int delta) {
+        queued.addAndGet(priority.ordinal(), delta);
+    }
+
+    void requested(ReadPriority priority, int delta) {
+        requested.addAndGet(priority.ordinal(), delta);
+    }
+
+    void completed(ReadPriority priority) {
+        completed.incrementAndGet(priority.ordinal());
+    }
+
+    void merged() {
+        merged.incrementAndGet();
+    }
+
+    void retried() {
+        retried.incrementAndGet();
+    }
+
+    void failed() {
+        failed.incrementAndGet();
+    }
+
+    /**
+     * @return the number of read requests waiting to be sent
+     */
+    public long getQueued(ReadPriority priority) {
+        return queued.get(priority.ordinal());
+    }
+
+    /**
+     * @return the number of read requests accepted since the binding was started, without duplicates and requests
+     *         discarded when the connection was lost
+     */
+    public long getRequested(ReadPriority priority) {
+        return requested.get(priority.ordinal());
+    }
+
+    /**
+     * @return the number of read requests which were sent successfully or given up
+     */
+    public long getCompleted(ReadPriority priority) {
+        return completed.get(priority.ordinal());
+    }
+
+    /**
+     * @return the number of read requests for group addresses which were already queued
+     */
+    public long getMerged() {
+        return merged.get();
+    }
+
+    public long getRetried() {
+        return retried.get();
+    }
+
+    /**
+     * @return the number of read requests given up after reaching the retries limit or due to an error
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+}
@@ -52,11 +52,11 @@ public class SerialClient extends AbstractKNXClient {
     private final boolean useCemi;
 
     public SerialClient(int autoReconnectPeriod, ThingUID thingUID, int responseTimeout, int readingPause,
-            int readRetriesLimit, ScheduledExecutorService knxScheduler, String serialPort, boolean useCemi,
-            SerialPortManager serialPortManager, CommandExtensionData commandExtensionData,
+            int readRetriesLimit, int maxReadRate, ScheduledExecutorService knxScheduler, String serialPort,
+            boolean useCemi, SerialPortManager serialPortManager, CommandExtensionData commandExtensionData,
             StatusUpdateCallback statusUpdateCallback) {
-        super(autoReconnectPeriod, thingUID, responseTimeout, readingPause, readRetriesLimit, knxScheduler,
-                commandExtensionData, statusUpdateCallback);
+        super(autoReconnectPeriod, thingUID, responseTimeout, readingPause, readRetriesLimit, maxReadRate,
+                knxScheduler, commandExtensionData, statusUpdateCallback);
         this.serialPortManager = serialPortManager;
         this.serialPort = serialPort;
         this.useCemi = useCemi;
@@ -25,6 +25,7 @@ public class BridgeConfiguration {
     private int autoReconnectPeriod = 0;
     private int readingPause = 0;
     private int readRetriesLimit = 0;
+    private int maxReadRate = 0;
     private int responseTimeout = 0;
 
     public int getAutoReconnectPeriod() {
@@ -39,6 +40,10 @@ public class BridgeConfiguration {
         return readRetriesLimit;
     }
 
+    public int getMaxReadRate() {
+        return maxReadRate;
+    }
+
     public int getResponseTimeout() {
         return responseTimeout;
     }
@@ -18,6 +18,8 @@ import java.util.Map.Entry;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.KNXBindingConstants;
+import org.openhab.binding.knx.internal.client.ReadPriority;
+import org.openhab.binding.knx.internal.client.ReadStatistics;
 import org.openhab.binding.knx.internal.factory.KNXHandlerFactory;
 import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler;
 import org.openhab.core.io.console.Console;
@@ -39,7 +41,9 @@ import org.osgi.service.component.annotations.Reference;
 public class KNXCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
 
     private static final String CMD_LIST_UNKNOWN_GA = "list-unknown-ga";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST_UNKNOWN_GA), false);
+    private static final String CMD_READ_STATUS = "read-status";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_LIST_UNKNOWN_GA, CMD_READ_STATUS), false);
 
     private final KNXHandlerFactory knxHandlerFactory;
 
@@ -61,13 +65,31 @@ public class KNXCommandExtension extends AbstractConsoleCommandExtension impleme
             }
             return;
         }
+        if (args.length == 1 && CMD_READ_STATUS.equalsIgnoreCase(args[0])) {
+            for (KNXBridgeBaseThingHandler bridgeHandler : knxHandlerFactory.getBridges()) {
+                ReadStatistics statistics = bridgeHandler.getCommandExtensionData().readStatistics();
+                console.println("KNX bridge \"" + bridgeHandler.getThing().getLabel()
+                        + "\": read requests queued, completed/requested per priority since last reload of binding:");
+                for (ReadPriority priority : ReadPriority.values()) {
+                    long requested = statistics.getRequested(priority);
+                    long completed = statistics.getCompleted(priority);
+                    console.println(String.format("%-9s %6d queued %6d/%d completed (%d%%)", priority,
+                            statistics.getQueued(priority), completed, requested,
+                            requested > 0 ? completed * 100 / requested : 100));
+                }
+                console.println(String.format("retried %d, failed %d, merged duplicates %d", statistics.getRetried(),
+                        statistics.getFailed(), statistics.getMerged()));
+            }
+            return;
+        }
         printUsage(console);
     }
 
     @Override
     public List<String> getUsages() {
-        return List
-                .of(buildCommandUsage(CMD_LIST_UNKNOWN_GA, "list group addresses which are not configured in openHAB"));
+        return List.of(
+                buildCommandUsage(CMD_LIST_UNKNOWN_GA, "list group addresses which are not configured in openHAB"),
+                buildCommandUsage(CMD_READ_STATUS, "show progress and queue depth of read requests"));
     }
 
     @Override
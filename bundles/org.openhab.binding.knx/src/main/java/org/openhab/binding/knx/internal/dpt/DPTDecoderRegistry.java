@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import static org.openhab.binding.knx.internal.KNXBindingConstants.disableUoM;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Matcher;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.Type;
+import org.openhab.core.types.util.UnitUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
+/**
+ * Registry of decoders converting raw data of common DPTs directly to openHAB types, without creating a Calimero
+ * translator and parsing its string representation for every telegram.
+ *
+ * Decoders are created once per DPT, preferred type and UoM setting:
+ * <ul>
+ * <li>1-byte DPTs (1.x, 5.x) use a table of the results for all 256 possible values, computed with the translator</li>
+ * <li>DPT 9.x, 13.x and 14.x are computed from the raw bytes</li>
+ * <li>DPT 232.600 is converted from the raw RGB values</li>
+ * </ul>
+ * All other DPTs, and data not matching the expected length or encoding an invalid value, are left to the
+ * translator-based conversion in {@link ValueDecoder}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class DPTDecoderRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DPTDecoderRegistry.class);
+
+    /**
+     * Decoder for the raw data of a DPT.
+     */
+    @FunctionalInterface
+    interface Decoder {
+        /**
+         * @param data the raw data
+         * @return the converted value, or null if the data has to be converted with a translator
+         */
+        @Nullable
+        Type decode(byte[] data);
+    }
+
+    private record Key(String dptId, Class<? extends Type> preferredType, boolean disableUoM) {
+    }
+
+    private static final Decoder NO_DECODER = data -> null;
+
+    // raw data used to verify that a computing decoder returns the same values as the translator
+    private static final List<byte[]> PROBES = List.of( //
+            new byte[] { 0x0c, 0x1a }, new byte[] { (byte) 0x8a, 0x24 }, new byte[] { 0x5f, (byte) 0xf3 },
+            new byte[] { 0x00, 0x01 }, //
+            new byte[] { (byte) 0xff, 0x00, 0x00 }, new byte[] { 0x12, (byte) 0x80, (byte) 0xfe }, //
+            new byte[] { 0x41, (byte) 0xac, 0x00, 0x00 }, new byte[] { (byte) 0xc2, 0x48, 0x1c, 0x2a },
+            new byte[] { 0x00, 0x01, (byte) 0xe2, 0x40 }, new byte[] { (byte) 0xff, (byte) 0xff, (byte) 0xfc, 0x18 });
+
+    private static final Map<Key, Decoder> DECODERS = new ConcurrentHashMap<>();
+
+    private DPTDecoderRegistry() {
+        // prevent instantiation
+    }
+
+    /**
+     * convert the raw value received to the corresponding openHAB value, if the DPT is supported
+     *
+     * @param dptId the DPT of the given data
+     * @param data a byte array containing the value
+     * @param preferredType the preferred datatype for this conversion
+     * @return the data converted to an openHAB Type, or null if the data has to be converted with a translator
+     */
+    public static @Nullable Type decode(String dptId, byte[] data, Class<? extends Type> preferredType) {
+        return DECODERS.computeIfAbsent(new Key(dptId, preferredType, disableUoM), DPTDecoderRegistry::createDecoder)
+                .decode(data);
+    }
+
+    /**
+     * @return true if a decoder for the given DPT and preferred type converts data without a translator
+     */
+    static boolean hasDecoder(String dptId, Class<? extends Type> preferredType) {
+        return DECODERS.computeIfAbsent(new Key(dptId, preferredType, disableUoM),
+                DPTDecoderRegistry::createDecoder) != NO_DECODER;
+    }
+
+    private static Decoder createDecoder(Key key) {
+        String dptId = key.dptId();
+        DPTXlator translator;
+        try {
+            translator = TranslatorTypes.createTranslator(0, DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
+        } catch (KNXException e) {
+            // unsupported by Calimero, error handling is done when converting with a translator
+            return NO_DECODER;
+        }
+
+        // same rules for determining the DPT as in ValueDecoder
+        String id = dptId;
+        Matcher m = DPTUtil.DPT_PATTERN.matcher(id);
+        if (!m.matches()) {
+            id = translator.getType().getID();
+            m = DPTUtil.DPT_PATTERN.matcher(id);
+            if (!m.matches()) {
+                return NO_DECODER;
+            }
+        }
+
+        Decoder decoder = switch (m.group("main")) {
+            case "1", "5" -> createTableDecoder(dptId, key.preferredType());
+            case "9" -> createNumericDecoder(id, key.preferredType(), 2, DPTDecoderRegistry::decode2ByteFloat);
+            case "13" -> createNumericDecoder(id, key.preferredType(), 4, DPTDecoderRegistry::decode4ByteSigned);
+            case "14" -> createNumericDecoder(id, key.preferredType(), 4, DPTDecoderRegistry::decode4ByteFloat);
+            case "232" -> "600".equals(m.group("sub")) ? (Decoder) DPTDecoderRegistry::decodeRgb : null;
+            default -> null;
+        };
+        if (decoder == null) {
+            return NO_DECODER;
+        }
+        if (!verify(key, decoder)) {
+            LOGGER.debug("Decoder for DPT '{}' and type '{}' differs from translator, using translator", dptId,
+                    key.preferredType().getSimpleName());
+            return NO_DECODER;
+        }
+        LOGGER.trace("Created decoder for DPT '{}' and type '{}'", dptId, key.preferredType().getSimpleName());
+        return decoder;
+    }
+
+    private static boolean verify(Key key, Decoder decoder) {
+        for (byte[] probe : PROBES) {
+            @Nullable
+            Type value = decoder.decode(probe);
+            if (value == null) {
+                continue;
+            }
+            @Nullable
+            Type expected = ValueDecoder.decodeWithTranslator(key.dptId(), probe.clone(), key.preferredType());
+            if (expected == null || !value.equals(expected) || !value.toFullString().equals(expected.toFullString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static @Nullable Decoder createTableDecoder(String dptId, Class<? extends Type> preferredType) {
+        @Nullable
+        Type[] table = new Type[256];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = ValueDecoder.decodeWithTranslator(dptId, new byte[] { (byte) i }, preferredType);
+        }
+        return data -> data.length == 1 ? table[data[0] & 0xff] : null;
+    }
+
+    private static @Nullable Decoder createNumericDecoder(String id, Class<? extends Type> preferredType, int length,
+            ToDoubleFunction<byte[]> rawDecoder) {
+        DoubleFunction<Type> mapper = createNumericMapper(id, preferredType);
+        if (mapper == null) {
+            return null;
+        }
+        return data -> {
+            if (data.length != length) {
+                return null;
+            }
+            double value = rawDecoder.applyAsDouble(data);
+            return Double.isFinite(value) ? mapper.apply(value) : null;
+        };
+    }
+
+    /**
+     * Selects the conversion of a numeric value the same way as {@link ValueDecoder} does for every telegram.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static @Nullable DoubleFunction<Type> createNumericMapper(String id, Class<? extends Type> preferredType) {
+        Set<Class<? extends Type>> allowedTypes = DPTUtil.getAllowedTypes(id);
+
+        if (allowedTypes.contains(PercentType.class)
+                && (HSBType.class.equals(preferredType) || PercentType.class.equals(preferredType))) {
+            return value -> new PercentType(BigDecimal.valueOf(Math.round(value)));
+        }
+
+        if (allowedTypes.contains(QuantityType.class) && !disableUoM) {
+            String unitString = DPTUnits.getUnitForDpt(id);
+            if (unitString != null) {
+                Unit unit = UnitUtils.parseUnit(unitString);
+                if (unit == null) {
+                    return null;
+                }
+                return value -> new QuantityType(BigDecimal.valueOf(value), unit);
+            }
+        }
+
+        if (allowedTypes.contains(DecimalType.class)) {
+            return DecimalType::new;
+        }
+        return null;
+    }
+
+    private static double decode2ByteFloat(byte[] data) {
+        int raw = ((data[0] & 0xff) << 8) | (data[1] & 0xff);
+        if (raw == 0x7fff) {
+            // invalid data
+            return Double.NaN;
+        }
+        int exponent = (raw >> 11) & 0x0f;
+        int mantissa = raw & 0x07ff;
+        if ((raw & 0x8000) != 0) {
+            mantissa -= 0x0800;
+        }
+        return (1 << exponent) * mantissa * 0.01;
+    }
+
+    private static int toInt(byte[] data) {
+        return ((data[0] & 0xff) << 24) | ((data[1] & 0xff) << 16) | ((data[2] & 0xff) << 8) | (data[3] & 0xff);
+    }
+
+    private static double decode4ByteSigned(byte[] data) {
+        return toInt(data);
+    }
+
+    private static double decode4ByteFloat(byte[] data) {
+        return Float.intBitsToFloat(toInt(data));
+    }
+
+    private static @Nullable Type decodeRgb(byte[] data) {
+        if (data.length != 3) {
+            return null;
+        }
+        return HSBType.fromRGB(data[0] & 0xff, data[1] & 0xff, data[2] & 0xff);
+    }
+}
@@ -113,6 +113,20 @@ public class ValueDecoder {
      * @return the data converted to an openHAB Type (or null if conversion failed)
      */
     public static @Nullable Type decode(String dptId, byte[] data, Class<? extends Type> preferredType) {
+        // common DPTs are decoded directly from the raw data, all others need a Calimero translator
+        Type value = DPTDecoderRegistry.decode(dptId, data, preferredType);
+        return value != null ? value : decodeWithTranslator(dptId, data, preferredType);
+    }
+
+    /**
+     * convert the raw value received to the corresponding openHAB value, using a Calimero translator
+     *
+     * @param dptId the DPT of the given data
+     * @param data a byte array containing the value
+     * @param preferredType the preferred datatype for this conversion
+     * @return the data converted to an openHAB Type (or null if conversion failed)
+     */
+    static @Nullable Type decodeWithTranslator(String dptId, byte[] data, Class<? extends Type> preferredType) {
         try {
             String value = "";
             String translatorDptId = dptId;
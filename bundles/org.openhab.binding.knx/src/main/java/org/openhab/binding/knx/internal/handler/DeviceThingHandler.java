@@ -39,6 +39,7 @@ import org.openhab.binding.knx.internal.client.DeviceInspector;
 import org.openhab.binding.knx.internal.client.InboundSpec;
 import org.openhab.binding.knx.internal.client.KNXClient;
 import org.openhab.binding.knx.internal.client.OutboundSpec;
+import org.openhab.binding.knx.internal.client.ReadPriority;
 import org.openhab.binding.knx.internal.config.DeviceConfig;
 import org.openhab.binding.knx.internal.dpt.DPTUnits;
 import org.openhab.binding.knx.internal.dpt.DPTUtil;
@@ -199,7 +200,7 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
             return;
         }
         if (!knxChannel.isControl()) {
-            scheduleRead(knxChannel);
+            scheduleRead(knxChannel, ReadPriority.STARTUP);
         }
     }
 
@@ -207,39 +208,44 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
         cancelReadFutures();
         for (KNXChannel knxChannel : knxChannels.values()) {
             if (isLinked(knxChannel.getChannelUID()) && !knxChannel.isControl()) {
-                scheduleRead(knxChannel);
+                scheduleRead(knxChannel, ReadPriority.STARTUP);
             }
         }
     }
 
-    private void scheduleRead(KNXChannel knxChannel) {
+    private void scheduleRead(KNXChannel knxChannel, ReadPriority priority) {
         List<InboundSpec> readSpecs = knxChannel.getReadSpec();
         for (InboundSpec readSpec : readSpecs) {
-            readSpec.getGroupAddresses().forEach(ga -> scheduleReadJob(ga, readSpec.getDPT()));
+            readSpec.getGroupAddresses().forEach(ga -> scheduleReadJob(ga, readSpec.getDPT(), priority));
         }
     }
 
-    private void scheduleReadJob(GroupAddress groupAddress, String dpt) {
+    private void scheduleReadJob(GroupAddress groupAddress, String dpt, ReadPriority priority) {
         if (readInterval > 0) {
             ScheduledFuture<?> future = readFutures.get(groupAddress);
             if (future == null || future.isDone() || future.isCancelled()) {
-                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt), 0, readInterval,
+                // the first read is done with the given priority, the periodic reads with refresh priority
+                getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
+                future = getScheduler().scheduleWithFixedDelay(
+                        () -> readDatapoint(groupAddress, dpt, ReadPriority.REFRESH), readInterval, readInterval,
                         TimeUnit.SECONDS);
                 readFutures.put(groupAddress, future);
+            } else if (priority == ReadPriority.ON_DEMAND) {
+                getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
             }
         } else {
-            getScheduler().submit(() -> readDatapoint(groupAddress, dpt));
+            getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
         }
     }
 
-    private void readDatapoint(GroupAddress groupAddress, String dpt) {
+    private void readDatapoint(GroupAddress groupAddress, String dpt, ReadPriority priority) {
         if (getClient().isConnected()) {
             if (DPTUtil.getAllowedTypes(dpt).isEmpty()) {
                 logger.warn("DPT '{}' is not supported by the KNX binding", dpt);
                 return;
             }
             Datapoint datapoint = new CommandDP(groupAddress, getThing().getUID().toString(), 0, dpt);
-            getClient().readDatapoint(datapoint);
+            getClient().readDatapoint(datapoint, priority);
         }
     }
 
@@ -259,7 +265,7 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
         }
         if (command instanceof RefreshType && !knxChannel.isControl()) {
             logger.debug("Refreshing channel '{}'", channelUID);
-            scheduleRead(knxChannel);
+            scheduleRead(knxChannel, ReadPriority.ON_DEMAND);
         } else {
             if (CHANNEL_RESET.equals(channelUID.getId())) {
                 if (address != null) {
@@ -321,27 +327,33 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
      */
     @Override
     public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination, byte[] asdu) {
-        logger.trace("onGroupRead Thing '{}' received a GroupValueRead telegram from '{}' for destination '{}'",
-                getThing().getUID(), source, destination);
         for (KNXChannel knxChannel : knxChannels.values()) {
-            if (knxChannel.isControl()) {
-                OutboundSpec responseSpec = knxChannel.getResponseSpec(destination, RefreshType.REFRESH);
-                if (responseSpec != null) {
-                    logger.trace("onGroupRead isControl -> postCommand");
-                    // This event should be sent to KNX as GroupValueResponse immediately.
-                    sendGroupValueResponse(knxChannel.getChannelUID(), destination);
-
-                    // block write attempts for 1s or 1 request to prevent loops
-                    if (!groupAddressesWriteBlocked.containsKey(destination)) {
-                        groupAddressesWriteBlocked.put(destination, () -> null);
-                    }
-                    groupAddressesWriteBlocked.putValue(destination, true);
+            onGroupRead(client, source, destination, knxChannel);
+        }
+    }
 
-                    // Send REFRESH to openHAB to get this event for scripting with postCommand
-                    // and remember to ignore/block this REFRESH to be sent back to KNX as GroupValueWrite after
-                    // postCommand is done!
-                    postCommand(knxChannel.getChannelUID(), RefreshType.REFRESH);
+    @Override
+    public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+            KNXChannel knxChannel) {
+        if (knxChannel.isControl()) {
+            OutboundSpec responseSpec = knxChannel.getResponseSpec(destination, RefreshType.REFRESH);
+            if (responseSpec != null) {
+                logger.trace(
+                        "onGroupRead Thing '{}' received a GroupValueRead telegram from '{}' for destination '{}' for channel '{}'",
+                        getThing().getUID(), source, destination, knxChannel.getChannelUID());
+                // This event should be sent to KNX as GroupValueResponse immediately.
+                sendGroupValueResponse(knxChannel.getChannelUID(), destination);
+
+                // block write attempts for 1s or 1 request to prevent loops
+                if (!groupAddressesWriteBlocked.containsKey(destination)) {
+                    groupAddressesWriteBlocked.put(destination, () -> null);
                 }
+                groupAddressesWriteBlocked.putValue(destination, true);
+
+                // Send REFRESH to openHAB to get this event for scripting with postCommand
+                // and remember to ignore/block this REFRESH to be sent back to KNX as GroupValueWrite after
+                // postCommand is done!
+                postCommand(knxChannel.getChannelUID(), RefreshType.REFRESH);
             }
         }
     }
@@ -361,31 +373,34 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
     @Override
     public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
             byte[] asdu) {
-        logger.debug("onGroupWrite Thing '{}' received a GroupValueWrite telegram from '{}' for destination '{}'",
-                getThing().getUID(), source, destination);
-
         for (KNXChannel knxChannel : knxChannels.values()) {
             InboundSpec listenSpec = knxChannel.getListenSpec(destination);
             if (listenSpec != null) {
-                logger.trace(
-                        "onGroupWrite Thing '{}' processes a GroupValueWrite telegram for destination '{}' for channel '{}'",
-                        getThing().getUID(), destination, knxChannel.getChannelUID());
-                /**
-                 * Remember current KNXIO outboundSpec only if it is a control channel.
-                 */
-                if (knxChannel.isControl()) {
-                    logger.trace("onGroupWrite isControl");
-                    Type value = ValueDecoder.decode(listenSpec.getDPT(), asdu, knxChannel.preferredType());
-                    if (value != null) {
-                        OutboundSpec commandSpec = knxChannel.getCommandSpec(value);
-                        if (commandSpec != null) {
-                            groupAddressesRespondingSpec.put(destination, commandSpec);
-                        }
-                    }
+                onGroupWrite(client, source, destination, asdu, knxChannel, listenSpec);
+            }
+        }
+    }
+
+    @Override
+    public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+            byte[] asdu, KNXChannel knxChannel, InboundSpec listenSpec) {
+        logger.debug(
+                "onGroupWrite Thing '{}' processes a GroupValueWrite telegram from '{}' for destination '{}' for channel '{}'",
+                getThing().getUID(), source, destination, knxChannel.getChannelUID());
+        /**
+         * Remember current KNXIO outboundSpec only if it is a control channel.
+         */
+        if (knxChannel.isControl()) {
+            logger.trace("onGroupWrite isControl");
+            Type value = ValueDecoder.decode(listenSpec.getDPT(), asdu, knxChannel.preferredType());
+            if (value != null) {
+                OutboundSpec commandSpec = knxChannel.getCommandSpec(value);
+                if (commandSpec != null) {
+                    groupAddressesRespondingSpec.put(destination, commandSpec);
                 }
-                processDataReceived(destination, asdu, listenSpec, knxChannel);
             }
         }
+        processDataReceived(destination, asdu, listenSpec, knxChannel);
     }
 
     private void processDataReceived(GroupAddress destination, byte[] asdu, InboundSpec listenSpec,
@@ -559,7 +574,9 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
                     KNXTranslationProvider.I18N.getLocalizedException(e));
         }
-        getClient().registerGroupAddressListener(this);
+        // register the channels, so that the client dispatches telegrams directly to the listening channels
+        KNXClient client = getClient();
+        knxChannels.values().forEach(knxChannel -> client.registerChannel(this, knxChannel));
         scheduleReadJobs();
     }
 
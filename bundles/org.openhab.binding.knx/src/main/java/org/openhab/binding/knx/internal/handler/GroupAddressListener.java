@@ -13,9 +13,13 @@
 package org.openhab.binding.knx.internal.handler;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.channel.KNXChannel;
+import org.openhab.binding.knx.internal.client.AbstractKNXClient;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
+import org.openhab.binding.knx.internal.client.InboundSpec;
 
 import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
 
 /**
  * The {@link GroupAddressListener} is an interface that needs to be
@@ -33,4 +37,29 @@ public interface GroupAddressListener extends BusMessageListener {
      * @param destination
      */
     boolean listensTo(GroupAddress destination);
+
+    /**
+     * Called when the KNX bridge receives a group write or group read response telegram for a group address a channel
+     * registered with {@link org.openhab.binding.knx.internal.client.KNXClient#registerChannel} listens to
+     *
+     * @param client
+     * @param source
+     * @param destination
+     * @param asdu
+     * @param channel the channel listening to the destination
+     * @param listenSpec the spec of the channel for the destination
+     */
+    void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination, byte[] asdu,
+            KNXChannel channel, InboundSpec listenSpec);
+
+    /**
+     * Called when the KNX bridge receives a group read telegram for a group address a channel registered with
+     * {@link org.openhab.binding.knx.internal.client.KNXClient#registerChannel} listens to
+     *
+     * @param client
+     * @param source
+     * @param destination
+     * @param channel the channel listening to the destination
+     */
+    void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination, KNXChannel channel);
 }
@@ -20,6 +20,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.client.KNXClient;
+import org.openhab.binding.knx.internal.client.ReadStatistics;
 import org.openhab.binding.knx.internal.client.StatusUpdateCallback;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.thing.Bridge;
@@ -68,7 +69,10 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
      * Helper class to carry information which can be used by the
      * command line extension (openHAB console).
      */
-    public record CommandExtensionData(Map<String, Long> unknownGA) {
+    public record CommandExtensionData(Map<String, Long> unknownGA, ReadStatistics readStatistics) {
+        public CommandExtensionData(Map<String, Long> unknownGA) {
+            this(unknownGA, new ReadStatistics());
+        }
     }
 
     private final ScheduledExecutorService knxScheduler = ThreadPoolManager.getScheduledPool("knx");
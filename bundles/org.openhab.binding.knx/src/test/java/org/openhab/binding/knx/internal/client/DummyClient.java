@@ -31,7 +31,7 @@ import tuwien.auto.calimero.link.KNXNetworkLink;
 public class DummyClient extends AbstractKNXClient {
 
     public DummyClient() {
-        super(0, new ThingUID("dummy connection"), 0, 0, 0, null, new CommandExtensionData(Collections.emptyMap()),
+        super(0, new ThingUID("dummy connection"), 0, 0, 0, 0, null, new CommandExtensionData(Collections.emptyMap()),
                 null);
     }
 
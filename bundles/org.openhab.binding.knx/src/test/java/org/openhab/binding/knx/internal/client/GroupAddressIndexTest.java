@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.KNXBindingConstants;
+import org.openhab.binding.knx.internal.channel.KNXChannel;
+import org.openhab.binding.knx.internal.channel.KNXChannelFactory;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.thing.Channel;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.type.ChannelTypeUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Tests {@link GroupAddressIndex}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class GroupAddressIndexTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupAddressIndexTest.class);
+
+    private static KNXChannel createChannel(String id, String channelType, String gaConfig) {
+        Channel channel = Objects.requireNonNull(mock(Channel.class));
+        when(channel.getChannelTypeUID()).thenReturn(new ChannelTypeUID(KNXBindingConstants.BINDING_ID, channelType));
+        when(channel.getUID()).thenReturn(new ChannelUID("knx:device:bridge:thing:" + id));
+        when(channel.getConfiguration()).thenReturn(new Configuration(Map.of(KNXBindingConstants.GA, gaConfig)));
+        return KNXChannelFactory.createKnxChannel(channel);
+    }
+
+    private static GroupAddressListener createListener() {
+        return Objects.requireNonNull(mock(GroupAddressListener.class));
+    }
+
+    @Test
+    void testAddIndexesAllListeningGroupAddresses() throws Exception {
+        GroupAddressIndex index = new GroupAddressIndex();
+        GroupAddressListener listener = createListener();
+        KNXChannel channel = createChannel("a", KNXBindingConstants.CHANNEL_SWITCH, "1.001:1/2/3+4/5/6");
+        index.add(listener, channel);
+
+        assertEquals(2, index.size());
+        for (String ga : List.of("1/2/3", "4/5/6")) {
+            List<GroupAddressIndex.Entry> entries = index.get(new GroupAddress(ga));
+            assertEquals(1, entries.size());
+            assertSame(listener, entries.get(0).listener());
+            assertSame(channel, entries.get(0).channel());
+            assertEquals("1.001", entries.get(0).listenSpec().getDPT());
+        }
+        assertTrue(index.get(new GroupAddress("7/7/7")).isEmpty());
+    }
+
+    @Test
+    void testWriteOnlyGroupAddressIsNotIndexed() throws Exception {
+        GroupAddressIndex index = new GroupAddressIndex();
+        index.add(createListener(), createChannel("a", KNXBindingConstants.CHANNEL_SWITCH, ">1/2/3+4/5/6"));
+
+        assertTrue(index.get(new GroupAddress("1/2/3")).isEmpty());
+        assertEquals(1, index.get(new GroupAddress("4/5/6")).size());
+    }
+
+    @Test
+    void testAddingChannelTwiceReplacesEntry() throws Exception {
+        GroupAddressIndex index = new GroupAddressIndex();
+        GroupAddressListener listener = createListener();
+        KNXChannel channel = createChannel("a", KNXBindingConstants.CHANNEL_SWITCH, "1/2/3");
+        index.add(listener, channel);
+        index.add(listener, channel);
+
+        assertEquals(1, index.get(new GroupAddress("1/2/3")).size());
+    }
+
+    @Test
+    void testRemove() throws Exception {
+        GroupAddressIndex index = new GroupAddressIndex();
+        GroupAddressListener listener1 = createListener();
+        GroupAddressListener listener2 = createListener();
+        KNXChannel channel1 = createChannel("a", KNXBindingConstants.CHANNEL_SWITCH, "1/2/3+4/5/6");
+        KNXChannel channel2 = createChannel("b", KNXBindingConstants.CHANNEL_SWITCH, "1/2/3");
+        KNXChannel channel3 = createChannel("c", KNXBindingConstants.CHANNEL_SWITCH, "1/2/3");
+        index.add(listener1, channel1);
+        index.add(listener1, channel2);
+        index.add(listener2, channel3);
+        assertEquals(3, index.get(new GroupAddress("1/2/3")).size());
+
+        index.remove(listener1, channel1);
+        assertEquals(2, index.get(new GroupAddress("1/2/3")).size());
+        assertTrue(index.get(new GroupAddress("4/5/6")).isEmpty());
+
+        index.removeAll(listener1);
+        List<GroupAddressIndex.Entry> entries = index.get(new GroupAddress("1/2/3"));
+        assertEquals(1, entries.size());
+        assertSame(channel3, entries.get(0).channel());
+
+        index.removeAll(listener2);
+        assertEquals(0, index.size());
+    }
+
+    /**
+     * Simulates a loaded bus with 400 device things of 10 channels each and compares the dispatch by asking every
+     * thing and every channel with the dispatch using the index.
+     */
+    @Test
+    void testDispatchOnLoadedBus() throws Exception {
+        int things = 400;
+        int channelsPerThing = 10;
+        int telegrams = 20_000;
+
+        GroupAddressIndex index = new GroupAddressIndex();
+        List<List<KNXChannel>> thingChannels = new ArrayList<>();
+        List<GroupAddress> groupAddresses = new ArrayList<>();
+        for (int thing = 0; thing < things; thing++) {
+            GroupAddressListener listener = createListener();
+            List<KNXChannel> channels = new ArrayList<>();
+            for (int c = 0; c < channelsPerThing; c++) {
+                int number = thing * channelsPerThing + c;
+                String ga = (number / 2048) + "/" + ((number / 256) % 8) + "/" + (number % 256);
+                KNXChannel channel = createChannel(thing + "_" + c, KNXBindingConstants.CHANNEL_NUMBER,
+                        "9.001:" + ga);
+                channels.add(channel);
+                index.add(listener, channel);
+                groupAddresses.add(new GroupAddress(ga));
+            }
+            thingChannels.add(channels);
+        }
+
+        Random random = new Random(42);
+        GroupAddress[] bus = new GroupAddress[telegrams];
+        for (int i = 0; i < telegrams; i++) {
+            bus[i] = groupAddresses.get(random.nextInt(groupAddresses.size()));
+        }
+
+        long start = System.nanoTime();
+        int broadcastMatches = 0;
+        for (GroupAddress destination : bus) {
+            for (List<KNXChannel> channels : thingChannels) {
+                if (channels.stream().anyMatch(c -> c.getAllGroupAddresses().contains(destination))) {
+                    for (KNXChannel channel : channels) {
+                        if (channel.getListenSpec(destination) != null) {
+                            broadcastMatches++;
+                        }
+                    }
+                }
+            }
+        }
+        double broadcastSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        int indexMatches = 0;
+        for (GroupAddress destination : bus) {
+            indexMatches += index.get(destination).size();
+        }
+        double indexSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(telegrams, broadcastMatches);
+        assertEquals(broadcastMatches, indexMatches);
+        LOGGER.info("Dispatching {} telegrams to {} things: broadcast {} telegrams/s, index {} telegrams/s", telegrams,
+                things, String.format("%.0f", telegrams / broadcastSeconds),
+                String.format("%.0f", telegrams / indexSeconds));
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Tests {@link ReadScheduler}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class ReadSchedulerTest {
+    private static final long MS = 1_000_000L;
+
+    private static Datapoint datapoint(String ga) throws Exception {
+        return new CommandDP(new GroupAddress(ga), "test", 0, "1.001");
+    }
+
+    private static String pollAddress(ReadScheduler scheduler) {
+        ReadDatapoint readDatapoint = Objects.requireNonNull(scheduler.poll());
+        return readDatapoint.getDatapoint().getMainAddress().toString();
+    }
+
+    @Test
+    void testHigherPrioritiesArePolledFirst() throws Exception {
+        ReadStatistics statistics = new ReadStatistics();
+        ReadScheduler scheduler = new ReadScheduler(3, 0, statistics);
+        scheduler.add(datapoint("1/0/1"), ReadPriority.REFRESH);
+        scheduler.add(datapoint("1/0/2"), ReadPriority.STARTUP);
+        scheduler.add(datapoint("1/0/3"), ReadPriority.ON_DEMAND);
+        scheduler.add(datapoint("1/0/4"), ReadPriority.STARTUP);
+
+        assertEquals(2, statistics.getQueued(ReadPriority.STARTUP));
+        assertEquals("1/0/3", pollAddress(scheduler));
+        assertEquals("1/0/2", pollAddress(scheduler));
+        assertEquals("1/0/4", pollAddress(scheduler));
+        assertEquals("1/0/1", pollAddress(scheduler));
+        assertNull(scheduler.poll());
+        assertTrue(scheduler.isEmpty());
+        assertEquals(0, statistics.getQueued(ReadPriority.STARTUP));
+    }
+
+    @Test
+    void testDuplicatesAreMerged() throws Exception {
+        ReadStatistics statistics = new ReadStatistics();
+        ReadScheduler scheduler = new ReadScheduler(3, 0, statistics);
+        assertTrue(scheduler.add(datapoint("1/0/1"), ReadPriority.STARTUP));
+        assertFalse(scheduler.add(datapoint("1/0/1"), ReadPriority.STARTUP));
+        assertFalse(scheduler.add(datapoint("1/0/1"), ReadPriority.REFRESH));
+
+        assertEquals(1, scheduler.size());
+        assertEquals(2, statistics.getMerged());
+        assertEquals(1, statistics.getRequested(ReadPriority.STARTUP));
+        assertEquals(0, statistics.getRequested(ReadPriority.REFRESH));
+    }
+
+    @Test
+    void testHigherPriorityPromotesQueuedRequest() throws Exception {
+        ReadStatistics statistics = new ReadStatistics();
+        ReadScheduler scheduler = new ReadScheduler(3, 0, statistics);
+        scheduler.add(datapoint("1/0/1"), ReadPriority.REFRESH);
+        scheduler.add(datapoint("1/0/2"), ReadPriority.STARTUP);
+        assertTrue(scheduler.add(datapoint("1/0/1"), ReadPriority.ON_DEMAND));
+
+        assertEquals(2, scheduler.size());
+        assertEquals(0, statistics.getQueued(ReadPriority.REFRESH));
+        assertEquals(0, statistics.getRequested(ReadPriority.REFRESH));
+        assertEquals(1, statistics.getQueued(ReadPriority.ON_DEMAND));
+        ReadDatapoint first = Objects.requireNonNull(scheduler.poll());
+        assertEquals("1/0/1", first.getDatapoint().getMainAddress().toString());
+        assertEquals(ReadPriority.ON_DEMAND, first.getPriority());
+        assertEquals("1/0/2", pollAddress(scheduler));
+        // the stale refresh entry is skipped
+        assertNull(scheduler.poll());
+    }
+
+    @Test
+    void testRetryAndCompletion() throws Exception {
+        ReadStatistics statistics = new ReadStatistics();
+        ReadScheduler scheduler = new ReadScheduler(2, 0, statistics);
+        scheduler.add(datapoint("1/0/1"), ReadPriority.STARTUP);
+
+        ReadDatapoint readDatapoint = Objects.requireNonNull(scheduler.poll());
+        readDatapoint.incrementRetries();
+        scheduler.retry(readDatapoint);
+        assertEquals(1, scheduler.size());
+        readDatapoint = Objects.requireNonNull(scheduler.poll());
+        assertEquals(1, readDatapoint.getRetries());
+        readDatapoint.incrementRetries();
+        scheduler.completed(readDatapoint, false);
+
+        assertTrue(scheduler.isEmpty());
+        assertEquals(1, statistics.getRetried());
+        assertEquals(1, statistics.getFailed());
+        assertEquals(1, statistics.getCompleted(ReadPriority.STARTUP));
+        assertEquals(1, statistics.getRequested(ReadPriority.STARTUP));
+    }
+
+    @Test
+    void testRetryIsDroppedIfAddressWasQueuedAgain() throws Exception {
+        ReadStatistics statistics = new ReadStatistics();
+        ReadScheduler scheduler = new ReadScheduler(3, 0, statistics);
+        scheduler.add(datapoint("1/0/1"), ReadPriority.REFRESH);
+        ReadDatapoint readDatapoint = Objects.requireNonNull(scheduler.poll());
+        scheduler.add(datapoint("1/0/1"), ReadPriority.ON_DEMAND);
+        scheduler.retry(readDatapoint);
+
+        assertEquals(1, scheduler.size());
+        assertEquals(ReadPriority.ON_DEMAND, Objects.requireNonNull(scheduler.poll()).getPriority());
+        assertEquals(1, statistics.getCompleted(ReadPriority.REFRESH));
+    }
+
+    @Test
+    void testClear() throws Exception {
+        ReadStatistics statistics = new ReadStatistics();
+        ReadScheduler scheduler = new ReadScheduler(3, 0, statistics);
+        scheduler.add(datapoint("1/0/1"), ReadPriority.STARTUP);
+        scheduler.add(datapoint("1/0/2"), ReadPriority.STARTUP);
+        scheduler.clear();
+
+        assertTrue(scheduler.isEmpty());
+        assertNull(scheduler.poll());
+        assertEquals(0, statistics.getQueued(ReadPriority.STARTUP));
+        assertEquals(0, statistics.getRequested(ReadPriority.STARTUP));
+        assertTrue(scheduler.add(datapoint("1/0/1"), ReadPriority.STARTUP));
+    }
+
+    @Test
+    void testUnlimitedRate() {
+        ReadScheduler scheduler = new ReadScheduler(3, 0, new ReadStatistics());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(scheduler.tryAcquire(0));
+        }
+    }
+
+    @Test
+    void testRateLimit() {
+        ReadScheduler scheduler = new ReadScheduler(3, 50, new ReadStatistics());
+        long now = System.nanoTime();
+        // burst of a tenth of the rate
+        for (int i = 0; i < 5; i++) {
+            assertTrue(scheduler.tryAcquire(now));
+        }
+        assertFalse(scheduler.tryAcquire(now));
+
+        // one token every 20 ms
+        assertFalse(scheduler.tryAcquire(now + 10 * MS));
+        assertTrue(scheduler.tryAcquire(now + 20 * MS));
+        assertFalse(scheduler.tryAcquire(now + 20 * MS));
+
+        // a long pause does not allow more than the burst
+        now += 10_000 * MS;
+        int acquired = 0;
+        while (scheduler.tryAcquire(now)) {
+            acquired++;
+        }
+        assertEquals(5, acquired);
+
+        // sustained rate over one second
+        acquired = 0;
+        for (int ms = 1; ms <= 1000; ms++) {
+            if (scheduler.tryAcquire(now + ms * MS)) {
+                acquired++;
+            }
+        }
+        assertEquals(50, acquired);
+    }
+}
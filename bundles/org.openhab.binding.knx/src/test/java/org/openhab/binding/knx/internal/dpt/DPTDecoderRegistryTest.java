@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests {@link DPTDecoderRegistry} against the translator-based conversion in {@link ValueDecoder}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class DPTDecoderRegistryTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DPTDecoderRegistryTest.class);
+
+    private static Stream<Arguments> supportedDpts() {
+        return Stream.of( //
+                Arguments.of("1.001", OnOffType.class, 1), //
+                Arguments.of("1.001", OpenClosedType.class, 1), //
+                Arguments.of("1.009", OpenClosedType.class, 1), //
+                Arguments.of("5.001", PercentType.class, 1), //
+                Arguments.of("5.001", QuantityType.class, 1), //
+                Arguments.of("5.010", DecimalType.class, 1), //
+                Arguments.of("9.001", QuantityType.class, 2), //
+                Arguments.of("9.001", DecimalType.class, 2), //
+                Arguments.of("9.004", QuantityType.class, 2), //
+                Arguments.of("13.010", QuantityType.class, 4), //
+                Arguments.of("13.001", DecimalType.class, 4), //
+                Arguments.of("14.056", QuantityType.class, 4), //
+                Arguments.of("14.019", QuantityType.class, 4), //
+                Arguments.of("232.600", HSBType.class, 3));
+    }
+
+    @ParameterizedTest
+    @MethodSource("supportedDpts")
+    void testDecoderIsCreated(String dpt, Class<? extends Type> preferredType, int length) {
+        assertTrue(DPTDecoderRegistry.hasDecoder(dpt, preferredType));
+    }
+
+    @ParameterizedTest
+    @MethodSource("supportedDpts")
+    void testSameResultAsTranslator(String dpt, Class<? extends Type> preferredType, int length) {
+        if (length <= 2) {
+            // all possible values
+            for (int i = 0; i < (1 << (8 * length)); i++) {
+                byte[] data = length == 1 ? new byte[] { (byte) i } : new byte[] { (byte) (i >> 8), (byte) i };
+                assertSameResult(dpt, data, preferredType);
+            }
+        } else {
+            Random random = new Random(42);
+            for (int i = 0; i < 20000; i++) {
+                byte[] data = new byte[length];
+                random.nextBytes(data);
+                assertSameResult(dpt, data, preferredType);
+            }
+        }
+    }
+
+    private static void assertSameResult(String dpt, byte[] data, Class<? extends Type> preferredType) {
+        @Nullable
+        Type expected = ValueDecoder.decodeWithTranslator(dpt, data.clone(), preferredType);
+        @Nullable
+        Type actual = ValueDecoder.decode(dpt, data.clone(), preferredType);
+        assertEquals(expected, actual);
+        if (expected != null && actual != null) {
+            assertEquals(expected.toFullString(), actual.toFullString());
+        }
+    }
+
+    @Test
+    void testUnsupportedDptsUseTranslator() {
+        assertFalse(DPTDecoderRegistry.hasDecoder("16.000", StringType.class));
+        assertFalse(DPTDecoderRegistry.hasDecoder("232.60000", HSBType.class));
+        // unknown sub-type
+        assertFalse(DPTDecoderRegistry.hasDecoder("1.091", DecimalType.class));
+        assertNull(ValueDecoder.decode("1.091", new byte[] { 0 }, DecimalType.class));
+    }
+
+    @Test
+    void testUnexpectedLengthUsesTranslator() {
+        assertNull(DPTDecoderRegistry.decode("9.001", new byte[] { 0x0c }, QuantityType.class));
+        assertNull(DPTDecoderRegistry.decode("13.010", new byte[] { 0x00, 0x01 }, QuantityType.class));
+        assertNull(DPTDecoderRegistry.decode("232.600", new byte[] { 0x00, 0x01 }, HSBType.class));
+    }
+
+    @Test
+    void testInvalidValueUsesTranslator() {
+        assertNull(DPTDecoderRegistry.decode("9.001", new byte[] { 0x7f, (byte) 0xff }, QuantityType.class));
+        assertNull(DPTDecoderRegistry.decode("14.056", new byte[] { 0x7f, (byte) 0xc0, 0x00, 0x00 },
+                QuantityType.class));
+    }
+
+    /**
+     * Compares the number of decodes per second of the registry with the translator-based conversion.
+     */
+    @Test
+    void testDecodeRate() {
+        int count = 200_000;
+        Random random = new Random(42);
+        byte[][] telegrams = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            // positive temperatures up to 81.88 °C
+            int raw = (random.nextInt(3) << 11) | random.nextInt(2048);
+            telegrams[i] = new byte[] { (byte) (raw >> 8), (byte) raw };
+        }
+
+        // warm up
+        for (int i = 0; i < 10_000; i++) {
+            ValueDecoder.decode("9.001", telegrams[i], QuantityType.class);
+            ValueDecoder.decodeWithTranslator("9.001", telegrams[i], QuantityType.class);
+        }
+
+        long start = System.nanoTime();
+        for (byte[] telegram : telegrams) {
+            assertNotNull(ValueDecoder.decodeWithTranslator("9.001", telegram, QuantityType.class));
+        }
+        double translatorSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        for (byte[] telegram : telegrams) {
+            assertNotNull(ValueDecoder.decode("9.001", telegram, QuantityType.class));
+        }
+        double registrySeconds = (System.nanoTime() - start) / 1e9;
+
+        LOGGER.info("Decoding {} DPT 9.001 values: translator {} decodes/s, registry {} decodes/s", count,
+                String.format("%.0f", count / translatorSeconds), String.format("%.0f", count / registrySeconds));
+    }
+}
@@ -18,6 +18,8 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.handler.NetworkHandler;
 import org.openhab.binding.network.internal.handler.SpeedTestHandler;
+import org.openhab.binding.network.internal.utils.ArpTable;
+import org.openhab.binding.network.internal.utils.HostProber;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
@@ -42,6 +44,8 @@ import org.slf4j.LoggerFactory;
 @Component(service = ThingHandlerFactory.class, configurationPid = "binding.network")
 public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    // shared by all things, the event loop is only started with the first probe
+    private final HostProber hostProber = new HostProber(new ArpTable());
 
     private final Logger logger = LoggerFactory.getLogger(NetworkHandlerFactory.class);
 
@@ -60,6 +64,7 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     @Override
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
+        hostProber.close();
         super.deactivate(componentContext);
     }
 
@@ -78,9 +83,9 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
 
         if (thingTypeUID.equals(NetworkBindingConstants.PING_DEVICE)
                 || thingTypeUID.equals(NetworkBindingConstants.BACKWARDS_COMPATIBLE_DEVICE)) {
-            return new NetworkHandler(thing, false, configuration);
+            return new NetworkHandler(thing, false, configuration, hostProber);
         } else if (thingTypeUID.equals(NetworkBindingConstants.SERVICE_DEVICE)) {
-            return new NetworkHandler(thing, true, configuration);
+            return new NetworkHandler(thing, true, configuration, hostProber);
         } else if (thingTypeUID.equals(NetworkBindingConstants.SPEEDTEST_DEVICE)) {
             return new SpeedTestHandler(thing);
         }
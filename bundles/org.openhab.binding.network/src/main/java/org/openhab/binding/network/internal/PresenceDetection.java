@@ -41,6 +41,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.dhcp.DHCPPacketListenerServer;
 import org.openhab.binding.network.internal.dhcp.IPRequestReceivedCallback;
+import org.openhab.binding.network.internal.utils.HostProber;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
@@ -84,6 +85,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     private @Nullable InetAddress cachedDestination;
 
     private boolean preferResponseTimeAsLatency;
+    private @Nullable HostProber hostProber;
 
     // State variables (cannot be final because of test dependency injections)
     ExpiringCacheAsync<PresenceDetectionValue> cache;
@@ -178,6 +180,16 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         this.preferResponseTimeAsLatency = preferResponseTimeAsLatency;
     }
 
+    /**
+     * Sets the binding-wide prober. If set, the presence detection probes the host with TCP connection attempts
+     * instead of starting ping and arping processes.
+     *
+     * @param hostProber the prober or <code>null</code> to use the ping utilities
+     */
+    public void setHostProber(@Nullable HostProber hostProber) {
+        this.hostProber = hostProber;
+    }
+
     /**
      * Sets the ping method. This method will perform a feature test. If {@link IpPingMethodEnum#SYSTEM_PING}
      * does not work on this system, {@link IpPingMethodEnum#JAVA_PING} will be used instead.
@@ -229,10 +241,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     public String getArpPingState() {
+        HostProber hostProber = this.hostProber;
+        if (hostProber != null && pingMethod != null) {
+            return hostProber.getArpTable().isAvailable() ? "ARP cache lookup" : "Disabled";
+        }
         return arpPingMethod.description;
     }
 
     public String getIPPingState() {
+        if (hostProber != null && pingMethod != null) {
+            return "TCP probe";
+        }
         return ipPingState;
     }
 
@@ -326,6 +345,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return a {@link CompletableFuture} for obtaining the {@link PresenceDetectionValue}
      */
     public CompletableFuture<PresenceDetectionValue> performPresenceDetection() {
+        HostProber hostProber = this.hostProber;
+        if (hostProber != null) {
+            return performProbes(hostProber);
+        }
+
         Set<String> interfaceNames = null;
 
         detectionChecks = tcpPorts.size();
@@ -424,6 +448,68 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }, waitForResultExecutorService);
     }
 
+    /**
+     * Perform a presence detection with the binding-wide {@link HostProber}. The TCP ports and, instead of ICMP and
+     * ARP pings, the host are probed without a thread of their own. If a probe succeeded, the host is looked up in
+     * the ARP cache to report the ARP detection as well. An ARP cache entry alone does not make the host reachable,
+     * as the kernel keeps entries of hosts that have left the network for a while.
+     *
+     * @return a {@link CompletableFuture} for obtaining the {@link PresenceDetectionValue}
+     */
+    private CompletableFuture<PresenceDetectionValue> performProbes(HostProber hostProber) {
+        PresenceDetectionValue pdv = new PresenceDetectionValue(hostname, PresenceDetectionValue.UNREACHABLE);
+        Instant start = Instant.now();
+        InetAddress destinationAddress = destination.getValue();
+
+        List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
+        if (destinationAddress == null) {
+            logger.trace("The destinationAddress for {} is null", hostname);
+        } else {
+            for (Integer tcpPort : tcpPorts) {
+                logger.trace("Probe TCP port {} of {}", tcpPort, hostname);
+                completableFutures.add(hostProber.probePort(destinationAddress, tcpPort, timeout)
+                        .thenAcceptAsync(pingResult -> {
+                            if (pingResult.isSuccess()) {
+                                updateReachable(pdv, TCP_CONNECTION, getLatency(pingResult), tcpPort);
+                            }
+                        }, scheduledExecutorService));
+            }
+            if (pingMethod != null) {
+                if (iosDevice) {
+                    try {
+                        networkUtils.wakeUpIOS(destinationAddress);
+                    } catch (IOException e) {
+                        logger.trace("Failed to wake up iOS device {}", hostname, e);
+                    }
+                }
+                logger.trace("Probe host {}", hostname);
+                completableFutures.add(
+                        hostProber.probeHost(destinationAddress, timeout).thenAcceptAsync(pingResult -> {
+                            if (pingResult.isSuccess()) {
+                                updateReachable(pdv, TCP_CONNECTION, getLatency(pingResult));
+                            }
+                        }, scheduledExecutorService));
+            }
+        }
+
+        return CompletableFuture.allOf(completableFutures.toArray(CompletableFuture[]::new))
+                .handleAsync((result, e) -> {
+                    if (pdv.isReachable() && destinationAddress instanceof Inet4Address && pingMethod != null
+                            && hostProber.getArpTable().getMacAddress(destinationAddress.getHostAddress()) != null) {
+                        updateReachable(pdv, ARP_PING, Duration.between(start, Instant.now()));
+                    }
+
+                    if (!pdv.isReachable()) {
+                        logger.debug("{} is unreachable, invalidating destination value", hostname);
+                        destination.invalidateValue();
+                    }
+
+                    logger.debug("Sending listener final result: {}", pdv);
+                    updateListener.finalDetectionResult(pdv);
+                    return pdv;
+                }, scheduledExecutorService);
+    }
+
     private void addAsyncDetection(List<CompletableFuture<Void>> completableFutures, Runnable detectionRunnable,
             ExecutorService executorService) {
         completableFutures.add(CompletableFuture.runAsync(detectionRunnable, executorService)
@@ -34,6 +34,7 @@ import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.WakeOnLanPacketSender;
 import org.openhab.binding.network.internal.action.NetworkActions;
+import org.openhab.binding.network.internal.utils.HostProber;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.QuantityType;
@@ -68,6 +69,7 @@ public class NetworkHandler extends BaseThingHandler
 
     private boolean isTCPServiceDevice;
     private NetworkBindingConfiguration configuration;
+    private HostProber hostProber;
 
     // How many retries before a device is deemed offline
     int retries;
@@ -78,10 +80,12 @@ public class NetworkHandler extends BaseThingHandler
     /**
      * Do not call this directly, but use the {@see NetworkHandlerBuilder} instead.
      */
-    public NetworkHandler(Thing thing, boolean isTCPServiceDevice, NetworkBindingConfiguration configuration) {
+    public NetworkHandler(Thing thing, boolean isTCPServiceDevice, NetworkBindingConfiguration configuration,
+            HostProber hostProber) {
         super(thing);
         this.isTCPServiceDevice = isTCPServiceDevice;
         this.configuration = configuration;
+        this.hostProber = hostProber;
         this.configuration.addNetworkBindingConfigurationListener(this);
     }
 
@@ -175,6 +179,7 @@ public class NetworkHandler extends BaseThingHandler
         presenceDetection.setHostname(handlerConfiguration.hostname);
         presenceDetection.setNetworkInterfaceNames(handlerConfiguration.networkInterfaceNames);
         presenceDetection.setPreferResponseTimeAsLatency(configuration.preferResponseTimeAsLatency);
+        presenceDetection.setHostProber(configuration.useHostProber ? hostProber : null);
 
         if (isTCPServiceDevice) {
             Integer port = handlerConfiguration.port;
@@ -232,6 +237,7 @@ public class NetworkHandler extends BaseThingHandler
     public void bindingConfigurationChanged() {
         // Make sure that changed binding configuration is reflected
         presenceDetection.setPreferResponseTimeAsLatency(configuration.preferResponseTimeAsLatency);
+        presenceDetection.setHostProber(configuration.useHostProber ? hostProber : null);
     }
 
     @Override
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.cache.ExpiringCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ArpTable} reads the ARP cache of the kernel from <code>/proc/net/arp</code> (Linux only). The table is
+ * read at most once per second, so all things share the lookups.
+ *
+ * The kernel keeps entries complete while they are stale or being probed again, so an entry does not prove that the
+ * host is still present.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ArpTable {
+    private static final Path PROC_NET_ARP = Path.of("/proc/net/arp");
+    private static final Duration DEFAULT_TTL = Duration.ofSeconds(1);
+    private static final String NO_MAC_ADDRESS = "00:00:00:00:00:00";
+    // flag of a complete entry, i.e. the host has answered an ARP request at some time
+    private static final int ATF_COM = 0x02;
+
+    private final Logger logger = LoggerFactory.getLogger(ArpTable.class);
+    private final Path path;
+    private final ExpiringCache<Map<String, String>> entries;
+
+    public ArpTable() {
+        this(PROC_NET_ARP, DEFAULT_TTL);
+    }
+
+    ArpTable(Path path, Duration ttl) {
+        this.path = path;
+        this.entries = new ExpiringCache<>(ttl, this::read);
+    }
+
+    /**
+     * @return <code>true</code> if the ARP cache of the kernel can be read on this system
+     */
+    public boolean isAvailable() {
+        return Files.isReadable(path);
+    }
+
+    /**
+     * Get the MAC address of a host from the ARP cache
+     *
+     * @param ipAddress the IPv4 address of the host
+     * @return the MAC address, or <code>null</code> if there is no complete entry for the host
+     */
+    public @Nullable String getMacAddress(String ipAddress) {
+        Map<String, String> entries = this.entries.getValue();
+        return entries == null ? null : entries.get(ipAddress);
+    }
+
+    private Map<String, String> read() {
+        Map<String, String> entries = new HashMap<>();
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(path);
+        } catch (IOException e) {
+            logger.trace("Could not read the ARP cache from {}", path, e);
+            return entries;
+        }
+        // IP address, HW type, Flags, HW address, Mask, Device; the first line is the header
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length < 4) {
+                continue;
+            }
+            try {
+                if ((Integer.decode(columns[2]) & ATF_COM) != 0 && !NO_MAC_ADDRESS.equals(columns[3])) {
+                    entries.put(columns[0], columns[3]);
+                }
+            } catch (NumberFormatException e) {
+                logger.trace("Ignoring ARP cache line '{}'", line);
+            }
+        }
+        return entries;
+    }
+}
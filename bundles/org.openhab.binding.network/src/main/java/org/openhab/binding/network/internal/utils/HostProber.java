@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link HostProber} probes hosts for all things of the binding with non-blocking TCP connection attempts in a
+ * single event loop, instead of a process or a thread per check. It also gives access to the shared {@link ArpTable}.
+ * <p>
+ * Java can't send ICMP echo requests without native code, so a host is probed on a few TCP ports instead: an
+ * accepted as well as a refused connection proves that the host is up, like the fall back of
+ * {@link InetAddress#isReachable(int)}.
+ * <p>
+ * The returned futures are completed on the event loop thread, dependent actions should be asynchronous.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class HostProber implements AutoCloseable {
+    /**
+     * The ports for probing a host: echo, HTTP(S) and the iOS sync service
+     */
+    static final List<Integer> HOST_PROBE_PORTS = List.of(7, 80, 443, 62078);
+
+    private final Logger logger = LoggerFactory.getLogger(HostProber.class);
+    private final ArpTable arpTable;
+    private final List<Integer> hostProbePorts;
+    private final Queue<Probe> newProbes = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+
+    public HostProber(ArpTable arpTable) {
+        this(arpTable, HOST_PROBE_PORTS);
+    }
+
+    HostProber(ArpTable arpTable, List<Integer> hostProbePorts) {
+        this.arpTable = arpTable;
+        this.hostProbePorts = hostProbePorts;
+    }
+
+    /**
+     * Try to establish a TCP connection to the given port.
+     *
+     * @param address the address of the host
+     * @param port the TCP port
+     * @param timeout the timeout before the probe fails
+     * @return a future for the {@link PingResult}, successful if the connection was accepted
+     */
+    public CompletableFuture<PingResult> probePort(InetAddress address, int port, Duration timeout) {
+        return submit(new Probe(new InetSocketAddress(address, port), timeout, false));
+    }
+
+    /**
+     * Probe if a host is up by connecting to a few TCP ports at once.
+     *
+     * @param address the address of the host
+     * @param timeout the timeout before the probe fails
+     * @return a future for the {@link PingResult}, successful as soon as a connection was accepted or refused
+     */
+    public CompletableFuture<PingResult> probeHost(InetAddress address, Duration timeout) {
+        long start = System.nanoTime();
+        CompletableFuture<PingResult> result = new CompletableFuture<>();
+        CompletableFuture<?>[] probes = hostProbePorts.stream()
+                .map(port -> submit(new Probe(new InetSocketAddress(address, port), timeout, true))
+                        .thenAccept(pingResult -> {
+                            if (pingResult.isSuccess()) {
+                                result.complete(pingResult);
+                            }
+                        }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(probes).whenComplete(
+                (v, e) -> result.complete(new PingResult(false, Duration.ofNanos(System.nanoTime() - start))));
+        return result;
+    }
+
+    /**
+     * @return the ARP cache shared by all things
+     */
+    public ArpTable getArpTable() {
+        return arpTable;
+    }
+
+    /**
+     * Stop the event loop, pending probes fail.
+     */
+    @Override
+    public synchronized void close() {
+        Selector selector = this.selector;
+        if (selector != null) {
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.debug("Could not close the selector", e);
+            }
+            this.selector = null;
+        }
+        Probe probe;
+        while ((probe = newProbes.poll()) != null) {
+            probe.complete(false);
+        }
+    }
+
+    private synchronized CompletableFuture<PingResult> submit(Probe probe) {
+        Selector selector = this.selector;
+        if (selector == null) {
+            try {
+                selector = Selector.open();
+            } catch (IOException e) {
+                logger.warn("Could not start the host prober: {}", e.getMessage());
+                probe.complete(false);
+                return probe.future;
+            }
+            this.selector = selector;
+            Selector loopSelector = selector;
+            Thread thread = new Thread(() -> run(loopSelector), "OH-binding-network-prober");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        newProbes.add(probe);
+        selector.wakeup();
+        return probe.future;
+    }
+
+    private void run(Selector selector) {
+        PriorityQueue<Probe> pending = new PriorityQueue<>(Comparator.comparingLong(probe -> probe.deadline));
+        try {
+            while (selector.isOpen()) {
+                Probe first = pending.peek();
+                // select(0) waits until a connection attempt completes or a new probe is submitted
+                selector.select(first == null ? 0
+                        : Math.max(1, TimeUnit.NANOSECONDS.toMillis(first.deadline - System.nanoTime()) + 1));
+
+                Probe probe;
+                while ((probe = newProbes.poll()) != null) {
+                    if (connect(selector, probe)) {
+                        pending.add(probe);
+                    }
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    finishConnect((Probe) key.attachment());
+                }
+
+                // completed probes are removed when they reach their deadline
+                long now = System.nanoTime();
+                while ((first = pending.peek()) != null && first.deadline - now <= 0) {
+                    pending.poll();
+                    if (!first.future.isDone()) {
+                        logger.trace("Connection attempt to {} timed out", first.address);
+                    }
+                    first.complete(false);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            logger.debug("Host prober stopped: {}", e.getMessage());
+        } finally {
+            pending.forEach(probe -> probe.complete(false));
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the connection attempt is pending
+     */
+    private boolean connect(Selector selector, Probe probe) {
+        try {
+            SocketChannel channel = SocketChannel.open();
+            probe.channel = channel;
+            channel.configureBlocking(false);
+            if (channel.connect(probe.address)) {
+                probe.complete(true);
+                return false;
+            }
+            channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            return true;
+        } catch (IOException e) {
+            probe.fail(e);
+            return false;
+        } catch (ClosedSelectorException e) {
+            probe.complete(false);
+            return false;
+        }
+    }
+
+    private void finishConnect(Probe probe) {
+        SocketChannel channel = probe.channel;
+        try {
+            if (channel != null && channel.finishConnect()) {
+                probe.complete(true);
+            }
+        } catch (IOException e) {
+            probe.fail(e);
+        }
+    }
+
+    private class Probe {
+        private final InetSocketAddress address;
+        private final boolean refusedIsReachable;
+        private final long start = System.nanoTime();
+        private final long deadline;
+        private final CompletableFuture<PingResult> future = new CompletableFuture<>();
+        private @Nullable SocketChannel channel;
+
+        Probe(InetSocketAddress address, Duration timeout, boolean refusedIsReachable) {
+            this.address = address;
+            this.refusedIsReachable = refusedIsReachable;
+            this.deadline = start + timeout.toNanos();
+        }
+
+        void fail(IOException e) {
+            logger.trace("Could not connect to {}: {}", address, e.getMessage());
+            // the host has answered with a reset, other errors (e.g. no route to host) mean it isn't reachable
+            complete(refusedIsReachable && e instanceof ConnectException);
+        }
+
+        void complete(boolean success) {
+            SocketChannel channel = this.channel;
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    logger.trace("Could not close the connection to {}", address, e);
+                }
+            }
+            future.complete(new PingResult(success, Duration.ofNanos(System.nanoTime() - start)));
+        }
+    }
+}
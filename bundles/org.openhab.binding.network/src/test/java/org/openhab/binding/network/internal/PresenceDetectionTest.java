@@ -21,6 +21,8 @@ import static org.mockito.Mockito.*;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
@@ -34,6 +36,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.openhab.binding.network.internal.utils.ArpTable;
+import org.openhab.binding.network.internal.utils.HostProber;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
@@ -57,6 +61,8 @@ public class PresenceDetectionTest {
     private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduledExecutorService;
     private @Mock @NonNullByDefault({}) PresenceDetectionListener listener;
     private @Mock @NonNullByDefault({}) NetworkUtils networkUtils;
+    private @Mock @NonNullByDefault({}) HostProber hostProber;
+    private @Mock @NonNullByDefault({}) ArpTable arpTable;
 
     @BeforeEach
     public void setUp() {
@@ -195,4 +201,55 @@ public class PresenceDetectionTest {
         subject.getValue(callback);
         verify(callback, times(2)).accept(any());
     }
+
+    @Test
+    public void hostProberTest() throws InterruptedException, ExecutionException, IOException {
+        // Run the asynchronous steps immediately
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(scheduledExecutorService).execute(any());
+
+        PingResult pingResult = new PingResult(true, Duration.ofMillis(10));
+        when(hostProber.probePort(any(), eq(1010), any())).thenReturn(CompletableFuture.completedFuture(pingResult));
+        when(hostProber.probeHost(any(), any())).thenReturn(CompletableFuture.completedFuture(pingResult));
+        when(hostProber.getArpTable()).thenReturn(arpTable);
+        when(arpTable.getMacAddress("127.0.0.1")).thenReturn("00:11:22:33:44:55");
+        subject.setHostProber(hostProber);
+
+        PresenceDetectionValue value = subject.performPresenceDetection().get();
+
+        // No processes and no threads of its own
+        verify(subject, never()).getThreadsFor(anyInt());
+        verify(networkUtils, never()).nativePing(any(), anyString(), any());
+        verify(networkUtils, never()).nativeArpPing(any(), anyString(), anyString(), any(), any());
+
+        verify(listener, times(3)).partialDetectionResult(any());
+        verify(listener, times(1)).finalDetectionResult(value);
+        assertThat(value.getSuccessfulDetectionTypes(), is("ARP_PING, TCP_CONNECTION"));
+        assertThat(value.getReachableTcpPorts().contains(1010), is(true));
+    }
+
+    @Test
+    public void arpCacheEntryAloneIsNotReachable() throws InterruptedException, ExecutionException {
+        // Run the asynchronous steps immediately
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(scheduledExecutorService).execute(any());
+
+        PingResult pingResult = new PingResult(false, Duration.ofMillis(300));
+        when(hostProber.probePort(any(), eq(1010), any())).thenReturn(CompletableFuture.completedFuture(pingResult));
+        when(hostProber.probeHost(any(), any())).thenReturn(CompletableFuture.completedFuture(pingResult));
+        when(hostProber.getArpTable()).thenReturn(arpTable);
+        // a stale entry of a host that has left the network
+        when(arpTable.getMacAddress("127.0.0.1")).thenReturn("00:11:22:33:44:55");
+        subject.setHostProber(hostProber);
+
+        PresenceDetectionValue value = subject.performPresenceDetection().get();
+
+        assertThat(value.isReachable(), is(false));
+        verify(listener, never()).partialDetectionResult(any());
+        verify(listener, times(1)).finalDetectionResult(value);
+    }
 }
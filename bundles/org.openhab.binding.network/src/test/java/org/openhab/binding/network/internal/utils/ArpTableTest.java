@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the parsing of the kernel ARP cache.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ArpTableTest {
+    private static final String ARP_TABLE = """
+            IP address       HW type     Flags       HW address            Mask     Device
+            192.168.1.1      0x1         0x2         11:22:33:44:55:66     *        eth0
+            192.168.1.20     0x1         0x0         00:00:00:00:00:00     *        eth0
+            192.168.1.30     0x1         0x6         aa:bb:cc:dd:ee:ff     *        wlan0
+            """;
+
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+
+    @Test
+    public void completeEntriesAreFound() throws IOException {
+        Path path = Files.writeString(tempDir.resolve("arp"), ARP_TABLE);
+        ArpTable arpTable = new ArpTable(path, Duration.ofSeconds(1));
+
+        assertTrue(arpTable.isAvailable());
+        assertEquals("11:22:33:44:55:66", arpTable.getMacAddress("192.168.1.1"));
+        assertEquals("aa:bb:cc:dd:ee:ff", arpTable.getMacAddress("192.168.1.30"));
+        // incomplete, the host didn't answer
+        assertNull(arpTable.getMacAddress("192.168.1.20"));
+        assertNull(arpTable.getMacAddress("192.168.1.40"));
+    }
+
+    @Test
+    public void tableIsReadOncePerTimeToLive() throws IOException {
+        Path path = Files.writeString(tempDir.resolve("arp"), ARP_TABLE);
+        ArpTable arpTable = new ArpTable(path, Duration.ofHours(1));
+
+        assertNotNull(arpTable.getMacAddress("192.168.1.1"));
+        Files.writeString(path, ARP_TABLE.lines().findFirst().orElseThrow());
+
+        // the cached table is shared
+        assertNotNull(arpTable.getMacAddress("192.168.1.1"));
+    }
+
+    @Test
+    public void missingTableIsEmpty() {
+        ArpTable arpTable = new ArpTable(tempDir.resolve("missing"), Duration.ofSeconds(1));
+
+        assertFalse(arpTable.isAvailable());
+        assertNull(arpTable.getMacAddress("192.168.1.1"));
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link HostProber} against a simulated responder on the loopback interface.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class HostProberTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+    private final InetAddress loopback = InetAddress.getLoopbackAddress();
+    private @NonNullByDefault({}) ServerSocket responder;
+    private @NonNullByDefault({}) Thread responderThread;
+    private int closedPort;
+    private @NonNullByDefault({}) HostProber subject;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        // accepts and closes all connections
+        responder = new ServerSocket(0, 200, loopback);
+        responderThread = new Thread(() -> {
+            while (!responder.isClosed()) {
+                try (Socket socket = responder.accept()) {
+                    // nothing to do
+                } catch (IOException e) {
+                    // closed
+                }
+            }
+        });
+        responderThread.start();
+
+        try (ServerSocket socket = new ServerSocket(0, 1, loopback)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        subject = new HostProber(new ArpTable(), List.of(closedPort));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException, InterruptedException {
+        subject.close();
+        responder.close();
+        responderThread.join();
+    }
+
+    @Test
+    public void acceptedConnectionIsSuccessful() throws Exception {
+        PingResult pingResult = subject.probePort(loopback, responder.getLocalPort(), TIMEOUT).get(5,
+                TimeUnit.SECONDS);
+
+        assertTrue(pingResult.isSuccess());
+    }
+
+    @Test
+    public void refusedConnectionFailsPortProbe() throws Exception {
+        PingResult pingResult = subject.probePort(loopback, closedPort, TIMEOUT).get(5, TimeUnit.SECONDS);
+
+        assertFalse(pingResult.isSuccess());
+        assertTrue(pingResult.getExecutionTime().compareTo(TIMEOUT) < 0);
+    }
+
+    @Test
+    public void refusedConnectionProvesThatHostIsUp() throws Exception {
+        PingResult pingResult = subject.probeHost(loopback, TIMEOUT).get(5, TimeUnit.SECONDS);
+
+        assertTrue(pingResult.isSuccess());
+    }
+
+    @Test
+    public void unansweredConnectionFailsAfterTimeout() throws Exception {
+        try (ServerSocket silent = new ServerSocket(0, 1, loopback)) {
+            List<Socket> backlog = new ArrayList<>();
+            try {
+                // fill the backlog of the silent responder, further connection attempts aren't answered
+                for (int i = 0; i < 10; i++) {
+                    Socket socket = new Socket();
+                    backlog.add(socket);
+                    try {
+                        socket.connect(new InetSocketAddress(loopback, silent.getLocalPort()), 200);
+                    } catch (SocketTimeoutException e) {
+                        break;
+                    }
+                }
+
+                PingResult pingResult = subject.probePort(loopback, silent.getLocalPort(), Duration.ofMillis(300))
+                        .get(5, TimeUnit.SECONDS);
+
+                assertFalse(pingResult.isSuccess());
+                assertTrue(pingResult.getExecutionTime().compareTo(Duration.ofMillis(300)) >= 0);
+            } finally {
+                for (Socket socket : backlog) {
+                    socket.close();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void manyConcurrentProbes() throws Exception {
+        List<CompletableFuture<PingResult>> probes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            probes.add(subject.probePort(loopback, responder.getLocalPort(), TIMEOUT));
+            probes.add(subject.probePort(loopback, closedPort, TIMEOUT));
+        }
+
+        for (int i = 0; i < probes.size(); i++) {
+            assertEquals(i % 2 == 0, probes.get(i).get(5, TimeUnit.SECONDS).isSuccess());
+        }
+    }
+
+    @Test
+    public void closeStopsTheEventLoop() throws Exception {
+        assertTrue(subject.probePort(loopback, responder.getLocalPort(), TIMEOUT).get(5, TimeUnit.SECONDS)
+                .isSuccess());
+
+        subject.close();
+
+        // the next probe starts a new event loop
+        assertTrue(subject.probePort(loopback, responder.getLocalPort(), TIMEOUT).get(5, TimeUnit.SECONDS)
+                .isSuccess());
+    }
+}
@@ -339,8 +339,10 @@ public class ShellyBindingConstants {
     public static final int DIGITS_PERCENT = 1;
 
     public static final int SHELLY_API_TIMEOUT_MS = 10000;
+    public static final int SHELLY_API_RPC_TIMEOUT_MS = 5000; // WebSocket Rpc
     public static final int UPDATE_STATUS_INTERVAL_SECONDS = 3; // check for updates every x sec
     public static final int UPDATE_SKIP_COUNT = 20; // update every x triggers or when a key was pressed
+    public static final int UPDATE_MAX_CONCURRENT_POLLS = 4; // max number of status updates running in parallel
     public static final int UPDATE_MIN_DELAY = 15;// update every x triggers or when a key was pressed
     public static final int UPDATE_SETTINGS_INTERVAL_SECONDS = 60; // check for updates every x sec
     public static final int HEALTH_CHECK_INTERVAL_SEC = 300; // Health check interval, 5min
@@ -162,6 +162,7 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
      */
     @Override
     public void processResponse(@Nullable Response response) {
+        long received = System.nanoTime();
         if (response == null) {
             thingHandler.incProtErrors();
             return; // other device instance
@@ -292,7 +293,7 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
                     handleDeviceDescription(devId, payload);
                 } else if (uri.equalsIgnoreCase(COLOIT_URI_DEVSTATUS)
                         || (uri.isEmpty() && payload.contains(COIOT_TAG_GENERIC))) {
-                    handleStatusUpdate(devId, payload, serial);
+                    handleStatusUpdate(devId, payload, serial, received);
                 }
             } catch (ShellyApiException e) {
                 logger.debug("{}: Unable to process CoIoT message: {}", thingName, e.toString());
@@ -416,9 +417,11 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
      * @param serial Serial for this request. If this the the same as last serial
      *            the update was already sent and processed so this one gets
      *            ignored.
+     * @param received {@link System#nanoTime()} when the message was received
      * @throws ShellyApiException
      */
-    private void handleStatusUpdate(String devId, String payload, int serial) throws ShellyApiException {
+    private void handleStatusUpdate(String devId, String payload, int serial, long received)
+            throws ShellyApiException {
         logger.debug("{}: CoIoT Sensor data {} (serial={})", thingName, payload, serial);
         if (blkMap.isEmpty()) {
             // send discovery packet
@@ -527,6 +530,8 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
                 }
             }
 
+            thingHandler.pushUpdateProcessed(received);
+
             // Old firmware release are lacking various status values, which are not updated using CoIoT.
             // In this case we keep a refresh so it gets polled using REST. Beginning with Firmware 1.6 most
             // of the values are available
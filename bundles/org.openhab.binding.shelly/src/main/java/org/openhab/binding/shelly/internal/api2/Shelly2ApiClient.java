@@ -194,7 +194,9 @@ public class Shelly2ApiClient extends ShellyHttpClient {
         updated |= updateEmStatus(status, result.em11, channelUpdate);
         updated |= updateRollerStatus(status, result.cover0, channelUpdate);
         updated |= updateDimmerStatus(status, result.light0, channelUpdate);
-        if (channelUpdate) {
+        // NotifyStatus only includes the components that have changed, leave the channels of the others alone
+        boolean meterUpdate = hasMeterStatus(result);
+        if (channelUpdate && meterUpdate) {
             updated |= ShellyComponents.updateMeters(getThing(), status);
         }
 
@@ -204,10 +206,27 @@ public class Shelly2ApiClient extends ShellyHttpClient {
         updateSmokeStatus(sensorData, result.smoke0);
         updateBatteryStatus(sensorData, result.devicepower0);
         updateAddonStatus(status, result);
-        updated |= ShellyComponents.updateSensors(getThing(), status);
+        if (!channelUpdate || meterUpdate || hasSensorStatus(result)) {
+            updated |= ShellyComponents.updateSensors(getThing(), status);
+        }
         return updated;
     }
 
+    private boolean hasMeterStatus(Shelly2DeviceStatusResult result) {
+        return result.switch0 != null || result.switch1 != null || result.switch2 != null || result.switch3 != null
+                || result.switch100 != null || result.pm10 != null || result.em0 != null || result.em10 != null
+                || result.em11 != null || result.cover0 != null || result.light0 != null;
+    }
+
+    private boolean hasSensorStatus(Shelly2DeviceStatusResult result) {
+        return result.input0 != null || result.input1 != null || result.input2 != null || result.input3 != null
+                || result.temperature0 != null || result.humidity0 != null || result.illuminance0 != null
+                || result.smoke0 != null || result.devicepower0 != null || result.temperature100 != null
+                || result.temperature101 != null || result.temperature102 != null || result.temperature103 != null
+                || result.temperature104 != null || result.humidity100 != null || result.input100 != null
+                || result.voltmeter100 != null;
+    }
+
     private boolean updateRelayStatus(ShellySettingsStatus status, @Nullable Shelly2RelayStatus rs,
             boolean channelUpdate) throws ShellyApiException {
         if (rs == null) {
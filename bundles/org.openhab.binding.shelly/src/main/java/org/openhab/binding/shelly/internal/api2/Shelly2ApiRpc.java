@@ -26,6 +26,10 @@ import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -88,6 +92,8 @@ import org.openhab.core.thing.ThingStatusDetail;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonParseException;
+
 /**
  * {@link Shelly2ApiRpc} implements Gen2 RPC interface
  *
@@ -136,11 +142,16 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
             logger.debug("{}: Disconnect Rpc Socket on initialize", thingName);
             disconnect();
         }
-        rpcSocket = new Shelly2RpcSocket(thingName, thingTable, config.deviceIp);
+        rpcSocket = createRpcSocket();
         rpcSocket.addMessageHandler(this);
         initialized = true;
     }
 
+    // Visible for testing
+    protected Shelly2RpcSocket createRpcSocket() {
+        return new Shelly2RpcSocket(thingName, thingTable, config.deviceIp);
+    }
+
     @Override
     public boolean isInitialized() {
         return initialized;
@@ -547,7 +558,10 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
 
     @Override
     public void onNotifyStatus(Shelly2RpcNotifyStatus message) {
-        logger.debug("{}: NotifyStatus update received: {}", thingName, gson.toJson(message));
+        long received = System.nanoTime();
+        if (logger.isDebugEnabled()) {
+            logger.debug("{}: NotifyStatus update received: {}", thingName, gson.toJson(message));
+        }
         try {
             ShellyThingInterface t = thing;
             if (t == null) {
@@ -611,6 +625,7 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
                 if (updated) {
                     getThing().restartWatchdog();
                 }
+                getThing().pushUpdateProcessed(received);
             }
         } catch (ShellyApiException e) {
             logger.debug("{}: Unable to process status update", thingName, e);
@@ -621,7 +636,9 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
     @Override
     public void onNotifyEvent(Shelly2RpcNotifyEvent message) {
         try {
-            logger.debug("{}: NotifyEvent  received: {}", thingName, gson.toJson(message));
+            if (logger.isDebugEnabled()) {
+                logger.debug("{}: NotifyEvent  received: {}", thingName, gson.toJson(message));
+            }
             ShellyDeviceProfile profile = getProfile();
 
             getThing().incProtMessages();
@@ -1170,7 +1187,7 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
         Shelly2RpcBaseMessage req = buildRequest(method, params);
         try {
             reconnect(); // make sure WS is connected
-            json = rpcPost(gson.toJson(req));
+            json = rpcCall(req);
         } catch (ShellyApiException e) {
             ShellyApiResult res = e.getApiResult();
             String auth = getString(res.authChallenge);
@@ -1207,7 +1224,7 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
         }
         if (response.result != null) {
             // return sub element result as requested class type
-            json = gson.toJson(gson.fromJson(json, Shelly2RpcBaseMessage.class).result);
+            json = gson.toJson(response.result);
             boolean isString = response.result instanceof String;
             return fromJson(gson, isString && "null".equalsIgnoreCase(((String) response.result)) ? "{}" : json,
                     classOfT);
@@ -1225,6 +1242,63 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
         apiRequest(request.method, request.params, Shelly2RpcBaseMessage.class);
     }
 
+    /**
+     * Send the request over the WebSocket if it's connected, otherwise use HTTP. Requests with authentication always
+     * use HTTP.
+     * <p>
+     * Once the request has been sent over the WebSocket, it's not sent again over HTTP if the response times out or
+     * reports an error: the device may have executed it already. The only exception is a request the device refused
+     * as unauthorized, HTTP returns the authentication challenge for it.
+     */
+    private String rpcCall(Shelly2RpcBaseMessage request) throws ShellyApiException {
+        String postData = gson.toJson(request);
+        if (discovery || authInfo != null || !rpcSocket.isConnected()) {
+            return rpcPost(postData);
+        }
+
+        CompletableFuture<String> future;
+        try {
+            future = rpcSocket.sendRequest(request.id, postData);
+        } catch (ShellyApiException e) {
+            logger.debug("{}: Unable to send Rpc {} over WebSocket, use HTTP: {}", thingName, request.method,
+                    e.getMessage());
+            return rpcPost(postData);
+        }
+
+        String response;
+        try {
+            response = future.get(SHELLY_API_RPC_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new ShellyApiException("Rpc request timed out", e);
+        } catch (ExecutionException e) {
+            throw new ShellyApiException("Rpc request failed: " + getString(e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new ShellyApiException("Rpc request interrupted", e);
+        }
+
+        Shelly2RpcBaseMessage message;
+        try {
+            message = gson.fromJson(response, Shelly2RpcBaseMessage.class);
+        } catch (JsonParseException e) {
+            throw new ShellyApiException("Unexpected Rpc response: " + response, e);
+        }
+        if (message != null && message.error != null) {
+            int code = getInteger(message.error.code);
+            if (code == HttpStatus.UNAUTHORIZED_401) {
+                logger.debug("{}: Rpc {} over WebSocket is unauthorized, use HTTP", thingName, request.method);
+                return rpcPost(postData);
+            }
+            ShellyApiResult result = new ShellyApiResult("RPC", "ws://" + config.deviceIp + SHELLYRPC_ENDPOINT);
+            result.httpCode = code;
+            result.response = getString(message.error.message);
+            throw new ShellyApiException(result);
+        }
+        return response;
+    }
+
     private String rpcPost(String postData) throws ShellyApiException {
         return httpPost(authInfo, postData);
     }
@@ -12,12 +12,17 @@
  */
 package org.openhab.binding.shelly.internal.api2;
 
+import static org.openhab.binding.shelly.internal.ShellyBindingConstants.SHELLY_API_RPC_TIMEOUT_MS;
 import static org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.*;
 import static org.openhab.binding.shelly.internal.util.ShellyUtils.*;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.core.HttpHeaders;
 
@@ -45,6 +50,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 
 /**
  * {@link Shelly1HttpApi} wraps the Shelly REST API and provides various low level function to access the device api
@@ -69,6 +78,10 @@ public class Shelly2RpcSocket {
     private WebSocketClient client = new WebSocketClient();
     private @Nullable ShellyThingTable thingTable;
 
+    // requests waiting for their response, by request id
+    private final Map<Integer, CompletableFuture<String>> pendingRequests = new ConcurrentHashMap<>();
+    private volatile @Nullable Thread dispatchThread;
+
     public Shelly2RpcSocket() {
     }
 
@@ -183,10 +196,12 @@ public class Shelly2RpcSocket {
      * @throws ShellyApiException
      */
     @SuppressWarnings("null")
-    public void sendMessage(String str) throws ShellyApiException {
+    public synchronized void sendMessage(String str) throws ShellyApiException {
         if (session != null) {
             try {
-                connectLatch.await();
+                if (!connectLatch.await(SHELLY_API_RPC_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    throw new ShellyApiException("Error RpcSend failed, WebSocket not connected");
+                }
                 session.getRemote().sendString(str);
                 return;
             } catch (IOException | InterruptedException e) {
@@ -196,6 +211,43 @@ public class Shelly2RpcSocket {
         throw new ShellyApiException("Unable to send API request (No Rpc session)");
     }
 
+    /**
+     * Send request over WebSocket, the response with the same id completes the returned future. Several requests can
+     * be outstanding at the same time, the responses are matched by their id. Cancel the future to stop waiting.
+     *
+     * @param id request id
+     * @param str API request message
+     * @return future for the response message
+     * @throws ShellyApiException if the request couldn't be sent
+     */
+    public CompletableFuture<String> sendRequest(int id, String str) throws ShellyApiException {
+        if (Thread.currentThread() == dispatchThread) {
+            // the response would be received by this thread
+            throw new ShellyApiException("Rpc request from WebSocket thread");
+        }
+        CompletableFuture<String> response = new CompletableFuture<>();
+        if (pendingRequests.putIfAbsent(id, response) != null) {
+            throw new ShellyApiException("Rpc request id " + id + " is already in use");
+        }
+        try {
+            sendMessage(str);
+        } catch (ShellyApiException e) {
+            pendingRequests.remove(id);
+            throw e;
+        }
+        response.whenComplete((message, e) -> pendingRequests.remove(id, response));
+        return response;
+    }
+
+    private void failPendingRequests(String reason) {
+        for (Integer id : pendingRequests.keySet()) {
+            CompletableFuture<String> response = pendingRequests.remove(id);
+            if (response != null) {
+                response.completeExceptionally(new ShellyApiException(reason));
+            }
+        }
+    }
+
     /**
      * Close WebSocket session
      */
@@ -211,6 +263,7 @@ public class Shelly2RpcSocket {
                 s.close(StatusCode.NORMAL, "Socket closed");
                 session = null;
             }
+            failPendingRequests("WebSocket closed");
         } catch (Exception e) {
             if (e.getCause() instanceof InterruptedException) {
                 logger.debug("{}: Unable to close socket - interrupted", thingName); // e.g. device was rebooted
@@ -235,10 +288,20 @@ public class Shelly2RpcSocket {
      */
     @OnWebSocketMessage
     public void onText(Session session, String receivedMessage) {
+        dispatchThread = Thread.currentThread();
         try {
             Shelly2RpctInterface handler = websocketHandler;
-            Shelly2RpcBaseMessage message = fromJson(gson, receivedMessage, Shelly2RpcBaseMessage.class);
+            // parse once, the message is mapped to the different message types from the tree
+            JsonObject json = JsonParser.parseString(receivedMessage).getAsJsonObject();
+            Shelly2RpcBaseMessage message = fromJsonTree(json, Shelly2RpcBaseMessage.class);
             logger.trace("{}: Inbound Rpc message: {}", thingName, receivedMessage);
+            if (message.method == null && message.id != null) {
+                CompletableFuture<String> response = pendingRequests.remove(message.id);
+                if (response != null) {
+                    response.complete(receivedMessage);
+                    return;
+                }
+            }
             if (handler != null) {
                 if (thingName.isEmpty()) {
                     thingName = getString(message.src);
@@ -249,14 +312,14 @@ public class Shelly2RpcSocket {
                 switch (getString(message.method)) {
                     case SHELLYRPC_METHOD_NOTIFYSTATUS:
                     case SHELLYRPC_METHOD_NOTIFYFULLSTATUS:
-                        Shelly2RpcNotifyStatus status = fromJson(gson, receivedMessage, Shelly2RpcNotifyStatus.class);
+                        Shelly2RpcNotifyStatus status = fromJsonTree(json, Shelly2RpcNotifyStatus.class);
                         if (status.params == null) {
                             status.params = status.result;
                         }
                         handler.onNotifyStatus(status);
                         return;
                     case SHELLYRPC_METHOD_NOTIFYEVENT:
-                        Shelly2RpcNotifyEvent events = fromJson(gson, receivedMessage, Shelly2RpcNotifyEvent.class);
+                        Shelly2RpcNotifyEvent events = fromJsonTree(json, Shelly2RpcNotifyEvent.class);
                         events.src = message.src;
                         if (events.params == null || events.params.events == null) {
                             logger.debug("{}: Malformed event data: {}", thingName, receivedMessage);
@@ -269,8 +332,7 @@ public class Shelly2RpcSocket {
                                             ShellyThingInterface thing = thingTable.getThing(address);
                                             Shelly2ApiRpc api = (Shelly2ApiRpc) thing.getApi();
                                             handler = api.getRpcHandler();
-                                            handler.onNotifyEvent(
-                                                    fromJson(gson, receivedMessage, Shelly2RpcNotifyEvent.class));
+                                            handler.onNotifyEvent(fromJsonTree(json, Shelly2RpcNotifyEvent.class));
                                         }
                                     } else { // new device
                                         if (e.event.equals(SHELLY2_EVENT_BLUSCAN)) {
@@ -281,7 +343,7 @@ public class Shelly2RpcSocket {
                                         }
                                     }
                                 } else {
-                                    handler.onNotifyEvent(fromJson(gson, receivedMessage, Shelly2RpcNotifyEvent.class));
+                                    handler.onNotifyEvent(fromJsonTree(json, Shelly2RpcNotifyEvent.class));
                                 }
                             }
                         }
@@ -293,11 +355,22 @@ public class Shelly2RpcSocket {
                 logger.debug("{}: No Rpc listener registered for device {}, skip message: {}", thingName,
                         getString(message.src), receivedMessage);
             }
-        } catch (ShellyApiException | IllegalArgumentException e) {
+        } catch (ShellyApiException | IllegalArgumentException | IllegalStateException | JsonParseException e) {
             logger.debug("{}: Unable to process Rpc message ({}): {}", thingName, e.getMessage(), receivedMessage);
         } catch (NullPointerException e) {
             logger.debug("{}: Unable to process Rpc message: {}", thingName, receivedMessage, e);
+        } finally {
+            dispatchThread = null;
+        }
+    }
+
+    private <T> T fromJsonTree(JsonElement json, Class<T> classOfT) throws ShellyApiException {
+        @Nullable
+        T o = gson.fromJson(json, classOfT);
+        if (o == null) {
+            throw new ShellyApiException("Unable to create JSON object");
         }
+        return o;
     }
 
     public boolean isConnected() {
@@ -340,6 +413,7 @@ public class Shelly2RpcSocket {
             // Ignore disconnect: Device establishes the socket, sends NotifyxFullStatus and disconnects
             return;
         }
+        failPendingRequests("WebSocket error: " + getString(cause.getMessage()));
         if (websocketHandler != null) {
             websocketHandler.onError(cause);
         }
@@ -125,7 +125,9 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
     private int skipCount = UPDATE_SKIP_COUNT;
     private int skipUpdate = 0;
     private boolean refreshSettings = false;
-    private @Nullable ScheduledFuture<?> statusJob;
+    private final Runnable statusUpdate = this::refreshStatus;
+    private long lastPoll = 0;
+    private volatile long lastPushUpdate = 0;
     private @Nullable ScheduledFuture<?> initJob;
 
     /**
@@ -535,7 +537,14 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
 
             skipUpdate++;
             ThingStatus thingStatus = getThing().getStatus();
-            if (refreshSettings || (scheduledUpdates > 0) || (skipUpdate % skipCount == 0)) {
+            boolean regularPoll = skipUpdate % skipCount == 0;
+            if (regularPoll && !refreshSettings && (scheduledUpdates == 0) && (thingStatus == ThingStatus.ONLINE)
+                    && channelsCreated && isPushCurrent()) {
+                stats.pollsSkipped++;
+                logger.trace("{}: Events are current, skip status update", thingName);
+            } else if (refreshSettings || (scheduledUpdates > 0) || regularPoll) {
+                stats.pollsExecuted++;
+                lastPoll = now();
                 if (!profile.isInitialized() || ((thingStatus == ThingStatus.OFFLINE))
                         || (thingStatus == ThingStatus.UNKNOWN)) {
                     logger.debug("{}: Status update triggered thing initialization", thingName);
@@ -1167,15 +1176,28 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
      * Start the background updates
      */
     protected void startUpdateJob() {
-        ScheduledFuture<?> statusJob = this.statusJob;
-        if ((statusJob == null) || statusJob.isCancelled()) {
-            this.statusJob = scheduler.scheduleWithFixedDelay(this::refreshStatus, 2, UPDATE_STATUS_INTERVAL_SECONDS,
-                    TimeUnit.SECONDS);
+        ShellyPollScheduler pollScheduler = thingTable.getPollScheduler();
+        if (!pollScheduler.isRegistered(getUID(), statusUpdate)) {
+            pollScheduler.register(getUID(), statusUpdate, 2);
             logger.debug("{}: Update status job started, interval={}*{}={}sec.", thingName, skipCount,
                     UPDATE_STATUS_INTERVAL_SECONDS, skipCount * UPDATE_STATUS_INTERVAL_SECONDS);
         }
     }
 
+    /**
+     * The regular poll can be skipped while events from CoIoT or the RPC WebSocket are current.
+     */
+    private boolean isPushCurrent() {
+        return ShellyPollScheduler.isPushCurrent(now(), lastPushUpdate, lastPoll,
+                skipCount * UPDATE_STATUS_INTERVAL_SECONDS);
+    }
+
+    @Override
+    public void pushUpdateProcessed(long receivedNanos) {
+        lastPushUpdate = now();
+        stats.addPushLatency(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - receivedNanos));
+    }
+
     /**
      * Flag the status job to do an exceptional update (something happened) rather
      * than waiting until the next regular poll
@@ -1526,10 +1548,9 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
             job.cancel(true);
             initJob = null;
         }
-        job = this.statusJob;
-        if (job != null) {
-            job.cancel(true);
-            statusJob = null;
+        ShellyPollScheduler pollScheduler = thingTable.getPollScheduler();
+        if (pollScheduler.isRegistered(getUID(), statusUpdate)) {
+            pollScheduler.unregister(getUID(), statusUpdate);
             logger.debug("{}: Shelly statusJob stopped", thingName);
         }
         api.close();
@@ -37,6 +37,19 @@ public class ShellyDeviceStats {
     public long protocolErrors = 0;
     public int wifiRssi = 0;
     public int maxInternalTemp = 0;
+    public long pollsExecuted = 0;
+    public long pollsSkipped = 0; // regular polls saved, because events delivered the status
+    public long pushUpdates = 0;
+    public long pushLatencySumUs = 0; // time from receiving an event until the channels are updated
+    public long pushLatencyMaxUs = 0;
+
+    public void addPushLatency(long latencyUs) {
+        pushUpdates++;
+        pushLatencySumUs += latencyUs;
+        if (latencyUs > pushLatencyMaxUs) {
+            pushLatencyMaxUs = latencyUs;
+        }
+    }
 
     public Map<String, String> asProperties() {
         Map<String, String> prop = new HashMap<>();
@@ -51,6 +64,11 @@ public class ShellyDeviceStats {
         prop.put("protocolMessages", String.valueOf(protocolMessages));
         prop.put("protocolErrors", String.valueOf(protocolErrors));
         prop.put("wifiRssi", String.valueOf(wifiRssi));
+        prop.put("pollsExecuted", String.valueOf(pollsExecuted));
+        prop.put("pollsSaved", String.valueOf(pollsSkipped));
+        prop.put("eventLatencyAvg",
+                pushUpdates > 0 ? String.format("%.1f", pushLatencySumUs / 1000.0 / pushUpdates) : "-");
+        prop.put("eventLatencyMax", pushUpdates > 0 ? String.format("%.1f", pushLatencyMaxUs / 1000.0) : "-");
         return prop;
     }
 }
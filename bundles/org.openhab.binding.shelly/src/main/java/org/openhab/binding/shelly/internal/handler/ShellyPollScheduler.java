@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.handler;
+
+import static org.openhab.binding.shelly.internal.ShellyBindingConstants.HEALTH_CHECK_INTERVAL_SEC;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * The {@link ShellyPollScheduler} runs the status updates of all things from a single timer instead of one job per
+ * thing. Every thing gets a random slot within the update interval, so the updates are spread evenly rather than
+ * firing in bursts, and the number of updates running at the same time is limited. An update that can't get a permit
+ * is retried on the next tick.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ShellyPollScheduler {
+    private static final long TICK_MS = 500;
+
+    private final Logger logger = LoggerFactory.getLogger(ShellyPollScheduler.class);
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
+    private final long intervalMs;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private @Nullable ScheduledFuture<?> tickJob;
+
+    private static class Slot {
+        private final Runnable update;
+        private long dueMs;
+        private volatile boolean running = false;
+
+        private Slot(Runnable update, long dueMs) {
+            this.update = update;
+            this.dueMs = dueMs;
+        }
+    }
+
+    /**
+     * @param scheduler the pool that runs the timer and the updates
+     * @param intervalSeconds the interval between two updates of a thing
+     * @param maxConcurrent the maximum number of updates that run at the same time
+     */
+    public ShellyPollScheduler(ScheduledExecutorService scheduler, int intervalSeconds, int maxConcurrent) {
+        this(scheduler, intervalSeconds, maxConcurrent, () -> System.nanoTime() / 1_000_000);
+    }
+
+    // Visible for testing
+    ShellyPollScheduler(ScheduledExecutorService scheduler, int intervalSeconds, int maxConcurrent,
+            LongSupplier clock) {
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.intervalMs = TimeUnit.SECONDS.toMillis(intervalSeconds);
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Add a thing to the schedule, replacing a previous registration with the same key
+     *
+     * @param key thing UID
+     * @param update status update of the thing
+     * @param initialDelaySeconds minimum delay before the first update
+     */
+    public synchronized void register(String key, Runnable update, int initialDelaySeconds) {
+        long jitter = ThreadLocalRandom.current().nextLong(intervalMs);
+        slots.put(key, new Slot(update, clock.getAsLong() + TimeUnit.SECONDS.toMillis(initialDelaySeconds) + jitter));
+        ScheduledFuture<?> job = tickJob;
+        if (job == null || job.isCancelled()) {
+            tickJob = scheduler.scheduleWithFixedDelay(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+            logger.debug("Shelly poll scheduler started, interval={}ms", intervalMs);
+        }
+    }
+
+    /**
+     * Remove a thing from the schedule, unless it has been registered again by a new handler in the meantime
+     */
+    public synchronized void unregister(String key, Runnable update) {
+        @Nullable
+        Slot slot = slots.get(key);
+        if (slot != null && slot.update == update) {
+            slots.remove(key);
+        }
+        if (slots.isEmpty()) {
+            stop();
+        }
+    }
+
+    public synchronized boolean isRegistered(String key, Runnable update) {
+        @Nullable
+        Slot slot = slots.get(key);
+        return slot != null && slot.update == update;
+    }
+
+    public synchronized void stop() {
+        ScheduledFuture<?> job = tickJob;
+        if (job != null) {
+            job.cancel(false);
+            tickJob = null;
+            logger.debug("Shelly poll scheduler stopped");
+        }
+    }
+
+    /**
+     * The regular poll of a thing can be skipped while events from CoIoT or the RPC WebSocket have been received within
+     * its poll interval. The status is still polled once per health check interval to refresh the values that are not
+     * part of the events.
+     *
+     * @param now the current time in seconds
+     * @param lastPushUpdate the time of the last event in seconds, 0 if none has been received
+     * @param lastPoll the time of the last poll in seconds
+     * @param pollIntervalSeconds the poll interval of the thing
+     * @return true if the poll can be skipped
+     */
+    public static boolean isPushCurrent(long now, long lastPushUpdate, long lastPoll, long pollIntervalSeconds) {
+        return (lastPushUpdate > 0) && (now - lastPushUpdate <= pollIntervalSeconds)
+                && (now - lastPoll < HEALTH_CHECK_INTERVAL_SEC);
+    }
+
+    // Visible for testing
+    synchronized void tick() {
+        long now = clock.getAsLong();
+        int deferred = 0;
+        for (Slot slot : slots.values()) {
+            if (slot.running || slot.dueMs > now) {
+                continue;
+            }
+            if (!permits.tryAcquire()) {
+                // keep the slot due, it gets the next free permit
+                deferred++;
+                continue;
+            }
+            // keep the phase of the slot, but don't catch up on missed updates
+            slot.dueMs = Math.max(slot.dueMs + intervalMs, now + intervalMs / 2);
+            slot.running = true;
+            try {
+                scheduler.execute(() -> run(slot));
+            } catch (RejectedExecutionException e) {
+                slot.running = false;
+                permits.release();
+            }
+        }
+        if (deferred > 0) {
+            logger.trace("{} status updates deferred, max {} running at the same time", deferred, maxConcurrent);
+        }
+    }
+
+    private void run(Slot slot) {
+        try {
+            slot.update.run();
+        } catch (RuntimeException e) {
+            logger.debug("Shelly status update failed", e);
+        } finally {
+            slot.running = false;
+            permits.release();
+        }
+    }
+}
@@ -120,5 +120,12 @@ public interface ShellyThingInterface {
 
     void incProtErrors();
 
+    /**
+     * Called by CoIoT and the RPC WebSocket once the channels have been updated from an event of the device
+     *
+     * @param receivedNanos {@link System#nanoTime()} when the event was received
+     */
+    void pushUpdateProcessed(long receivedNanos);
+
     void startScan();
 }
@@ -12,12 +12,15 @@
  */
 package org.openhab.binding.shelly.internal.handler;
 
+import static org.openhab.binding.shelly.internal.ShellyBindingConstants.*;
+
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.shelly.internal.discovery.ShellyBasicDiscoveryService;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.discovery.DiscoveryResult;
 import org.openhab.core.thing.ThingTypeUID;
 import org.osgi.framework.BundleContext;
@@ -34,8 +37,14 @@ import org.osgi.service.component.annotations.Deactivate;
 @NonNullByDefault
 @Component(service = ShellyThingTable.class, configurationPolicy = ConfigurationPolicy.OPTIONAL)
 public class ShellyThingTable {
+    // status updates run on the same pool as the handler jobs did before
+    private static final String THING_HANDLER_THREADPOOL_NAME = "thingHandler";
+
     private Map<String, ShellyThingInterface> thingTable = new ConcurrentHashMap<>();
     private @Nullable ShellyBasicDiscoveryService discoveryService;
+    private final ShellyPollScheduler pollScheduler = new ShellyPollScheduler(
+            ThreadPoolManager.getScheduledPool(THING_HANDLER_THREADPOOL_NAME),
+            UPDATE_STATUS_INTERVAL_SECONDS, UPDATE_MAX_CONCURRENT_POLLS);
 
     public void addThing(String key, ShellyThingInterface thing) {
         if (thingTable.containsKey(key)) {
@@ -80,6 +89,10 @@ public class ShellyThingTable {
         return thingTable.size();
     }
 
+    public ShellyPollScheduler getPollScheduler() {
+        return pollScheduler;
+    }
+
     public void startDiscoveryService(BundleContext bundleContext) {
         if (discoveryService == null) {
             discoveryService = new ShellyBasicDiscoveryService(bundleContext, this);
@@ -116,5 +129,6 @@ public class ShellyThingTable {
     @Deactivate
     public void deactivate() {
         stopDiscoveryService();
+        pollScheduler.stop();
     }
 }
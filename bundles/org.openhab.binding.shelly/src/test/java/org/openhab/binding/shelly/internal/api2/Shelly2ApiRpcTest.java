@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.api2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.shelly.internal.api.ShellyApiException;
+import org.openhab.binding.shelly.internal.api.ShellyDeviceProfile;
+import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2AuthChallenge;
+import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcBaseMessage;
+import org.openhab.binding.shelly.internal.config.ShellyThingConfiguration;
+import org.openhab.binding.shelly.internal.handler.ShellyThingInterface;
+import org.openhab.binding.shelly.internal.handler.ShellyThingTable;
+
+/**
+ * Tests when {@link Shelly2ApiRpc} sends a request over HTTP instead of the WebSocket.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class Shelly2ApiRpcTest {
+    private static final String RESPONSE = "{\"id\":1,\"src\":\"shelly\",\"result\":{\"was_on\":false}}";
+
+    private @Mock @NonNullByDefault({}) ShellyThingInterface thing;
+    private @Mock @NonNullByDefault({}) ShellyThingTable thingTable;
+    private @Mock @NonNullByDefault({}) HttpClient httpClient;
+    private @Mock @NonNullByDefault({}) Shelly2RpcSocket rpcSocket;
+
+    private final List<String> httpRequests = new ArrayList<>();
+    private @NonNullByDefault({}) Shelly2ApiRpc subject;
+
+    @BeforeEach
+    public void setUp() throws ShellyApiException {
+        ShellyThingConfiguration config = new ShellyThingConfiguration();
+        config.deviceIp = "127.0.0.1";
+        when(thing.getThingConfig()).thenReturn(config);
+        when(thing.getHttpClient()).thenReturn(httpClient);
+        when(thing.getProfile()).thenReturn(new ShellyDeviceProfile());
+        when(rpcSocket.isConnected()).thenReturn(true);
+
+        subject = new Shelly2ApiRpc("test", thingTable, thing) {
+            @Override
+            protected Shelly2RpcSocket createRpcSocket() {
+                return rpcSocket;
+            }
+
+            @Override
+            public String httpPost(@Nullable Shelly2AuthChallenge auth, String data) {
+                httpRequests.add(data);
+                return RESPONSE;
+            }
+        };
+        subject.initialize();
+    }
+
+    @Test
+    public void requestIsSentOverWebSocket() throws Exception {
+        when(rpcSocket.sendRequest(anyInt(), anyString())).thenReturn(CompletableFuture.completedFuture(RESPONSE));
+
+        subject.apiRequest("Switch.Set", null, Shelly2RpcBaseMessage.class);
+
+        verify(rpcSocket).sendRequest(anyInt(), anyString());
+        assertEquals(0, httpRequests.size());
+    }
+
+    @Test
+    public void requestIsSentOverHttpIfNotConnected() throws Exception {
+        when(rpcSocket.isConnected()).thenReturn(false);
+
+        subject.apiRequest("Switch.Set", null, Shelly2RpcBaseMessage.class);
+
+        verify(rpcSocket, never()).sendRequest(anyInt(), anyString());
+        assertEquals(1, httpRequests.size());
+    }
+
+    @Test
+    public void requestIsSentOverHttpIfSendingFailed() throws Exception {
+        when(rpcSocket.sendRequest(anyInt(), anyString())).thenThrow(new ShellyApiException("No Rpc session"));
+
+        subject.apiRequest("Switch.Set", null, Shelly2RpcBaseMessage.class);
+
+        assertEquals(1, httpRequests.size());
+    }
+
+    @Test
+    public void sentRequestIsNotRepeatedIfResponseFails() throws Exception {
+        when(rpcSocket.sendRequest(anyInt(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new ShellyApiException("WebSocket closed")));
+
+        assertThrows(ShellyApiException.class,
+                () -> subject.apiRequest("Switch.Set", null, Shelly2RpcBaseMessage.class));
+        assertEquals(0, httpRequests.size());
+    }
+
+    @Test
+    public void sentRequestIsNotRepeatedOnErrorResponse() throws Exception {
+        when(rpcSocket.sendRequest(anyInt(), anyString())).thenReturn(CompletableFuture
+                .completedFuture("{\"id\":1,\"src\":\"shelly\",\"error\":{\"code\":-103,\"message\":\"Invalid id\"}}"));
+
+        ShellyApiException e = assertThrows(ShellyApiException.class,
+                () -> subject.apiRequest("Switch.Set", null, Shelly2RpcBaseMessage.class));
+        assertEquals(-103, e.getApiResult().httpCode);
+        assertEquals("Invalid id", e.getApiResult().response);
+        assertEquals(0, httpRequests.size());
+    }
+
+    @Test
+    public void errorInResultIsNoErrorResponse() throws Exception {
+        // only the error member of the envelope reports an error
+        when(rpcSocket.sendRequest(anyInt(), anyString())).thenReturn(CompletableFuture
+                .completedFuture("{\"id\":1,\"src\":\"shelly\",\"result\":{\"sys\":{\"error\":\"none\"}}}"));
+
+        subject.apiRequest("Switch.GetStatus", null, Shelly2RpcBaseMessage.class);
+
+        assertEquals(0, httpRequests.size());
+    }
+
+    @Test
+    public void unauthorizedRequestIsSentOverHttp() throws Exception {
+        String unauthorized = "{\"code\":401,\"message\":\"{\\\"auth_type\\\":\\\"digest\\\"}\"}";
+        when(rpcSocket.sendRequest(anyInt(), anyString())).thenReturn(
+                CompletableFuture.completedFuture("{\"id\":1,\"src\":\"shelly\",\"error\":" + unauthorized + "}"));
+
+        subject.apiRequest("Switch.Set", null, Shelly2RpcBaseMessage.class);
+
+        assertEquals(1, httpRequests.size());
+    }
+}
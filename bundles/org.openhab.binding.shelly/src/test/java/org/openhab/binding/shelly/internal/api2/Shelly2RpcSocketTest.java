@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.api2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.shelly.internal.api.ShellyApiException;
+
+/**
+ * Tests the matching of Rpc requests and responses by the {@link Shelly2RpcSocket}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class Shelly2RpcSocketTest {
+    private @Mock @NonNullByDefault({}) Session session;
+    private @Mock @NonNullByDefault({}) RemoteEndpoint remote;
+
+    private final Shelly2RpcSocket subject = new Shelly2RpcSocket("test", null, "127.0.0.1");
+
+    @BeforeEach
+    public void setUp() {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 80);
+        when(session.getRemoteAddress()).thenReturn(address);
+        when(session.getLocalAddress()).thenReturn(address);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getRemote()).thenReturn(remote);
+    }
+
+    @Test
+    public void responsesAreMatchedById() throws Exception {
+        subject.onConnect(session);
+        CompletableFuture<String> first = subject.sendRequest(1, "{\"id\":1,\"method\":\"Switch.Set\"}");
+        CompletableFuture<String> second = subject.sendRequest(2, "{\"id\":2,\"method\":\"Switch.Set\"}");
+
+        String secondResponse = response(2);
+        subject.onText(session, secondResponse);
+        assertEquals(secondResponse, second.getNow(null));
+        assertFalse(first.isDone());
+
+        String firstResponse = response(1);
+        subject.onText(session, firstResponse);
+        assertEquals(firstResponse, first.getNow(null));
+    }
+
+    @Test
+    public void notificationsDontCompleteRequests() throws Exception {
+        subject.onConnect(session);
+        CompletableFuture<String> request = subject.sendRequest(1, "{\"id\":1}");
+
+        subject.onText(session, "{\"src\":\"shelly\",\"method\":\"NotifyStatus\",\"params\":{}}");
+        subject.onText(session, response(3));
+
+        assertFalse(request.isDone());
+    }
+
+    @Test
+    public void idIsOnlyUsedOnce() throws Exception {
+        subject.onConnect(session);
+        CompletableFuture<String> request = subject.sendRequest(1, "{\"id\":1}");
+
+        assertThrows(ShellyApiException.class, () -> subject.sendRequest(1, "{\"id\":1}"));
+        verify(remote, times(1)).sendString(anyString());
+
+        // the id can be used again after the response
+        subject.onText(session, response(1));
+        assertTrue(request.isDone());
+        assertFalse(subject.sendRequest(1, "{\"id\":1}").isDone());
+    }
+
+    @Test
+    public void cancelledRequestReleasesId() throws Exception {
+        subject.onConnect(session);
+        subject.sendRequest(1, "{\"id\":1}").cancel(false);
+
+        CompletableFuture<String> request = subject.sendRequest(1, "{\"id\":1}");
+        subject.onText(session, response(1));
+        assertTrue(request.isDone());
+    }
+
+    @Test
+    public void requestWithoutSessionIsNotSent() throws Exception {
+        assertThrows(ShellyApiException.class, () -> subject.sendRequest(1, "{\"id\":1}"));
+
+        subject.onConnect(session);
+        assertFalse(subject.sendRequest(1, "{\"id\":1}").isDone());
+    }
+
+    @Test
+    public void failedSendReleasesId() throws Exception {
+        subject.onConnect(session);
+        doThrow(new IOException("broken pipe")).doNothing().when(remote).sendString(anyString());
+
+        assertThrows(ShellyApiException.class, () -> subject.sendRequest(1, "{\"id\":1}"));
+        assertFalse(subject.sendRequest(1, "{\"id\":1}").isDone());
+    }
+
+    @Test
+    public void errorFailsPendingRequests() throws Exception {
+        subject.onConnect(session);
+        CompletableFuture<String> request = subject.sendRequest(1, "{\"id\":1}");
+
+        subject.onError(new IOException("connection reset"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, request::get);
+        assertInstanceOf(ShellyApiException.class, e.getCause());
+    }
+
+    private static String response(int id) {
+        return "{\"id\":" + id + ",\"src\":\"shelly\",\"dst\":\"openhab\",\"result\":{\"was_on\":false}}";
+    }
+}
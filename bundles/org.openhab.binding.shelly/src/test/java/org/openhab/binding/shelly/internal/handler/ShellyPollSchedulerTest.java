@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.shelly.internal.ShellyBindingConstants.HEALTH_CHECK_INTERVAL_SEC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests when the {@link ShellyPollScheduler} runs the status updates of the things.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class ShellyPollSchedulerTest {
+    private static final int INTERVAL_SECONDS = 10;
+    private static final long INTERVAL_MS = TimeUnit.SECONDS.toMillis(INTERVAL_SECONDS);
+
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @Mock @NonNullByDefault({}) ScheduledFuture<?> tickJob;
+
+    // updates handed over to the scheduler, which are run by the test
+    private final List<Runnable> tasks = new ArrayList<>();
+    private long nowMs = 1_000_000;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(tickJob).when(scheduler).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(scheduler).execute(any(Runnable.class));
+    }
+
+    private ShellyPollScheduler createScheduler(int maxConcurrent) {
+        return new ShellyPollScheduler(scheduler, INTERVAL_SECONDS, maxConcurrent, () -> nowMs);
+    }
+
+    private void runTasks() {
+        List<Runnable> running = new ArrayList<>(tasks);
+        tasks.clear();
+        running.forEach(Runnable::run);
+    }
+
+    @Test
+    public void updatesAreSpreadOverInterval() {
+        ShellyPollScheduler subject = createScheduler(1000);
+        AtomicInteger updates = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            subject.register("shelly:thing" + i, updates::incrementAndGet, 0);
+        }
+
+        int maxPerSecond = 0;
+        int secondsWithUpdates = 0;
+        for (int second = 1; second <= INTERVAL_SECONDS; second++) {
+            nowMs += 1000;
+            subject.tick();
+            int count = tasks.size();
+            runTasks();
+            maxPerSecond = Math.max(maxPerSecond, count);
+            secondsWithUpdates += count > 0 ? 1 : 0;
+        }
+
+        // every thing is updated once per interval, about 10 per second
+        assertEquals(100, updates.get());
+        assertTrue(maxPerSecond < 40, "updates should not fire in a burst, max per second: " + maxPerSecond);
+        assertTrue(secondsWithUpdates > 5, "updates should be spread, seconds with updates: " + secondsWithUpdates);
+    }
+
+    @Test
+    public void thingIsUpdatedOncePerInterval() {
+        ShellyPollScheduler subject = createScheduler(4);
+        AtomicInteger updates = new AtomicInteger();
+        subject.register("shelly:thing", updates::incrementAndGet, 0);
+
+        for (int i = 0; i < 4 * INTERVAL_SECONDS; i++) {
+            nowMs += 500;
+            subject.tick();
+            runTasks();
+        }
+
+        // the first update is within the first interval
+        assertTrue(updates.get() >= 2 && updates.get() <= 4, "updates: " + updates.get());
+        verify(scheduler, times(1)).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+    }
+
+    @Test
+    public void concurrentUpdatesAreLimited() {
+        ShellyPollScheduler subject = createScheduler(2);
+        for (int i = 0; i < 5; i++) {
+            subject.register("shelly:thing" + i, () -> {
+            }, 0);
+        }
+        nowMs += INTERVAL_MS;
+
+        subject.tick();
+        assertEquals(2, tasks.size());
+
+        // no permit as long as the updates are running
+        subject.tick();
+        assertEquals(2, tasks.size());
+
+        // a finished update releases its permit for a deferred one
+        tasks.remove(0).run();
+        subject.tick();
+        assertEquals(2, tasks.size());
+
+        runTasks();
+        subject.tick();
+        assertEquals(2, tasks.size());
+        runTasks();
+        subject.tick();
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    public void failedUpdateReleasesPermit() {
+        ShellyPollScheduler subject = createScheduler(1);
+        subject.register("shelly:failing", () -> {
+            throw new IllegalStateException("device offline");
+        }, 0);
+        AtomicInteger updates = new AtomicInteger();
+        subject.register("shelly:thing", updates::incrementAndGet, 0);
+        nowMs += INTERVAL_MS;
+
+        subject.tick();
+        runTasks();
+        subject.tick();
+        runTasks();
+
+        assertEquals(1, updates.get());
+    }
+
+    @Test
+    public void registrationIsReplacedByUid() {
+        ShellyPollScheduler subject = createScheduler(4);
+        AtomicInteger oldUpdates = new AtomicInteger();
+        AtomicInteger newUpdates = new AtomicInteger();
+        Runnable oldUpdate = oldUpdates::incrementAndGet;
+        Runnable newUpdate = newUpdates::incrementAndGet;
+
+        subject.register("shelly:thing", oldUpdate, 0);
+        subject.register("shelly:thing", newUpdate, 0);
+        assertFalse(subject.isRegistered("shelly:thing", oldUpdate));
+        assertTrue(subject.isRegistered("shelly:thing", newUpdate));
+
+        // the dispose of the old handler doesn't remove the new registration
+        subject.unregister("shelly:thing", oldUpdate);
+        assertTrue(subject.isRegistered("shelly:thing", newUpdate));
+        verify(tickJob, never()).cancel(anyBoolean());
+
+        nowMs += INTERVAL_MS;
+        subject.tick();
+        runTasks();
+        assertEquals(0, oldUpdates.get());
+        assertEquals(1, newUpdates.get());
+
+        subject.unregister("shelly:thing", newUpdate);
+        assertFalse(subject.isRegistered("shelly:thing", newUpdate));
+        verify(tickJob).cancel(false);
+    }
+
+    @Test
+    public void pollIsSkippedWhilePushUpdatesAreCurrent() {
+        long now = 100_000;
+        long pollInterval = 3;
+
+        assertFalse(ShellyPollScheduler.isPushCurrent(now, 0, now - 1, pollInterval), "no push update received");
+        assertTrue(ShellyPollScheduler.isPushCurrent(now, now - 1, now - 10, pollInterval));
+        assertTrue(ShellyPollScheduler.isPushCurrent(now, now - pollInterval, now - 10, pollInterval));
+        assertFalse(ShellyPollScheduler.isPushCurrent(now, now - pollInterval - 1, now - 10, pollInterval),
+                "push update is older than the poll interval");
+    }
+
+    @Test
+    public void pollIsForcedOncePerHealthCheck() {
+        long now = 100_000;
+        long pollInterval = 3;
+
+        assertTrue(ShellyPollScheduler.isPushCurrent(now, now, now - HEALTH_CHECK_INTERVAL_SEC + 1, pollInterval));
+        assertFalse(ShellyPollScheduler.isPushCurrent(now, now, now - HEALTH_CHECK_INTERVAL_SEC, pollInterval));
+    }
+}
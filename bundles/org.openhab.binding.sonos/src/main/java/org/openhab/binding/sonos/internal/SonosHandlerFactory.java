@@ -23,6 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.sonos.internal.handler.ZonePlayerHandler;
+import org.openhab.binding.sonos.internal.handler.ZonePlayerHandlerIndex;
 import org.openhab.core.audio.AudioHTTPServer;
 import org.openhab.core.audio.AudioSink;
 import org.openhab.core.config.core.Configuration;
@@ -65,6 +66,7 @@ public class SonosHandlerFactory extends BaseThingHandlerFactory {
     private final SonosStateDescriptionOptionProvider stateDescriptionProvider;
 
     private final Map<String, ServiceRegistration<AudioSink>> audioSinkRegistrations = new ConcurrentHashMap<>();
+    private final ZonePlayerHandlerIndex handlerIndex = new ZonePlayerHandlerIndex();
 
     // optional OPML URL that can be configured through configuration admin
     private @Nullable String opmlUrl;
@@ -117,8 +119,8 @@ public class SonosHandlerFactory extends BaseThingHandlerFactory {
             logger.debug("Creating a ZonePlayerHandler for thing '{}' with UDN '{}'", thing.getUID(),
                     thing.getConfiguration().get(UDN));
 
-            ZonePlayerHandler handler = new ZonePlayerHandler(thingRegistry, thing, upnpIOService, opmlUrl,
-                    stateDescriptionProvider);
+            ZonePlayerHandler handler = new ZonePlayerHandler(thingRegistry, handlerIndex, thing, upnpIOService,
+                    opmlUrl, stateDescriptionProvider);
 
             // register the speaker as an audio sink
             String callbackUrl = createCallbackUrl();
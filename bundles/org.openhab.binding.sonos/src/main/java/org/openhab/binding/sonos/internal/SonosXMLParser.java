@@ -88,6 +88,39 @@ public class SonosXMLParser {
         desc
     }
 
+    /**
+     * SAX parsers are not thread safe, but can be reused after a reset. To avoid creating a new factory and parser
+     * for each event of a zone player, every thread keeps its own parsers. The secure parser must be a separate one,
+     * since it is used while the entry handler is still parsing.
+     */
+    private static final ThreadLocal<@Nullable SAXParser> PARSERS = new ThreadLocal<>();
+    private static final ThreadLocal<@Nullable SAXParser> SECURE_PARSERS = new ThreadLocal<>();
+
+    private static SAXParser getParser(ThreadLocal<@Nullable SAXParser> parsers)
+            throws SAXException, ParserConfigurationException {
+        @Nullable
+        SAXParser parser = parsers.get();
+        if (parser == null) {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            if (parsers == SECURE_PARSERS) {
+                factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            }
+            parser = factory.newSAXParser();
+            parsers.set(parser);
+        }
+        return parser;
+    }
+
+    private static void parse(SAXParser parser, InputSource source, DefaultHandler handler)
+            throws IOException, SAXException {
+        try {
+            parser.parse(source, handler);
+        } finally {
+            // the parser keeps references to the handler and source until it is reset
+            parser.reset();
+        }
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -95,9 +128,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            parse(getParser(PARSERS), new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse Alarms from string '{}'", xml);
         }
@@ -111,9 +142,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            parse(getParser(PARSERS), new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse Entries from string '{}'", xml);
         }
@@ -132,12 +161,10 @@ public class SonosXMLParser {
      */
     public static @Nullable SonosResourceMetaData getResourceMetaData(String xml)
             throws SAXException, ParserConfigurationException {
-        SAXParserFactory factory = SAXParserFactory.newInstance();
-        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-        SAXParser saxParser = factory.newSAXParser();
+        SAXParser saxParser = getParser(SECURE_PARSERS);
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
         try {
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            parse(saxParser, new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException e) {
             LOGGER.warn("Could not parse Resource MetaData from string '{}'", xml);
         }
@@ -151,9 +178,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            parse(getParser(PARSERS), new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse ZoneGroup from string '{}'", xml);
         }
@@ -164,9 +189,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            parse(getParser(PARSERS), new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse RadioTime from string '{}'", xml);
         }
@@ -177,9 +200,7 @@ public class SonosXMLParser {
     public static Map<String, String> getRenderingControlFromXML(String xml) {
         RenderingControlEventHandler handler = new RenderingControlEventHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            parse(getParser(PARSERS), new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse Rendering Control from string '{}'", xml);
         }
@@ -189,9 +210,7 @@ public class SonosXMLParser {
     public static Map<String, String> getAVTransportFromXML(String xml) {
         AVTransportEventHandler handler = new AVTransportEventHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            parse(getParser(PARSERS), new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse AV Transport from string '{}'", xml);
         }
@@ -201,9 +220,7 @@ public class SonosXMLParser {
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            parse(getParser(PARSERS), new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse MetaData from string '{}'", xml);
         }
@@ -214,9 +231,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            parse(getParser(PARSERS), new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse music services from string '{}'", xml);
         }
@@ -915,9 +930,7 @@ public class SonosXMLParser {
     public static @Nullable String getRoomName(URL descriptorURL) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(descriptorURL.openStream()), roomNameHandler);
+            parse(getParser(PARSERS), new InputSource(descriptorURL.openStream()), roomNameHandler);
         } catch (SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse Sonos room name from URL '{}'", descriptorURL);
         } catch (IOException e) {
@@ -955,9 +968,7 @@ public class SonosXMLParser {
     public static @Nullable String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(descriptorURL.openStream()), modelNameHandler);
+            parse(getParser(PARSERS), new InputSource(descriptorURL.openStream()), modelNameHandler);
         } catch (SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse Sonos model name from URL '{}'", descriptorURL);
         } catch (IOException e) {
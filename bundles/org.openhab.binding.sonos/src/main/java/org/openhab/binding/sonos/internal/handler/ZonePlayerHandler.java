@@ -170,6 +170,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     private final Logger logger = LoggerFactory.getLogger(ZonePlayerHandler.class);
 
     private final ThingRegistry localThingRegistry;
+    private final ZonePlayerHandlerIndex handlerIndex;
     private final UpnpIOService service;
     private final @Nullable String opmlUrl;
     private final SonosStateDescriptionOptionProvider stateDescriptionProvider;
@@ -204,10 +205,12 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         ANY
     }
 
-    public ZonePlayerHandler(ThingRegistry thingRegistry, Thing thing, UpnpIOService upnpIOService,
-            @Nullable String opmlUrl, SonosStateDescriptionOptionProvider stateDescriptionProvider) {
+    public ZonePlayerHandler(ThingRegistry thingRegistry, ZonePlayerHandlerIndex handlerIndex, Thing thing,
+            UpnpIOService upnpIOService, @Nullable String opmlUrl,
+            SonosStateDescriptionOptionProvider stateDescriptionProvider) {
         super(thing);
         this.localThingRegistry = thingRegistry;
+        this.handlerIndex = handlerIndex;
         this.opmlUrl = opmlUrl;
         logger.debug("Creating a ZonePlayerHandler for thing '{}'", getThing().getUID());
         this.service = upnpIOService;
@@ -226,6 +229,10 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
         removeSubscription();
         service.unregisterParticipant(this);
+        String udn = configuration.udn;
+        if (udn != null && !udn.isEmpty()) {
+            handlerIndex.remove(udn, this);
+        }
     }
 
     @Override
@@ -240,6 +247,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         configuration = getConfigAs(ZonePlayerConfiguration.class);
         String udn = configuration.udn;
         if (udn != null && !udn.isEmpty()) {
+            handlerIndex.add(udn, this);
             service.registerParticipant(this);
             pollingJob = scheduler.scheduleWithFixedDelay(this::poll, 0, configuration.refresh, TimeUnit.SECONDS);
         } else {
@@ -451,24 +459,14 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     private void restoreAllPlayerState() {
-        for (Thing aThing : localThingRegistry.getAll()) {
-            if (SonosBindingConstants.SUPPORTED_THING_TYPES_UIDS.contains(aThing.getThingTypeUID())) {
-                ZonePlayerHandler handler = (ZonePlayerHandler) aThing.getHandler();
-                if (handler != null) {
-                    handler.restoreState();
-                }
-            }
+        for (ZonePlayerHandler handler : handlerIndex.getAll()) {
+            handler.restoreState();
         }
     }
 
     private void saveAllPlayerState() {
-        for (Thing aThing : localThingRegistry.getAll()) {
-            if (SonosBindingConstants.SUPPORTED_THING_TYPES_UIDS.contains(aThing.getThingTypeUID())) {
-                ZonePlayerHandler handler = (ZonePlayerHandler) aThing.getHandler();
-                if (handler != null) {
-                    handler.saveState();
-                }
-            }
+        for (ZonePlayerHandler handler : handlerIndex.getAll()) {
+            handler.saveState();
         }
     }
 
@@ -2320,6 +2318,12 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     protected ZonePlayerHandler getHandlerByName(String remotePlayerName) throws IllegalStateException {
+        // group coordinators and members are referred to by their UDN
+        ZonePlayerHandler indexedHandler = handlerIndex.get(remotePlayerName);
+        if (indexedHandler != null) {
+            return indexedHandler;
+        }
+        // otherwise, the player is referred to by its thing ID
         for (ThingTypeUID supportedThingType : SonosBindingConstants.SUPPORTED_THING_TYPES_UIDS) {
             Thing thing = localThingRegistry.get(new ThingUID(supportedThingType, remotePlayerName));
             if (thing != null) {
@@ -2329,15 +2333,6 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
                 }
             }
         }
-        for (Thing aThing : localThingRegistry.getAll()) {
-            if (SonosBindingConstants.SUPPORTED_THING_TYPES_UIDS.contains(aThing.getThingTypeUID())
-                    && aThing.getConfiguration().get(ZonePlayerConfiguration.UDN).equals(remotePlayerName)) {
-                ThingHandler handler = aThing.getHandler();
-                if (handler instanceof ZonePlayerHandler zonePlayerHandler) {
-                    return zonePlayerHandler;
-                }
-            }
-        }
         throw new IllegalStateException("Could not find handler for " + remotePlayerName);
     }
 
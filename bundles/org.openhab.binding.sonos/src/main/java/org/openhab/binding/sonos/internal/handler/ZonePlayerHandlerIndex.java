@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal.handler;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link ZonePlayerHandlerIndex} is a binding wide index of the initialized {@link ZonePlayerHandler}s by the UDN
+ * of their zone player.
+ *
+ * It is used to look up the handlers of group coordinators and group members, which happens several times for each
+ * event of a zone player, without scanning the things of the thing registry.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ZonePlayerHandlerIndex {
+
+    private final Map<String, ZonePlayerHandler> handlers = new ConcurrentHashMap<>();
+
+    /**
+     * Add a handler to the index, replacing any handler previously registered for the same UDN.
+     *
+     * @param udn the UDN of the zone player
+     * @param handler the handler of the zone player
+     */
+    public void add(String udn, ZonePlayerHandler handler) {
+        handlers.put(udn, handler);
+    }
+
+    /**
+     * Remove a handler from the index. Nothing is done if another handler has been registered for the UDN meanwhile.
+     *
+     * @param udn the UDN of the zone player
+     * @param handler the handler of the zone player
+     */
+    public void remove(String udn, ZonePlayerHandler handler) {
+        handlers.remove(udn, handler);
+    }
+
+    /**
+     * @param udn the UDN of a zone player
+     * @return the handler of the zone player, or null if there is no initialized handler for it
+     */
+    public @Nullable ZonePlayerHandler get(String udn) {
+        return handlers.get(udn);
+    }
+
+    /**
+     * @return a snapshot of all handlers in the index
+     */
+    public Collection<ZonePlayerHandler> getAll() {
+        return List.copyOf(handlers.values());
+    }
+
+    public int size() {
+        return handlers.size();
+    }
+}
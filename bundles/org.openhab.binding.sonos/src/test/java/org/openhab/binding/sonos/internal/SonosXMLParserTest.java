@@ -16,11 +16,21 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
 
 /**
  *
@@ -29,6 +39,44 @@ import org.junit.jupiter.api.Test;
 @NonNullByDefault
 public class SonosXMLParserTest {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(SonosXMLParserTest.class);
+
+    private static final String TRACK_METADATA = """
+            <DIDL-Lite xmlns:dc="http://purl.org/dc/elements/1.1/" \
+            xmlns:upnp="urn:schemas-upnp-org:metadata-1-0/upnp/" \
+            xmlns:r="urn:schemas-rinconnetworks-com:metadata-1-0/" \
+            xmlns="urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/">\
+            <item id="-1" parentID="-1" restricted="true">\
+            <res protocolInfo="x-file-cifs:*:audio/mpeg:*" duration="0:03:02">x-file-cifs://nas/music/track.mp3</res>\
+            <dc:title>Broken Box</dc:title>\
+            <upnp:class>object.item.audioItem.musicTrack</upnp:class>\
+            <dc:creator>Queens Of The Stone Age</dc:creator>\
+            <upnp:album>Lullabies To Paralyze</upnp:album>\
+            </item>\
+            </DIDL-Lite>\
+            """;
+
+    private static final String AV_TRANSPORT_EVENT = """
+            <Event xmlns="urn:schemas-upnp-org:metadata-1-0/AVT/" \
+            xmlns:r="urn:schemas-rinconnetworks-com:metadata-1-0/">\
+            <InstanceID val="0">\
+            <TransportState val="PLAYING"/>\
+            <CurrentPlayMode val="NORMAL"/>\
+            <NumberOfTracks val="29"/>\
+            <CurrentTrack val="12"/>\
+            <CurrentTrackURI val="x-file-cifs://nas/music/track.mp3"/>\
+            <CurrentTrackDuration val="0:03:02"/>\
+            <CurrentTrackMetaData val="%s"/>\
+            <AVTransportURI val="x-rincon-queue:RINCON_000E5812BC1801400#0"/>\
+            <r:SleepTimerGeneration val="0"/>\
+            </InstanceID>\
+            </Event>\
+            """.formatted(escape(TRACK_METADATA));
+
+    private static String escape(String xml) {
+        return xml.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
     @Test
     public void buildThingTypeIdFromModelWithoutSpace() {
         assertEquals("Move", SonosXMLParser.buildThingTypeIdFromModelName("Sonos Move"));
@@ -118,4 +166,88 @@ public class SonosXMLParserTest {
         String actual = SonosXMLParser.compileMetadataString(sonosEntry);
         assertEquals(expected, actual);
     }
+
+    @Test
+    public void getAVTransportFromXML() {
+        Map<String, String> changes = SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_EVENT);
+        assertEquals("PLAYING", changes.get("TransportState"));
+        assertEquals("0", changes.get("SleepTimerGeneration"));
+        assertEquals(TRACK_METADATA, changes.get("CurrentTrackMetaData"));
+        SonosMetaData metaData = SonosXMLParser.getMetaDataFromXML(TRACK_METADATA);
+        assertEquals("Broken Box", metaData.getTitle());
+        assertEquals("Queens Of The Stone Age", metaData.getCreator());
+    }
+
+    @Test
+    public void parserCanBeReusedAfterError() {
+        assertTrue(SonosXMLParser.getAVTransportFromXML("<Event><InstanceID val=\"0\">").isEmpty());
+        assertEquals("PLAYING", SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_EVENT).get("TransportState"));
+        assertEquals("Broken Box", SonosXMLParser.getMetaDataFromXML(TRACK_METADATA).getTitle());
+    }
+
+    @Test
+    public void getEntriesWithEmbeddedResourceMetaData() {
+        String resourceMetaData = """
+                <DIDL-Lite xmlns:dc="http://purl.org/dc/elements/1.1/" \
+                xmlns:upnp="urn:schemas-upnp-org:metadata-1-0/upnp/" \
+                xmlns:r="urn:schemas-rinconnetworks-com:metadata-1-0/" \
+                xmlns="urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/">\
+                <item id="100c2068station" parentID="0" restricted="true">\
+                <dc:title>Radio Station</dc:title>\
+                <upnp:class>object.item.audioItem.audioBroadcast</upnp:class>\
+                <desc id="cdudn" nameSpace="urn:schemas-rinconnetworks-com:metadata-1-0/">SA_RINCON65031_</desc>\
+                </item>\
+                </DIDL-Lite>\
+                """;
+        String xml = """
+                <DIDL-Lite xmlns:dc="http://purl.org/dc/elements/1.1/" \
+                xmlns:upnp="urn:schemas-upnp-org:metadata-1-0/upnp/" \
+                xmlns:r="urn:schemas-rinconnetworks-com:metadata-1-0/" \
+                xmlns="urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/">\
+                <item id="FV:2/1" parentID="FV:2" restricted="false">\
+                <dc:title>My Station</dc:title>\
+                <upnp:class>object.itemobject.item.sonos-favorite</upnp:class>\
+                <r:resMD>%s</r:resMD>\
+                </item>\
+                </DIDL-Lite>\
+                """.formatted(escape(resourceMetaData));
+
+        // the resource meta data is parsed while the entries are still being parsed
+        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(xml);
+        assertEquals(1, entries.size());
+        assertEquals("My Station", entries.get(0).getTitle());
+        SonosResourceMetaData metaData = entries.get(0).getResourceMetaData();
+        assertNotNull(metaData);
+        assertEquals("Radio Station", metaData.getTitle());
+        assertEquals("SA_RINCON65031_", metaData.getDesc());
+    }
+
+    /**
+     * Compares the throughput of processing AV transport events, i.e. the event and its embedded track meta data,
+     * with a new parser for each document and with the parsers reused by {@link SonosXMLParser}.
+     */
+    @Test
+    public void eventProcessingThroughput() throws ParserConfigurationException, SAXException, IOException {
+        int events = 2000;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            SAXParserFactory.newInstance().newSAXParser()
+                    .parse(new InputSource(new StringReader(AV_TRANSPORT_EVENT)), new DefaultHandler());
+            SAXParserFactory.newInstance().newSAXParser()
+                    .parse(new InputSource(new StringReader(TRACK_METADATA)), new DefaultHandler());
+        }
+        double newParserSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            String metaData = SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_EVENT).get("CurrentTrackMetaData");
+            assertNotNull(metaData);
+            assertEquals("Broken Box", SonosXMLParser.getMetaDataFromXML(metaData).getTitle());
+        }
+        double reusedParserSeconds = (System.nanoTime() - start) / 1e9;
+
+        LOGGER.info("Processing {} AV transport events: new parsers {} events/s, reused parsers {} events/s", events,
+                String.format("%.0f", events / newParserSeconds), String.format("%.0f", events / reusedParserSeconds));
+    }
 }
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ZonePlayerHandlerIndex}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ZonePlayerHandlerIndexTest {
+
+    private static ZonePlayerHandler createHandler() {
+        return Objects.requireNonNull(mock(ZonePlayerHandler.class));
+    }
+
+    @Test
+    public void getByUdn() {
+        ZonePlayerHandlerIndex index = new ZonePlayerHandlerIndex();
+        ZonePlayerHandler kitchen = createHandler();
+        ZonePlayerHandler livingRoom = createHandler();
+        index.add("RINCON_000E58000001", kitchen);
+        index.add("RINCON_000E58000002", livingRoom);
+
+        assertSame(kitchen, index.get("RINCON_000E58000001"));
+        assertSame(livingRoom, index.get("RINCON_000E58000002"));
+        assertNull(index.get("RINCON_000E58000003"));
+        assertEquals(Set.of(kitchen, livingRoom), Set.copyOf(index.getAll()));
+    }
+
+    @Test
+    public void removeKeepsNewerHandler() {
+        ZonePlayerHandlerIndex index = new ZonePlayerHandlerIndex();
+        ZonePlayerHandler oldHandler = createHandler();
+        ZonePlayerHandler newHandler = createHandler();
+        index.add("RINCON_000E58000001", oldHandler);
+        // the thing is re-created, and the new handler is initialized before the old one is disposed
+        index.add("RINCON_000E58000001", newHandler);
+        index.remove("RINCON_000E58000001", oldHandler);
+
+        assertSame(newHandler, index.get("RINCON_000E58000001"));
+        index.remove("RINCON_000E58000001", newHandler);
+        assertNull(index.get("RINCON_000E58000001"));
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,432 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.RequestLimitExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+/**
+ * Aggregates item writes into <code>BatchWriteItem</code> requests of at most {@link #MAX_BATCH_SIZE} items.
+ *
+ * Writes are buffered in a bounded queue and sent once the batch size is reached or the flush interval has elapsed.
+ * Unprocessed items returned by DynamoDB are retried with exponential backoff and full jitter. The number of batch
+ * requests in flight adapts to throttling: it is halved whenever DynamoDB throttles a request and grows by one request
+ * per round of successful requests, up to the configured maximum (additive increase, multiplicative decrease).
+ *
+ * Batches that fail because the table does not exist yet are written item by item with the fallback of each write,
+ * which creates the table.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriter {
+
+    /**
+     * Maximum number of items DynamoDB accepts in a single <code>BatchWriteItem</code> request
+     */
+    public static final int MAX_BATCH_SIZE = 25;
+
+    static final int MAX_ATTEMPTS = 10;
+    static final long BACKOFF_BASE_MILLIS = 50;
+    static final long BACKOFF_MAX_MILLIS = 10_000;
+
+    /**
+     * A single item waiting to be written
+     *
+     * @param tableName name of the table the item is written to
+     * @param key primary key attributes of the item, used to detect duplicates within a batch
+     * @param item all attributes of the item
+     * @param fallback writes the item with <code>PutItem</code>, creating the table if needed
+     */
+    public record PendingWrite(String tableName, Map<String, AttributeValue> key, Map<String, AttributeValue> item,
+            Supplier<CompletableFuture<Void>> fallback) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(DynamoDBBatchWriter.class);
+
+    private final DynamoDbAsyncClient client;
+    private final BlockingQueue<PendingWrite> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int maxConcurrency;
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<AwsRequestOverrideConfiguration.Builder> overrideConfig;
+
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private final Set<CompletableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
+    private double concurrencyLimit;
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+    private final AtomicLong retriedItemCount = new AtomicLong();
+    private final AtomicLong consumedCapacityMillis = new AtomicLong();
+
+    /**
+     * @param client client used to send the batch requests
+     * @param capacity the maximum number of items waiting to be written
+     * @param batchSize the number of items that triggers a flush and the maximum number of items per request
+     * @param flushIntervalMillis the interval in which items are written, even if the batch size was not reached
+     * @param maxConcurrency the maximum number of batch requests in flight
+     * @param scheduler the scheduler used to flush and to delay retries
+     * @param overrideConfig override configuration applied to each request
+     */
+    public DynamoDBBatchWriter(DynamoDbAsyncClient client, int capacity, int batchSize, long flushIntervalMillis,
+            int maxConcurrency, ScheduledExecutorService scheduler,
+            Consumer<AwsRequestOverrideConfiguration.Builder> overrideConfig) {
+        this.client = client;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.concurrencyLimit = this.maxConcurrency;
+        this.scheduler = scheduler;
+        this.overrideConfig = overrideConfig;
+    }
+
+    public synchronized void start() {
+        if (flushJob == null) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic flush job and waits until all pending items are written, but at most for the given time.
+     *
+     * @param timeout maximum time to wait for pending items
+     */
+    public void stop(Duration timeout) {
+        synchronized (this) {
+            ScheduledFuture<?> flushJob = this.flushJob;
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                this.flushJob = null;
+            }
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!queue.isEmpty() || !inFlight.isEmpty()) {
+            flush();
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                logger.warn("Timeout while writing pending items, {} items are not written", queue.size());
+                return;
+            }
+            CompletableFuture<?>[] requests = inFlight.toArray(CompletableFuture[]::new);
+            if (requests.length == 0) {
+                continue;
+            }
+            try {
+                CompletableFuture.anyOf(requests).get(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | TimeoutException e) {
+                // failures are handled by the batch itself, timeout is checked above
+            }
+        }
+    }
+
+    /**
+     * Adds an item to the buffer.
+     *
+     * @param write the item to be written
+     * @return true if the item was queued, false if it was dropped because the buffer is full
+     */
+    public boolean offer(PendingWrite write) {
+        if (!queue.offer(write)) {
+            long dropped = droppedCount.incrementAndGet();
+            logger.debug("Write buffer is full, dropped item {} ({} dropped in total)", write.key(), dropped);
+            return false;
+        }
+        if (queue.size() >= batchSize && flushPending.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Sends batches of pending items as long as the concurrency limit allows.
+     */
+    public void flush() {
+        flushPending.set(false);
+        while (!queue.isEmpty()) {
+            List<PendingWrite> writes = new ArrayList<>(batchSize);
+            CompletableFuture<Void> completion = new CompletableFuture<>();
+            synchronized (this) {
+                if (inFlight.size() >= (int) concurrencyLimit) {
+                    // remaining items are sent once a request in flight completes
+                    return;
+                }
+                queue.drainTo(writes, batchSize);
+                if (writes.isEmpty()) {
+                    return;
+                }
+                inFlight.add(completion);
+            }
+            completion.whenComplete((result, exception) -> {
+                inFlight.remove(completion);
+                if (!queue.isEmpty() && flushPending.compareAndSet(false, true)) {
+                    scheduler.execute(this::flush);
+                }
+            });
+            send(toRequestItems(writes), writes, 1, completion);
+        }
+    }
+
+    /**
+     * Groups the writes per table. Writes with the same key replace earlier ones, since DynamoDB rejects batches
+     * containing the same key more than once.
+     */
+    private Map<String, List<WriteRequest>> toRequestItems(List<PendingWrite> writes) {
+        Map<String, Map<Map<String, AttributeValue>, WriteRequest>> perTable = new LinkedHashMap<>();
+        for (PendingWrite write : writes) {
+            WriteRequest request = WriteRequest.builder().putRequest(PutRequest.builder().item(write.item()).build())
+                    .build();
+            if (perTable.computeIfAbsent(write.tableName(), table -> new LinkedHashMap<>()).put(write.key(),
+                    request) != null) {
+                coalescedCount.incrementAndGet();
+            }
+        }
+        return perTable.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
+                entry -> List.copyOf(entry.getValue().values()), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private void send(Map<String, List<WriteRequest>> requestItems, List<PendingWrite> writes, int attempt,
+            CompletableFuture<Void> completion) {
+        requestCount.incrementAndGet();
+        BatchWriteItemRequest request = BatchWriteItemRequest.builder().requestItems(requestItems)
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).overrideConfiguration(overrideConfig).build();
+        CompletableFuture<BatchWriteItemResponse> response;
+        try {
+            response = client.batchWriteItem(request);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((result, exception) -> {
+            try {
+                if (exception == null) {
+                    handleResponse(requestItems, result, attempt, completion);
+                } else {
+                    handleFailure(requestItems, exception, writes, attempt, completion);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Unexpected error while handling batch write result: {}", e.getMessage());
+                completion.complete(null);
+            }
+        });
+    }
+
+    private void handleResponse(Map<String, List<WriteRequest>> requestItems, BatchWriteItemResponse result,
+            int attempt, CompletableFuture<Void> completion) {
+        if (result.hasConsumedCapacity()) {
+            for (ConsumedCapacity capacity : result.consumedCapacity()) {
+                Double units = capacity.capacityUnits();
+                if (units != null) {
+                    consumedCapacityMillis.addAndGet(Math.round(units * 1000));
+                }
+            }
+        }
+        Map<String, List<WriteRequest>> unprocessed = result.hasUnprocessedItems() ? result.unprocessedItems()
+                : Map.of();
+        int sent = count(requestItems);
+        int notProcessed = count(unprocessed);
+        writtenCount.addAndGet(sent - notProcessed);
+        if (notProcessed == 0) {
+            onSuccess();
+            completion.complete(null);
+            return;
+        }
+        // unprocessed items are the result of throttling
+        onThrottled();
+        retryOrGiveUp(unprocessed, List.of(), attempt, completion, "unprocessed items");
+    }
+
+    private void handleFailure(Map<String, List<WriteRequest>> requestItems, Throwable exception,
+            List<PendingWrite> writes, int attempt, CompletableFuture<Void> completion) {
+        Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                ? exception.getCause()
+                : exception;
+        if (cause instanceof ResourceNotFoundException && !writes.isEmpty()) {
+            logger.debug("Table not found, writing {} items one by one, creating the table", writes.size());
+            CompletableFuture<?>[] puts = writes.stream().map(this::fallback).toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(puts).whenComplete((result, e) -> completion.complete(null));
+        } else if (isThrottling(cause)) {
+            onThrottled();
+            retryOrGiveUp(requestItems, writes, attempt, completion, cause.getClass().getSimpleName());
+        } else {
+            int items = count(requestItems);
+            failedCount.addAndGet(items);
+            logger.warn("Failed to write {} items with {} {}", items, cause.getClass().getSimpleName(),
+                    cause.getMessage());
+            completion.complete(null);
+        }
+    }
+
+    private CompletableFuture<Void> fallback(PendingWrite write) {
+        CompletableFuture<Void> put;
+        try {
+            put = write.fallback().get();
+        } catch (RuntimeException e) {
+            put = CompletableFuture.failedFuture(e);
+        }
+        return put.whenComplete((result, exception) -> {
+            if (exception == null) {
+                writtenCount.incrementAndGet();
+            } else {
+                failedCount.incrementAndGet();
+            }
+        });
+    }
+
+    private void retryOrGiveUp(Map<String, List<WriteRequest>> requestItems, List<PendingWrite> writes, int attempt,
+            CompletableFuture<Void> completion, String reason) {
+        int items = count(requestItems);
+        if (attempt >= MAX_ATTEMPTS) {
+            failedCount.addAndGet(items);
+            logger.warn("Giving up writing {} items after {} attempts ({})", items, attempt, reason);
+            completion.complete(null);
+            return;
+        }
+        retriedItemCount.addAndGet(items);
+        long delay = backoffMillis(attempt);
+        logger.debug("Retrying {} items in {} ms ({}, attempt {})", items, delay, reason, attempt);
+        try {
+            scheduler.schedule(() -> send(requestItems, writes, attempt + 1, completion), delay,
+                    TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            failedCount.addAndGet(items);
+            logger.warn("Failed to schedule retry of {} items: {}", items, e.getMessage());
+            completion.complete(null);
+        }
+    }
+
+    /**
+     * Exponential backoff with full jitter: a random delay between zero and the exponentially growing upper bound.
+     */
+    static long backoffMillis(int attempt) {
+        long bound = Math.min(BACKOFF_MAX_MILLIS, BACKOFF_BASE_MILLIS << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    static boolean isThrottling(Throwable cause) {
+        return cause instanceof ProvisionedThroughputExceededException
+                || cause instanceof RequestLimitExceededException
+                || (cause instanceof AwsServiceException serviceException && serviceException.isThrottlingException());
+    }
+
+    private synchronized void onSuccess() {
+        concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1 / concurrencyLimit);
+    }
+
+    private synchronized void onThrottled() {
+        throttledCount.incrementAndGet();
+        concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+    }
+
+    private static int count(Map<String, List<WriteRequest>> requestItems) {
+        return requestItems.values().stream().mapToInt(List::size).sum();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public synchronized int getConcurrencyLimit() {
+        return (int) concurrencyLimit;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * @return number of items not sent because a later write in the same batch had the same key
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return number of <code>BatchWriteItem</code> requests sent, including retries
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getThrottledCount() {
+        return throttledCount.get();
+    }
+
+    public long getRetriedItemCount() {
+        return retriedItemCount.get();
+    }
+
+    /**
+     * @return write capacity units consumed by the batch requests, as reported by DynamoDB
+     */
+    public double getConsumedCapacityUnits() {
+        return consumedCapacityMillis.get() / 1000.0;
+    }
+}
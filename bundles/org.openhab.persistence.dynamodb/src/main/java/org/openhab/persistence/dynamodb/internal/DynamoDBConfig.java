@@ -49,6 +49,10 @@ public class DynamoDBConfig {
     public static final String DEFAULT_TABLE_NAME = "openhab";
     public static final long DEFAULT_READ_CAPACITY_UNITS = 1;
     public static final long DEFAULT_WRITE_CAPACITY_UNITS = 1;
+    public static final int DEFAULT_WRITE_BATCH_SIZE = 1;
+    public static final int DEFAULT_WRITE_QUEUE_CAPACITY = 10000;
+    public static final int DEFAULT_WRITE_FLUSH_INTERVAL_MILLIS = 1000;
+    public static final int DEFAULT_WRITE_CONCURRENCY = 4;
     private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBConfig.class);
 
     private long readCapacityUnits;
@@ -60,6 +64,21 @@ public class DynamoDBConfig {
     private String table;
     private String tablePrefixLegacy;
     private @Nullable Integer expireDays;
+    private BatchWriteConfig batchWrite;
+
+    /**
+     * Configuration of the batch writes. Batch writes are used when the batch size is greater than one.
+     *
+     * @param batchSize maximum number of items written with a single request
+     * @param queueCapacity maximum number of items waiting to be written
+     * @param flushIntervalMillis interval in which items are written, even if the batch size was not reached
+     * @param concurrency maximum number of batch requests in flight
+     */
+    public record BatchWriteConfig(int batchSize, int queueCapacity, long flushIntervalMillis, int concurrency) {
+        public boolean isEnabled() {
+            return batchSize > 1;
+        }
+    }
 
     /**
      *
@@ -168,22 +187,38 @@ public class DynamoDBConfig {
                 }
             }
 
+            int writeBatchSize = parseInt(config, "writeBatchSize", DEFAULT_WRITE_BATCH_SIZE);
+            int writeQueueCapacity = parseInt(config, "writeQueueCapacity", DEFAULT_WRITE_QUEUE_CAPACITY);
+            long writeFlushInterval = parseInt(config, "writeFlushInterval", DEFAULT_WRITE_FLUSH_INTERVAL_MILLIS);
+            int writeConcurrency = parseInt(config, "writeConcurrency", DEFAULT_WRITE_CONCURRENCY);
+            if (writeBatchSize < 1 || writeBatchSize > DynamoDBBatchWriter.MAX_BATCH_SIZE) {
+                LOGGER.error("writeBatchSize should be between 1 and {}", DynamoDBBatchWriter.MAX_BATCH_SIZE);
+                return null;
+            }
+            if (writeQueueCapacity < 1 || writeFlushInterval < 10 || writeConcurrency < 1) {
+                LOGGER.error(
+                        "writeQueueCapacity and writeConcurrency should be positive, writeFlushInterval at least 10 ms");
+                return null;
+            }
+            BatchWriteConfig batchWrite = new BatchWriteConfig(writeBatchSize, writeQueueCapacity, writeFlushInterval,
+                    writeConcurrency);
+
             switch (tableRevision) {
                 case NEW:
                     LOGGER.debug("Using new DynamoDB table schema");
                     return DynamoDBConfig.newSchema(region, credentials, retryMode.map(AwsRetryPolicy::forRetryMode),
-                            table, readCapacityUnits, writeCapacityUnits, expireDays);
+                            table, readCapacityUnits, writeCapacityUnits, expireDays, batchWrite);
                 case LEGACY:
                     LOGGER.warn(
                             "Using legacy DynamoDB table schema. It is recommended to transition to new schema by defining 'table' parameter and not configuring 'tablePrefix'");
                     return DynamoDBConfig.legacySchema(region, credentials, retryMode.map(AwsRetryPolicy::forRetryMode),
-                            tablePrefixLegacy, readCapacityUnits, writeCapacityUnits);
+                            tablePrefixLegacy, readCapacityUnits, writeCapacityUnits, batchWrite);
                 case MAYBE_LEGACY:
                     LOGGER.debug(
                             "Unclear whether we should use new legacy DynamoDB table schema. It is recommended to explicitly define new 'table' parameter. The correct table schema will be detected at runtime.");
                     return DynamoDBConfig.maybeLegacySchema(region, credentials,
                             retryMode.map(AwsRetryPolicy::forRetryMode), table, tablePrefixLegacy, readCapacityUnits,
-                            writeCapacityUnits, expireDays);
+                            writeCapacityUnits, expireDays, batchWrite);
                 default:
                     throw new IllegalStateException("Unhandled enum. Bug");
             }
@@ -193,30 +228,38 @@ public class DynamoDBConfig {
         }
     }
 
+    private static int parseInt(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value == null || value.toString().isBlank()) {
+            return defaultValue;
+        }
+        return Integer.parseInt(value.toString());
+    }
+
     private static DynamoDBConfig newSchema(Region region, AwsCredentials credentials,
             Optional<RetryPolicy> retryPolicy, String table, long readCapacityUnits, long writeCapacityUnits,
-            @Nullable Integer expireDays) {
+            @Nullable Integer expireDays, BatchWriteConfig batchWrite) {
         return new DynamoDBConfig(region, credentials, retryPolicy, table, "", ExpectedTableSchema.NEW,
-                readCapacityUnits, writeCapacityUnits, expireDays);
+                readCapacityUnits, writeCapacityUnits, expireDays, batchWrite);
     }
 
     private static DynamoDBConfig legacySchema(Region region, AwsCredentials credentials,
             Optional<RetryPolicy> retryPolicy, String tablePrefixLegacy, long readCapacityUnits,
-            long writeCapacityUnits) {
+            long writeCapacityUnits, BatchWriteConfig batchWrite) {
         return new DynamoDBConfig(region, credentials, retryPolicy, "", tablePrefixLegacy, ExpectedTableSchema.LEGACY,
-                readCapacityUnits, writeCapacityUnits, null);
+                readCapacityUnits, writeCapacityUnits, null, batchWrite);
     }
 
     private static DynamoDBConfig maybeLegacySchema(Region region, AwsCredentials credentials,
             Optional<RetryPolicy> retryPolicy, String table, String tablePrefixLegacy, long readCapacityUnits,
-            long writeCapacityUnits, @Nullable Integer expireDays) {
+            long writeCapacityUnits, @Nullable Integer expireDays, BatchWriteConfig batchWrite) {
         return new DynamoDBConfig(region, credentials, retryPolicy, table, tablePrefixLegacy,
-                ExpectedTableSchema.MAYBE_LEGACY, readCapacityUnits, writeCapacityUnits, expireDays);
+                ExpectedTableSchema.MAYBE_LEGACY, readCapacityUnits, writeCapacityUnits, expireDays, batchWrite);
     }
 
     private DynamoDBConfig(Region region, AwsCredentials credentials, Optional<RetryPolicy> retryPolicy, String table,
             String tablePrefixLegacy, ExpectedTableSchema tableRevision, long readCapacityUnits,
-            long writeCapacityUnits, @Nullable Integer expireDays) {
+            long writeCapacityUnits, @Nullable Integer expireDays, BatchWriteConfig batchWrite) {
         this.region = region;
         this.credentials = credentials;
         this.retryPolicy = retryPolicy;
@@ -226,6 +269,7 @@ public class DynamoDBConfig {
         this.readCapacityUnits = readCapacityUnits;
         this.writeCapacityUnits = writeCapacityUnits;
         this.expireDays = expireDays;
+        this.batchWrite = batchWrite;
     }
 
     public AwsCredentials getCredentials() {
@@ -263,4 +307,8 @@ public class DynamoDBConfig {
     public @Nullable Integer getExpireDays() {
         return expireDays;
     }
+
+    public BatchWriteConfig getBatchWrite() {
+        return batchWrite;
+    }
 }
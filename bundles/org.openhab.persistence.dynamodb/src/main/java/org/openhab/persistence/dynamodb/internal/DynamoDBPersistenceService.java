@@ -76,6 +76,7 @@ import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 
 /**
@@ -104,6 +105,10 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
 
     private static final String DYNAMODB_THREADPOOL_NAME = "dynamodbPersistenceService";
 
+    private static final String DYNAMODB_WRITER_THREADPOOL_NAME = "dynamodbPersistenceWriter";
+
+    private static final Duration BATCH_WRITER_STOP_TIMEOUT = Duration.ofSeconds(10);
+
     private final ItemRegistry itemRegistry;
     private final UnitProvider unitProvider;
     private @Nullable DynamoDbEnhancedAsyncClient client;
@@ -112,6 +117,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     private boolean isProperlyConfigured;
     private @Nullable DynamoDBConfig dbConfig;
     private @Nullable DynamoDBTableNameResolver tableNameResolver;
+    private @Nullable DynamoDBBatchWriter batchWriter;
     private final ExecutorService executor = ThreadPoolManager.getPool(DYNAMODB_THREADPOOL_NAME);
     private static final Duration TIMEOUT_API_CALL = Duration.ofSeconds(60);
     private static final Duration TIMEOUT_API_CALL_ATTEMPT = Duration.ofSeconds(5);
@@ -176,6 +182,14 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         return dbConfig;
     }
 
+    /**
+     * For tests
+     */
+    @Nullable
+    DynamoDBBatchWriter getBatchWriter() {
+        return batchWriter;
+    }
+
     @Activate
     public void activate(final @Nullable BundleContext bundleContext, final Map<String, Object> config) {
         disconnect();
@@ -197,6 +211,19 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             return;
         }
 
+        DynamoDBConfig.BatchWriteConfig batchWriteConfig = localDbConfig.getBatchWrite();
+        DynamoDbAsyncClient localLowLevelClient = lowLevelClient;
+        if (batchWriteConfig.isEnabled() && localLowLevelClient != null) {
+            DynamoDBBatchWriter localBatchWriter = new DynamoDBBatchWriter(localLowLevelClient,
+                    batchWriteConfig.queueCapacity(), batchWriteConfig.batchSize(),
+                    batchWriteConfig.flushIntervalMillis(), batchWriteConfig.concurrency(),
+                    ThreadPoolManager.getScheduledPool(DYNAMODB_WRITER_THREADPOOL_NAME), this::overrideConfig);
+            localBatchWriter.start();
+            batchWriter = localBatchWriter;
+            logger.debug("Batch writes enabled with batch size {} and at most {} concurrent requests",
+                    batchWriteConfig.batchSize(), batchWriteConfig.concurrency());
+        }
+
         isProperlyConfigured = true;
         logger.debug("dynamodb persistence service activated");
     }
@@ -316,6 +343,17 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     }
 
     private void disconnect() {
+        DynamoDBBatchWriter localBatchWriter = batchWriter;
+        if (localBatchWriter != null) {
+            batchWriter = null;
+            localBatchWriter.stop(BATCH_WRITER_STOP_TIMEOUT);
+            logger.debug(
+                    "Batch writer stopped: {} items written with {} requests, {} coalesced, {} dropped, {} failed, {} throttled requests, {} consumed capacity units",
+                    localBatchWriter.getWrittenCount(), localBatchWriter.getRequestCount(),
+                    localBatchWriter.getCoalescedCount(), localBatchWriter.getDroppedCount(),
+                    localBatchWriter.getFailedCount(), localBatchWriter.getThrottledCount(),
+                    localBatchWriter.getConsumedCapacityUnits());
+        }
         DynamoDbAsyncClient localLowLevelClient = lowLevelClient;
         if (client == null || localLowLevelClient == null) {
             return;
@@ -561,27 +599,44 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             }
             logger.trace("store() called with item {} {} '{}', which was converted to DTO {}",
                     copiedItem.getClass().getSimpleName(), effectiveName, copiedItem.getState(), dto);
-            dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
+            dto.accept(new DynamoDBItemVisitor<@Nullable Void>() {
 
                 @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(
-                        DynamoDBBigDecimalItem dynamoBigDecimalItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoBigDecimalItem,
-                            getTable(DynamoDBBigDecimalItem.class));
+                public @Nullable Void visit(DynamoDBBigDecimalItem dynamoBigDecimalItem) {
+                    write(dynamoBigDecimalItem, getTable(DynamoDBBigDecimalItem.class));
+                    return null;
                 }
 
                 @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoStringItem,
-                            getTable(DynamoDBStringItem.class));
+                public @Nullable Void visit(DynamoDBStringItem dynamoStringItem) {
+                    write(dynamoStringItem, getTable(DynamoDBStringItem.class));
+                    return null;
                 }
-            }).putItemAsync();
+            });
         }, executor).exceptionally(e -> {
             logger.error("Unexcepted error", e);
             return null;
         });
     }
 
+    /**
+     * Writes the DTO with PutItem, or hands it over to the batch writer if batch writes are enabled.
+     * Both create the table if it does not exist yet.
+     */
+    private <T extends DynamoDBItem<?>> void write(T dto, DynamoDbAsyncTable<T> table) {
+        TableCreatingPutItem<T> putItem = new TableCreatingPutItem<>(this, dto, table);
+        DynamoDBBatchWriter localBatchWriter = batchWriter;
+        if (localBatchWriter == null) {
+            putItem.putItemAsync();
+            return;
+        }
+        TableSchema<T> schema = table.tableSchema();
+        Map<String, AttributeValue> key = schema.itemToMap(dto, schema.tableMetadata().primaryKeys());
+        Map<String, AttributeValue> attributes = schema.itemToMap(dto, true);
+        localBatchWriter.offer(new DynamoDBBatchWriter.PendingWrite(table.tableName(), key, attributes,
+                putItem::putItemAsync));
+    }
+
     private Item getEffectiveItem(Item item) {
         final Item effectiveItem;
         if (item instanceof GroupItem groupItem) {
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * Writes values with batch writes to the local DynamoDB server (or real DynamoDB, given credentials).
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class BatchWriteIntegrationTest extends BaseIntegrationTest {
+
+    public static final boolean LEGACY_MODE = false;
+
+    private static final int ITEM_COUNT = 500;
+
+    @BeforeAll
+    public static void enableBatchWrites() {
+        DynamoDBPersistenceService localService = service;
+        assertNotNull(localService);
+        assert localService != null;
+        Map<String, Object> config = getConfig(false, null, null);
+        config.put("writeBatchSize", "25");
+        config.put("writeFlushInterval", "100");
+        localService.activate(null, config);
+        assertNotNull(localService.getBatchWriter());
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            String name = "batchNumber" + i;
+            ITEMS.put(name, new NumberItem(name));
+        }
+    }
+
+    @AfterAll
+    public static void removeItems() {
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            ITEMS.remove("batchNumber" + i);
+        }
+    }
+
+    @Test
+    public void testStoreAndQuery() {
+        DynamoDBPersistenceService localService = service;
+        assert localService != null;
+        DynamoDBBatchWriter writer = localService.getBatchWriter();
+        assert writer != null;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            NumberItem item = (NumberItem) ITEMS.get("batchNumber" + i);
+            assert item != null;
+            item.setState(new DecimalType(i));
+            localService.store(item);
+        }
+        waitForAssert(() -> assertEquals(ITEM_COUNT, writer.getWrittenCount() + writer.getCoalescedCount()));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertEquals(0, writer.getFailedCount());
+        assertEquals(0, writer.getDroppedCount());
+
+        LOGGER.info(
+                "Batch writes: {} items in {} s ({} items/s) with {} BatchWriteItem requests instead of {} PutItem requests, {} consumed capacity units reported",
+                ITEM_COUNT, String.format("%.2f", seconds), String.format("%.0f", ITEM_COUNT / seconds),
+                writer.getRequestCount(), ITEM_COUNT, writer.getConsumedCapacityUnits());
+
+        for (int i : new int[] { 0, ITEM_COUNT / 2, ITEM_COUNT - 1 }) {
+            FilterCriteria criteria = new FilterCriteria();
+            criteria.setItemName("batchNumber" + i);
+            DecimalType expected = new DecimalType(i);
+            waitForAssert(() -> {
+                List<HistoricItem> results = new ArrayList<>();
+                localService.query(criteria).forEach(results::add);
+                assertEquals(1, results.size());
+                assertEquals(expected, results.get(0).getState());
+            });
+        }
+    }
+}
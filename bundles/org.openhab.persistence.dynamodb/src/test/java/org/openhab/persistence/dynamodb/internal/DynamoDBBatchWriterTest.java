@@ -0,0 +1,273 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+/**
+ * Tests {@link DynamoDBBatchWriter} against a client standing in for DynamoDB.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriterTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBBatchWriterTest.class);
+    private static final String TABLE = "openhab";
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+
+    /**
+     * Client answering BatchWriteItem requests with the given function
+     */
+    private static class FakeClient implements DynamoDbAsyncClient {
+        private final Function<BatchWriteItemRequest, CompletableFuture<BatchWriteItemResponse>> handler;
+        final List<BatchWriteItemRequest> requests = new CopyOnWriteArrayList<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        FakeClient(Function<BatchWriteItemRequest, CompletableFuture<BatchWriteItemResponse>> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public CompletableFuture<BatchWriteItemResponse> batchWriteItem(BatchWriteItemRequest request) {
+            requests.add(request);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return handler.apply(request).whenComplete((response, exception) -> inFlight.decrementAndGet());
+        }
+
+        @Override
+        public String serviceName() {
+            return "dynamodb";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @AfterEach
+    public void shutdownScheduler() {
+        scheduler.shutdownNow();
+    }
+
+    private static CompletableFuture<BatchWriteItemResponse> processed() {
+        return CompletableFuture.completedFuture(BatchWriteItemResponse.builder().build());
+    }
+
+    private static DynamoDBBatchWriter.PendingWrite write(String itemName, long time,
+            Supplier<CompletableFuture<Void>> fallback) {
+        Map<String, AttributeValue> key = Map.of(DynamoDBItem.ATTRIBUTE_NAME_ITEMNAME,
+                AttributeValue.builder().s(itemName).build(), DynamoDBItem.ATTRIBUTE_NAME_TIMEUTC,
+                AttributeValue.builder().n(String.valueOf(time)).build());
+        Map<String, AttributeValue> item = new HashMap<>(key);
+        item.put(DynamoDBItem.ATTRIBUTE_NAME_ITEMSTATE_NUMBER, AttributeValue.builder().n("1").build());
+        return new DynamoDBBatchWriter.PendingWrite(TABLE, key, item, fallback);
+    }
+
+    private static DynamoDBBatchWriter.PendingWrite write(String itemName, long time) {
+        return write(itemName, time, () -> CompletableFuture.completedFuture(null));
+    }
+
+    private DynamoDBBatchWriter createWriter(DynamoDbAsyncClient client, int capacity, int concurrency) {
+        return new DynamoDBBatchWriter(client, capacity, DynamoDBBatchWriter.MAX_BATCH_SIZE, 50, concurrency,
+                scheduler, config -> {
+                });
+    }
+
+    private static int itemCount(BatchWriteItemRequest request) {
+        return request.requestItems().values().stream().mapToInt(List::size).sum();
+    }
+
+    @Test
+    public void testBatchesOfAtMostMaxBatchSize() {
+        FakeClient client = new FakeClient(request -> processed());
+        DynamoDBBatchWriter writer = createWriter(client, 1000, 4);
+        writer.start();
+        for (int i = 0; i < 60; i++) {
+            assertTrue(writer.offer(write("item" + i, i)));
+        }
+        writer.stop(STOP_TIMEOUT);
+
+        assertEquals(60, writer.getWrittenCount());
+        assertEquals(0, writer.getFailedCount());
+        assertTrue(client.requests.size() >= 3);
+        assertEquals(60, client.requests.stream().mapToInt(DynamoDBBatchWriterTest::itemCount).sum());
+        client.requests.forEach(request -> assertTrue(itemCount(request) <= DynamoDBBatchWriter.MAX_BATCH_SIZE));
+    }
+
+    @Test
+    public void testDuplicateKeysInBatchAreCoalesced() {
+        FakeClient client = new FakeClient(request -> processed());
+        DynamoDBBatchWriter writer = createWriter(client, 1000, 1);
+        writer.offer(write("item", 1));
+        writer.offer(write("item", 1));
+        writer.offer(write("item", 2));
+        writer.stop(STOP_TIMEOUT);
+
+        assertEquals(1, client.requests.size());
+        assertEquals(2, itemCount(client.requests.get(0)));
+        assertEquals(2, writer.getWrittenCount());
+        assertEquals(1, writer.getCoalescedCount());
+    }
+
+    @Test
+    public void testQueueOverflowDropsItems() {
+        FakeClient client = new FakeClient(request -> processed());
+        // writer is not started, items stay in the queue until they are flushed
+        DynamoDBBatchWriter writer = createWriter(client, 2, 1);
+        assertTrue(writer.offer(write("item", 1)));
+        assertTrue(writer.offer(write("item", 2)));
+        assertFalse(writer.offer(write("item", 3)));
+        assertEquals(1, writer.getDroppedCount());
+        assertEquals(2, writer.getQueueDepth());
+    }
+
+    @Test
+    public void testUnprocessedItemsAreRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        FakeClient client = new FakeClient(request -> {
+            if (calls.getAndIncrement() > 0) {
+                return processed();
+            }
+            // process only the first item, return the others as unprocessed
+            List<WriteRequest> writes = request.requestItems().get(TABLE);
+            return CompletableFuture.completedFuture(BatchWriteItemResponse.builder()
+                    .unprocessedItems(Map.of(TABLE, writes.subList(1, writes.size()))).build());
+        });
+        DynamoDBBatchWriter writer = createWriter(client, 1000, 4);
+        for (int i = 0; i < 10; i++) {
+            writer.offer(write("item" + i, i));
+        }
+        writer.stop(STOP_TIMEOUT);
+
+        assertEquals(10, writer.getWrittenCount());
+        assertEquals(9, writer.getRetriedItemCount());
+        assertEquals(1, writer.getThrottledCount());
+        assertEquals(2, client.requests.size());
+        assertEquals(9, itemCount(client.requests.get(1)));
+    }
+
+    @Test
+    public void testThrottlingReducesConcurrency() {
+        AtomicInteger calls = new AtomicInteger();
+        FakeClient client = new FakeClient(request -> {
+            if (calls.getAndIncrement() < 3) {
+                return CompletableFuture
+                        .failedFuture(ProvisionedThroughputExceededException.builder().message("throttled").build());
+            }
+            return processed();
+        });
+        DynamoDBBatchWriter writer = createWriter(client, 1000, 8);
+        assertEquals(8, writer.getConcurrencyLimit());
+        writer.offer(write("item", 1));
+        writer.stop(STOP_TIMEOUT);
+
+        assertEquals(1, writer.getWrittenCount());
+        assertEquals(3, writer.getThrottledCount());
+        // halved three times to 1, then increased by the successful request
+        assertEquals(2, writer.getConcurrencyLimit());
+        assertEquals(4, client.requests.size());
+    }
+
+    @Test
+    public void testMissingTableFallsBackToPutItem() {
+        FakeClient client = new FakeClient(request -> CompletableFuture
+                .failedFuture(ResourceNotFoundException.builder().message("table not found").build()));
+        DynamoDBBatchWriter writer = createWriter(client, 1000, 1);
+        AtomicInteger fallbacks = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            writer.offer(write("item" + i, i, () -> {
+                fallbacks.incrementAndGet();
+                return CompletableFuture.completedFuture(null);
+            }));
+        }
+        writer.stop(STOP_TIMEOUT);
+
+        assertEquals(5, fallbacks.get());
+        assertEquals(5, writer.getWrittenCount());
+        assertEquals(0, writer.getFailedCount());
+    }
+
+    /**
+     * Simulates a table with a fixed write capacity per time slot: items exceeding the capacity are returned as
+     * unprocessed. Compares the number of requests and the throughput with writing every item with its own request.
+     */
+    @Test
+    public void testThroughputWithLimitedCapacity() {
+        int items = 2000;
+        int capacityPerSlot = 200;
+        long slotMillis = 50;
+        Map<Long, AtomicInteger> usedCapacity = new ConcurrentHashMap<>();
+        FakeClient client = new FakeClient(request -> CompletableFuture.supplyAsync(() -> {
+            AtomicInteger used = usedCapacity.computeIfAbsent(System.currentTimeMillis() / slotMillis,
+                    slot -> new AtomicInteger());
+            List<WriteRequest> writes = request.requestItems().get(TABLE);
+            List<WriteRequest> unprocessed = new ArrayList<>();
+            for (WriteRequest writeRequest : writes) {
+                if (used.incrementAndGet() > capacityPerSlot) {
+                    unprocessed.add(writeRequest);
+                }
+            }
+            return BatchWriteItemResponse.builder()
+                    .unprocessedItems(unprocessed.isEmpty() ? Map.of() : Map.of(TABLE, unprocessed)).build();
+        }, scheduler));
+        DynamoDBBatchWriter writer = createWriter(client, items, 16);
+
+        long start = System.nanoTime();
+        writer.start();
+        for (int i = 0; i < items; i++) {
+            assertTrue(writer.offer(write("item" + (i % 50), i)));
+        }
+        writer.stop(STOP_TIMEOUT);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(items, writer.getWrittenCount());
+        assertEquals(0, writer.getFailedCount());
+        assertTrue(client.maxInFlight.get() <= 16);
+        LOGGER.info(
+                "Batch writes: {} items in {} s ({} items/s) with {} requests instead of {} PutItem requests, {} throttled, {} items retried, concurrency limit {}",
+                items, String.format("%.2f", seconds), String.format("%.0f", items / seconds),
+                writer.getRequestCount(), items, writer.getThrottledCount(), writer.getRetriedItemCount(),
+                writer.getConcurrencyLimit());
+    }
+}
@@ -255,4 +255,35 @@ public class DynamoDBConfigTest {
         assertEquals(Optional.empty(), fromConfig.getRetryPolicy().map(RetryPolicy::retryMode));
         assertEquals(ExpectedTableSchema.MAYBE_LEGACY, fromConfig.getTableRevision());
     }
+
+    @SuppressWarnings("null")
+    @Test
+    public void testBatchWriteDefaults() throws Exception {
+        DynamoDBConfig fromConfig = DynamoDBConfig
+                .fromConfig(mapFrom("region", "eu-west-1", "accessKey", "access1", "secretKey", "secret1"));
+        assertFalse(fromConfig.getBatchWrite().isEnabled());
+        assertEquals(1, fromConfig.getBatchWrite().batchSize());
+        assertEquals(10000, fromConfig.getBatchWrite().queueCapacity());
+        assertEquals(1000, fromConfig.getBatchWrite().flushIntervalMillis());
+        assertEquals(4, fromConfig.getBatchWrite().concurrency());
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    public void testBatchWrite() throws Exception {
+        DynamoDBConfig fromConfig = DynamoDBConfig.fromConfig(mapFrom("region", "eu-west-1", "accessKey", "access1",
+                "secretKey", "secret1", "table", "mytable", "writeBatchSize", "25", "writeQueueCapacity", "500",
+                "writeFlushInterval", "200", "writeConcurrency", "8"));
+        assertTrue(fromConfig.getBatchWrite().isEnabled());
+        assertEquals(25, fromConfig.getBatchWrite().batchSize());
+        assertEquals(500, fromConfig.getBatchWrite().queueCapacity());
+        assertEquals(200, fromConfig.getBatchWrite().flushIntervalMillis());
+        assertEquals(8, fromConfig.getBatchWrite().concurrency());
+    }
+
+    @Test
+    public void testBatchWriteSizeTooLarge() throws Exception {
+        assertNull(DynamoDBConfig.fromConfig(mapFrom("region", "eu-west-1", "accessKey", "access1", "secretKey",
+                "secret1", "writeBatchSize", "26")));
+    }
 }
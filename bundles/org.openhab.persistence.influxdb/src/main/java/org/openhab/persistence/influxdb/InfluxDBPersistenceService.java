@@ -14,6 +14,10 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -25,21 +29,23 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemFactory;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.ItemUtil;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -55,8 +61,12 @@ import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.WriteResult;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
+import org.openhab.persistence.influxdb.internal.InfluxLineProtocol;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
+import org.openhab.persistence.influxdb.internal.InfluxPointQueue;
+import org.openhab.persistence.influxdb.internal.InfluxQueryResult;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
 import org.openhab.persistence.influxdb.internal.influx2.InfluxDB2RepositoryImpl;
 import org.osgi.framework.Constants;
@@ -69,6 +79,12 @@ import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * This is the implementation of the InfluxDB {@link PersistenceService}. It
  * persists item values using the <a href="http://influxdb.org">InfluxDB</a> time
@@ -99,6 +115,10 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
     private static final int COMMIT_INTERVAL = 3; // in s
+    private static final long MIN_COMMIT_DELAY = 100; // in ms
+    private static final Path SPILL_FILE = Path.of(OpenHAB.getUserDataFolder(), "persistence", "influxdb",
+            "queue.lp");
+    private static final String METRIC_PREFIX = "openhab.persistence.influxdb.";
     protected static final String CONFIG_URI = "persistence:influxdb";
 
     // External dependencies
@@ -110,8 +130,16 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     private boolean serviceActivated;
 
     // storage
-    private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("org.openhab.influxdb");
+    private final Object commitLock = new Object();
+    private @Nullable ScheduledFuture<?> storeJob;
+    private volatile boolean lastCommitFailed = false;
+    private final InfluxPointQueue pointsQueue;
+
+    // metrics
+    private final List<Meter> meters = new ArrayList<>();
+    private @Nullable MeterRegistry meterRegistry;
+    private @Nullable Timer writeTimer;
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -124,11 +152,11 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
         if (configuration.isValid()) {
+            this.pointsQueue = new InfluxPointQueue(configuration.getMaxQueueSize(), createSpillFile());
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
-            this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
-                    .scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL, COMMIT_INTERVAL, TimeUnit.SECONDS);
             serviceActivated = true;
+            scheduleCommit(TimeUnit.SECONDS.toMillis(COMMIT_INTERVAL));
         } else {
             throw new IllegalArgumentException("Configuration invalid.");
         }
@@ -145,20 +173,43 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         };
     }
 
+    private @Nullable Path createSpillFile() {
+        if (!configuration.isSpillToDisk()) {
+            return null;
+        }
+        try {
+            Files.createDirectories(SPILL_FILE.getParent());
+            return SPILL_FILE;
+        } catch (IOException e) {
+            logger.warn("Failed to create directory for spill file '{}', points will be dropped if the queue is full.",
+                    SPILL_FILE);
+            return null;
+        }
+    }
+
     /**
      * Disconnect from database when service is deactivated
      */
     @Deactivate
     public void deactivate() {
-        serviceActivated = false;
-
-        storeJob.cancel(false);
+        synchronized (this) {
+            serviceActivated = false;
+            ScheduledFuture<?> storeJob = this.storeJob;
+            if (storeJob != null) {
+                storeJob.cancel(false);
+                this.storeJob = null;
+            }
+        }
         commit(); // ensure we at least tried to store the data;
 
-        if (!pointsQueue.isEmpty()) {
-            logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
+        int lost = pointsQueue.close();
+        if (lost > 0) {
+            logger.warn("InfluxDB failed to finally store {} points.", lost);
+        } else if (!pointsQueue.isEmpty()) {
+            logger.info("InfluxDB keeps {} points in the spill file until the next start.", pointsQueue.size());
         }
 
+        unregisterMeters();
         influxDBRepository.disconnect();
         logger.info("InfluxDB persistence service stopped.");
     }
@@ -210,10 +261,16 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 logger.trace("Ignoring item {}, conversion to an InfluxDB point failed.", item.getName());
                 return;
             }
-            if (pointsQueue.offer(point)) {
+            String line = InfluxLineProtocol.format(point);
+            if (line == null) {
+                logger.warn("Could not convert {}, discarding this datapoint", point);
+            } else if (pointsQueue.offer(line)) {
                 logger.trace("Queued {} for item {}", point, item);
+                if (pointsQueue.size() >= configuration.getMaxBatchSize()) {
+                    requestCommit();
+                }
             } else {
-                logger.warn("Failed to queue {} for item {}", point, item);
+                logger.debug("Failed to queue {} for item {}", point, item);
             }
         });
     }
@@ -234,6 +291,21 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
+        return query(filter, 0);
+    }
+
+    /**
+     * Queries the stored values, letting the database aggregate the values of a number item to at most the given
+     * number of points.
+     *
+     * This is meant for callers that display the values and ask for a point budget, like charts. Only unpaged queries
+     * with a begin date are aggregated.
+     *
+     * @param filter the filter to apply to the query
+     * @param maxPoints the maximum number of values to return, or 0 to return the stored values
+     * @return the values
+     */
+    public Iterable<HistoricItem> query(FilterCriteria filter, int maxPoints) {
         if (serviceActivated && checkConnection()) {
             logger.trace(
                     "Query-Filter: itemname: {}, ordering: {}, state: {},  operator: {}, getBeginDate: {}, getEndDate: {}, getPageSize: {}, getPageNumber: {}",
@@ -244,15 +316,35 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 return List.of();
             }
 
-            List<InfluxDBRepository.InfluxRow> results = influxDBRepository.query(filter,
-                    configuration.getRetentionPolicy());
-            return results.stream().map(this::mapRowToHistoricItem).collect(Collectors.toList());
+            String retentionPolicy = configuration.getRetentionPolicy();
+            @Nullable
+            Duration aggregationWindow = getAggregationWindow(filter, maxPoints);
+            return new InfluxQueryResult(() -> influxDBRepository.query(filter, retentionPolicy, aggregationWindow),
+                    this::mapRowToHistoricItem);
         } else {
             logger.debug("Query for persisted data ignored, InfluxDB is not connected");
             return List.of();
         }
     }
 
+    /**
+     * Determines the length of the time windows the values of an unpaged range query of a number item are aggregated
+     * to, so that no more than the requested maximum number of points is returned.
+     *
+     * @return the window length, or <code>null</code> if the raw values should be returned
+     */
+    private @Nullable Duration getAggregationWindow(FilterCriteria filter, int maxPoints) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        String itemName = filter.getItemName();
+        if (maxPoints <= 0 || beginDate == null || itemName == null || filter.getPageSize() != Integer.MAX_VALUE
+                || filter.getState() != null || !(itemRegistry.get(itemName) instanceof NumberItem)) {
+            return null;
+        }
+        ZonedDateTime endDate = Objects.requireNonNullElseGet(filter.getEndDate(), ZonedDateTime::now);
+        long windowSeconds = Duration.between(beginDate, endDate).toSeconds() / maxPoints;
+        return windowSeconds >= 1 ? Duration.ofSeconds(windowSeconds) : null;
+    }
+
     private HistoricItem mapRowToHistoricItem(InfluxDBRepository.InfluxRow row) {
         State state = InfluxDBStateConvertUtils.objectToState(row.value(), row.itemName(), itemRegistry);
         return new InfluxDBHistoricItem(row.itemName(), state,
@@ -279,18 +371,140 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
-    private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
-                logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
-                influxDBRepository.disconnect();
-            } else {
-                logger.trace("Wrote {} elements to database", points.size());
+    /**
+     * Writes the queued points in batches of at most the maximum batch size.
+     *
+     * @return <code>false</code> if writing failed, otherwise <code>true</code>
+     */
+    private boolean commit() {
+        synchronized (commitLock) {
+            int maxBatchSize = configuration.getMaxBatchSize();
+            while (!pointsQueue.isEmpty()) {
+                if (!checkConnection()) {
+                    return false;
+                }
+                InfluxPointQueue.Batch batch = pointsQueue.peek(maxBatchSize);
+                if (batch.size() == 0) {
+                    break;
+                }
+                WriteResult result = write(batch.lines());
+                int rejected = 0;
+                if (result == WriteResult.REJECTED) {
+                    // write the points one by one, so only the points the server rejects are dropped
+                    rejected = batch.size() == 1 ? 1 : writeEach(batch.lines());
+                    result = rejected < 0 ? WriteResult.FAILED : WriteResult.WRITTEN;
+                }
+                if (result == WriteResult.FAILED) {
+                    logger.warn("Keeping {} elements queued, failed to write batch.", pointsQueue.size());
+                    influxDBRepository.disconnect();
+                    return false;
+                }
+                pointsQueue.remove(batch);
+                if (rejected > 0) {
+                    pointsQueue.countRejected(rejected);
+                    logger.warn("Dropped {} of {} points, they were rejected by the database.", rejected,
+                            batch.size());
+                }
+                logger.trace("Wrote {} elements to database", batch.size() - rejected);
+                if (batch.size() < maxBatchSize) {
+                    // the remaining points are written with the next commit
+                    break;
+                }
             }
+            return true;
+        }
+    }
+
+    private WriteResult write(List<String> lines) {
+        long start = System.nanoTime();
+        WriteResult result = influxDBRepository.write(lines);
+        Timer writeTimer = this.writeTimer;
+        if (writeTimer != null) {
+            writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the points one by one.
+     *
+     * @return the number of rejected points, or -1 if writing failed. The points written up to then are written again
+     *         with the batch, which overwrites them with the same values.
+     */
+    private int writeEach(List<String> lines) {
+        int rejected = 0;
+        for (String line : lines) {
+            WriteResult result = write(List.of(line));
+            if (result == WriteResult.FAILED) {
+                return -1;
+            } else if (result == WriteResult.REJECTED) {
+                logger.debug("Database rejected point '{}'", line);
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    private void commitAndReschedule() {
+        long delay = TimeUnit.SECONDS.toMillis(COMMIT_INTERVAL);
+        lastCommitFailed = !commit();
+        if (!lastCommitFailed) {
+            // the fuller the queue, the earlier the next commit
+            int maxBatchSize = configuration.getMaxBatchSize();
+            long fill = Math.min(pointsQueue.size(), maxBatchSize);
+            delay = Math.max(MIN_COMMIT_DELAY, delay - delay * fill / maxBatchSize);
+        }
+        scheduleCommit(delay);
+    }
+
+    private synchronized void scheduleCommit(long delay) {
+        if (serviceActivated) {
+            storeJob = scheduler.schedule(this::commitAndReschedule, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Brings the next commit forward because a full batch is waiting.
+     */
+    private synchronized void requestCommit() {
+        ScheduledFuture<?> storeJob = this.storeJob;
+        if (!lastCommitFailed && storeJob != null && storeJob.getDelay(TimeUnit.MILLISECONDS) > MIN_COMMIT_DELAY
+                && storeJob.cancel(false)) {
+            scheduleCommit(0);
+        }
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public synchronized void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        unregisterMeters();
+        MeterRegistry meterRegistry = meterRegistryProvider.getOHMeterRegistry();
+        meters.add(Gauge.builder(METRIC_PREFIX + "queue.size", pointsQueue, InfluxPointQueue::size)
+                .description("Number of points waiting to be written").register(meterRegistry));
+        meters.add(FunctionCounter
+                .builder(METRIC_PREFIX + "points.dropped", pointsQueue, InfluxPointQueue::getDroppedCount)
+                .description("Number of points dropped because the queue was full").register(meterRegistry));
+        meters.add(FunctionCounter
+                .builder(METRIC_PREFIX + "points.rejected", pointsQueue, InfluxPointQueue::getRejectedCount)
+                .description("Number of points dropped because the database rejected them").register(meterRegistry));
+        Timer writeTimer = Timer.builder(METRIC_PREFIX + "write").description("Time needed to write a batch of points")
+                .register(meterRegistry);
+        meters.add(writeTimer);
+        this.writeTimer = writeTimer;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public synchronized void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        unregisterMeters();
+    }
+
+    private synchronized void unregisterMeters() {
+        MeterRegistry meterRegistry = this.meterRegistry;
+        if (meterRegistry != null) {
+            meters.forEach(meterRegistry::remove);
         }
+        meters.clear();
+        writeTimer = null;
+        this.meterRegistry = null;
     }
 
     /**
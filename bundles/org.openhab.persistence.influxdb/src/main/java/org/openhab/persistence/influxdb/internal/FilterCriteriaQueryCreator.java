@@ -12,7 +12,10 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import java.time.Duration;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.persistence.FilterCriteria;
 
 /**
@@ -29,7 +32,20 @@ public interface FilterCriteriaQueryCreator {
      * @param retentionPolicy Name of the retentionPolicy/bucket to use in query
      * @return Created query as a String
      */
-    String createQuery(FilterCriteria criteria, String retentionPolicy);
+    default String createQuery(FilterCriteria criteria, String retentionPolicy) {
+        return createQuery(criteria, retentionPolicy, null);
+    }
+
+    /**
+     * Create query from {@link FilterCriteria} that optionally aggregates the values on the server
+     *
+     * @param criteria Criteria to create query from
+     * @param retentionPolicy Name of the retentionPolicy/bucket to use in query
+     * @param aggregationWindow Length of the time windows the values are aggregated to with the configured aggregation
+     *            function, or <code>null</code> to return the raw values
+     * @return Created query as a String
+     */
+    String createQuery(FilterCriteria criteria, String retentionPolicy, @Nullable Duration aggregationWindow);
 
     default String getOperationSymbol(FilterCriteria.Operator operator, InfluxDBVersion version) {
         return switch (operator) {
@@ -14,6 +14,7 @@ package org.openhab.persistence.influxdb.internal;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.StringJoiner;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -40,6 +41,11 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String MAX_QUEUE_SIZE_PARAM = "maxQueueSize";
+    public static final String MAX_BATCH_SIZE_PARAM = "maxBatchSize";
+    public static final String SPILL_TO_DISK_PARAM = "spillToDisk";
+    public static final String QUERY_AGGREGATION_PARAM = "queryAggregation";
+    private static final Set<String> QUERY_AGGREGATIONS = Set.of("mean", "min", "max");
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
     private final String user;
@@ -52,6 +58,10 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int maxQueueSize;
+    private final int maxBatchSize;
+    private final boolean spillToDisk;
+    private final String queryAggregation;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = ConfigParser.valueAsOrElse(config.get(URL_PARAM), String.class, "http://127.0.0.1:8086");
@@ -65,6 +75,20 @@ public class InfluxDBConfiguration {
         addCategoryTag = ConfigParser.valueAsOrElse(config.get(ADD_CATEGORY_TAG_PARAM), Boolean.class, false);
         addLabelTag = ConfigParser.valueAsOrElse(config.get(ADD_LABEL_TAG_PARAM), Boolean.class, false);
         addTypeTag = ConfigParser.valueAsOrElse(config.get(ADD_TYPE_TAG_PARAM), Boolean.class, false);
+        maxQueueSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(MAX_QUEUE_SIZE_PARAM), Integer.class, 100000));
+        maxBatchSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(MAX_BATCH_SIZE_PARAM), Integer.class, 5000));
+        spillToDisk = ConfigParser.valueAsOrElse(config.get(SPILL_TO_DISK_PARAM), Boolean.class, false);
+        queryAggregation = parseQueryAggregation(
+                ConfigParser.valueAsOrElse(config.get(QUERY_AGGREGATION_PARAM), String.class, "mean"));
+    }
+
+    private String parseQueryAggregation(String value) {
+        String aggregation = value.trim().toLowerCase();
+        if (QUERY_AGGREGATIONS.contains(aggregation)) {
+            return aggregation;
+        }
+        logger.warn("Invalid query aggregation {}, using mean", value);
+        return "mean";
     }
 
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
@@ -143,6 +167,22 @@ public class InfluxDBConfiguration {
         return addLabelTag;
     }
 
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public boolean isSpillToDisk() {
+        return spillToDisk;
+    }
+
+    public String getQueryAggregation() {
+        return queryAggregation;
+    }
+
     public String getUser() {
         return user;
     }
@@ -161,6 +201,7 @@ public class InfluxDBConfiguration {
                 + " chars', token='" + token.length() + " chars', databaseName='" + databaseName
                 + "', retentionPolicy='" + retentionPolicy + "', version=" + version + ", replaceUnderscore="
                 + replaceUnderscore + ", addCategoryTag=" + addCategoryTag + ", addTypeTag=" + addTypeTag
-                + ", addLabelTag=" + addLabelTag + '}';
+                + ", addLabelTag=" + addLabelTag + ", maxQueueSize=" + maxQueueSize + ", maxBatchSize=" + maxBatchSize
+                + ", spillToDisk=" + spillToDisk + ", queryAggregation=" + queryAggregation + '}';
     }
 }
@@ -12,11 +12,14 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.persistence.FilterCriteria;
 
 /**
@@ -60,21 +63,25 @@ public interface InfluxDBRepository {
     Map<String, Integer> getStoredItemsCount();
 
     /**
-     * Executes Flux query
+     * Executes query
+     *
+     * The rows are converted while the returned stream is consumed, the stream has to be closed afterwards.
      *
      * @param filter the query filter
+     * @param retentionPolicy name of the retentionPolicy/bucket to query
+     * @param aggregationWindow length of the time windows the values are aggregated to by the server, or
+     *            <code>null</code> to return the raw values
      * @return Query results
-     * 
      */
-    List<InfluxRow> query(FilterCriteria filter, String retentionPolicy);
+    Stream<InfluxRow> query(FilterCriteria filter, String retentionPolicy, @Nullable Duration aggregationWindow);
 
     /**
      * Write points to database
      *
-     * @param influxPoints {@link List<InfluxPoint>} to write
-     * @return <code>true</code> if points have been written, <code>false</code> otherwise
+     * @param lines points in line protocol format (see {@link InfluxLineProtocol}) to write
+     * @return the {@link WriteResult}
      */
-    boolean write(List<InfluxPoint> influxPoints);
+    WriteResult write(List<String> lines);
 
     /**
      * Execute delete query
@@ -86,4 +93,13 @@ public interface InfluxDBRepository {
 
     record InfluxRow(Instant time, String itemName, Object value) {
     }
+
+    enum WriteResult {
+        /** the points have been written */
+        WRITTEN,
+        /** writing failed for a reason that may go away, e.g. the server is not available */
+        FAILED,
+        /** the server rejected the points, e.g. because of a field type conflict, retrying won't help */
+        REJECTED
+    }
 }
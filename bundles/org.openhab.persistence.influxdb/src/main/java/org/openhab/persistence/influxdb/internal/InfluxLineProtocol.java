@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_VALUE_NAME;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Serializes {@link InfluxPoint}s to the InfluxDB line protocol, which is understood by InfluxDB 1.x and 2.x.
+ *
+ * The formatting of values follows the client libraries: integral numbers are written as integer, all other numbers as
+ * float, so the field types of existing measurements don't change. Timestamps are written with millisecond precision.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxLineProtocol {
+
+    private InfluxLineProtocol() {
+        // prevent instantiation
+    }
+
+    /**
+     * Formats a point as line.
+     *
+     * @param point the point to format
+     * @return the line, or <code>null</code> if the value of the point can't be stored
+     */
+    public static @Nullable String format(InfluxPoint point) {
+        StringBuilder line = new StringBuilder(128);
+        escape(line, point.getMeasurementName(), false);
+        // sorted tags are recommended for best write performance
+        for (Map.Entry<String, String> tag : new TreeMap<>(point.getTags()).entrySet()) {
+            if (tag.getValue().isEmpty()) {
+                // empty tag values are not allowed
+                continue;
+            }
+            line.append(',');
+            escape(line, tag.getKey(), true);
+            line.append('=');
+            escape(line, tag.getValue(), true);
+        }
+        line.append(' ').append(FIELD_VALUE_NAME).append('=');
+        if (!appendValue(line, point.getValue())) {
+            return null;
+        }
+        line.append(' ').append(point.getTime().toEpochMilli());
+        return line.toString();
+    }
+
+    private static boolean appendValue(StringBuilder line, @Nullable Object value) {
+        if (value instanceof String string) {
+            line.append('"');
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                switch (c) {
+                    // line breaks are allowed within the quotes and stored as they are
+                    case '"', '\\' -> line.append('\\').append(c);
+                    default -> line.append(c);
+                }
+            }
+            line.append('"');
+        } else if (value instanceof Double || value instanceof Float) {
+            double doubleValue = ((Number) value).doubleValue();
+            if (!Double.isFinite(doubleValue)) {
+                return false;
+            }
+            line.append(BigDecimal.valueOf(doubleValue).toPlainString());
+        } else if (value instanceof BigDecimal decimal) {
+            line.append(decimal.toPlainString());
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger) {
+            line.append(value).append('i');
+        } else if (value instanceof Boolean bool) {
+            line.append(bool.booleanValue());
+        } else {
+            // there is no null in the line protocol, a point without a value isn't stored
+            return false;
+        }
+        return true;
+    }
+
+    private static void escape(StringBuilder line, String value, boolean escapeEquals) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case ',', ' ' -> line.append('\\').append(c);
+                case '=' -> line.append(escapeEquals ? "\\=" : "=");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                default -> line.append(c);
+            }
+        }
+    }
+}
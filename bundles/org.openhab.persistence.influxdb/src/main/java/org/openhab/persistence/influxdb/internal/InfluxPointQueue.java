@@ -0,0 +1,286 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded queue of points in line protocol format waiting to be written to the database.
+ *
+ * If the queue is full, further points are dropped or, if a spill file is configured, appended to that file. As long as
+ * the spill file contains points, new points are appended there too, so points are written in the order they were
+ * queued. Points still queued when the queue is closed are moved to the spill file and written after the next start.
+ * Line breaks within string values are escaped in the spill file, so every point is a single line of the file.
+ *
+ * Points are taken from the queue in two steps: {@link #peek(int)} returns a batch, which is only removed by
+ * {@link #remove(Batch)} after it has been written successfully. Only a single consumer is supported.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxPointQueue {
+
+    /**
+     * Lines taken from the queue, with the number of bytes they occupy in the spill file if read from there.
+     */
+    public record Batch(List<String> lines, long spillBytes) {
+        public int size() {
+            return lines.size();
+        }
+    }
+
+    private static final Batch EMPTY_BATCH = new Batch(List.of(), 0);
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxPointQueue.class);
+
+    private final int capacity;
+    private final @Nullable Path spillFile;
+    private final ArrayDeque<String> lines = new ArrayDeque<>();
+
+    private long spillReadPosition = 0;
+    private long spillLines = 0;
+    private long droppedCount = 0;
+    private long rejectedCount = 0;
+    private boolean dropping = false;
+
+    /**
+     * @param capacity the maximum number of points kept in memory
+     * @param spillFile the file for points not fitting in memory, or <code>null</code> to drop them
+     */
+    public InfluxPointQueue(int capacity, @Nullable Path spillFile) {
+        this.capacity = capacity;
+        this.spillFile = spillFile;
+        if (spillFile != null && Files.exists(spillFile)) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(spillFile))) {
+                int b;
+                while ((b = in.read()) != -1) {
+                    if (b == '\n') {
+                        spillLines++;
+                    }
+                }
+                logger.info("Found {} points in spill file '{}' that are waiting to be written", spillLines,
+                        spillFile);
+            } catch (IOException e) {
+                logger.warn("Failed to read spill file '{}': {}", spillFile, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Adds a point to the queue.
+     *
+     * @param line the point in line protocol format
+     * @return <code>true</code> if the point was queued, <code>false</code> if it was dropped
+     */
+    public synchronized boolean offer(String line) {
+        if (spillLines == 0 && lines.size() < capacity) {
+            lines.add(line);
+        } else if (spillFile != null && appendToSpillFile(List.of(line))) {
+            spillLines++;
+        } else if (lines.size() < capacity) {
+            lines.add(line);
+        } else {
+            droppedCount++;
+            if (!dropping) {
+                logger.warn("Queue is full ({} points), dropping points until the database is available again.",
+                        capacity);
+                dropping = true;
+            }
+            return false;
+        }
+        dropping = false;
+        return true;
+    }
+
+    /**
+     * Returns the oldest points without removing them.
+     *
+     * @param maxSize the maximum number of points
+     * @return the batch of points
+     */
+    public synchronized Batch peek(int maxSize) {
+        if (!lines.isEmpty()) {
+            List<String> batch = new ArrayList<>(Math.min(maxSize, lines.size()));
+            Iterator<String> iterator = lines.iterator();
+            while (batch.size() < maxSize && iterator.hasNext()) {
+                batch.add(iterator.next());
+            }
+            return new Batch(batch, 0);
+        }
+        Path spillFile = this.spillFile;
+        if (spillLines > 0 && spillFile != null) {
+            return readSpillFile(spillFile, maxSize);
+        }
+        return EMPTY_BATCH;
+    }
+
+    /**
+     * Removes a batch previously returned by {@link #peek(int)}.
+     */
+    public synchronized void remove(Batch batch) {
+        if (batch.spillBytes() == 0) {
+            for (int i = 0; i < batch.size(); i++) {
+                lines.poll();
+            }
+            return;
+        }
+        spillReadPosition += batch.spillBytes();
+        spillLines -= batch.size();
+        Path spillFile = this.spillFile;
+        if (spillLines <= 0 && spillFile != null) {
+            spillLines = 0;
+            spillReadPosition = 0;
+            try {
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                logger.warn("Failed to delete spill file '{}': {}", spillFile, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Moves all points kept in memory to the spill file, if configured.
+     *
+     * @return the number of points that are lost
+     */
+    public synchronized int close() {
+        if (lines.isEmpty()) {
+            return 0;
+        }
+        if (spillFile != null && appendToSpillFile(lines)) {
+            spillLines += lines.size();
+            lines.clear();
+            return 0;
+        }
+        return lines.size();
+    }
+
+    public synchronized int size() {
+        return (int) Math.min(Integer.MAX_VALUE, lines.size() + spillLines);
+    }
+
+    public synchronized boolean isEmpty() {
+        return lines.isEmpty() && spillLines == 0;
+    }
+
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Counts points that have been removed without being written, because the database rejected them.
+     */
+    public synchronized void countRejected(int count) {
+        rejectedCount += count;
+    }
+
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    private boolean appendToSpillFile(Iterable<String> newLines) {
+        Path spillFile = this.spillFile;
+        if (spillFile == null) {
+            return false;
+        }
+        StringBuilder content = new StringBuilder();
+        newLines.forEach(line -> appendEscaped(content, line).append('\n'));
+        try {
+            Files.writeString(spillFile, content, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to write to spill file '{}': {}", spillFile, e.getMessage());
+            return false;
+        }
+    }
+
+    private static StringBuilder appendEscaped(StringBuilder content, String line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            switch (c) {
+                case '\\' -> content.append("\\\\");
+                case '\n' -> content.append("\\n");
+                case '\r' -> content.append("\\r");
+                default -> content.append(c);
+            }
+        }
+        return content;
+    }
+
+    private static String unescape(String line) {
+        if (line.indexOf('\\') < 0) {
+            return line;
+        }
+        StringBuilder result = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length()) {
+                char next = line.charAt(++i);
+                result.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private Batch readSpillFile(Path spillFile, int maxSize) {
+        List<String> batch = new ArrayList<>();
+        long consumed = 0;
+        try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.READ)) {
+            channel.position(spillReadPosition);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            long read = 0;
+            int b;
+            while (batch.size() < maxSize && (b = in.read()) != -1) {
+                read++;
+                if (b == '\n') {
+                    batch.add(unescape(line.toString(StandardCharsets.UTF_8)));
+                    line.reset();
+                    consumed = read;
+                } else {
+                    line.write(b);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read spill file '{}': {}", spillFile, e.getMessage());
+        }
+        if (batch.isEmpty()) {
+            // the file has been removed or truncated, there is nothing left to read
+            spillLines = 0;
+            spillReadPosition = 0;
+            return EMPTY_BATCH;
+        }
+        return new Batch(batch, consumed);
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.InfluxRow;
+
+/**
+ * Result of a query whose rows are read from the database while it is iterated, instead of loading the complete result
+ * into memory.
+ *
+ * Every call to {@link #iterator()} executes the query again. The underlying stream is closed as soon as the last row
+ * was read or reading failed. Iterators that are abandoned before that are closed once they become unreachable.
+ *
+ * Errors while executing the query or reading the rows are thrown to the caller, so a failed read can not be mistaken
+ * for the end of the data.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxQueryResult implements Iterable<HistoricItem> {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Supplier<Stream<InfluxRow>> query;
+    private final Function<InfluxRow, HistoricItem> mapper;
+
+    /**
+     * @param query executes the query and returns the stream of rows
+     * @param mapper maps a row to a {@link HistoricItem}
+     */
+    public InfluxQueryResult(Supplier<Stream<InfluxRow>> query, Function<InfluxRow, HistoricItem> mapper) {
+        this.query = query;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Iterator<HistoricItem> iterator() {
+        return new RowIterator(query.get());
+    }
+
+    private class RowIterator implements Iterator<HistoricItem> {
+        private final Iterator<InfluxRow> rows;
+        private final Cleaner.Cleanable cleanable;
+        private boolean done = false;
+
+        RowIterator(Stream<InfluxRow> stream) {
+            this.rows = stream.iterator();
+            this.cleanable = CLEANER.register(this, stream::close);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (done) {
+                return false;
+            }
+            try {
+                if (rows.hasNext()) {
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                done = true;
+                cleanable.clean();
+                throw e;
+            }
+            done = true;
+            cleanable.clean();
+            return false;
+        }
+
+        @Override
+        public HistoricItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return mapper.apply(rows.next());
+        }
+    }
+}
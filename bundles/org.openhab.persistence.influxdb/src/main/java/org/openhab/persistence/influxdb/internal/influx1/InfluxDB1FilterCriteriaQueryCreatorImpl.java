@@ -16,6 +16,7 @@ import static org.influxdb.querybuilder.BuiltQuery.QueryBuilder.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils.stateToObject;
 
+import java.time.Duration;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -50,14 +51,23 @@ public class InfluxDB1FilterCriteriaQueryCreatorImpl implements FilterCriteriaQu
     }
 
     @Override
-    public String createQuery(FilterCriteria criteria, String retentionPolicy) {
+    public String createQuery(FilterCriteria criteria, String retentionPolicy, @Nullable Duration aggregationWindow) {
         final String itemName = Objects.requireNonNull(criteria.getItemName()); // we checked non-null before
         final String tableName = getTableName(itemName);
         final boolean hasCriteriaName = itemName != null;
 
-        Select select = select().column("\"" + COLUMN_VALUE_NAME_V1 + "\"::field")
-                .column("\"" + TAG_ITEM_NAME + "\"::tag")
-                .fromRaw(null, fullQualifiedTableName(retentionPolicy, tableName, hasCriteriaName));
+        Select select;
+        if (aggregationWindow == null) {
+            select = select().column("\"" + COLUMN_VALUE_NAME_V1 + "\"::field")
+                    .column("\"" + TAG_ITEM_NAME + "\"::tag")
+                    .fromRaw(null, fullQualifiedTableName(retentionPolicy, tableName, hasCriteriaName));
+        } else {
+            // tags can't be selected together with an aggregate, the rows are assigned to the queried item instead
+            select = select()
+                    .raw(configuration.getQueryAggregation() + "(\"" + COLUMN_VALUE_NAME_V1 + "\") AS \""
+                            + COLUMN_VALUE_NAME_V1 + "\"")
+                    .fromRaw(null, fullQualifiedTableName(retentionPolicy, tableName, hasCriteriaName));
+        }
 
         Where where = select.where();
 
@@ -77,6 +87,10 @@ public class InfluxDB1FilterCriteriaQueryCreatorImpl implements FilterCriteriaQu
                     getOperationSymbol(criteria.getOperator(), InfluxDBVersion.V1), stateToObject(filterState)));
         }
 
+        if (aggregationWindow != null) {
+            select = select.groupBy(time(Math.max(1, aggregationWindow.toSeconds()), "s")).fill("none");
+        }
+
         if (criteria.getOrdering() == FilterCriteria.Ordering.DESCENDING) {
             select = select.orderBy(desc());
         } else if (criteria.getOrdering() == FilterCriteria.Ordering.ASCENDING) {
@@ -14,25 +14,22 @@ package org.openhab.persistence.influxdb.internal.influx1;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.COLUMN_TIME_NAME_V1;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.COLUMN_VALUE_NAME_V1;
-import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_VALUE_NAME;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.TAG_ITEM_NAME;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.influxdb.InfluxDB;
 import org.influxdb.InfluxDBException;
 import org.influxdb.InfluxDBFactory;
-import org.influxdb.dto.BatchPoints;
-import org.influxdb.dto.Point;
 import org.influxdb.dto.Pong;
 import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
@@ -41,7 +38,6 @@ import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
-import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -80,7 +76,6 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                     configuration.getPassword());
             createdClient.setDatabase(configuration.getDatabaseName());
             createdClient.setRetentionPolicy(configuration.getRetentionPolicy());
-            createdClient.enableBatch(200, 100, TimeUnit.MILLISECONDS);
             this.client = createdClient;
         } catch (InfluxException | InfluxDBException e) {
             logger.debug("Connection failed", e);
@@ -123,22 +118,28 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public boolean write(List<InfluxPoint> influxPoints) {
+    public WriteResult write(List<String> lines) {
         final InfluxDB currentClient = this.client;
         if (currentClient == null) {
-            return false;
+            return WriteResult.FAILED;
         }
         try {
-            List<Point> points = influxPoints.stream().map(this::convertPointToClientFormat).filter(Optional::isPresent)
-                    .map(Optional::get).toList();
-            BatchPoints batchPoints = BatchPoints.database(configuration.getDatabaseName())
-                    .retentionPolicy(configuration.getRetentionPolicy()).points(points).build();
-            currentClient.write(batchPoints);
-        } catch (InfluxException | InfluxDBException e) {
+            currentClient.write(configuration.getDatabaseName(), configuration.getRetentionPolicy(),
+                    InfluxDB.ConsistencyLevel.ONE, TimeUnit.MILLISECONDS, lines);
+        } catch (InfluxDBException e) {
             logger.debug("Writing to database failed", e);
-            return false;
+            // a missing database or failed authorization can be fixed on the server, keep the points until then
+            if (!e.isRetryWorth() && !(e instanceof InfluxDBException.DatabaseNotFoundException)
+                    && !(e instanceof InfluxDBException.AuthorizationFailedException)) {
+                logger.debug("Database rejected {} points: {}", lines.size(), e.getMessage());
+                return WriteResult.REJECTED;
+            }
+            return WriteResult.FAILED;
+        } catch (InfluxException e) {
+            logger.debug("Writing to database failed", e);
+            return WriteResult.FAILED;
         }
-        return true;
+        return WriteResult.WRITTEN;
     }
 
     @Override
@@ -147,88 +148,68 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
         return false;
     }
 
-    private Optional<Point> convertPointToClientFormat(InfluxPoint point) {
-        Point.Builder clientPoint = Point.measurement(point.getMeasurementName()).time(point.getTime().toEpochMilli(),
-                TimeUnit.MILLISECONDS);
-        Object value = point.getValue();
-        if (value instanceof String string) {
-            clientPoint.addField(FIELD_VALUE_NAME, string);
-        } else if (value instanceof Number number) {
-            clientPoint.addField(FIELD_VALUE_NAME, number);
-        } else if (value instanceof Boolean boolean1) {
-            clientPoint.addField(FIELD_VALUE_NAME, boolean1);
-        } else if (value == null) {
-            clientPoint.addField(FIELD_VALUE_NAME, "null");
-        } else {
-            logger.warn("Could not convert {}, discarding this datapoint", point);
-            return Optional.empty();
-        }
-        point.getTags().forEach(clientPoint::tag);
-        return Optional.of(clientPoint.build());
-    }
-
     @Override
-    public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy) {
+    public Stream<InfluxRow> query(FilterCriteria filter, String retentionPolicy,
+            @Nullable Duration aggregationWindow) {
         try {
             final InfluxDB currentClient = client;
             if (currentClient != null) {
-                String query = queryCreator.createQuery(filter, retentionPolicy);
+                String query = queryCreator.createQuery(filter, retentionPolicy, aggregationWindow);
                 logger.trace("Query {}", query);
                 Query parsedQuery = new Query(query, configuration.getDatabaseName());
                 List<QueryResult.Result> results = currentClient.query(parsedQuery, TimeUnit.MILLISECONDS).getResults();
-                return convertClientResultToRepository(results);
+                // aggregated results don't contain the item tag
+                @Nullable
+                String itemName = aggregationWindow != null ? filter.getItemName() : null;
+                return results.stream().flatMap(result -> convertClientResultToRepository(result, itemName));
             } else {
                 throw new InfluxException("API not present");
             }
         } catch (InfluxException | InfluxDBException e) {
             logger.warn("Failed to execute query '{}': {}", filter, e.getMessage());
-            return List.of();
+            return Stream.empty();
         }
     }
 
-    private List<InfluxRow> convertClientResultToRepository(List<QueryResult.Result> results) {
-        List<InfluxRow> rows = new ArrayList<>();
-        for (QueryResult.Result result : results) {
-            List<QueryResult.Series> allSeries = result.getSeries();
-            if (result.getError() != null) {
-                logger.warn("{}", result.getError());
-                continue;
-            }
-            if (allSeries == null) {
-                logger.debug("query returned no series");
-            } else {
-                for (QueryResult.Series series : allSeries) {
-                    logger.trace("series {}", series);
-                    String defaultItemName = series.getName();
-                    List<List<Object>> allValues = series.getValues();
-                    if (allValues == null) {
-                        logger.debug("query returned no values");
-                    } else {
-                        List<String> columns = series.getColumns();
-                        logger.trace("columns {}", columns);
-                        if (columns != null) {
-                            int timestampColumn = columns.indexOf(COLUMN_TIME_NAME_V1);
-                            int valueColumn = columns.indexOf(COLUMN_VALUE_NAME_V1);
-                            int itemNameColumn = columns.indexOf(TAG_ITEM_NAME);
-                            if (valueColumn == -1 || timestampColumn == -1) {
-                                throw new IllegalStateException("missing column");
-                            }
-                            for (List<Object> valueObject : allValues) {
-                                Double rawTime = (Double) valueObject.get(timestampColumn);
-                                Instant time = Instant.ofEpochMilli(rawTime.longValue());
-                                Object value = valueObject.get(valueColumn);
-                                String itemName = itemNameColumn == -1 ? defaultItemName
-                                        : Objects.requireNonNullElse((String) valueObject.get(itemNameColumn),
-                                                defaultItemName);
-                                logger.trace("adding historic item {}: time {} value {}", itemName, time, value);
-                                rows.add(new InfluxRow(time, itemName, value));
-                            }
-                        }
-                    }
-                }
-            }
+    private Stream<InfluxRow> convertClientResultToRepository(QueryResult.Result result,
+            @Nullable String queriedItemName) {
+        List<QueryResult.Series> allSeries = result.getSeries();
+        if (result.getError() != null) {
+            logger.warn("{}", result.getError());
+            return Stream.empty();
+        }
+        if (allSeries == null) {
+            logger.debug("query returned no series");
+            return Stream.empty();
+        }
+        return allSeries.stream().flatMap(series -> convertSeries(series, queriedItemName));
+    }
+
+    private Stream<InfluxRow> convertSeries(QueryResult.Series series, @Nullable String queriedItemName) {
+        logger.trace("series {}", series);
+        String defaultItemName = queriedItemName != null ? queriedItemName : series.getName();
+        List<List<Object>> allValues = series.getValues();
+        List<String> columns = series.getColumns();
+        if (allValues == null || columns == null) {
+            logger.debug("query returned no values");
+            return Stream.empty();
+        }
+        logger.trace("columns {}", columns);
+        int timestampColumn = columns.indexOf(COLUMN_TIME_NAME_V1);
+        int valueColumn = columns.indexOf(COLUMN_VALUE_NAME_V1);
+        int itemNameColumn = columns.indexOf(TAG_ITEM_NAME);
+        if (valueColumn == -1 || timestampColumn == -1) {
+            throw new IllegalStateException("missing column");
         }
-        return rows;
+        return allValues.stream().map(valueObject -> {
+            Double rawTime = (Double) valueObject.get(timestampColumn);
+            Instant time = Instant.ofEpochMilli(rawTime.longValue());
+            Object value = valueObject.get(valueColumn);
+            String itemName = itemNameColumn == -1 ? defaultItemName
+                    : Objects.requireNonNullElse((String) valueObject.get(itemNameColumn), defaultItemName);
+            logger.trace("adding historic item {}: time {} value {}", itemName, time, value);
+            return new InfluxRow(time, itemName, value);
+        });
     }
 
     @Override
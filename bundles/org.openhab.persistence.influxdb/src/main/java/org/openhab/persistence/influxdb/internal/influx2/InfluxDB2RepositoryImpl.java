@@ -14,6 +14,7 @@ package org.openhab.persistence.influxdb.internal.influx2;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
@@ -22,7 +23,6 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -34,7 +34,6 @@ import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBConstants;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
-import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,11 +42,14 @@ import com.influxdb.client.InfluxDBClient;
 import com.influxdb.client.InfluxDBClientFactory;
 import com.influxdb.client.InfluxDBClientOptions;
 import com.influxdb.client.QueryApi;
-import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteApiBlocking;
 import com.influxdb.client.domain.Ready;
 import com.influxdb.client.domain.WritePrecision;
-import com.influxdb.client.write.Point;
+import com.influxdb.exceptions.BadRequestException;
 import com.influxdb.exceptions.InfluxException;
+import com.influxdb.exceptions.RequestEntityTooLargeException;
+import com.influxdb.exceptions.UnprocessableEntityException;
+import com.influxdb.query.FluxRecord;
 import com.influxdb.query.FluxTable;
 
 /**
@@ -64,7 +66,7 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
 
     private @Nullable InfluxDBClient client;
     private @Nullable QueryApi queryAPI;
-    private @Nullable WriteApi writeAPI;
+    private @Nullable WriteApiBlocking writeAPI;
     private @Nullable DeleteApi deleteAPI;
 
     public InfluxDB2RepositoryImpl(InfluxDBConfiguration configuration,
@@ -96,7 +98,7 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
         this.client = createdClient;
 
         queryAPI = createdClient.getQueryApi();
-        writeAPI = createdClient.makeWriteApi();
+        writeAPI = createdClient.getWriteApiBlocking();
         deleteAPI = createdClient.getDeleteApi();
 
         logger.debug("Successfully connected to InfluxDB. Instance pingable={}", createdClient.ping());
@@ -140,20 +142,23 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public boolean write(List<InfluxPoint> influxPoints) {
-        final WriteApi currentWriteAPI = writeAPI;
+    public WriteResult write(List<String> lines) {
+        final WriteApiBlocking currentWriteAPI = writeAPI;
         if (currentWriteAPI == null) {
-            return false;
+            return WriteResult.FAILED;
         }
         try {
-            List<Point> clientPoints = influxPoints.stream().map(this::convertPointToClientFormat)
-                    .filter(Optional::isPresent).map(Optional::get).toList();
-            currentWriteAPI.writePoints(clientPoints);
+            currentWriteAPI.writeRecords(WritePrecision.MS, lines);
+        } catch (BadRequestException | UnprocessableEntityException | RequestEntityTooLargeException e) {
+            // malformed line, field type conflict or too many points
+            logger.debug("Database rejected {} points: {}", lines.size(), e.getMessage());
+            return WriteResult.REJECTED;
         } catch (InfluxException | InfluxDBIOException e) {
+            // authorization, a missing bucket, rate limits and server errors may go away, keep the points
             logger.debug("Writing to database failed", e);
-            return false;
+            return WriteResult.FAILED;
         }
-        return true;
+        return WriteResult.WRITTEN;
     }
 
     @Override
@@ -192,54 +197,33 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
         return true;
     }
 
-    private Optional<Point> convertPointToClientFormat(InfluxPoint point) {
-        Point clientPoint = Point.measurement(point.getMeasurementName()).time(point.getTime(), WritePrecision.MS);
-        @Nullable
-        Object value = point.getValue();
-        if (value instanceof String string) {
-            clientPoint.addField(FIELD_VALUE_NAME, string);
-        } else if (value instanceof Number number) {
-            clientPoint.addField(FIELD_VALUE_NAME, number);
-        } else if (value instanceof Boolean boolean1) {
-            clientPoint.addField(FIELD_VALUE_NAME, boolean1);
-        } else if (value == null) {
-            clientPoint.addField(FIELD_VALUE_NAME, (String) null);
-        } else {
-            logger.warn("Could not convert {}, discarding this datapoint)", clientPoint);
-            return Optional.empty();
-        }
-        point.getTags().forEach(clientPoint::addTag);
-        return Optional.of(clientPoint);
-    }
-
     @Override
-    public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy) {
+    public Stream<InfluxRow> query(FilterCriteria filter, String retentionPolicy,
+            @Nullable Duration aggregationWindow) {
         try {
             final QueryApi currentQueryAPI = queryAPI;
             if (currentQueryAPI != null) {
-                String query = queryCreator.createQuery(filter, retentionPolicy);
+                String query = queryCreator.createQuery(filter, retentionPolicy, aggregationWindow);
                 logger.trace("Query {}", query);
-                List<FluxTable> clientResult = currentQueryAPI.query(query);
-                return clientResult.stream().flatMap(this::mapRawResultToHistoric).toList();
+                // records are parsed from the response while the stream is consumed
+                return currentQueryAPI.queryStream(query).map(this::mapRecordToRow);
             } else {
                 throw new InfluxException("API not present");
             }
         } catch (InfluxException | InfluxDBIOException e) {
             logger.warn("Failed to execute query '{}': {}", filter, e.getMessage());
-            return List.of();
+            return Stream.empty();
         }
     }
 
-    private Stream<InfluxRow> mapRawResultToHistoric(FluxTable rawRow) {
-        return rawRow.getRecords().stream().map(r -> {
-            String itemName = (String) r.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
-            if (itemName == null) {
-                itemName = r.getMeasurement();
-            }
-            Object value = r.getValueByKey(COLUMN_VALUE_NAME_V2);
-            Instant time = (Instant) r.getValueByKey(COLUMN_TIME_NAME_V2);
-            return new InfluxRow(time, itemName, value);
-        });
+    private InfluxRow mapRecordToRow(FluxRecord record) {
+        String itemName = (String) record.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
+        if (itemName == null) {
+            itemName = record.getMeasurement();
+        }
+        Object value = record.getValueByKey(COLUMN_VALUE_NAME_V2);
+        Instant time = (Instant) record.getValueByKey(COLUMN_TIME_NAME_V2);
+        return new InfluxRow(time, itemName, value);
     }
 
     @Override
@@ -23,6 +23,7 @@ import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.UR
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.USER_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.VERSION_PARAM;
 
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -34,8 +35,11 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.library.items.StringItem;
+import org.openhab.core.library.types.StringType;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.WriteResult;
 import org.openhab.persistence.influxdb.internal.InfluxDBVersion;
 import org.openhab.persistence.influxdb.internal.ItemTestHelper;
 import org.openhab.persistence.influxdb.internal.UnexpectedConditionException;
@@ -112,10 +116,73 @@ public class InfluxDBPersistenceServiceTest {
     public void storeItemWithConnectedRepository() throws UnexpectedConditionException {
         InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
         when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.write(any())).thenReturn(WriteResult.WRITTEN);
         instance.store(ItemTestHelper.createNumberItem("number", 5));
         verify(influxDBRepositoryMock, timeout(5000)).write(any());
     }
 
+    @Test
+    public void failedBatchIsWrittenAgain() throws UnexpectedConditionException {
+        InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
+        when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.write(any())).thenReturn(WriteResult.FAILED);
+        instance.store(ItemTestHelper.createNumberItem("number", 5));
+        verify(influxDBRepositoryMock, timeout(5000)).write(any());
+
+        // the remaining points are written on deactivation
+        instance.deactivate();
+        verify(influxDBRepositoryMock, times(2)).write(any());
+    }
+
+    @Test
+    public void rejectedBatchIsDropped() throws UnexpectedConditionException {
+        InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
+        when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.write(any())).thenReturn(WriteResult.REJECTED);
+        instance.store(ItemTestHelper.createNumberItem("number", 5));
+        verify(influxDBRepositoryMock, timeout(5000)).write(any());
+
+        instance.deactivate();
+        verify(influxDBRepositoryMock, times(1)).write(any());
+    }
+
+    @Test
+    public void onlyRejectedPointsAreDropped() throws UnexpectedConditionException {
+        InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
+        when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.write(any())).thenAnswer(invocation -> {
+            List<String> lines = invocation.getArgument(0);
+            return lines.stream().anyMatch(line -> line.startsWith("bad")) ? WriteResult.REJECTED
+                    : WriteResult.WRITTEN;
+        });
+        instance.store(ItemTestHelper.createNumberItem("good", 5));
+        instance.store(ItemTestHelper.createNumberItem("bad", 5));
+
+        // the rejected batch is written again point by point
+        verify(influxDBRepositoryMock, timeout(5000))
+                .write(argThat(lines -> lines.size() == 1 && lines.get(0).startsWith("bad")));
+        verify(influxDBRepositoryMock, timeout(5000))
+                .write(argThat(lines -> lines.size() == 1 && lines.get(0).startsWith("good")));
+
+        instance.deactivate();
+        verify(influxDBRepositoryMock, times(1))
+                .write(argThat(lines -> lines.size() == 1 && lines.get(0).startsWith("bad")));
+    }
+
+    @Test
+    public void lineBreaksInStringsReachRepositoryUnchanged() throws UnexpectedConditionException {
+        InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
+        when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.write(any())).thenReturn(WriteResult.WRITTEN);
+        StringItem item = new StringItem("text");
+        item.setState(new StringType("first\r\nsecond"));
+
+        instance.store(item);
+
+        verify(influxDBRepositoryMock, timeout(5000))
+                .write(argThat(lines -> lines.size() == 1 && lines.get(0).contains("value=\"first\r\nsecond\"")));
+    }
+
     @Test
     public void storeItemWithDisconnectedRepositoryIsIgnored() throws UnexpectedConditionException {
         InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
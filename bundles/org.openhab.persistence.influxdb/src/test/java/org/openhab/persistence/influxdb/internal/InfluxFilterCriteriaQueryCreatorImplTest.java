@@ -16,6 +16,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -114,6 +115,33 @@ public class InfluxFilterCriteriaQueryCreatorImplTest {
         assertThat(queryV2, equalTo(expectedQueryV2));
     }
 
+    @Test
+    public void testAggregationWindow() {
+        when(influxDBConfiguration.getQueryAggregation()).thenReturn("mean");
+        FilterCriteria criteria = createBaseCriteria();
+        ZonedDateTime now = ZonedDateTime.now();
+        ZonedDateTime tomorrow = now.plus(1, ChronoUnit.DAYS);
+        criteria.setBeginDate(now);
+        criteria.setEndDate(tomorrow);
+
+        String queryV1 = instanceV1.createQuery(criteria, RETENTION_POLICY, Duration.ofHours(1));
+        String expectedQueryV1 = String.format(
+                "SELECT mean(\"value\") AS \"value\" FROM \"origin\".\"sampleItem\" WHERE time >= '%s' AND time <= '%s' GROUP BY time(3600s) fill(none) ORDER BY time DESC;",
+                now.toInstant(), tomorrow.toInstant());
+        assertThat(queryV1, equalTo(expectedQueryV1));
+
+        String queryV2 = instanceV2.createQuery(criteria, RETENTION_POLICY, Duration.ofHours(1));
+        String expectedQueryV2 = String.format("""
+                from(bucket:"origin")
+                \t|> range(start:%s, stop:%s)
+                \t|> filter(fn: (r) => r["_measurement"] == "sampleItem")
+                \t|> aggregateWindow(every: 3600s, fn: mean, createEmpty: false, timeSrc: "_start")
+                \t|> keep(columns:["_measurement", "_time", "_value"])
+                \t|> sort(desc:true, columns:["_time"])""", INFLUX2_DATE_FORMATTER.format(now.toInstant()),
+                INFLUX2_DATE_FORMATTER.format(tomorrow.toInstant()));
+        assertThat(queryV2, equalTo(expectedQueryV2));
+    }
+
     @Test
     public void testValueOperator() {
         FilterCriteria criteria = createBaseCriteria();
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxLineProtocolTest {
+    private static final Instant TIME = Instant.ofEpochMilli(1700000000123L);
+
+    @Test
+    public void numbersAreFormattedLikeTheClient() {
+        assertThat(format(new BigDecimal("21.50")), is("temp,item=temp value=21.50 1700000000123"));
+        assertThat(format(new BigDecimal("1E+3")), is("temp,item=temp value=1000 1700000000123"));
+        assertThat(format(1), is("temp,item=temp value=1i 1700000000123"));
+        assertThat(format(1700000000123L), is("temp,item=temp value=1700000000123i 1700000000123"));
+        assertThat(format(0.5), is("temp,item=temp value=0.5 1700000000123"));
+        assertThat(format(true), is("temp,item=temp value=true 1700000000123"));
+        assertThat(format(Double.NaN), is(nullValue()));
+    }
+
+    @Test
+    public void pointWithoutValueIsNotFormatted() {
+        InfluxPoint point = InfluxPoint.newBuilder("temp").withTime(TIME).withTag("item", "temp").build();
+
+        assertThat(InfluxLineProtocol.format(point), is(nullValue()));
+    }
+
+    @Test
+    public void specialCharactersAreEscaped() {
+        InfluxPoint point = InfluxPoint.newBuilder("my measurement,1").withTime(TIME).withValue("say \"hi\" \\o/")
+                .withTag("item", "my item").withTag("label", "a=b,c").withTag("category", "").build();
+
+        assertThat(InfluxLineProtocol.format(point), is(
+                "my\\ measurement\\,1,item=my\\ item,label=a\\=b\\,c value=\"say \\\"hi\\\" \\\\o/\" 1700000000123"));
+    }
+
+    @Test
+    public void lineBreaksAreEscapedInNamesAndTags() {
+        InfluxPoint point = InfluxPoint.newBuilder("temp\n").withTime(TIME).withValue(1).withTag("item", "temp")
+                .withTag("label", "a\r\nb").build();
+
+        String line = InfluxLineProtocol.format(point);
+        assertThat(line, is("temp\\n,item=temp,label=a\\r\\nb value=1i 1700000000123"));
+        assertThat(line, not(containsString("\n")));
+        assertThat(line, not(containsString("\r")));
+    }
+
+    @Test
+    public void lineBreaksInStringsAreNotEscaped() {
+        // the line protocol only unescapes quotes and backslashes within a quoted field value
+        assertThat(format("first\r\nsecond"), is("temp,item=temp value=\"first\r\nsecond\" 1700000000123"));
+    }
+
+    @Test
+    public void tagsAreSorted() {
+        InfluxPoint point = InfluxPoint.newBuilder("temp").withTime(TIME).withValue(1).withTag("type", "Number")
+                .withTag("item", "temp").withTag("floor", "ground").build();
+
+        assertThat(InfluxLineProtocol.format(point),
+                is("temp,floor=ground,item=temp,type=Number value=1i 1700000000123"));
+    }
+
+    private @Nullable String format(Object value) {
+        return InfluxLineProtocol
+                .format(InfluxPoint.newBuilder("temp").withTime(TIME).withValue(value).withTag("item", "temp").build());
+    }
+}
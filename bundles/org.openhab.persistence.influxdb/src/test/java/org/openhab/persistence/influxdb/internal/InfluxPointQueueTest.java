@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxPointQueueTest {
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+
+    @Test
+    public void pointsAreDroppedWhenQueueIsFull() {
+        InfluxPointQueue queue = new InfluxPointQueue(2, null);
+
+        assertThat(queue.offer("a"), is(true));
+        assertThat(queue.offer("b"), is(true));
+        assertThat(queue.offer("c"), is(false));
+        assertThat(queue.size(), is(2));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+
+    @Test
+    public void batchIsOnlyRemovedAfterWrite() {
+        InfluxPointQueue queue = new InfluxPointQueue(10, null);
+        queue.offer("a");
+        queue.offer("b");
+        queue.offer("c");
+
+        InfluxPointQueue.Batch batch = queue.peek(2);
+        assertThat(batch.lines(), contains("a", "b"));
+        assertThat(queue.size(), is(3));
+
+        queue.remove(batch);
+        assertThat(queue.peek(2).lines(), contains("c"));
+    }
+
+    @Test
+    public void overflowIsSpilledToDiskAndReadInOrder() throws Exception {
+        Path spillFile = tempDir.resolve("queue.lp");
+        InfluxPointQueue queue = new InfluxPointQueue(2, spillFile);
+        for (String line : new String[] { "a", "b", "c", "d", "e" }) {
+            assertThat(queue.offer(line), is(true));
+        }
+        assertThat(queue.size(), is(5));
+        assertThat(Files.readAllLines(spillFile), contains("c", "d", "e"));
+
+        queue.remove(queue.peek(10));
+        InfluxPointQueue.Batch batch = queue.peek(2);
+        assertThat(batch.lines(), contains("c", "d"));
+        queue.remove(batch);
+        batch = queue.peek(2);
+        assertThat(batch.lines(), contains("e"));
+        queue.remove(batch);
+
+        assertThat(queue.isEmpty(), is(true));
+        assertThat(Files.exists(spillFile), is(false));
+    }
+
+    @Test
+    public void queuedPointsAreKeptOverRestart() {
+        Path spillFile = tempDir.resolve("queue.lp");
+        InfluxPointQueue queue = new InfluxPointQueue(10, spillFile);
+        queue.offer("a");
+        queue.offer("b");
+        assertThat(queue.close(), is(0));
+
+        InfluxPointQueue restarted = new InfluxPointQueue(10, spillFile);
+        assertThat(restarted.size(), is(2));
+        assertThat(restarted.peek(10).lines(), contains("a", "b"));
+    }
+
+    @Test
+    public void lineBreaksInSpilledPointsArePreserved() {
+        Path spillFile = tempDir.resolve("queue.lp");
+        InfluxPointQueue queue = new InfluxPointQueue(0, spillFile);
+        String point = "temp,item=temp value=\"first\r\nsecond \\\"quoted\\\" C:\\\\new\" 1700000000123";
+        queue.offer(point);
+        queue.offer("b");
+
+        assertThat(queue.size(), is(2));
+        assertThat(queue.peek(10).lines(), contains(point, "b"));
+    }
+}
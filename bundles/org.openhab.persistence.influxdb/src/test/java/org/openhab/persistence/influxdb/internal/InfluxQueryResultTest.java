@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.InfluxRow;
+
+/**
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxQueryResultTest {
+    private final AtomicInteger executed = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    private InfluxQueryResult createResult(Stream<InfluxRow> rows) {
+        return new InfluxQueryResult(() -> {
+            executed.incrementAndGet();
+            return rows.onClose(closed::incrementAndGet);
+        }, row -> new InfluxDBHistoricItem(row.itemName(), new DecimalType((Integer) row.value()),
+                ZonedDateTime.ofInstant(row.time(), ZoneId.systemDefault())));
+    }
+
+    @Test
+    public void queryIsExecutedWhenIterated() {
+        InfluxQueryResult result = createResult(
+                Stream.of(1, 2, 3).map(i -> new InfluxRow(Instant.ofEpochSecond(i), "item", i)));
+        assertThat(executed.get(), is(0));
+
+        List<HistoricItem> items = new ArrayList<>();
+        result.forEach(items::add);
+
+        assertThat(executed.get(), is(1));
+        assertThat(items.size(), is(3));
+        assertThat(items.get(2).getState(), is(new DecimalType(3)));
+        assertThat(closed.get(), is(1));
+    }
+
+    @Test
+    public void readErrorIsThrownAndClosesStream() {
+        InfluxQueryResult result = createResult(Stream.of(1, 2).map(i -> {
+            if (i == 2) {
+                throw new IllegalStateException("connection reset");
+            }
+            return new InfluxRow(Instant.ofEpochSecond(i), "item", i);
+        }));
+
+        Iterator<HistoricItem> iterator = result.iterator();
+        assertThat(iterator.hasNext(), is(true));
+        iterator.next();
+        assertThrows(IllegalStateException.class, iterator::hasNext);
+        assertThat(closed.get(), is(1));
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test
+    public void queryErrorIsThrown() {
+        InfluxQueryResult result = new InfluxQueryResult(() -> {
+            throw new IllegalStateException("database not reachable");
+        }, row -> new InfluxDBHistoricItem(row.itemName(), new DecimalType((Integer) row.value()),
+                ZonedDateTime.ofInstant(row.time(), ZoneId.systemDefault())));
+
+        assertThrows(IllegalStateException.class, result::iterator);
+    }
+}
@@ -13,15 +13,15 @@
 package org.openhab.persistence.inmemory.internal;
 
 import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -86,9 +86,7 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             Lock lock = persistItem.lock();
             lock.lock();
             try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
-                }
+                persistItem.database().setMaxEntries(maxEntries);
             } finally {
                 lock.unlock();
             }
@@ -151,8 +149,9 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         Lock lock = persistItem.lock();
         lock.lock();
         try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
+            TimeSeriesRingBuffer database = persistItem.database();
+            database.removeIf(beginIndex(database, filter), endIndex(database, filter),
+                    (timestamp, state) -> applies(state, filter));
         } finally {
             lock.unlock();
         }
@@ -171,16 +170,26 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return List.of();
         }
 
+        ZoneId zone = ZoneId.systemDefault();
+        boolean ascending = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING;
+
         Lock lock = persistItem.lock();
         lock.lock();
-
-        Comparator<PersistEntry> comparator = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING
-                ? Comparator.comparing(PersistEntry::timestamp)
-                : Comparator.comparing(PersistEntry::timestamp).reversed();
-
         try {
-            return persistItem.database().stream().filter(e -> applies(e, filter)).sorted(comparator)
-                    .map(e -> toHistoricItem(itemName, e)).toList();
+            // the entries are ordered by time, so the time range can be found by binary search
+            TimeSeriesRingBuffer database = persistItem.database();
+            int begin = beginIndex(database, filter);
+            int end = endIndex(database, filter);
+            List<HistoricItem> result = new ArrayList<>(Math.max(end - begin, 0));
+            for (int i = begin; i < end; i++) {
+                int index = ascending ? i : end - 1 - (i - begin);
+                State state = database.stateAt(index);
+                if (applies(state, filter)) {
+                    result.add(toHistoricItem(itemName,
+                            Instant.ofEpochMilli(database.timestampAt(index)).atZone(zone), state));
+                }
+            }
+            return result;
         } finally {
             lock.unlock();
         }
@@ -197,9 +206,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         lock.lock();
         try {
             String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
+            TimeSeriesRingBuffer database = itemEntry.getValue().database();
+            Integer count = database.size();
+            @Nullable
+            Date earliest = count > 0 ? new Date(database.timestampAt(0)) : null;
+            @Nullable
+            Date latest = count > 0 ? new Date(database.timestampAt(count - 1)) : null;
             return new PersistenceItemInfo() {
 
                 @Override
@@ -214,12 +226,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
                 @Override
                 public @Nullable Date getEarliest() {
-                    return Date.from(earliest);
+                    return earliest;
                 }
 
                 @Override
                 public @Nullable Date getLatest() {
-                    return Date.from(latest);
+                    return latest;
                 }
             };
         } finally {
@@ -227,16 +239,16 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         }
     }
 
-    private HistoricItem toHistoricItem(String itemName, PersistEntry entry) {
+    private HistoricItem toHistoricItem(String itemName, ZonedDateTime timestamp, State state) {
         return new HistoricItem() {
             @Override
             public ZonedDateTime getTimestamp() {
-                return entry.timestamp();
+                return timestamp;
             }
 
             @Override
             public State getState() {
-                return entry.state();
+                return state;
             }
 
             @Override
@@ -252,33 +264,29 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         }
 
         PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
+                k -> new PersistItem(new TimeSeriesRingBuffer(maxEntries), new ReentrantLock())));
 
         Lock lock = persistItem.lock();
         lock.lock();
         try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
-            }
+            persistItem.database().add(timestamp.toInstant().toEpochMilli(), state);
         } finally {
             lock.unlock();
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private boolean applies(PersistEntry entry, FilterCriteria filter) {
+    private int beginIndex(TimeSeriesRingBuffer database, FilterCriteria filter) {
         ZonedDateTime beginDate = filter.getBeginDate();
-        if (beginDate != null && beginDate.isAfter(entry.timestamp())) {
-            return false;
-        }
+        return beginDate == null ? 0 : database.lowerBound(beginDate.toInstant().toEpochMilli());
+    }
+
+    private int endIndex(TimeSeriesRingBuffer database, FilterCriteria filter) {
         ZonedDateTime endDate = filter.getEndDate();
-        if (endDate != null && endDate.isBefore(entry.timestamp())) {
-            return false;
-        }
+        return endDate == null ? database.size() : database.upperBound(endDate.toInstant().toEpochMilli());
+    }
 
+    @SuppressWarnings("unchecked")
+    private boolean applies(State state, FilterCriteria filter) {
         State refState = filter.getState();
         FilterCriteria.Operator operator = filter.getOperator();
         if (refState == null) {
@@ -287,14 +295,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         }
 
         if (operator == FilterCriteria.Operator.EQ) {
-            return entry.state().equals(refState);
+            return state.equals(refState);
         }
 
         if (operator == FilterCriteria.Operator.NEQ) {
-            return !entry.state().equals(refState);
+            return !state.equals(refState);
         }
 
-        if (entry.state() instanceof Comparable comparableState && entry.state.getClass().equals(refState.getClass())) {
+        if (state instanceof Comparable comparableState && state.getClass().equals(refState.getClass())) {
             if (operator == FilterCriteria.Operator.GT) {
                 return comparableState.compareTo(refState) > 0;
             }
@@ -313,9 +321,6 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         return true;
     }
 
-    private record PersistEntry(ZonedDateTime timestamp, State state) {
-    }
-
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
+    private record PersistItem(TimeSeriesRingBuffer database, Lock lock) {
     }
 }
@@ -0,0 +1,297 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link TimeSeriesRingBuffer} stores the values of a single item ordered by timestamp.
+ *
+ * Timestamps (epoch milliseconds) and values are kept in separate primitive arrays that are used as a ring, so
+ * appending a new value and dropping the oldest one does not allocate. {@link DecimalType} and {@link QuantityType}
+ * values (with the unit of the first stored quantity) are stored as <code>double</code> if that is possible without
+ * loss of precision, all other states are kept as object in a fallback array that is only allocated when needed.
+ *
+ * If the maximum number of entries is reached, the entry with the oldest timestamp is removed. Storing a value for a
+ * timestamp that is already present replaces the stored value. The buffer is not thread-safe.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class TimeSeriesRingBuffer {
+
+    /**
+     * Tests the entries of the buffer.
+     */
+    @FunctionalInterface
+    interface EntryPredicate {
+        boolean test(long timestamp, State state);
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+    // a value is marked as stored in the fallback array by NaN, which can't be the value of a DecimalType
+    private static final double FALLBACK = Double.NaN;
+
+    private int maxEntries;
+    private long[] timestamps;
+    private double[] values;
+    private State @Nullable [] states;
+
+    private int head = 0;
+    private int size = 0;
+
+    private boolean numeric = false;
+    private @Nullable Unit<?> unit;
+
+    /**
+     * @param maxEntries the maximum number of entries, 0 for unlimited
+     */
+    TimeSeriesRingBuffer(long maxEntries) {
+        this.maxEntries = toMaxEntries(maxEntries);
+        int capacity = this.maxEntries > 0 ? Math.min(INITIAL_CAPACITY, this.maxEntries) : INITIAL_CAPACITY;
+        timestamps = new long[capacity];
+        values = new double[capacity];
+    }
+
+    /**
+     * Changes the maximum number of entries, removing the oldest entries if necessary.
+     *
+     * @param maxEntries the maximum number of entries, 0 for unlimited
+     */
+    void setMaxEntries(long maxEntries) {
+        this.maxEntries = toMaxEntries(maxEntries);
+        if (this.maxEntries > 0) {
+            while (size > this.maxEntries) {
+                removeFirst();
+            }
+            if (timestamps.length > this.maxEntries) {
+                resize(this.maxEntries);
+            }
+        }
+    }
+
+    /**
+     * Adds a value at its position in time.
+     */
+    void add(long timestamp, State state) {
+        int index = lowerBound(timestamp);
+        if (index < size && timestampAt(index) == timestamp) {
+            set(physical(index), timestamp, state);
+            return;
+        }
+        if (maxEntries > 0 && size >= maxEntries) {
+            if (index == 0) {
+                // older than all kept entries, it would be removed immediately
+                return;
+            }
+            removeFirst();
+            index--;
+        }
+        if (size == timestamps.length) {
+            int capacity = timestamps.length * 2;
+            resize(maxEntries > 0 ? Math.min(capacity, maxEntries) : capacity);
+        }
+        // move the following entries one position back, nothing to do when appending
+        for (int i = size; i > index; i--) {
+            move(physical(i - 1), physical(i));
+        }
+        size++;
+        set(physical(index), timestamp, state);
+    }
+
+    /**
+     * Removes all entries in the index range that match the predicate.
+     *
+     * @param from the first index to test (inclusive)
+     * @param to the last index to test (exclusive)
+     * @param predicate the predicate selecting the entries to remove
+     * @return the number of removed entries
+     */
+    int removeIf(int from, int to, EntryPredicate predicate) {
+        int target = from;
+        for (int i = from; i < size; i++) {
+            if (i < to && predicate.test(timestampAt(i), stateAt(i))) {
+                continue;
+            }
+            if (target != i) {
+                move(physical(i), physical(target));
+            }
+            target++;
+        }
+        State[] states = this.states;
+        if (states != null) {
+            for (int i = target; i < size; i++) {
+                states[physical(i)] = null;
+            }
+        }
+        int removed = size - target;
+        size = target;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the first entry with a timestamp not before the given timestamp.
+     */
+    int lowerBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first entry with a timestamp after the given timestamp.
+     */
+    int upperBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    long timestampAt(int index) {
+        return timestamps[physical(index)];
+    }
+
+    State stateAt(int index) {
+        int physical = physical(index);
+        double value = values[physical];
+        if (Double.isNaN(value)) {
+            return Objects.requireNonNull(Objects.requireNonNull(states)[physical]);
+        }
+        BigDecimal decimal = BigDecimal.valueOf(value).stripTrailingZeros();
+        if (decimal.scale() < 0) {
+            // whole numbers without exponent, e.g. 100 instead of 1E+2
+            decimal = decimal.setScale(0);
+        }
+        Unit<?> unit = this.unit;
+        return unit == null ? new DecimalType(decimal) : new QuantityType<>(decimal, unit);
+    }
+
+    private int physical(int index) {
+        int physical = head + index;
+        return physical >= timestamps.length ? physical - timestamps.length : physical;
+    }
+
+    private void set(int physical, long timestamp, State state) {
+        double value = toNumeric(state);
+        timestamps[physical] = timestamp;
+        values[physical] = value;
+        State[] states = this.states;
+        if (Double.isNaN(value)) {
+            if (states == null) {
+                states = new State[timestamps.length];
+                this.states = states;
+            }
+            states[physical] = state;
+        } else if (states != null) {
+            states[physical] = null;
+        }
+    }
+
+    private void move(int from, int to) {
+        timestamps[to] = timestamps[from];
+        values[to] = values[from];
+        State[] states = this.states;
+        if (states != null) {
+            states[to] = states[from];
+        }
+    }
+
+    private void removeFirst() {
+        State[] states = this.states;
+        if (states != null) {
+            states[head] = null;
+        }
+        head = physical(1);
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] newTimestamps = new long[capacity];
+        double[] newValues = new double[capacity];
+        State[] states = this.states;
+        State[] newStates = states == null ? null : new State[capacity];
+        for (int i = 0; i < size; i++) {
+            int physical = physical(i);
+            newTimestamps[i] = timestamps[physical];
+            newValues[i] = values[physical];
+            if (states != null && newStates != null) {
+                newStates[i] = states[physical];
+            }
+        }
+        timestamps = newTimestamps;
+        values = newValues;
+        this.states = newStates;
+        head = 0;
+    }
+
+    /**
+     * Converts a state to the numeric representation of this buffer.
+     *
+     * @return the value, or {@link #FALLBACK} if the state has to be stored as object
+     */
+    private double toNumeric(State state) {
+        BigDecimal decimal;
+        Unit<?> stateUnit = null;
+        if (state.getClass() == DecimalType.class) {
+            decimal = ((DecimalType) state).toBigDecimal();
+        } else if (state instanceof QuantityType<?> quantity) {
+            decimal = quantity.toBigDecimal();
+            stateUnit = quantity.getUnit();
+        } else {
+            return FALLBACK;
+        }
+        if (numeric && !Objects.equals(unit, stateUnit)) {
+            return FALLBACK;
+        }
+        double value = decimal.doubleValue();
+        if (!Double.isFinite(value) || BigDecimal.valueOf(value).compareTo(decimal) != 0) {
+            return FALLBACK;
+        }
+        numeric = true;
+        unit = stateUnit;
+        return value;
+    }
+
+    private static int toMaxEntries(long maxEntries) {
+        return maxEntries > 0 && maxEntries < Integer.MAX_VALUE - 8 ? (int) maxEntries : 0;
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
+
+/**
+ * The {@link TimeSeriesRingBufferTest} contains tests for the {@link TimeSeriesRingBuffer}
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class TimeSeriesRingBufferTest {
+
+    @Test
+    public void entriesAreOrderedByTimestamp() {
+        TimeSeriesRingBuffer buffer = new TimeSeriesRingBuffer(0);
+        buffer.add(300, new DecimalType(3));
+        buffer.add(100, new DecimalType(1));
+        buffer.add(200, new DecimalType(2));
+
+        assertThat(buffer.size(), is(3));
+        assertThat(buffer.timestampAt(0), is(100L));
+        assertThat(buffer.timestampAt(1), is(200L));
+        assertThat(buffer.timestampAt(2), is(300L));
+        assertThat(buffer.stateAt(1), is(new DecimalType(2)));
+    }
+
+    @Test
+    public void sameTimestampReplacesValue() {
+        TimeSeriesRingBuffer buffer = new TimeSeriesRingBuffer(0);
+        buffer.add(100, new DecimalType(1));
+        buffer.add(100, new StringType("replaced"));
+
+        assertThat(buffer.size(), is(1));
+        assertThat(buffer.stateAt(0), is(new StringType("replaced")));
+    }
+
+    @Test
+    public void oldestEntriesAreRemovedWhenFull() {
+        TimeSeriesRingBuffer buffer = new TimeSeriesRingBuffer(20);
+        for (int i = 0; i < 50; i++) {
+            buffer.add(i * 10L, new DecimalType(i));
+        }
+
+        assertThat(buffer.size(), is(20));
+        assertThat(buffer.timestampAt(0), is(300L));
+        assertThat(buffer.stateAt(19), is(new DecimalType(49)));
+
+        // an entry older than all others is dropped
+        buffer.add(5, new DecimalType(-1));
+        assertThat(buffer.timestampAt(0), is(300L));
+
+        buffer.setMaxEntries(5);
+        assertThat(buffer.size(), is(5));
+        assertThat(buffer.timestampAt(0), is(450L));
+    }
+
+    @Test
+    public void binarySearchFindsTimeRange() {
+        TimeSeriesRingBuffer buffer = new TimeSeriesRingBuffer(8);
+        for (int i = 0; i < 12; i++) {
+            buffer.add(i * 10L, new DecimalType(i));
+        }
+
+        assertThat(buffer.lowerBound(55), is(2));
+        assertThat(buffer.lowerBound(60), is(2));
+        assertThat(buffer.upperBound(60), is(3));
+        assertThat(buffer.upperBound(1000), is(8));
+        assertThat(buffer.lowerBound(0), is(0));
+    }
+
+    @Test
+    public void statesAreStoredWithoutLoss() {
+        TimeSeriesRingBuffer buffer = new TimeSeriesRingBuffer(0);
+        BigDecimal precise = new BigDecimal("0.12345678901234567890123");
+        buffer.add(100, new QuantityType<>("21.5 °C"));
+        buffer.add(200, new QuantityType<>(precise, SIUnits.CELSIUS));
+        buffer.add(300, new QuantityType<>("70 °F"));
+        buffer.add(400, new StringType("text"));
+
+        assertThat(buffer.stateAt(0), is(new QuantityType<>("21.5 °C")));
+        assertThat(((QuantityType<?>) buffer.stateAt(1)).toBigDecimal().compareTo(precise), is(0));
+        assertThat(buffer.stateAt(2), is(new QuantityType<>("70 °F")));
+        assertThat(buffer.stateAt(3), is(new StringType("text")));
+    }
+
+    @Test
+    public void wholeNumbersAreFormattedWithoutExponent() {
+        TimeSeriesRingBuffer buffer = new TimeSeriesRingBuffer(0);
+        buffer.add(100, new DecimalType(100));
+        buffer.add(200, new DecimalType(new BigDecimal("2.50")));
+
+        assertThat(buffer.stateAt(0).toFullString(), is("100"));
+        assertThat(buffer.stateAt(1).toFullString(), is("2.5"));
+
+        TimeSeriesRingBuffer quantityBuffer = new TimeSeriesRingBuffer(0);
+        quantityBuffer.add(100, new QuantityType<>("1200 W"));
+        assertThat(quantityBuffer.stateAt(0).toFullString(), is("1200 W"));
+    }
+
+    @Test
+    public void removeIfCompactsEntries() {
+        TimeSeriesRingBuffer buffer = new TimeSeriesRingBuffer(0);
+        for (int i = 0; i < 6; i++) {
+            buffer.add(i * 10L, i % 2 == 0 ? new DecimalType(i) : new StringType(Integer.toString(i)));
+        }
+
+        int removed = buffer.removeIf(1, 5, (timestamp, state) -> timestamp != 30);
+
+        assertThat(removed, is(3));
+        assertThat(buffer.size(), is(3));
+        assertThat(buffer.timestampAt(0), is(0L));
+        assertThat(buffer.timestampAt(1), is(30L));
+        assertThat(buffer.stateAt(1), is(new StringType("3")));
+        assertThat(buffer.timestampAt(2), is(50L));
+    }
+}
@@ -40,6 +40,7 @@ public class JdbcConfiguration {
 
     private static final Pattern EXTRACT_CONFIG_PATTERN = Pattern.compile("^(.*?)\\.([0-9.a-zA-Z]+)$");
     private static final String DB_DAO_PACKAGE = "org.openhab.persistence.jdbc.internal.db.Jdbc";
+    private static final Set<String> QUERY_AGGREGATIONS = Set.of("AVG", "MIN", "MAX");
 
     private Map<Object, Object> configuration;
 
@@ -65,6 +66,14 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private int writeBatchSize = 0;
+    private int writeFlushInterval = 1000;
+    private int writeQueueCapacity = 10000;
+    private WriteBehindQueue.OverflowPolicy writeQueueOverflow = WriteBehindQueue.OverflowPolicy.DROP;
+
+    private int queryFetchSize = 0;
+    private String queryAggregation = "AVG";
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -189,6 +198,53 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String wb = (String) configuration.get("writeBatchSize");
+        if (wb != null && !wb.isBlank() && isNumericPattern.matcher(wb).matches()) {
+            writeBatchSize = Integer.parseInt(wb);
+            logger.debug("JDBC::updateConfig: writeBatchSize={}", writeBatchSize);
+        }
+
+        String wf = (String) configuration.get("writeFlushInterval");
+        if (wf != null && !wf.isBlank() && isNumericPattern.matcher(wf).matches()) {
+            writeFlushInterval = Math.max(Integer.parseInt(wf), 10);
+            logger.debug("JDBC::updateConfig: writeFlushInterval={}", writeFlushInterval);
+        }
+
+        String wc = (String) configuration.get("writeQueueCapacity");
+        if (wc != null && !wc.isBlank() && isNumericPattern.matcher(wc).matches()) {
+            writeQueueCapacity = Math.max(Integer.parseInt(wc), 1);
+            logger.debug("JDBC::updateConfig: writeQueueCapacity={}", writeQueueCapacity);
+        }
+
+        String wo = (String) configuration.get("writeQueueOverflow");
+        if (wo != null && !wo.isBlank()) {
+            try {
+                writeQueueOverflow = WriteBehindQueue.OverflowPolicy.valueOf(wo.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.warn("JDBC::updateConfig: invalid writeQueueOverflow '{}', using '{}'", wo,
+                        writeQueueOverflow.name().toLowerCase());
+            }
+            logger.debug("JDBC::updateConfig: writeQueueOverflow={}", writeQueueOverflow);
+        }
+
+        String qf = (String) configuration.get("queryFetchSize");
+        if (qf != null && !qf.isBlank() && isNumericPattern.matcher(qf).matches()) {
+            queryFetchSize = Integer.parseInt(qf);
+            logger.debug("JDBC::updateConfig: queryFetchSize={}", queryFetchSize);
+        }
+
+        String qa = (String) configuration.get("queryAggregation");
+        if (qa != null && !qa.isBlank()) {
+            String aggregation = qa.trim().toUpperCase();
+            if (QUERY_AGGREGATIONS.contains(aggregation)) {
+                queryAggregation = aggregation;
+            } else {
+                logger.warn("JDBC::updateConfig: invalid queryAggregation '{}', using '{}'", qa,
+                        queryAggregation.toLowerCase());
+            }
+            logger.debug("JDBC::updateConfig: queryAggregation={}", queryAggregation);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -394,6 +450,48 @@ public class JdbcConfiguration {
         return tableUseRealItemNames && tableCaseSensitiveItemNames;
     }
 
+    /**
+     * Checks if values should be collected in a write-behind queue and stored in batches.
+     *
+     * @return true if writeBatchSize is greater than 1.
+     */
+    public boolean isWriteBehindEnabled() {
+        return writeBatchSize > 1;
+    }
+
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    public int getWriteFlushInterval() {
+        return writeFlushInterval;
+    }
+
+    public int getWriteQueueCapacity() {
+        return writeQueueCapacity;
+    }
+
+    public WriteBehindQueue.OverflowPolicy getWriteQueueOverflow() {
+        return writeQueueOverflow;
+    }
+
+    /**
+     * Checks if unpaged query results should be streamed from the database instead of being loaded into memory.
+     *
+     * @return true if queryFetchSize is greater than 0.
+     */
+    public boolean isQueryStreamingEnabled() {
+        return queryFetchSize > 0;
+    }
+
+    public int getQueryFetchSize() {
+        return queryFetchSize;
+    }
+
+    public String getQueryAggregation() {
+        return queryAggregation;
+    }
+
     public int getTableIdDigitCount() {
         return tableIdDigitCount;
     }
@@ -13,6 +13,7 @@
 package org.openhab.persistence.jdbc.internal;
 
 import java.sql.SQLInvalidAuthorizationSpecException;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -28,6 +29,7 @@ import org.knowm.yank.Yank;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemUtil;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
@@ -36,6 +38,7 @@ import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.slf4j.Logger;
@@ -51,6 +54,7 @@ import com.zaxxer.hikari.pool.HikariPool.PoolInitializationException;
 @NonNullByDefault
 public class JdbcMapper {
     private static final int MIGRATION_PERCENTAGE_THRESHOLD = 50;
+    private static final long MIN_AGGREGATION_BUCKET_SECONDS = 1;
 
     private final Logger logger = LoggerFactory.getLogger(JdbcMapper.class);
     private final TimeZoneProvider timeZoneProvider;
@@ -142,6 +146,7 @@ public class JdbcMapper {
         logger.debug("JDBC::dropTable");
         long timerStart = System.currentTimeMillis();
         conf.getDBDAO().doDropTable(tableName);
+        conf.getDBDAO().getStatementCache().invalidate(tableName);
         logTime("doDropTable", timerStart, System.currentTimeMillis());
     }
 
@@ -193,6 +198,13 @@ public class JdbcMapper {
         logger.debug("JDBC::updateItemTableNames");
         long timerStart = System.currentTimeMillis();
         conf.getDBDAO().doUpdateItemTableNames(vol);
+        for (ItemVO vo : vol) {
+            conf.getDBDAO().getStatementCache().invalidate(vo.getTableName());
+            String newTableName = vo.getNewTableName();
+            if (newTableName != null) {
+                conf.getDBDAO().getStatementCache().invalidate(newTableName);
+            }
+        }
         logTime("updateItemTableNames", timerStart, System.currentTimeMillis());
     }
 
@@ -200,6 +212,7 @@ public class JdbcMapper {
         logger.debug("JDBC::createItemTable");
         long timerStart = System.currentTimeMillis();
         conf.getDBDAO().doCreateItemTable(vo);
+        conf.getDBDAO().getStatementCache().invalidate(vo.getTableName());
         logTime("createItemTable", timerStart, System.currentTimeMillis());
         return vo;
     }
@@ -209,6 +222,7 @@ public class JdbcMapper {
         logger.debug("JDBC::alterTableColumn");
         long timerStart = System.currentTimeMillis();
         conf.getDBDAO().doAlterTableColumn(tableName, columnName, columnType, nullable);
+        conf.getDBDAO().getStatementCache().invalidate(tableName);
         logTime("alterTableColumn", timerStart, System.currentTimeMillis());
     }
 
@@ -225,23 +239,68 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    protected void storeItemValues(Item item, List<PendingItemValue> values) throws JdbcException {
+        logger.debug("JDBC::storeItemValues: item={} values={}", item, values.size());
+        String tableName = getTable(item);
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(tableName, values);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
 
-    protected List<HistoricItem> getHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount, String table,
-            Item item) throws JdbcSQLException {
+    /**
+     * Queries the values of an item.
+     *
+     * @param maxPoints maximum number of values to return for an unpaged query of a number item, downsampled by the
+     *            database, or 0 to return the stored values
+     */
+    protected Iterable<HistoricItem> getHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item, int maxPoints) throws JdbcSQLException {
         logger.debug(
                 "JDBC::getHistItemFilterQuery filter='{}' numberDecimalcount='{}' table='{}' item='{}' itemName='{}'",
                 true, numberDecimalcount, table, item, item.getName());
         long timerStart = System.currentTimeMillis();
-        List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table,
-                item.getName(), timeZoneProvider.getTimeZone());
+        boolean unpaged = filter.getPageSize() == Integer.MAX_VALUE;
+        Iterable<HistoricItem> result;
+        @Nullable
+        List<HistoricItem> aggregated = null;
+        if (unpaged && maxPoints > 0 && item instanceof NumberItem numberItem) {
+            aggregated = getHistItemAggregateQuery(filter, numberDecimalcount, table, numberItem, maxPoints);
+        }
+        if (aggregated != null) {
+            result = aggregated;
+        } else if (unpaged && conf.isQueryStreamingEnabled()) {
+            result = conf.getDBDAO().doGetHistItemFilterQueryStream(item, filter, numberDecimalcount, table,
+                    item.getName(), timeZoneProvider.getTimeZone(), conf.getQueryFetchSize());
+        } else {
+            result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table, item.getName(),
+                    timeZoneProvider.getTimeZone());
+        }
         logTime("getHistItemFilterQuery", timerStart, System.currentTimeMillis());
         errCnt = 0;
         return result;
     }
 
+    private @Nullable List<HistoricItem> getHistItemAggregateQuery(FilterCriteria filter, int numberDecimalcount,
+            String table, NumberItem item, int maxPoints) throws JdbcSQLException {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (beginDate == null) {
+            return null;
+        }
+        ZonedDateTime endDate = Objects.requireNonNullElse(filter.getEndDate(), ZonedDateTime.now());
+        Duration bucket = Duration.between(beginDate, endDate).dividedBy(maxPoints);
+        if (bucket.getSeconds() < MIN_AGGREGATION_BUCKET_SECONDS) {
+            // the range is too short to benefit from downsampling
+            return null;
+        }
+        return conf.getDBDAO().doGetHistItemAggregateQuery(item, filter, numberDecimalcount, table,
+                timeZoneProvider.getTimeZone(), bucket, conf.getQueryAggregation());
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
@@ -44,8 +44,10 @@ import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.db.SqlStatementCache;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.framework.BundleContext;
@@ -76,6 +78,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
+    private volatile @Nullable WriteBehindQueue writeQueue;
 
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
@@ -120,6 +123,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        stopWriteQueue();
         // closeConnection();
         initialized = false;
     }
@@ -137,24 +141,36 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state));
+        scheduleStore(item, date, state);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, date, state));
+        scheduleStore(item, date, state);
+    }
+
+    private void scheduleStore(Item item, @Nullable ZonedDateTime date, State state) {
+        WriteBehindQueue writeQueue = this.writeQueue;
+        if (writeQueue == null) {
+            scheduler.execute(() -> internalStore(item, date, state));
+        } else if (state instanceof UnDefType) {
+            logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
+        } else {
+            // Capture the time of the state change now, since the value is written later on
+            writeQueue.offer(new PendingItemValue(item, state, date != null ? date : ZonedDateTime.now()));
+        }
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state) {
@@ -181,6 +197,38 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    private synchronized boolean internalStore(List<PendingItemValue> values) {
+        Item item = values.get(0).item();
+        if (!checkDBAccessability()) {
+            logger.warn(
+                    "JDBC::store: No connection to database. Cannot persist {} states for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    values.size(), item, errCnt, conf.getErrReconnectThreshold());
+            return false;
+        }
+        try {
+            long timerStart = System.currentTimeMillis();
+            storeItemValues(item, values);
+            if (logger.isDebugEnabled()) {
+                logger.debug("JDBC: Stored {} states of item '{}' in SQL database at {} in {} ms.", values.size(),
+                        item.getName(), new Date(), System.currentTimeMillis() - timerStart);
+            }
+            return true;
+        } catch (JdbcException e) {
+            logger.warn("JDBC::store: Unable to store item", e);
+            return false;
+        }
+    }
+
+    /**
+     * Writes the values still pending in the write-behind queue, so that queries and removals see them.
+     */
+    private void flushWriteQueue() {
+        WriteBehindQueue writeQueue = this.writeQueue;
+        if (writeQueue != null) {
+            writeQueue.flush();
+        }
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return getItems();
@@ -196,6 +244,24 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
      */
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
+        return query(filter, 0);
+    }
+
+    /**
+     * Queries the {@link PersistenceService} for data with a given filter
+     * criteria, downsampling the values of a number item in the database.
+     *
+     * This is meant for callers that display the values and ask for a point budget, like charts. The values are
+     * only downsampled for unpaged queries with a begin date.
+     *
+     * @param filter
+     *            the filter to apply to the query
+     * @param maxPoints
+     *            the maximum number of values to return, or 0 to return the stored values
+     * @return a time series of items
+     */
+    public Iterable<HistoricItem> query(FilterCriteria filter, int maxPoints) {
+        flushWriteQueue();
         if (!checkDBAccessability()) {
             logger.warn("JDBC::query: database not connected, query aborted for item '{}'", filter.getItemName());
             return List.of();
@@ -239,10 +305,16 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
         try {
             long timerStart = System.currentTimeMillis();
-            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+            Iterable<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item,
+                    maxPoints);
             if (logger.isDebugEnabled()) {
-                logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
-                        System.currentTimeMillis() - timerStart);
+                if (items instanceof List<HistoricItem> list) {
+                    logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, list.size(),
+                            System.currentTimeMillis() - timerStart);
+                } else {
+                    logger.debug("JDBC: Query for item '{}' is streamed, prepared in {} ms", itemName,
+                            System.currentTimeMillis() - timerStart);
+                }
             }
             // Success
             errCnt = 0;
@@ -255,6 +327,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
+        stopWriteQueue();
 
         conf = new JdbcConfiguration(configuration);
         if (conf.valid && checkDBAccessability()) {
@@ -271,9 +344,39 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             initialized = false;
         }
 
+        if (conf.isWriteBehindEnabled()) {
+            WriteBehindQueue writeQueue = new WriteBehindQueue(conf.getWriteQueueCapacity(), conf.getWriteBatchSize(),
+                    conf.getWriteFlushInterval(), conf.getWriteQueueOverflow(), scheduler, this::internalStore);
+            writeQueue.start();
+            this.writeQueue = writeQueue;
+        }
+
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
 
+    private void stopWriteQueue() {
+        WriteBehindQueue writeQueue = this.writeQueue;
+        if (writeQueue != null) {
+            this.writeQueue = null;
+            writeQueue.stop();
+        }
+    }
+
+    /**
+     * Get the write-behind queue, if enabled.
+     */
+    public @Nullable WriteBehindQueue getWriteQueue() {
+        return writeQueue;
+    }
+
+    /**
+     * Get the SQL statement cache of the database DAO, if configured.
+     */
+    public @Nullable SqlStatementCache getStatementCache() {
+        JdbcConfiguration conf = this.conf;
+        return conf == null ? null : conf.getDBDAO().getStatementCache();
+    }
+
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of(PersistenceStrategy.Globals.CHANGE);
@@ -281,6 +384,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public boolean remove(FilterCriteria filter) throws IllegalArgumentException {
+        flushWriteQueue();
         if (!checkDBAccessability()) {
             logger.warn("JDBC::remove: database not connected, remove aborted for item '{}'", filter.getItemName());
             return false;
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
+import org.openhab.persistence.jdbc.internal.utils.MovingAverage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded write-behind queue collecting item values until either the batch size is reached or the flush interval
+ * has elapsed. On flush, pending values are grouped per item and handed over to the store function in chunks of at
+ * most batch size values, so that each chunk can be written with a single batch statement. The store function returns
+ * whether the chunk was written; only written values are counted as stored.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class WriteBehindQueue {
+
+    /**
+     * Policy applied when a value is offered while the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** The new value is dropped. */
+        DROP,
+        /** The caller is blocked until space is available or the block timeout has elapsed. */
+        BLOCK
+    }
+
+    private static final long BLOCK_TIMEOUT_MILLIS = 5000;
+
+    private final Logger logger = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    private final BlockingQueue<PendingItemValue> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final ScheduledExecutorService scheduler;
+    private final Predicate<List<PendingItemValue>> storeFunction;
+
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong storedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final MovingAverage flushTimeAverage = new MovingAverage(50);
+    private volatile long lastFlushMillis;
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    public WriteBehindQueue(int capacity, int batchSize, long flushIntervalMillis, OverflowPolicy overflowPolicy,
+            ScheduledExecutorService scheduler, Predicate<List<PendingItemValue>> storeFunction) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.overflowPolicy = overflowPolicy;
+        this.scheduler = scheduler;
+        this.storeFunction = storeFunction;
+    }
+
+    public synchronized void start() {
+        if (flushJob == null) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic flush job and writes all values still pending.
+     */
+    public void stop() {
+        synchronized (this) {
+            ScheduledFuture<?> flushJob = this.flushJob;
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                this.flushJob = null;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Adds a value to the queue, applying the configured {@link OverflowPolicy} if the queue is full.
+     *
+     * @param value value to be stored
+     * @return true if the value was queued, false if it was dropped
+     */
+    public boolean offer(PendingItemValue value) {
+        boolean queued;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queued = queue.offer(value, BLOCK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+        } else {
+            queued = queue.offer(value);
+        }
+        if (!queued) {
+            long dropped = droppedCount.incrementAndGet();
+            logger.debug("JDBC::offer: write queue is full, dropped state '{}' for item '{}' ({} dropped in total)",
+                    value.state(), value.item().getName(), dropped);
+            return false;
+        }
+        if (queue.size() >= batchSize && flushPending.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Drains the queue and stores all pending values grouped per item.
+     */
+    public synchronized void flush() {
+        flushPending.set(false);
+        List<PendingItemValue> drained = new ArrayList<>(queue.size());
+        queue.drainTo(drained);
+        if (drained.isEmpty()) {
+            return;
+        }
+        long timerStart = System.currentTimeMillis();
+        Map<String, List<PendingItemValue>> valuesPerItem = new LinkedHashMap<>();
+        for (PendingItemValue value : drained) {
+            valuesPerItem.computeIfAbsent(value.item().getName(), k -> new ArrayList<>()).add(value);
+        }
+        int stored = 0;
+        for (List<PendingItemValue> values : valuesPerItem.values()) {
+            for (int fromIndex = 0; fromIndex < values.size(); fromIndex += batchSize) {
+                List<PendingItemValue> chunk = values.subList(fromIndex,
+                        Math.min(fromIndex + batchSize, values.size()));
+                try {
+                    if (storeFunction.test(chunk)) {
+                        stored += chunk.size();
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("JDBC::flush: Unable to store {} values for item '{}'", chunk.size(),
+                            chunk.get(0).item().getName(), e);
+                }
+            }
+        }
+        lastFlushMillis = System.currentTimeMillis() - timerStart;
+        flushTimeAverage.add(lastFlushMillis);
+        flushCount.incrementAndGet();
+        storedCount.addAndGet(stored);
+        logger.debug("JDBC::flush: stored {} of {} values of {} items in {} ms", stored, drained.size(),
+                valuesPerItem.size(), lastFlushMillis);
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getStoredCount() {
+        return storedCount.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getLastFlushMillis() {
+        return lastFlushMillis;
+    }
+
+    public synchronized double getAverageFlushMillis() {
+        return flushTimeAverage.getAverageDouble();
+    }
+}
@@ -34,6 +34,8 @@ import org.openhab.persistence.jdbc.internal.ItemTableCheckEntry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntryStatus;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceService;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceServiceConstants;
+import org.openhab.persistence.jdbc.internal.WriteBehindQueue;
+import org.openhab.persistence.jdbc.internal.db.SqlStatementCache;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -51,6 +53,7 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String CMD_SCHEMA = "schema";
     private static final String CMD_TABLES = "tables";
     private static final String CMD_RELOAD = "reload";
+    private static final String CMD_STATS = "stats";
     private static final String SUBCMD_SCHEMA_CHECK = "check";
     private static final String SUBCMD_SCHEMA_FIX = "fix";
     private static final String SUBCMD_TABLES_LIST = "list";
@@ -58,7 +61,7 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String PARAMETER_ALL = "all";
     private static final String PARAMETER_FORCE = "force";
     private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
-            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD), false);
+            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD, CMD_STATS), false);
     private static final StringsCompleter SUBCMD_SCHEMA_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_SCHEMA_CHECK, SUBCMD_SCHEMA_FIX), false);
     private static final StringsCompleter SUBCMD_TABLES_COMPLETER = new StringsCompleter(
@@ -135,6 +138,9 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         } else if (args.length == 1 && CMD_RELOAD.equalsIgnoreCase(args[0])) {
             reload(persistenceService, console);
             return true;
+        } else if (args.length == 1 && CMD_STATS.equalsIgnoreCase(args[0])) {
+            printStatistics(persistenceService, console);
+            return true;
         }
         return false;
     }
@@ -252,6 +258,29 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         console.println("Item index reloaded.");
     }
 
+    private void printStatistics(JdbcPersistenceService persistenceService, Console console) {
+        WriteBehindQueue writeQueue = persistenceService.getWriteQueue();
+        if (writeQueue == null) {
+            console.println("Write-behind queue: disabled");
+        } else {
+            console.println("Write-behind queue:");
+            console.println(String.format("  %-20s%d/%d", "Queue depth", writeQueue.getQueueDepth(),
+                    writeQueue.getCapacity()));
+            console.println(String.format("  %-20s%d", "Stored values", writeQueue.getStoredCount()));
+            console.println(String.format("  %-20s%d", "Dropped values", writeQueue.getDroppedCount()));
+            console.println(String.format("  %-20s%d", "Flushes", writeQueue.getFlushCount()));
+            console.println(String.format("  %-20s%d ms", "Last flush", writeQueue.getLastFlushMillis()));
+            console.println(String.format("  %-20s%.2f ms", "Average flush", writeQueue.getAverageFlushMillis()));
+        }
+        SqlStatementCache statementCache = persistenceService.getStatementCache();
+        if (statementCache != null) {
+            console.println("Statement cache:");
+            console.println(String.format("  %-20s%d", "Statements", statementCache.size()));
+            console.println(String.format("  %-20s%d", "Hits", statementCache.getHitCount()));
+            console.println(String.format("  %-20s%d", "Misses", statementCache.getMissCount()));
+        }
+    }
+
     @Override
     public List<String> getUsages() {
         return Arrays.asList(buildCommandUsage(CMD_SCHEMA + " " + SUBCMD_SCHEMA_CHECK, "check schema integrity"),
@@ -261,7 +290,8 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 buildCommandUsage(
                         CMD_TABLES + " " + SUBCMD_TABLES_CLEAN + " [<itemName>]" + " [" + PARAMETER_FORCE + "]",
                         "clean inconsistent items (remove from index and drop tables)"),
-                buildCommandUsage(CMD_RELOAD, "reload item index/schema"));
+                buildCommandUsage(CMD_RELOAD, "reload item index/schema"),
+                buildCommandUsage(CMD_STATS, "show write statistics"));
     }
 
     @Override
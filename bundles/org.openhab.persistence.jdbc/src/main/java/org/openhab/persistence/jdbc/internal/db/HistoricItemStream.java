@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import java.lang.ref.Cleaner;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.HistoricItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lazily reads the rows of a query with a forward-only cursor instead of loading the complete result into memory.
+ *
+ * The query is executed once, when {@link #iterator()} is called for the first time, so the result can only be iterated
+ * once. The pooled connection is returned as soon as the last row was read, reading failed or {@link #close()} was
+ * called. Callers that stop reading early should close the stream; streams that are abandoned without being closed
+ * return their connection once they become unreachable.
+ *
+ * Errors while executing the query or reading the result are thrown as {@link IllegalStateException}, so a failed
+ * read can not be mistaken for the end of the data.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class HistoricItemStream implements Iterable<HistoricItem>, AutoCloseable {
+
+    /**
+     * Maps the time and value column of a row to a {@link HistoricItem}.
+     */
+    @FunctionalInterface
+    public interface RowMapper {
+        HistoricItem map(Object time, Object value);
+    }
+
+    /**
+     * Configures connection and statement before the query is executed, e.g. to enable cursor based fetching.
+     */
+    @FunctionalInterface
+    public interface StatementPreparer {
+        void prepare(Connection connection, Statement statement) throws SQLException;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoricItemStream.class);
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final DataSource dataSource;
+    private final String sql;
+    private final StatementPreparer preparer;
+    private final RowMapper mapper;
+    private final Resources resources = new Resources();
+    private final Cleaner.Cleanable cleanable;
+    private boolean iterated = false;
+    private boolean closed = false;
+
+    public HistoricItemStream(DataSource dataSource, String sql, StatementPreparer preparer, RowMapper mapper) {
+        this.dataSource = dataSource;
+        this.sql = sql;
+        this.preparer = preparer;
+        this.mapper = mapper;
+        this.cleanable = CLEANER.register(this, resources);
+    }
+
+    /**
+     * Executes the query and returns an iterator over its rows.
+     *
+     * @throws IllegalStateException if the result was already iterated or closed, or the query failed
+     */
+    @Override
+    public synchronized Iterator<HistoricItem> iterator() {
+        if (iterated || closed) {
+            throw new IllegalStateException("The query result can only be iterated once");
+        }
+        iterated = true;
+        try {
+            Connection connection = dataSource.getConnection();
+            resources.connection = connection;
+            Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            resources.statement = statement;
+            preparer.prepare(connection, statement);
+            resources.resultSet = statement.executeQuery(sql);
+        } catch (SQLException e) {
+            close();
+            throw new IllegalStateException("JDBC query failed: " + e.getMessage(), e);
+        }
+        return new Cursor();
+    }
+
+    /**
+     * Returns the pooled connection, ending the iteration.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        cleanable.clean();
+    }
+
+    private class Cursor implements Iterator<HistoricItem> {
+        private @Nullable HistoricItem next;
+        private boolean done = false;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                next = fetch();
+            }
+            return next != null;
+        }
+
+        @Override
+        public HistoricItem next() {
+            hasNext();
+            HistoricItem item = next;
+            if (item == null) {
+                throw new NoSuchElementException();
+            }
+            next = null;
+            return item;
+        }
+
+        private @Nullable HistoricItem fetch() {
+            ResultSet resultSet = resources.resultSet;
+            try {
+                while (resultSet != null && resultSet.next()) {
+                    Object time = resultSet.getObject(1);
+                    Object value = resultSet.getObject(2);
+                    if (time != null && value != null) {
+                        return mapper.map(time, value);
+                    }
+                }
+            } catch (SQLException e) {
+                done = true;
+                close();
+                throw new IllegalStateException("Reading JDBC query result failed: " + e.getMessage(), e);
+            } catch (RuntimeException e) {
+                done = true;
+                close();
+                throw e;
+            }
+            done = true;
+            close();
+            return null;
+        }
+    }
+
+    /**
+     * Holds the JDBC resources of the stream. Kept separate from the stream so it can serve as cleaning action.
+     */
+    private static class Resources implements Runnable {
+        private @Nullable Connection connection;
+        private @Nullable Statement statement;
+        private @Nullable ResultSet resultSet;
+
+        @Override
+        public void run() {
+            try {
+                ResultSet resultSet = this.resultSet;
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                Statement statement = this.statement;
+                if (statement != null) {
+                    statement.close();
+                }
+            } catch (SQLException e) {
+                LOGGER.debug("JDBC::HistoricItemStream: closing cursor failed: {}", e.getMessage());
+            }
+            Connection connection = this.connection;
+            if (connection != null) {
+                try {
+                    if (!connection.getAutoCommit()) {
+                        connection.rollback();
+                        connection.setAutoCommit(true);
+                    }
+                } catch (SQLException e) {
+                    LOGGER.debug("JDBC::HistoricItemStream: resetting connection failed: {}", e.getMessage());
+                }
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    LOGGER.debug("JDBC::HistoricItemStream: closing connection failed: {}", e.getMessage());
+                }
+            }
+            this.resultSet = null;
+            this.statement = null;
+            this.connection = null;
+        }
+    }
+}
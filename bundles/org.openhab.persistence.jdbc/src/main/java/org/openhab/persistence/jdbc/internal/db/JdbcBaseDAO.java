@@ -13,6 +13,10 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -56,10 +60,12 @@ import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
+import org.openhab.persistence.jdbc.internal.db.SqlStatementCache.Operation;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -78,6 +84,7 @@ public class JdbcBaseDAO {
     public final Properties databaseProps = new Properties();
     protected String urlSuffix = "";
     public final Map<String, String> sqlTypes = new HashMap<>();
+    protected final SqlStatementCache statementCache = new SqlStatementCache();
 
     // Get Database Meta data
     protected @Nullable DbMetaData dbMeta;
@@ -430,10 +437,9 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { storedVO.getTableName(), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = { storedVO.getValue(), storedVO.getValue() };
+        String sql = statementCache.get(storedVO.getTableName(), Operation.INSERT, storedVO.getDbType(),
+                () -> insertItemValueProvider(storedVO));
+        Object[] params = insertItemValueParams(storedVO);
         logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -444,10 +450,10 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+        String sql = statementCache.get(storedVO.getTableName(), Operation.INSERT_WITH_DATE, storedVO.getDbType(),
+                () -> insertItemValueWithDateProvider(storedVO));
         java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
+        Object[] params = insertItemValueWithDateParams(timestamp, storedVO);
         logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -456,6 +462,37 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores multiple values of one item with a single JDBC batch.
+     *
+     * @param tableName table of the item
+     * @param values values to store, all belonging to the same item
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(String tableName, List<PendingItemValue> values) throws JdbcSQLException {
+        if (values.isEmpty()) {
+            return;
+        }
+        String sql = "";
+        Object[][] params = new Object[values.size()][];
+        for (int i = 0; i < values.size(); i++) {
+            PendingItemValue value = values.get(i);
+            ItemVO storedVO = storeItemValueProvider(value.item(), value.state(), new ItemVO(tableName, null));
+            if (i == 0) {
+                sql = statementCache.get(tableName, Operation.INSERT_WITH_DATE, storedVO.getDbType(),
+                        () -> insertItemValueWithDateProvider(storedVO));
+            }
+            java.sql.Timestamp timestamp = new java.sql.Timestamp(value.date().toInstant().toEpochMilli());
+            params[i] = insertItemValueWithDateParams(timestamp, storedVO);
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.length);
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -478,6 +515,58 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    /**
+     * Returns the result of an unpaged query as a lazily read stream. Rows are fetched from the database in chunks of
+     * <code>fetchSize</code> rows while the result is iterated.
+     */
+    public Iterable<HistoricItem> doGetHistItemFilterQueryStream(Item item, FilterCriteria filter,
+            int numberDecimalcount, String table, String name, ZoneId timeZone, int fetchSize) {
+        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterQueryStream sql={} fetchSize={}", sql, fetchSize);
+        // we already retrieve the unit here once as it is a very costly operation
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return new HistoricItemStream(Yank.getDefaultConnectionPool(), sql,
+                (connection, statement) -> prepareStreamingStatement(connection, statement, fetchSize),
+                (time, value) -> new JdbcHistoricItem(itemName, objectAsState(item, unit, value),
+                        objectAsZonedDateTime(time)));
+    }
+
+    /**
+     * Downsamples the values of a number item in the database. The time range of the filter is split into buckets of
+     * the given duration, and each bucket is reduced to a single value by the aggregate function.
+     *
+     * @return the aggregated values, or null if the database does not support aggregated queries.
+     */
+    public @Nullable List<HistoricItem> doGetHistItemAggregateQuery(NumberItem item, FilterCriteria filter,
+            int numberDecimalcount, String table, ZoneId timeZone, Duration bucket, String aggregation)
+            throws JdbcSQLException {
+        String sql = histItemAggregateQueryProvider(filter, numberDecimalcount, table, timeZone,
+                Math.max(bucket.getSeconds(), 1), aggregation);
+        if (sql == null) {
+            return null;
+        }
+        logger.debug("JDBC::doGetHistItemAggregateQuery sql={}", sql);
+        List<Object[]> m;
+        try {
+            m = Yank.queryObjectArrays(sql, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        if (m == null) {
+            logger.debug("JDBC::doGetHistItemAggregateQuery Query failed. Returning an empty list.");
+            return List.of();
+        }
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item.getUnit();
+        // aggregates are always numeric, regardless of the column type used for the item table
+        return m.stream().filter(o -> o[0] != null && o[1] != null).map(o -> {
+            double value = objectAsNumber(o[1]).doubleValue();
+            State state = unit == null ? new DecimalType(value) : QuantityType.valueOf(value, unit);
+            return new JdbcHistoricItem(itemName, state, objectAsZonedDateTime(o[0]));
+        }).collect(Collectors.<HistoricItem> toList());
+    }
+
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterDeleteProvider(filter, table, timeZone);
         logger.debug("JDBC::doDeleteItemValues sql={}", sql);
@@ -489,8 +578,8 @@ public class JdbcBaseDAO {
     }
 
     public long doGetRowCount(String tableName) throws JdbcSQLException {
-        final String sql = StringUtilsExt.replaceArrayMerge(sqlGetRowCount, new String[] { "#tableName#" },
-                new String[] { tableName });
+        final String sql = statementCache.get(tableName, Operation.ROW_COUNT, () -> StringUtilsExt
+                .replaceArrayMerge(sqlGetRowCount, new String[] { "#tableName#" }, new String[] { tableName }));
         logger.debug("JDBC::doGetRowCount sql={}", sql);
         try {
             final @Nullable Long result = Yank.queryScalar(sql, Long.class, null);
@@ -528,6 +617,38 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Builds a query that returns one row per time bucket, containing the bucket start and the aggregated value.
+     * Databases without a suitable way to truncate timestamps return null, which disables aggregation.
+     *
+     * @param bucketSeconds the width of a time bucket in seconds
+     * @param aggregation the SQL aggregate function, one of AVG, MIN or MAX
+     */
+    protected @Nullable String histItemAggregateQueryProvider(FilterCriteria filter, int numberDecimalcount,
+            String table, ZoneId timeZone, long bucketSeconds, String aggregation) {
+        return null;
+    }
+
+    protected String histItemAggregateQuery(FilterCriteria filter, String table, ZoneId timeZone,
+            String bucketExpression, String valueExpression) {
+        // SELECT FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / 60) * 60) AS bucket, ROUND(AVG(value),3) FROM
+        // number_item_0114 WHERE TIME>='...' AND TIME<='...' GROUP BY 1 ORDER BY 1 ASC
+        String queryString = "SELECT " + bucketExpression + " AS bucket, " + valueExpression + " FROM " + table
+                + resolveTimeFilter(filter, timeZone) + " GROUP BY 1"
+                + ((filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY 1 ASC" : " ORDER BY 1 DESC");
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    /**
+     * Configures a statement to read its result in chunks of <code>fetchSize</code> rows. Drivers that need further
+     * settings to use a server side cursor override this.
+     */
+    protected void prepareStreamingStatement(Connection connection, Statement statement, int fetchSize)
+            throws SQLException {
+        statement.setFetchSize(fetchSize);
+    }
+
     protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
@@ -553,6 +674,25 @@ public class JdbcBaseDAO {
         return filterString;
     }
 
+    protected String insertItemValueProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { storedVO.getTableName(), sqlTypes.get("tablePrimaryValue") });
+    }
+
+    protected Object[] insertItemValueParams(ItemVO storedVO) {
+        return new Object[] { storedVO.getValue(), storedVO.getValue() };
+    }
+
+    protected String insertItemValueWithDateProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+    }
+
+    protected Object[] insertItemValueWithDateParams(java.sql.Timestamp timestamp, ItemVO storedVO) {
+        return new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
     private String updateItemTableNamesProvider(ItemVO itemTable) {
         String queryString = "ALTER TABLE " + itemTable.getTableName() + " RENAME TO " + itemTable.getNewTableName();
         logger.debug("JDBC::query queryString = {}", queryString);
@@ -792,6 +932,10 @@ public class JdbcBaseDAO {
         return sqlTypes;
     }
 
+    public SqlStatementCache getStatementCache() {
+        return statementCache;
+    }
+
     public String getDataType(Item item) {
         String dataType = sqlTypes.get(getItemType(item));
         if (dataType == null) {
@@ -12,15 +12,12 @@
  */
 package org.openhab.persistence.jdbc.internal.db;
 
-import java.time.ZonedDateTime;
+import java.time.ZoneId;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.knowm.yank.Yank;
-import org.knowm.yank.exceptions.YankSQLException;
-import org.openhab.core.items.Item;
-import org.openhab.core.types.State;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
-import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -81,40 +78,44 @@ public class JdbcH2DAO extends JdbcBaseDAO {
      * ITEM DAOs *
      *************/
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+    protected String insertItemValueProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
                 new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
                 new String[] { storedVO.getTableName(), storedVO.getDbType(), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = { storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
-        }
     }
 
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+    protected Object[] insertItemValueParams(ItemVO storedVO) {
+        return new Object[] { storedVO.getValue() };
+    }
+
+    @Override
+    protected String insertItemValueWithDateProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
                 new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
                 new String[] { storedVO.getTableName(), storedVO.getDbType(), "?" });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
-        }
+    }
+
+    @Override
+    protected Object[] insertItemValueWithDateParams(java.sql.Timestamp timestamp, ItemVO storedVO) {
+        return new Object[] { timestamp, storedVO.getValue() };
     }
 
     /****************************
      * SQL generation Providers *
      ****************************/
 
+    @Override
+    protected @Nullable String histItemAggregateQueryProvider(FilterCriteria filter, int numberDecimalcount,
+            String table, ZoneId timeZone, long bucketSeconds, String aggregation) {
+        String epoch = "TIMESTAMP '1970-01-01 00:00:00'";
+        String bucket = "DATEADD(SECOND, DATEDIFF(SECOND, " + epoch + ", time) / " + bucketSeconds + " * "
+                + bucketSeconds + ", " + epoch + ")";
+        String value = numberDecimalcount > -1 ? "ROUND(" + aggregation + "(value)," + numberDecimalcount + ")"
+                : aggregation + "(value)";
+        return histItemAggregateQuery(filter, table, timeZone, bucket, value);
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
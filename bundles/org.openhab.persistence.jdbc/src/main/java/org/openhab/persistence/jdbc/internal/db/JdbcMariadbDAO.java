@@ -12,12 +12,14 @@
  */
 package org.openhab.persistence.jdbc.internal.db;
 
+import java.time.ZoneId;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
+import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.slf4j.Logger;
@@ -68,8 +70,10 @@ public class JdbcMariadbDAO extends JdbcBaseDAO {
     private void initDbProps() {
         // Performancetuning
         databaseProps.setProperty("dataSource.cachePrepStmts", "true");
-        databaseProps.setProperty("dataSource.prepStmtCacheSize", "250");
+        // Every item table has its own insert statement, so the cache has to hold a few per item
+        databaseProps.setProperty("dataSource.prepStmtCacheSize", "1024");
         databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
+        databaseProps.setProperty("dataSource.useServerPrepStmts", "true");
         databaseProps.setProperty("dataSource.jdbcCompliantTruncation", "false");// jdbc standard max varchar max length
         // of 21845
 
@@ -116,6 +120,15 @@ public class JdbcMariadbDAO extends JdbcBaseDAO {
      * SQL generation Providers *
      ****************************/
 
+    @Override
+    protected @Nullable String histItemAggregateQueryProvider(FilterCriteria filter, int numberDecimalcount,
+            String table, ZoneId timeZone, long bucketSeconds, String aggregation) {
+        String bucket = "FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / " + bucketSeconds + ") * " + bucketSeconds + ")";
+        String value = numberDecimalcount > -1 ? "ROUND(" + aggregation + "(value)," + numberDecimalcount + ")"
+                : aggregation + "(value)";
+        return histItemAggregateQuery(filter, table, timeZone, bucket, value);
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
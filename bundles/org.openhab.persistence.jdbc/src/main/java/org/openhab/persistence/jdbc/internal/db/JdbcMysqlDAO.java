@@ -12,12 +12,17 @@
  */
 package org.openhab.persistence.jdbc.internal.db;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.ZoneId;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
+import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.slf4j.Logger;
@@ -72,8 +77,12 @@ public class JdbcMysqlDAO extends JdbcBaseDAO {
     private void initDbProps() {
         // Performancetuning
         databaseProps.setProperty("dataSource.cachePrepStmts", "true");
-        databaseProps.setProperty("dataSource.prepStmtCacheSize", "250");
+        // Every item table has its own insert statement, so the cache has to hold a few per item
+        databaseProps.setProperty("dataSource.prepStmtCacheSize", "1024");
         databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
+        databaseProps.setProperty("dataSource.useServerPrepStmts", "true");
+        // Send batches of the write-behind queue as multi-row inserts
+        databaseProps.setProperty("dataSource.rewriteBatchedStatements", "true");
         databaseProps.setProperty("dataSource.jdbcCompliantTruncation", "false");// jdbc standard max varchar max length
                                                                                  // of 21845
 
@@ -116,10 +125,26 @@ public class JdbcMysqlDAO extends JdbcBaseDAO {
      * ITEM DAOs *
      *************/
 
+    @Override
+    protected void prepareStreamingStatement(Connection connection, Statement statement, int fetchSize)
+            throws SQLException {
+        // Connector/J only streams the result row by row if the fetch size is Integer.MIN_VALUE
+        statement.setFetchSize(Integer.MIN_VALUE);
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
 
+    @Override
+    protected @Nullable String histItemAggregateQueryProvider(FilterCriteria filter, int numberDecimalcount,
+            String table, ZoneId timeZone, long bucketSeconds, String aggregation) {
+        String bucket = "FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / " + bucketSeconds + ") * " + bucketSeconds + ")";
+        String value = numberDecimalcount > -1 ? "ROUND(" + aggregation + "(value)," + numberDecimalcount + ")"
+                : aggregation + "(value)";
+        return histItemAggregateQuery(filter, table, timeZone, bucket, value);
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
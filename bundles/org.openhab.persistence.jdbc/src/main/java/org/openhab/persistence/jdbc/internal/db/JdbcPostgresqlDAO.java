@@ -12,17 +12,19 @@
  */
 package org.openhab.persistence.jdbc.internal.db;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
-import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
-import org.openhab.core.types.State;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
@@ -127,6 +129,11 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         // databaseProps.setProperty("dataSource.cachePrepStmts", "true");
         // databaseProps.setProperty("dataSource.prepStmtCacheSize", "250");
         // databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
+        // Use server side prepared statements from the first execution and keep them for every item table
+        databaseProps.setProperty("dataSource.prepareThreshold", "1");
+        databaseProps.setProperty("dataSource.preparedStatementCacheQueries", "1024");
+        // Send batches of the write-behind queue as multi-row inserts
+        databaseProps.setProperty("dataSource.reWriteBatchedInserts", "true");
 
         // Properties for HikariCP
         databaseProps.setProperty("driverClassName", DRIVER_CLASS_NAME);
@@ -224,34 +231,35 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
     }
 
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+    protected String insertItemValueProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
                 new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
                 new String[] { storedVO.getTableName(), storedVO.getDbType(), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = { storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
-        }
     }
 
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+    protected Object[] insertItemValueParams(ItemVO storedVO) {
+        return new Object[] { storedVO.getValue() };
+    }
+
+    @Override
+    protected String insertItemValueWithDateProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
                 new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
                 new String[] { storedVO.getTableName(), storedVO.getDbType(), "?" });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
-        }
+    }
+
+    @Override
+    protected Object[] insertItemValueWithDateParams(java.sql.Timestamp timestamp, ItemVO storedVO) {
+        return new Object[] { timestamp, storedVO.getValue() };
+    }
+
+    @Override
+    protected void prepareStreamingStatement(Connection connection, Statement statement, int fetchSize)
+            throws SQLException {
+        // the driver only uses a cursor for fetching if auto commit is disabled
+        connection.setAutoCommit(false);
+        super.prepareStreamingStatement(connection, statement, fetchSize);
     }
 
     /****************************
@@ -293,6 +301,22 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         return queryString;
     }
 
+    @Override
+    protected @Nullable String histItemAggregateQueryProvider(FilterCriteria filter, int numberDecimalcount,
+            String table, ZoneId timeZone, long bucketSeconds, String aggregation) {
+        // TIMESTAMP columns have no time zone, so the epoch is only used to align the buckets
+        String bucket = "date_trunc('second', time) - CAST(FLOOR(EXTRACT(EPOCH FROM time)) AS BIGINT) % "
+                + bucketSeconds + " * INTERVAL '1 second'";
+        return histItemAggregateQuery(filter, table, timeZone, bucket,
+                aggregateValueExpression(numberDecimalcount, aggregation));
+    }
+
+    protected String aggregateValueExpression(int numberDecimalcount, String aggregation) {
+        return numberDecimalcount > -1
+                ? "ROUND(CAST (" + aggregation + "(value) AS numeric)," + numberDecimalcount + ")"
+                : aggregation + "(value)";
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
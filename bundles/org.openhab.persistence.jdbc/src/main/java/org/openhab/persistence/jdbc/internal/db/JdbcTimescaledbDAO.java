@@ -12,11 +12,14 @@
  */
 package org.openhab.persistence.jdbc.internal.db;
 
+import java.time.ZoneId;
 import java.util.Properties;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
+import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -58,4 +61,12 @@ public class JdbcTimescaledbDAO extends JdbcPostgresqlDAO {
             throw new JdbcSQLException(e);
         }
     }
+
+    @Override
+    protected @Nullable String histItemAggregateQueryProvider(FilterCriteria filter, int numberDecimalcount,
+            String table, ZoneId timeZone, long bucketSeconds, String aggregation) {
+        String bucket = "time_bucket(INTERVAL '" + bucketSeconds + " seconds', time)";
+        return histItemAggregateQuery(filter, table, timeZone, bucket,
+                aggregateValueExpression(numberDecimalcount, aggregation));
+    }
 }
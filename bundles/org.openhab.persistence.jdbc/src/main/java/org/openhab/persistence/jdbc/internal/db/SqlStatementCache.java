@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Caches the SQL text of frequently executed statements per item table, operation and column type.
+ *
+ * Building the statements from their templates on every call creates a lot of short-lived strings. Reusing the
+ * identical text also lets the statement caches of the drivers recognize the statement. The column type is part of
+ * the key, because some databases cast the value to it in the statement, and it changes with the type of the item.
+ * Entries of a table must be invalidated whenever the table is renamed, dropped or altered.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class SqlStatementCache {
+
+    public enum Operation {
+        INSERT,
+        INSERT_WITH_DATE,
+        ROW_COUNT
+    }
+
+    private record Key(String tableName, Operation operation, String dbType) {
+    }
+
+    private final Map<Key, String> statements = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Returns the cached SQL text for the given table and operation, building it on the first request.
+     */
+    public String get(String tableName, Operation operation, Supplier<String> provider) {
+        return get(tableName, operation, "", provider);
+    }
+
+    /**
+     * Returns the cached SQL text for the given table, operation and column type, building it on the first request.
+     */
+    public String get(String tableName, Operation operation, String dbType, Supplier<String> provider) {
+        Key key = new Key(tableName, operation, dbType);
+        String sql = statements.get(key);
+        if (sql != null) {
+            hitCount.incrementAndGet();
+            return sql;
+        }
+        missCount.incrementAndGet();
+        return statements.computeIfAbsent(key, k -> provider.get());
+    }
+
+    /**
+     * Removes all cached statements of a table.
+     */
+    public void invalidate(String tableName) {
+        statements.keySet().removeIf(key -> key.tableName().equalsIgnoreCase(tableName));
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.dto;
+
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+
+/**
+ * Represents an item value waiting in the write-behind queue to be stored.
+ *
+ * @param item the item the value belongs to
+ * @param state the state to store
+ * @param date the time of the state change, captured when the value was queued
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public record PendingItemValue(Item item, State state, ZonedDateTime date) {
+}
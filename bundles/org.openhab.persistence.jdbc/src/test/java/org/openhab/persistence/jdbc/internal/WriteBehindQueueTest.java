@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
+
+/**
+ * Tests the {@link WriteBehindQueue}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class WriteBehindQueueTest {
+
+    private final NumberItem item1 = new NumberItem("Item1");
+    private final NumberItem item2 = new NumberItem("Item2");
+    private final List<List<PendingItemValue>> storedChunks = new ArrayList<>();
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    public void setup() {
+        scheduler = mock(ScheduledExecutorService.class);
+        storedChunks.clear();
+    }
+
+    private WriteBehindQueue createQueue(int capacity, int batchSize) {
+        return new WriteBehindQueue(capacity, batchSize, 1000, WriteBehindQueue.OverflowPolicy.DROP, scheduler,
+                values -> storedChunks.add(List.copyOf(values)));
+    }
+
+    private PendingItemValue value(NumberItem item, int value) {
+        return new PendingItemValue(item, new DecimalType(value), ZonedDateTime.now());
+    }
+
+    @Test
+    void flushGroupsValuesPerItemAndSplitsChunksByBatchSize() {
+        WriteBehindQueue queue = createQueue(100, 2);
+        queue.offer(value(item1, 1));
+        queue.offer(value(item2, 2));
+        queue.offer(value(item1, 3));
+        queue.offer(value(item1, 4));
+
+        queue.flush();
+
+        assertThat(storedChunks.size(), is(3));
+        assertThat(storedChunks.get(0).size(), is(2));
+        assertThat(storedChunks.get(0).get(0).item(), is(item1));
+        assertThat(storedChunks.get(0).get(1).state(), is(new DecimalType(3)));
+        assertThat(storedChunks.get(1).size(), is(1));
+        assertThat(storedChunks.get(1).get(0).state(), is(new DecimalType(4)));
+        assertThat(storedChunks.get(2).get(0).item(), is(item2));
+        assertThat(queue.getQueueDepth(), is(0));
+        assertThat(queue.getStoredCount(), is(4L));
+        assertThat(queue.getFlushCount(), is(1L));
+    }
+
+    @Test
+    void flushCountsOnlyChunksThatWereWritten() {
+        WriteBehindQueue queue = new WriteBehindQueue(100, 2, 1000, WriteBehindQueue.OverflowPolicy.DROP, scheduler,
+                values -> values.get(0).item() == item1);
+        queue.offer(value(item1, 1));
+        queue.offer(value(item2, 2));
+        queue.offer(value(item1, 3));
+        queue.offer(value(item2, 4));
+        queue.offer(value(item2, 5));
+
+        queue.flush();
+
+        assertThat(queue.getQueueDepth(), is(0));
+        assertThat(queue.getStoredCount(), is(2L));
+        assertThat(queue.getFlushCount(), is(1L));
+    }
+
+    @Test
+    void offerDropsValuesWhenQueueIsFull() {
+        WriteBehindQueue queue = createQueue(2, 10);
+        assertThat(queue.offer(value(item1, 1)), is(true));
+        assertThat(queue.offer(value(item1, 2)), is(true));
+        assertThat(queue.offer(value(item1, 3)), is(false));
+
+        assertThat(queue.getQueueDepth(), is(2));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+
+    @Test
+    void offerSchedulesFlushWhenBatchSizeIsReached() {
+        WriteBehindQueue queue = createQueue(100, 3);
+        queue.offer(value(item1, 1));
+        queue.offer(value(item1, 2));
+        verify(scheduler, never()).execute(any());
+
+        queue.offer(value(item1, 3));
+        queue.offer(value(item1, 4));
+        verify(scheduler, times(1)).execute(any());
+    }
+
+    @Test
+    void flushWithEmptyQueueDoesNotStore() {
+        WriteBehindQueue queue = createQueue(100, 3);
+        queue.flush();
+
+        assertThat(storedChunks.isEmpty(), is(true));
+        assertThat(queue.getFlushCount(), is(0L));
+    }
+}
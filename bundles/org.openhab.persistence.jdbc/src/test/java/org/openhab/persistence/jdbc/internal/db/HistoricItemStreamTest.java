@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+
+/**
+ * Tests reading the rows of a {@link HistoricItemStream} and returning its connection.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class HistoricItemStreamTest {
+    private @Mock @NonNullByDefault({}) DataSource dataSource;
+    private @Mock @NonNullByDefault({}) Connection connection;
+    private @Mock @NonNullByDefault({}) Statement statement;
+    private @Mock @NonNullByDefault({}) ResultSet resultSet;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.createStatement(anyInt(), anyInt())).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(anyInt())).thenReturn(1);
+    }
+
+    private HistoricItemStream createStream() {
+        return new HistoricItemStream(dataSource, "SELECT time, value FROM item0001", (connection, statement) -> {
+        }, (time, value) -> new JdbcHistoricItem("item", new DecimalType((Integer) value), ZonedDateTime.now()));
+    }
+
+    @Test
+    public void readingAllRowsReturnsConnection() throws SQLException {
+        int count = 0;
+        for (HistoricItem item : createStream()) {
+            assertEquals(new DecimalType(1), item.getState());
+            count++;
+        }
+
+        assertEquals(2, count);
+        verify(statement, times(1)).executeQuery(anyString());
+        verify(connection).close();
+    }
+
+    @Test
+    public void queryIsOnlyExecutedOnce() throws SQLException {
+        HistoricItemStream stream = createStream();
+        stream.iterator();
+
+        assertThrows(IllegalStateException.class, stream::iterator);
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    public void closeReturnsConnectionOfPartiallyReadResult() throws SQLException {
+        HistoricItemStream stream = createStream();
+        Iterator<HistoricItem> iterator = stream.iterator();
+        iterator.next();
+        verify(connection, never()).close();
+
+        stream.close();
+
+        verify(resultSet).close();
+        verify(connection).close();
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void failedReadIsThrownAndReturnsConnection() throws SQLException {
+        when(resultSet.next()).thenReturn(true).thenThrow(new SQLException("connection lost"));
+        Iterator<HistoricItem> iterator = createStream().iterator();
+        iterator.next();
+
+        assertThrows(IllegalStateException.class, iterator::hasNext);
+        verify(connection).close();
+    }
+
+    @Test
+    public void failedQueryIsThrownAndReturnsConnection() throws SQLException {
+        when(statement.executeQuery(anyString())).thenThrow(new SQLException("syntax error"));
+
+        assertThrows(IllegalStateException.class, createStream()::iterator);
+        verify(connection).close();
+    }
+}
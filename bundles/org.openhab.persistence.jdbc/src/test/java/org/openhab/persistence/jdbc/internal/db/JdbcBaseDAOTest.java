@@ -13,6 +13,7 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
@@ -194,6 +195,26 @@ public class JdbcBaseDAOTest {
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
     }
 
+    @Test
+    void testHistItemAggregateQueryProviderIsNotSupportedByDefault() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+
+        String sql = jdbcBaseDAO.histItemAggregateQueryProvider(filter, 0, DB_TABLE_NAME, UTC_ZONE_ID, 60, "AVG");
+        assertThat(sql, is(nullValue()));
+    }
+
+    @Test
+    void testHistItemAggregateQueryWithStartDateReturnsGroupedSelectQueryAscendingOrder() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = jdbcBaseDAO.histItemAggregateQuery(filter, DB_TABLE_NAME, UTC_ZONE_ID, "BUCKET(time)",
+                "AVG(value)");
+        assertThat(sql, is("SELECT BUCKET(time) AS bucket, AVG(value) FROM " + DB_TABLE_NAME + " WHERE TIME>='"
+                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'"
+                + " GROUP BY 1 ORDER BY 1 ASC"));
+    }
+
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
         String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.jdbc.internal.db.SqlStatementCache.Operation;
+
+/**
+ * Tests the {@link SqlStatementCache}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class SqlStatementCacheTest {
+
+    private final SqlStatementCache cache = new SqlStatementCache();
+    private final AtomicInteger builds = new AtomicInteger();
+
+    private String build(String sql) {
+        builds.incrementAndGet();
+        return sql;
+    }
+
+    @Test
+    void getBuildsStatementOncePerTableAndOperation() {
+        assertThat(cache.get("item0001", Operation.INSERT, () -> build("INSERT 1")), is("INSERT 1"));
+        assertThat(cache.get("item0001", Operation.INSERT, () -> build("INSERT 2")), is("INSERT 1"));
+        assertThat(cache.get("item0001", Operation.ROW_COUNT, () -> build("COUNT 1")), is("COUNT 1"));
+        assertThat(cache.get("item0002", Operation.INSERT, () -> build("INSERT 3")), is("INSERT 3"));
+
+        assertThat(builds.get(), is(3));
+        assertThat(cache.size(), is(3));
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(3L));
+    }
+
+    @Test
+    void changedColumnTypeBuildsNewStatement() {
+        assertThat(cache.get("item0001", Operation.INSERT, "DOUBLE", () -> build("INSERT AS DOUBLE")),
+                is("INSERT AS DOUBLE"));
+        // the type of the item has been changed
+        assertThat(cache.get("item0001", Operation.INSERT, "VARCHAR(65500)", () -> build("INSERT AS VARCHAR")),
+                is("INSERT AS VARCHAR"));
+        assertThat(cache.get("item0001", Operation.INSERT, "DOUBLE", () -> build("INSERT AS DOUBLE 2")),
+                is("INSERT AS DOUBLE"));
+
+        assertThat(builds.get(), is(2));
+    }
+
+    @Test
+    void invalidateRemovesAllStatementsOfTable() {
+        cache.get("item0001", Operation.INSERT, () -> build("INSERT 1"));
+        cache.get("item0001", Operation.INSERT_WITH_DATE, () -> build("INSERT DATE 1"));
+        cache.get("item0001", Operation.INSERT_WITH_DATE, "DOUBLE", () -> build("INSERT DATE DOUBLE 1"));
+        cache.get("item0002", Operation.INSERT, () -> build("INSERT 2"));
+
+        cache.invalidate("ITEM0001");
+
+        assertThat(cache.size(), is(1));
+        assertThat(cache.get("item0001", Operation.INSERT, () -> build("INSERT NEW")), is("INSERT NEW"));
+        assertThat(cache.get("item0002", Operation.INSERT, () -> build("INSERT OTHER")), is("INSERT 2"));
+    }
+}
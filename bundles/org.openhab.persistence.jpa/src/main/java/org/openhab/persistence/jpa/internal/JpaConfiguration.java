@@ -35,12 +35,25 @@ public class JpaConfiguration {
     private static final String CFG_USERNAME = "user";
     private static final String CFG_PASSWORD = "password";
     private static final String CFG_SYNCMAPPING = "syncmappings";
+    private static final String CFG_BATCH_SIZE = "batchSize";
+    private static final String CFG_FLUSH_INTERVAL = "flushInterval";
+    private static final String CFG_QUEUE_CAPACITY = "queueCapacity";
+    private static final String CFG_FETCH_SIZE = "fetchSize";
+
+    private static final int DEFAULT_BATCH_SIZE = 1;
+    private static final int DEFAULT_FLUSH_INTERVAL = 1000;
+    private static final int DEFAULT_QUEUE_CAPACITY = 10000;
+    private static final int DEFAULT_FETCH_SIZE = 0;
 
     public final String dbConnectionUrl;
     public final String dbDriverClass;
     public final String dbUserName;
     public final String dbPassword;
     public final String dbSyncMapping;
+    public final int batchSize;
+    public final int flushInterval;
+    public final int queueCapacity;
+    public final int fetchSize;
 
     public JpaConfiguration(final Map<String, @Nullable Object> properties) throws IllegalArgumentException {
         logger.debug("Creating JPA config...");
@@ -81,6 +94,38 @@ public class JpaConfiguration {
         }
         dbSyncMapping = param == null ? "" : param;
 
+        batchSize = getInt(properties, CFG_BATCH_SIZE, DEFAULT_BATCH_SIZE, 1);
+        flushInterval = getInt(properties, CFG_FLUSH_INTERVAL, DEFAULT_FLUSH_INTERVAL, 10);
+        queueCapacity = getInt(properties, CFG_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY, 1);
+        fetchSize = getInt(properties, CFG_FETCH_SIZE, DEFAULT_FETCH_SIZE, 0);
+        logger.debug("batchSize: {}, flushInterval: {}, queueCapacity: {}, fetchSize: {}", batchSize, flushInterval,
+                queueCapacity, fetchSize);
+
         logger.debug("Creating JPA config... done");
     }
+
+    private static int getInt(final Map<String, @Nullable Object> properties, String key, int defaultValue,
+            int minValue) throws IllegalArgumentException {
+        Object param = properties.get(key);
+        if (param == null || param.toString().isBlank()) {
+            return defaultValue;
+        }
+        int value;
+        try {
+            value = param instanceof Number number ? number.intValue() : Integer.parseInt(param.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value '" + param + "' for " + key + " in JPA configuration!");
+        }
+        if (value < minValue) {
+            throw new IllegalArgumentException(key + " must be at least " + minValue + " in JPA configuration!");
+        }
+        return value;
+    }
+
+    /**
+     * @return true if values are buffered and written in batches
+     */
+    public boolean isBuffered() {
+        return batchSize > 1;
+    }
 }
@@ -16,8 +16,6 @@ import java.text.DateFormat;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
 
 import javax.measure.Unit;
 
@@ -42,7 +40,6 @@ import org.openhab.core.library.types.StringType;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
-import org.openhab.persistence.jpa.internal.model.JpaPersistentItem;
 
 /**
  * The historic item as returned when querying the service.
@@ -84,43 +81,33 @@ public class JpaHistoricItem implements HistoricItem {
     }
 
     /**
-     * This method maps {@link JpaPersistentItem}s to {@link HistoricItem}s.
+     * Converts a persisted string value to the state of a {@link HistoricItem}.
      *
-     * @param jpaQueryResult the result with jpa items
-     * @param item used for query information, like the state (State)
-     * @return list of historic items
-     */
-    public static List<HistoricItem> fromResultList(List<JpaPersistentItem> jpaQueryResult, Item item) {
-        return jpaQueryResult.stream().map(pItem -> fromPersistedItem(pItem, item)).collect(Collectors.toList());
-    }
-
-    /**
-     * Converts the string value of the persisted item to the state of a {@link HistoricItem}.
-     *
-     * @param pItem the persisted {@link JpaPersistentItem}
+     * @param value the persisted value
+     * @param timestamp the timestamp of the persisted value
      * @param item the source reference Item
      * @return historic item
      */
-    public static HistoricItem fromPersistedItem(JpaPersistentItem pItem, Item item) {
+    public static HistoricItem fromPersistedValue(String value, ZonedDateTime timestamp, Item item) {
         State state;
         if (item instanceof NumberItem numberItem) {
             Unit<?> unit = numberItem.getUnit();
-            double value = Double.parseDouble(pItem.getValue());
-            state = (unit == null) ? new DecimalType(value) : new QuantityType<>(value, unit);
+            double number = Double.parseDouble(value);
+            state = (unit == null) ? new DecimalType(number) : new QuantityType<>(number, unit);
         } else if (item instanceof DimmerItem) {
-            state = new PercentType(Integer.parseInt(pItem.getValue()));
+            state = new PercentType(Integer.parseInt(value));
         } else if (item instanceof SwitchItem) {
-            state = OnOffType.valueOf(pItem.getValue());
+            state = OnOffType.valueOf(value);
         } else if (item instanceof ContactItem) {
-            state = OpenClosedType.valueOf(pItem.getValue());
+            state = OpenClosedType.valueOf(value);
         } else if (item instanceof RollershutterItem) {
-            state = PercentType.valueOf(pItem.getValue());
+            state = PercentType.valueOf(value);
         } else if (item instanceof DateTimeItem) {
-            state = new DateTimeType(ZonedDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(pItem.getValue())),
+            state = new DateTimeType(ZonedDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(value)),
                     ZoneId.systemDefault()));
         } else if (item instanceof LocationItem) {
             PointType pType = null;
-            String[] comps = pItem.getValue().split(";");
+            String[] comps = value.split(";");
             if (comps.length >= 2) {
                 pType = new PointType(new DecimalType(comps[0]), new DecimalType(comps[1]));
 
@@ -130,11 +117,11 @@ public class JpaHistoricItem implements HistoricItem {
             }
             state = pType == null ? UnDefType.UNDEF : pType;
         } else if (item instanceof StringListType) {
-            state = new StringListType(pItem.getValue());
+            state = new StringListType(value);
         } else {
-            state = new StringType(pItem.getValue());
+            state = new StringType(value);
         }
 
-        return new JpaHistoricItem(item.getName(), state, pItem.getTimestamp());
+        return new JpaHistoricItem(item.getName(), state, timestamp);
     }
 }
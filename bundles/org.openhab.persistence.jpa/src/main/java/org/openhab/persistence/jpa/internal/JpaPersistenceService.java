@@ -12,15 +12,20 @@
  */
 package org.openhab.persistence.jpa.internal;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -65,6 +70,8 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     private static final String SERVICE_LABEL = "JPA";
     protected static final String CONFIG_URI = "persistence:jpa";
 
+    private static final String FETCH_BATCH_SIZE_HINT = "openjpa.FetchPlan.FetchBatchSize";
+
     private final Logger logger = LoggerFactory.getLogger(JpaPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
@@ -75,6 +82,8 @@ public class JpaPersistenceService implements QueryablePersistenceService {
 
     private boolean initialized;
 
+    private @Nullable JpaWriteBuffer writeBuffer;
+
     @Activate
     public JpaPersistenceService(BundleContext context, Map<String, @Nullable Object> properties,
             final @Reference ItemRegistry itemRegistry) {
@@ -85,6 +94,13 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             initialized = true;
         } catch (IllegalArgumentException e) {
             logger.warn("{}", e.getMessage());
+            return;
+        }
+        if (config.isBuffered()) {
+            JpaWriteBuffer writeBuffer = new JpaWriteBuffer(config.queueCapacity, config.batchSize,
+                    config.flushInterval, ThreadPoolManager.getScheduledPool(SERVICE_ID), this::persistAll);
+            writeBuffer.start();
+            this.writeBuffer = writeBuffer;
         }
     }
 
@@ -108,6 +124,11 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("Deactivating JPA persistence service");
+        JpaWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null) {
+            writeBuffer.stop();
+            this.writeBuffer = null;
+        }
         closeEntityManagerFactory();
     }
 
@@ -156,6 +177,17 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         pItem.setRealName(item.getName());
         pItem.setTimestamp(new Date());
 
+        JpaWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null) {
+            writeBuffer.offer(pItem);
+        } else {
+            persist(pItem);
+        }
+
+        logger.debug("Storing item...done");
+    }
+
+    private void persist(JpaPersistentItem pItem) {
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
             logger.debug("Persisting item...");
@@ -168,7 +200,7 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             if (e.getCause() instanceof EntityExistsException) {
                 // there's a UNIQUE constraint in the database, and we tried to write
                 // a duplicate timestamp. Just ignore
-                logger.debug("Failed to persist item {} because of duplicate timestamp", name);
+                logger.debug("Failed to persist item {} because of duplicate timestamp", pItem.getName());
             } else {
                 logger.error("Error while persisting item! Rolling back!", e);
             }
@@ -176,8 +208,56 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         } finally {
             em.close();
         }
+    }
 
-        logger.debug("Storing item...done");
+    /**
+     * Persists the given items in a single transaction. The entity manager is flushed and cleared every batch size
+     * items, so that the provider sends JDBC batches and does not keep all items in the persistence context.
+     *
+     * If the transaction fails, e.g. because of a duplicate timestamp, the items are persisted one by one.
+     *
+     * @param pItems items to persist
+     */
+    private void persistAll(List<JpaPersistentItem> pItems) {
+        EntityManager em = getEntityManagerFactory().createEntityManager();
+        try {
+            em.getTransaction().begin();
+            int count = 0;
+            for (JpaPersistentItem pItem : pItems) {
+                em.persist(pItem);
+                if (++count % config.batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            logger.debug("Persisted {} items in one transaction", pItems.size());
+            return;
+        } catch (Exception e) {
+            logger.debug("Failed to persist {} items in one transaction, persisting them one by one: {}",
+                    pItems.size(), e.getMessage());
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+        } finally {
+            em.close();
+        }
+        // the entities of the failed transaction may have been assigned an id, persist copies instead
+        for (JpaPersistentItem pItem : pItems) {
+            JpaPersistentItem copy = new JpaPersistentItem();
+            copy.setName(pItem.getName());
+            copy.setRealName(pItem.getRealName());
+            copy.setValue(pItem.getValue());
+            copy.setTimestamp(Date.from(pItem.getTimestamp().toInstant()));
+            persist(copy);
+        }
+    }
+
+    private void flushWriteBuffer() {
+        JpaWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null) {
+            writeBuffer.flush();
+        }
     }
 
     @Override
@@ -212,9 +292,13 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             sortOrder = "DESC";
         }
 
+        // make sure buffered values are included in the result
+        flushWriteBuffer();
+
         boolean hasBeginDate = false;
         boolean hasEndDate = false;
-        String queryString = "SELECT n FROM " + JpaPersistentItem.class.getSimpleName()
+        // select the columns only, so that the rows are not managed by the persistence context
+        String queryString = "SELECT n.timestamp, n.value FROM " + JpaPersistentItem.class.getSimpleName()
                 + " n WHERE n.realName = :itemName";
         if (filter.getBeginDate() != null) {
             queryString += " AND n.timestamp >= :beginDate";
@@ -228,31 +312,51 @@ public class JpaPersistenceService implements QueryablePersistenceService {
 
         logger.debug("The query: {}", queryString);
 
-        EntityManager em = getEntityManagerFactory().createEntityManager();
-        try {
-            // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
-            em.getTransaction().begin();
-
+        final String jpql = queryString;
+        final boolean withBeginDate = hasBeginDate;
+        final boolean withEndDate = hasEndDate;
+        Function<EntityManager, Query> queryFactory = em -> {
             logger.debug("Creating query...");
-            Query query = em.createQuery(queryString);
+            Query query = em.createQuery(jpql);
             query.setParameter("itemName", item.getName());
-            if (hasBeginDate) {
+            if (withBeginDate) {
                 query.setParameter("beginDate", Date.from(filter.getBeginDate().toInstant()));
             }
-            if (hasEndDate) {
+            if (withEndDate) {
                 query.setParameter("endDate", Date.from(filter.getEndDate().toInstant()));
             }
 
             query.setFirstResult(filter.getPageNumber() * filter.getPageSize());
             query.setMaxResults(filter.getPageSize());
+            if (config.fetchSize > 0) {
+                query.setHint(FETCH_BATCH_SIZE_HINT, config.fetchSize);
+            }
             logger.debug("Creating query...done");
+            return query;
+        };
+        Function<Object[], HistoricItem> mapper = row -> JpaHistoricItem.fromPersistedValue((String) row[1],
+                ZonedDateTime.ofInstant(((Date) row[0]).toInstant(), ZoneId.systemDefault()), item);
+
+        if (config.fetchSize > 0) {
+            // rows are read while the result is iterated
+            return new JpaQueryResult(getEntityManagerFactory(), queryFactory, mapper);
+        }
+
+        EntityManager em = getEntityManagerFactory().createEntityManager();
+        try {
+            // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
+            em.getTransaction().begin();
+
+            Query query = queryFactory.apply(em);
 
             logger.debug("Retrieving result list...");
-            @SuppressWarnings("unchecked")
-            List<JpaPersistentItem> result = query.getResultList();
+            List<?> result = query.getResultList();
             logger.debug("Retrieving result list...done");
 
-            List<HistoricItem> historicList = JpaHistoricItem.fromResultList(result, item);
+            List<HistoricItem> historicList = new ArrayList<>(result.size());
+            for (Object row : result) {
+                historicList.add(mapper.apply((Object[]) row));
+            }
             logger.debug("Convert to HistoricItem: {}", historicList.size());
 
             em.getTransaction().commit();
@@ -292,6 +396,10 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             logger.info("You are setting openjpa.jdbc.SynchronizeMappings, I hope you know what you're doing!");
             properties.put("openjpa.jdbc.SynchronizeMappings", config.dbSyncMapping);
         }
+        if (config.isBuffered()) {
+            // let the provider send inserts in JDBC batches
+            properties.put("openjpa.jdbc.DBDictionary", "batchLimit=" + config.batchSize);
+        }
 
         EntityManagerFactory factory = Persistence.createEntityManagerFactory(getPersistenceUnitName(), properties);
         logger.debug("Creating EntityManagerFactory...done");
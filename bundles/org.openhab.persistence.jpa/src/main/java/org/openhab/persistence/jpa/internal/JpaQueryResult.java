@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.HistoricItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Query;
+
+/**
+ * Result of a JPQL query that is read with {@link Query#getResultStream()} while it is iterated, so the rows are
+ * fetched in batches of the configured fetch size instead of being loaded into the persistence context as one list.
+ *
+ * Every call to {@link #iterator()} creates an {@link EntityManager} of its own and executes the query again, within a
+ * transaction like queries that read the result as a list. The transaction is committed and the entity manager is
+ * closed as soon as the last row was read. If reading fails, the transaction is rolled back and the error is thrown to
+ * the caller. An iterator that is abandoned before that rolls back and closes its entity manager once it becomes
+ * unreachable.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class JpaQueryResult implements Iterable<HistoricItem> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JpaQueryResult.class);
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final EntityManagerFactory emf;
+    private final Function<EntityManager, Query> queryFactory;
+    private final Function<Object[], HistoricItem> mapper;
+
+    /**
+     * @param emf factory of the entity managers used to execute the query
+     * @param queryFactory creates the query, which returns the rows as object arrays
+     * @param mapper maps a row to a {@link HistoricItem}
+     */
+    public JpaQueryResult(EntityManagerFactory emf, Function<EntityManager, Query> queryFactory,
+            Function<Object[], HistoricItem> mapper) {
+        this.emf = emf;
+        this.queryFactory = queryFactory;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Iterator<HistoricItem> iterator() {
+        Session session = new Session(emf.createEntityManager());
+        try {
+            // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
+            session.em.getTransaction().begin();
+            Stream<?> rows = queryFactory.apply(session.em).getResultStream();
+            session.rows = rows;
+            return new RowIterator(rows.iterator(), session);
+        } catch (RuntimeException e) {
+            session.run();
+            throw e;
+        }
+    }
+
+    private class RowIterator implements Iterator<HistoricItem> {
+        private final Iterator<?> rows;
+        private final Session session;
+        private final Cleaner.Cleanable cleanable;
+        private boolean done = false;
+
+        RowIterator(Iterator<?> rows, Session session) {
+            this.rows = rows;
+            this.session = session;
+            this.cleanable = CLEANER.register(this, session);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (done) {
+                return false;
+            }
+            try {
+                if (rows.hasNext()) {
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                done = true;
+                cleanable.clean();
+                throw e;
+            }
+            done = true;
+            session.completed = true;
+            cleanable.clean();
+            return false;
+        }
+
+        @Override
+        public HistoricItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return mapper.apply((Object[]) rows.next());
+        }
+    }
+
+    /**
+     * Holds the entity manager of one iterator. Kept separate from the iterator so it can serve as cleaning action.
+     */
+    private static class Session implements Runnable {
+        private final EntityManager em;
+        private @Nullable Stream<?> rows;
+        private volatile boolean completed = false;
+
+        Session(EntityManager em) {
+            this.em = em;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Stream<?> rows = this.rows;
+                if (rows != null) {
+                    rows.close();
+                }
+                EntityTransaction transaction = em.getTransaction();
+                if (transaction.isActive()) {
+                    if (completed) {
+                        transaction.commit();
+                    } else {
+                        transaction.rollback();
+                    }
+                }
+            } catch (RuntimeException e) {
+                LOGGER.debug("Failed to end query transaction: {}", e.getMessage());
+            } finally {
+                em.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.persistence.jpa.internal.model.JpaPersistentItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the values stored by the {@link JpaPersistenceService}, so that they are not written with a transaction of
+ * their own each. The waiting values are persisted with a single {@link jakarta.persistence.EntityManager} and
+ * transaction as soon as <code>batchSize</code> values are waiting, and at the latest after the flush interval. While
+ * the database is slower than the items change, at most <code>capacity</code> values wait, further values are dropped
+ * and counted.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class JpaWriteBuffer {
+
+    private final Logger logger = LoggerFactory.getLogger(JpaWriteBuffer.class);
+
+    private final BlockingQueue<JpaPersistentItem> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<List<JpaPersistentItem>> persistFunction;
+
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    /**
+     * @param capacity the maximum number of values waiting to be written
+     * @param batchSize the number of values that triggers a flush
+     * @param flushIntervalMillis the interval in which values are written, even if the batch size was not reached
+     * @param scheduler the scheduler used to write the values
+     * @param persistFunction persists the given values in one transaction
+     */
+    public JpaWriteBuffer(int capacity, int batchSize, long flushIntervalMillis, ScheduledExecutorService scheduler,
+            Consumer<List<JpaPersistentItem>> persistFunction) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.scheduler = scheduler;
+        this.persistFunction = persistFunction;
+    }
+
+    public synchronized void start() {
+        if (flushJob == null) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic flush job and writes all values still pending.
+     */
+    public void stop() {
+        synchronized (this) {
+            ScheduledFuture<?> flushJob = this.flushJob;
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                this.flushJob = null;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Adds a value to the buffer.
+     *
+     * @param pItem the value to be written
+     * @return true if the value was queued, false if it was dropped because the buffer is full
+     */
+    public boolean offer(JpaPersistentItem pItem) {
+        if (!queue.offer(pItem)) {
+            long dropped = droppedCount.incrementAndGet();
+            logger.debug("Write buffer is full, dropped value of item {} ({} dropped in total)", pItem.getName(),
+                    dropped);
+            return false;
+        }
+        if (queue.size() >= batchSize && flushPending.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Drains the buffer and persists all pending values.
+     */
+    public synchronized void flush() {
+        flushPending.set(false);
+        List<JpaPersistentItem> drained = new ArrayList<>(queue.size());
+        queue.drainTo(drained);
+        if (drained.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            persistFunction.accept(drained);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to persist {} values: {}", drained.size(), e.getMessage());
+        }
+        logger.debug("Flushed {} values in {} ms", drained.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.HistoricItem;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+
+/**
+ * Tests reading the rows of a {@link JpaQueryResult} and closing its entity manager.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class JpaQueryResultTest {
+    private @Mock @NonNullByDefault({}) EntityManagerFactory emf;
+    private @Mock @NonNullByDefault({}) EntityManager em;
+    private @Mock @NonNullByDefault({}) EntityTransaction transaction;
+    private @Mock @NonNullByDefault({}) Query query;
+
+    private int executed;
+
+    @BeforeEach
+    public void setUp() {
+        when(emf.createEntityManager()).thenReturn(em);
+        when(em.getTransaction()).thenReturn(transaction);
+        when(transaction.isActive()).thenReturn(true);
+        when(query.getResultStream()).thenAnswer(invocation -> rows(3));
+    }
+
+    private static Stream<Object[]> rows(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            rows.add(new Object[] { i, String.valueOf(i) });
+        }
+        return rows.stream();
+    }
+
+    private JpaQueryResult createResult() {
+        return new JpaQueryResult(emf, entityManager -> {
+            executed++;
+            return query;
+        }, row -> new JpaHistoricItem("item", new DecimalType((String) row[1]), ZonedDateTime.now()));
+    }
+
+    @Test
+    public void queryIsExecutedWhenIterated() {
+        JpaQueryResult result = createResult();
+        assertEquals(0, executed);
+
+        List<HistoricItem> items = new ArrayList<>();
+        result.forEach(items::add);
+
+        assertEquals(1, executed);
+        assertEquals(3, items.size());
+        assertEquals(new DecimalType(3), items.get(2).getState());
+    }
+
+    @Test
+    public void entityManagerIsClosedAfterLastRow() {
+        Iterator<HistoricItem> iterator = createResult().iterator();
+
+        iterator.next();
+        iterator.next();
+        verify(em, never()).close();
+
+        iterator.next();
+        assertFalse(iterator.hasNext());
+        verify(transaction).begin();
+        verify(transaction).commit();
+        verify(em).close();
+
+        // further calls don't read or close again
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        verify(em).close();
+    }
+
+    @Test
+    public void everyIterationExecutesQueryAgain() {
+        JpaQueryResult result = createResult();
+
+        result.forEach(item -> {
+        });
+        result.forEach(item -> {
+        });
+
+        assertEquals(2, executed);
+        verify(em, times(2)).close();
+    }
+
+    @Test
+    public void failedReadIsThrownAndClosesEntityManager() {
+        when(query.getResultStream()).thenAnswer(invocation -> Stream.concat(rows(1), Stream.generate(() -> {
+            throw new PersistenceException("connection lost");
+        })));
+
+        Iterator<HistoricItem> iterator = createResult().iterator();
+
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        assertThrows(PersistenceException.class, iterator::hasNext);
+        verify(transaction).rollback();
+        verify(transaction, never()).commit();
+        verify(em).close();
+
+        // the iteration ends after the error
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void failedQueryIsThrown() {
+        when(query.getResultStream()).thenThrow(new PersistenceException("syntax error"));
+        JpaQueryResult result = createResult();
+
+        assertThrows(PersistenceException.class, result::iterator);
+        verify(transaction).rollback();
+        verify(em).close();
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.persistence.jpa.internal.model.JpaPersistentItem;
+
+/**
+ * Tests when the {@link JpaWriteBuffer} persists the values it has collected.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class JpaWriteBufferTest {
+    private static final long FLUSH_INTERVAL = 1000;
+
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @Mock @NonNullByDefault({}) ScheduledFuture<?> flushJob;
+
+    private final List<List<JpaPersistentItem>> batches = new ArrayList<>();
+    private @NonNullByDefault({}) JpaWriteBuffer subject;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(flushJob).when(scheduler).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+        subject = new JpaWriteBuffer(4, 3, FLUSH_INTERVAL, scheduler, batches::add);
+    }
+
+    private static JpaPersistentItem value(String name) {
+        JpaPersistentItem pItem = new JpaPersistentItem();
+        pItem.setName(name);
+        pItem.setRealName(name);
+        pItem.setValue("1");
+        return pItem;
+    }
+
+    @Test
+    public void batchSizeTriggersFlush() {
+        subject.offer(value("a"));
+        subject.offer(value("b"));
+        verify(scheduler, never()).execute(any(Runnable.class));
+
+        subject.offer(value("c"));
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).execute(flush.capture());
+        assertTrue(batches.isEmpty());
+
+        flush.getValue().run();
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertEquals(0, subject.getQueueDepth());
+    }
+
+    @Test
+    public void flushIsTriggeredOnlyOnceUntilItHasRun() {
+        subject.offer(value("a"));
+        subject.offer(value("b"));
+        subject.offer(value("c"));
+        subject.offer(value("d"));
+
+        verify(scheduler, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void intervalTriggersFlush() {
+        subject.start();
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(flush.capture(), eq(FLUSH_INTERVAL), eq(FLUSH_INTERVAL),
+                eq(TimeUnit.MILLISECONDS));
+
+        flush.getValue().run();
+        assertTrue(batches.isEmpty(), "nothing to persist");
+
+        subject.offer(value("a"));
+        flush.getValue().run();
+        assertEquals(1, batches.size());
+        assertEquals("a", batches.get(0).get(0).getName());
+    }
+
+    @Test
+    public void stopPersistsPendingValues() {
+        subject.start();
+        subject.offer(value("a"));
+        subject.offer(value("b"));
+
+        subject.stop();
+
+        verify(flushJob).cancel(false);
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+    }
+
+    @Test
+    public void fullBufferDropsValues() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(subject.offer(value("item" + i)));
+        }
+
+        assertFalse(subject.offer(value("dropped")));
+        assertEquals(1, subject.getDroppedCount());
+        assertEquals(4, subject.getQueueDepth());
+    }
+
+    @Test
+    public void failedPersistDoesNotStopFlushing() {
+        List<Integer> attempts = new ArrayList<>();
+        JpaWriteBuffer failing = new JpaWriteBuffer(4, 3, FLUSH_INTERVAL, scheduler, pItems -> {
+            attempts.add(pItems.size());
+            throw new IllegalStateException("database closed");
+        });
+
+        failing.offer(value("a"));
+        failing.flush();
+        failing.offer(value("b"));
+        failing.flush();
+
+        assertEquals(List.of(1, 1), attempts);
+    }
+}
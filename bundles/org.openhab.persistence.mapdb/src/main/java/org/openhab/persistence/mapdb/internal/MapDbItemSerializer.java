@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+import org.openhab.core.types.util.UnitUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serializes the state and timestamp of a {@link MapDbItem} into a compact binary form.
+ *
+ * The data starts with a type tag followed by the timestamp in epoch milliseconds and the state. Numeric states whose
+ * value can be represented exactly as <code>double</code> and the most common simple states are written directly, all
+ * other states are written as class name and full string like the {@link StateTypeAdapter} does. The item name is not
+ * part of the data, as it is the key of the entry.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemSerializer {
+
+    private static final byte TYPE_GENERIC = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_QUANTITY = 2;
+    private static final byte TYPE_PERCENT = 3;
+    private static final byte TYPE_ON_OFF = 4;
+    private static final byte TYPE_OPEN_CLOSED = 5;
+    private static final byte TYPE_STRING = 6;
+
+    private final Logger logger = LoggerFactory.getLogger(MapDbItemSerializer.class);
+
+    private final Map<String, Optional<Unit<?>>> units = new ConcurrentHashMap<>();
+    private final Map<String, Optional<Class<? extends State>>> stateTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes state and timestamp of the item.
+     *
+     * @param item the item to serialize
+     * @return the serialized data
+     */
+    public byte[] serialize(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            long timestamp = item.getTimestamp().toInstant().toEpochMilli();
+            State state = item.getState();
+            if (state.getClass() == DecimalType.class && isExact(((DecimalType) state).toBigDecimal())) {
+                out.writeByte(TYPE_DECIMAL);
+                out.writeLong(timestamp);
+                out.writeDouble(((DecimalType) state).doubleValue());
+            } else if (state instanceof QuantityType<?> quantity && isExact(quantity.toBigDecimal())
+                    && isParseable(quantity.getUnit())) {
+                out.writeByte(TYPE_QUANTITY);
+                out.writeLong(timestamp);
+                out.writeDouble(quantity.doubleValue());
+                writeString(out, quantity.getUnit().toString());
+            } else if (state.getClass() == PercentType.class && isExact(((PercentType) state).toBigDecimal())) {
+                out.writeByte(TYPE_PERCENT);
+                out.writeLong(timestamp);
+                out.writeDouble(((PercentType) state).doubleValue());
+            } else if (state instanceof OnOffType onOff) {
+                out.writeByte(TYPE_ON_OFF);
+                out.writeLong(timestamp);
+                out.writeBoolean(onOff == OnOffType.ON);
+            } else if (state instanceof OpenClosedType openClosed) {
+                out.writeByte(TYPE_OPEN_CLOSED);
+                out.writeLong(timestamp);
+                out.writeBoolean(openClosed == OpenClosedType.OPEN);
+            } else if (state instanceof StringType) {
+                out.writeByte(TYPE_STRING);
+                out.writeLong(timestamp);
+                writeString(out, state.toFullString());
+            } else {
+                out.writeByte(TYPE_GENERIC);
+                out.writeLong(timestamp);
+                writeString(out, state.getClass().getName());
+                writeString(out, state.toFullString());
+            }
+        } catch (IOException e) {
+            // can't happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes state and timestamp of an item.
+     *
+     * @param name the name of the item
+     * @param data the serialized data
+     * @return the item, or empty if the data could not be deserialized
+     */
+    public Optional<MapDbItem> deserialize(String name, byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte type = in.readByte();
+            Date timestamp = new Date(in.readLong());
+            @Nullable
+            State state = switch (type) {
+                case TYPE_DECIMAL -> new DecimalType(toBigDecimal(in.readDouble()));
+                case TYPE_QUANTITY -> {
+                    BigDecimal value = toBigDecimal(in.readDouble());
+                    @Nullable
+                    Unit<?> unit = parseUnit(readString(in)).orElse(null);
+                    yield unit == null ? null : new QuantityType<>(value, unit);
+                }
+                case TYPE_PERCENT -> new PercentType(toBigDecimal(in.readDouble()));
+                case TYPE_ON_OFF -> in.readBoolean() ? OnOffType.ON : OnOffType.OFF;
+                case TYPE_OPEN_CLOSED -> in.readBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                case TYPE_STRING -> new StringType(readString(in));
+                case TYPE_GENERIC -> {
+                    @Nullable
+                    Class<? extends State> stateType = getStateType(readString(in)).orElse(null);
+                    String value = readString(in);
+                    yield stateType == null ? null : TypeParser.parseState(List.of(stateType), value);
+                }
+                default -> null;
+            };
+            if (state == null) {
+                logger.warn("Couldn't deserialize state of item '{}' with type {}", name, type);
+                return Optional.empty();
+            }
+
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setState(state);
+            item.setTimestamp(timestamp);
+            return Optional.of(item);
+        } catch (IOException e) {
+            logger.warn("Couldn't deserialize state of item '{}': {}", name, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private boolean isParseable(Unit<?> unit) {
+        return parseUnit(unit.toString()).filter(unit::equals).isPresent();
+    }
+
+    private Optional<Unit<?>> parseUnit(String symbol) {
+        return Objects.requireNonNull(
+                units.computeIfAbsent(symbol, s -> Optional.ofNullable(UnitUtils.parseUnit(s))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<Class<? extends State>> getStateType(String className) {
+        return Objects.requireNonNull(stateTypes.computeIfAbsent(className, c -> {
+            try {
+                return Optional.of((Class<? extends State>) Class.forName(c));
+            } catch (ClassNotFoundException e) {
+                logger.warn("Couldn't deserialize state of type '{}': class not found", c);
+                return Optional.empty();
+            }
+        }));
+    }
+
+    private static boolean isExact(BigDecimal value) {
+        double doubleValue = value.doubleValue();
+        return Double.isFinite(doubleValue) && BigDecimal.valueOf(doubleValue).compareTo(value) == 0;
+    }
+
+    private static BigDecimal toBigDecimal(double value) {
+        BigDecimal decimal = BigDecimal.valueOf(value).stripTrailingZeros();
+        // whole numbers without exponent, e.g. 100 instead of 1E+2
+        return decimal.scale() < 0 ? decimal.setScale(0) : decimal;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        // writeUTF is limited to 64k, which is not sufficient for strings
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -24,7 +24,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,8 +34,11 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.persistence.FilterCriteria;
@@ -48,6 +53,7 @@ import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,8 +68,10 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class }, property = Constants.SERVICE_PID
-        + "=org.openhab.mapdb")
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", //
+        property = Constants.SERVICE_PID + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_ID = "mapdb";
@@ -71,24 +79,33 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final String ITEM_STORE = "itemStates";
+    // item states serialized as JSON by previous versions
+    private static final String LEGACY_ITEM_STORE = "itemStore";
+
+    protected static final String CONFIG_URI = "persistence:mapdb";
+    private static final String COMMIT_INTERVAL_CONFIG = "commitInterval";
+    private static final long COMMIT_INTERVAL_DEFAULT = 5;
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService threadPool = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName());
+    private final MapDbItemSerializer serializer = new MapDbItemSerializer();
+    private final AtomicBoolean commitPending = new AtomicBoolean();
+    private long commitInterval = COMMIT_INTERVAL_DEFAULT;
 
     /**
      * holds the local instance of the MapDB database
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
-
-    private transient Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
-            .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+    private @NonNullByDefault({}) Map<String, byte[]> map;
 
     @Activate
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
+        modified(config);
 
         try {
             Files.createDirectories(DB_DIR);
@@ -100,8 +117,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
         File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
         try {
-            db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            openDatabase(dbFile);
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException cnf) {
@@ -132,8 +148,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                     return;
                 }
 
-                db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                openDatabase(dbFile);
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
@@ -142,14 +157,54 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Modified
+    public void modified(Map<String, Object> config) {
+        commitInterval = ConfigParser.valueAsOrElse(config.get(COMMIT_INTERVAL_CONFIG), Long.class,
+                COMMIT_INTERVAL_DEFAULT);
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
         if (db != null) {
-            db.close();
+            synchronized (db) {
+                if (!db.isClosed()) {
+                    // write the changes that are still waiting for the delayed commit
+                    db.commit();
+                    db.close();
+                }
+            }
+        }
+    }
+
+    private void openDatabase(File dbFile) {
+        db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
+        map = db.createTreeMap(ITEM_STORE).valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+        if (db.exists(LEGACY_ITEM_STORE)) {
+            migrateLegacyStore();
         }
     }
 
+    /**
+     * Converts the JSON serialized item states of previous versions to the binary format.
+     */
+    private void migrateLegacyStore() {
+        Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
+                .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+        Map<String, String> legacyMap = db.getTreeMap(LEGACY_ITEM_STORE);
+        int migrated = 0;
+        for (Map.Entry<String, String> entry : legacyMap.entrySet()) {
+            Optional<MapDbItem> item = deserializeJson(mapper, entry.getValue());
+            if (item.isPresent() && !map.containsKey(entry.getKey())) {
+                map.put(entry.getKey(), serializer.serialize(item.get()));
+                migrated++;
+            }
+        }
+        db.delete(LEGACY_ITEM_STORE);
+        db.commit();
+        logger.info("Migrated {} of {} item states in the MapDB to the binary format", migrated, legacyMap.size());
+    }
+
     @Override
     public String getId() {
         return SERVICE_ID;
@@ -162,7 +217,8 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
+        return map.entrySet().stream().map(entry -> deserialize(entry.getKey(), entry.getValue()))
+                .flatMap(MapDbPersistenceService::streamOptional)
                 .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
     }
 
@@ -187,29 +243,58 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setState(state);
         mItem.setTimestamp(new Date());
         threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
-            db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
+            map.put(localAlias, serializer.serialize(mItem));
+            commit();
+            logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
         });
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        String itemName = filter.getItemName();
+        if (itemName == null) {
+            return List.of();
+        }
+        byte[] data = map.get(itemName);
+        if (data == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = deserialize(itemName, data);
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    /**
+     * Commits the stored values, or schedules a commit if the commits are coalesced.
+     */
+    private void commit() {
+        if (commitInterval <= 0) {
+            doCommit();
+        } else if (commitPending.compareAndSet(false, true)) {
+            threadPool.schedule(() -> {
+                commitPending.set(false);
+                doCommit();
+            }, commitInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    private void doCommit() {
+        synchronized (db) {
+            if (!db.isClosed()) {
+                db.commit();
+            }
+        }
+    }
+
+    private Optional<MapDbItem> deserialize(String name, byte[] data) {
+        Optional<MapDbItem> item = serializer.deserialize(name, data);
+        if (item.isPresent() && logger.isDebugEnabled()) {
+            logger.debug("Deserialized '{}' with state '{}'", name, item.get().getState());
+        }
+        return item;
     }
 
     @SuppressWarnings("null")
-    private Optional<MapDbItem> deserialize(String json) {
+    private Optional<MapDbItem> deserializeJson(Gson mapper, String json) {
         MapDbItem item = mapper.fromJson(json, MapDbItem.class);
         if (item == null || !item.isValid()) {
             logger.warn("Deserialized invalid item: {}", item);
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.ImperialUnits;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.State;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+import org.openhab.persistence.mapdb.internal.MapDbItemSerializer;
+
+/**
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemSerializerTest {
+    private MapDbItemSerializer serializer = new MapDbItemSerializer();
+
+    private static final List<State> VALUES = List.of(DecimalType.ZERO, new DecimalType(1.123),
+            new DecimalType(10000000), new DecimalType(new BigDecimal("0.12345678901234567890123")), HSBType.GREEN,
+            HSBType.fromRGB(11, 22, 33), OnOffType.ON, OnOffType.OFF, OpenClosedType.OPEN, OpenClosedType.CLOSED,
+            PercentType.ZERO, PercentType.HUNDRED, PercentType.valueOf("0.0000001"), PercentType.valueOf("99.999"),
+            QuantityType.valueOf("0 W"), QuantityType.valueOf("1 kW"), QuantityType.valueOf(20, Units.AMPERE),
+            new QuantityType<>(new BigDecimal("21.23"), SIUnits.CELSIUS),
+            new QuantityType<>(new BigDecimal("75"), ImperialUnits.MILES_PER_HOUR),
+            QuantityType.valueOf(100, Units.METRE_PER_SQUARE_SECOND), StringType.valueOf(""),
+            StringType.valueOf("a b c 1 2 3 äöü"), StringType.valueOf("@@@###   @@@"));
+
+    @ParameterizedTest
+    @MethodSource
+    public void serializeDeserializeRoundtripShouldRecreateTheState(State state) {
+        MapDbItem item = createItem(state);
+
+        MapDbItem actual = serializer.deserialize("item", serializer.serialize(item)).orElseThrow();
+
+        assertThat(actual.getName(), is("item"));
+        assertThat(actual.getState(), is(equalTo(state)));
+        assertThat(actual.getTimestamp(), is(item.getTimestamp()));
+    }
+
+    public static Stream<State> serializeDeserializeRoundtripShouldRecreateTheState() {
+        return VALUES.stream();
+    }
+
+    @Test
+    public void wholeNumbersAreDeserializedWithoutExponent() {
+        assertThat(roundtrip(new DecimalType(100)).toFullString(), is("100"));
+        assertThat(roundtrip(new DecimalType(10000000)).toFullString(), is("10000000"));
+        assertThat(roundtrip(QuantityType.valueOf("1200 W")).toFullString(), is("1200 W"));
+        assertThat(roundtrip(new QuantityType<>(new BigDecimal("21.50"), SIUnits.CELSIUS)).toFullString(),
+                is("21.5 °C"));
+    }
+
+    @Test
+    public void deserializeInvalidDataReturnsEmpty() {
+        assertThat(serializer.deserialize("item", new byte[] { 1, 2 }).isPresent(), is(false));
+        assertThat(serializer.deserialize("item", new byte[] { 42, 0, 0, 0, 0, 0, 0, 0, 0 }).isPresent(), is(false));
+    }
+
+    private State roundtrip(State state) {
+        return serializer.deserialize("item", serializer.serialize(createItem(state))).orElseThrow().getState();
+    }
+
+    private static MapDbItem createItem(State state) {
+        MapDbItem item = new MapDbItem();
+        item.setName("item");
+        item.setState(state);
+        item.setTimestamp(new Date(1700000000123L));
+        return item;
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+
+/**
+ * Bounded buffer collecting documents until either the batch size is reached or the flush interval has elapsed. On
+ * flush, the documents are grouped per collection and handed over to the insert function in chunks of at most batch
+ * size documents, so that each chunk can be written with a single unordered <code>insertMany</code>.
+ *
+ * A chunk that fails because the database is not available is written again with the next flush, as long as it fits
+ * into the capacity of the buffer. A chunk that fails for another reason is dropped.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBBulkWriter {
+
+    /**
+     * A document waiting to be inserted into a collection.
+     */
+    public record PendingDocument(String collectionName, Document document) {
+    }
+
+    private static final String RETRYABLE_WRITE_ERROR_LABEL = "RetryableWriteError";
+
+    private final Logger logger = LoggerFactory.getLogger(MongoDBBulkWriter.class);
+
+    private final int capacity;
+    private final BlockingQueue<PendingDocument> queue;
+    // documents of chunks that failed transiently, written before the queued ones
+    private final List<PendingDocument> retryDocuments = new ArrayList<>();
+    private boolean retrying = false;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final ScheduledExecutorService scheduler;
+    private final BiConsumer<String, List<Document>> insertFunction;
+
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    /**
+     * @param capacity the maximum number of documents waiting to be written
+     * @param batchSize the number of documents that triggers a flush and the maximum number of documents per insert
+     * @param flushIntervalMillis the interval in which documents are written, even if the batch size was not reached
+     * @param scheduler the scheduler used to write the documents
+     * @param insertFunction inserts the documents into the collection with the given name
+     */
+    public MongoDBBulkWriter(int capacity, int batchSize, long flushIntervalMillis, ScheduledExecutorService scheduler,
+            BiConsumer<String, List<Document>> insertFunction) {
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.scheduler = scheduler;
+        this.insertFunction = insertFunction;
+    }
+
+    public synchronized void start() {
+        if (flushJob == null) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic flush job and writes all documents still pending.
+     */
+    public void stop() {
+        synchronized (this) {
+            ScheduledFuture<?> flushJob = this.flushJob;
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                this.flushJob = null;
+            }
+        }
+        flush();
+        synchronized (this) {
+            if (!retryDocuments.isEmpty()) {
+                droppedCount.addAndGet(retryDocuments.size());
+                logger.warn("Dropped {} documents that could not be stored before stopping", retryDocuments.size());
+                retryDocuments.clear();
+            }
+        }
+    }
+
+    /**
+     * Adds a document to the buffer.
+     *
+     * @param document the document to be written
+     * @return true if the document was queued, false if it was dropped because the buffer is full
+     */
+    public boolean offer(PendingDocument document) {
+        if (!queue.offer(document)) {
+            long dropped = droppedCount.incrementAndGet();
+            logger.debug("Write buffer is full, dropped document for item {} ({} dropped in total)",
+                    document.document().get(MongoDBFields.FIELD_ITEM), dropped);
+            return false;
+        }
+        if (queue.size() >= batchSize && flushPending.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Drains the buffer and writes all pending documents grouped per collection.
+     */
+    public synchronized void flush() {
+        flushPending.set(false);
+        List<PendingDocument> drained = new ArrayList<>(retryDocuments.size() + queue.size());
+        drained.addAll(retryDocuments);
+        retryDocuments.clear();
+        queue.drainTo(drained);
+        if (drained.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<String, List<Document>> documentsPerCollection = new LinkedHashMap<>();
+        for (PendingDocument pending : drained) {
+            documentsPerCollection.computeIfAbsent(pending.collectionName(), k -> new ArrayList<>())
+                    .add(pending.document());
+        }
+        documentsPerCollection.forEach((collectionName, documents) -> {
+            for (int fromIndex = 0; fromIndex < documents.size(); fromIndex += batchSize) {
+                List<Document> chunk = documents.subList(fromIndex, Math.min(fromIndex + batchSize, documents.size()));
+                try {
+                    insertFunction.accept(collectionName, chunk);
+                    writtenCount.addAndGet(chunk.size());
+                } catch (RuntimeException e) {
+                    if (isTransient(e)) {
+                        logger.debug("Failed to store {} documents in collection {}, retrying later: {}",
+                                chunk.size(), collectionName, e.getMessage());
+                        chunk.forEach(document -> retryDocuments.add(new PendingDocument(collectionName, document)));
+                    } else {
+                        droppedCount.addAndGet(chunk.size());
+                        logger.warn("Dropped {} documents that could not be stored in collection {}: {}", chunk.size(),
+                                collectionName, e.getMessage());
+                    }
+                }
+            }
+        });
+        if (retryDocuments.isEmpty()) {
+            if (retrying) {
+                logger.info("Database is available again, stored all documents that had to be retried");
+                retrying = false;
+            }
+        } else {
+            if (!retrying) {
+                logger.warn("Database is not available, retrying to store {} documents with the next flush",
+                        retryDocuments.size());
+                retrying = true;
+            }
+            // the oldest documents are dropped when the database is unavailable for longer than the buffer lasts
+            int excess = retryDocuments.size() - capacity;
+            if (excess > 0) {
+                retryDocuments.subList(0, excess).clear();
+                droppedCount.addAndGet(excess);
+                logger.warn("Dropped {} documents that could not be stored while the database is not available",
+                        excess);
+            }
+        }
+        logger.debug("Flushed {} documents to {} collections in {} ms", drained.size(), documentsPerCollection.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * @return true if writing may succeed later, for example once the connection to the database is back
+     */
+    static boolean isTransient(RuntimeException e) {
+        if (e instanceof MongoException mongoException) {
+            return mongoException instanceof MongoSocketException || mongoException instanceof MongoTimeoutException
+                    || mongoException instanceof MongoNotPrimaryException
+                    || mongoException instanceof MongoNodeIsRecoveringException
+                    || mongoException.hasErrorLabel(RETRYABLE_WRITE_ERROR_LABEL);
+        }
+        // no connection to the database or the collection
+        return e instanceof IllegalStateException;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+}
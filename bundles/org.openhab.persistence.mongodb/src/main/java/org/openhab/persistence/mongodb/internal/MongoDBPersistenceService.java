@@ -21,11 +21,16 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.bson.BsonMaximumSizeExceededException;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -51,10 +56,18 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoCommandException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
 import com.mongodb.client.result.DeleteResult;
 
 /**
@@ -70,18 +83,27 @@ import com.mongodb.client.result.DeleteResult;
                 + "=org.openhab.mongodb")
 public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
+    // the fields needed to create historic items, everything else is not transferred
+    private static final Bson QUERY_PROJECTION = Projections.fields(
+            Projections.include(MongoDBFields.FIELD_TIMESTAMP, MongoDBFields.FIELD_VALUE, MongoDBFields.FIELD_UNIT,
+                    MongoDBFields.FIELD_REALNAME),
+            Projections.excludeId());
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
     private String url = "";
     private String db = "";
     private String collection = "";
     private boolean collectionPerItem;
+    private boolean timeSeries;
 
     private boolean initialized = false;
 
     protected final ItemRegistry itemRegistry;
 
     private @Nullable MongoClient cl;
+    private final Map<String, MongoCollection<Document>> collections = new ConcurrentHashMap<>();
+    private @Nullable MongoDBBulkWriter bulkWriter;
 
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
@@ -114,6 +136,21 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        timeSeries = ConfigParser.valueAsOrElse(config.get("timeSeries"), Boolean.class, false);
+        int writeBatchSize = ConfigParser.valueAsOrElse(config.get("writeBatchSize"), Integer.class, 0);
+        if (writeBatchSize > 1) {
+            int writeQueueCapacity = Math.max(writeBatchSize,
+                    ConfigParser.valueAsOrElse(config.get("writeQueueCapacity"), Integer.class, 10000));
+            long writeFlushInterval = Math.max(10,
+                    ConfigParser.valueAsOrElse(config.get("writeFlushInterval"), Integer.class, 1000));
+            logger.debug("MongoDB bulk writes: batch size {}, capacity {}, flush interval {} ms", writeBatchSize,
+                    writeQueueCapacity, writeFlushInterval);
+            MongoDBBulkWriter bulkWriter = new MongoDBBulkWriter(writeQueueCapacity, writeBatchSize,
+                    writeFlushInterval, ThreadPoolManager.getScheduledPool("mongodb"), this::insertDocuments);
+            bulkWriter.start();
+            this.bulkWriter = bulkWriter;
+        }
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
@@ -124,6 +161,11 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        MongoDBBulkWriter bulkWriter = this.bulkWriter;
+        if (bulkWriter != null) {
+            bulkWriter.stop();
+            this.bulkWriter = null;
+        }
         disconnectFromDatabase();
     }
 
@@ -221,12 +263,23 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
                 return null;
             }
 
-            MongoCollection<Document> mongoCollection = db.getDatabase(this.db).getCollection(collectionName);
+            MongoCollection<Document> mongoCollection = collections.get(collectionName);
+            if (mongoCollection != null) {
+                return mongoCollection;
+            }
 
+            MongoDatabase database = db.getDatabase(this.db);
+            if (timeSeries) {
+                createTimeSeriesCollection(database, collectionName);
+            }
+            mongoCollection = database.getCollection(collectionName);
+
+            // queries filter by item and time range and sort by time, which is all served by this index
             Document idx = new Document();
             idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
             mongoCollection.createIndex(idx);
 
+            collections.put(collectionName, mongoCollection);
             return mongoCollection;
         } catch (Exception e) {
             logger.error("Failed to connect to collection {}: {}", collectionName, e.getMessage(), e);
@@ -234,6 +287,24 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
     }
 
+    /**
+     * Creates a time series collection, unless a collection with this name exists already.
+     */
+    private void createTimeSeriesCollection(MongoDatabase database, String collectionName) {
+        if (database.listCollectionNames().into(new ArrayList<>()).contains(collectionName)) {
+            return;
+        }
+        try {
+            TimeSeriesOptions options = new TimeSeriesOptions(MongoDBFields.FIELD_TIMESTAMP)
+                    .metaField(MongoDBFields.FIELD_ITEM).granularity(TimeSeriesGranularity.SECONDS);
+            database.createCollection(collectionName, new CreateCollectionOptions().timeSeriesOptions(options));
+            logger.debug("Created time series collection {}", collectionName);
+        } catch (MongoCommandException e) {
+            // e.g. the server doesn't support time series collections, a regular collection is created on insert
+            logger.warn("Failed to create time series collection {}: {}", collectionName, e.getMessage());
+        }
+    }
+
     /**
      * Disconnects from the database
      */
@@ -244,10 +315,52 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
 
         cl = null;
+        collections.clear();
+    }
+
+    /**
+     * Writes pending documents to the database if bulk writes are enabled, so queries see all stored values.
+     */
+    private void flushPendingDocuments() {
+        MongoDBBulkWriter bulkWriter = this.bulkWriter;
+        if (bulkWriter != null) {
+            bulkWriter.flush();
+        }
+    }
+
+    /**
+     * Inserts documents with a single unordered bulk insert, which lets the server write them in parallel and doesn't
+     * stop at the first failing document.
+     */
+    private void insertDocuments(String collectionName, List<Document> documents) {
+        if (!tryConnectToDatabase()) {
+            throw new IllegalStateException("No connection to database");
+        }
+        MongoCollection<Document> collection = connectToCollection(collectionName);
+        if (collection == null) {
+            throw new IllegalStateException("Failed to connect to collection");
+        }
+        try {
+            collection.insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            logger.warn("Failed to store {} of {} documents in collection {}", e.getWriteErrors().size(),
+                    documents.size(), collectionName);
+        } catch (BsonMaximumSizeExceededException e) {
+            // insert the documents one by one, so only the oversized ones are lost
+            for (Document document : documents) {
+                try {
+                    collection.insertOne(document);
+                } catch (BsonMaximumSizeExceededException e1) {
+                    logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.",
+                            document.get(MongoDBFields.FIELD_ITEM));
+                }
+            }
+        }
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
+        flushPendingDocuments();
         MongoCollection<Document> collection = prepareCollection(filter);
         // If collection creation failed, return nothing.
         if (collection == null) {
@@ -279,7 +392,8 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
         MongoCursor<Document> cursor = null;
         try {
-            cursor = collection.find(query).sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
+            cursor = collection.find(query).projection(QUERY_PROJECTION)
+                    .sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
                     .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize()).iterator();
 
             while (cursor.hasNext()) {
@@ -346,6 +460,29 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
+        String realItemName = item.getName();
+        String collectionName = collectionPerItem ? realItemName : this.collection;
+        String name = (alias != null) ? alias : realItemName;
+        Object value = MongoDBTypeConversions.convertValue(state);
+
+        Document obj = new Document();
+        obj.put(MongoDBFields.FIELD_ID, new ObjectId());
+        obj.put(MongoDBFields.FIELD_ITEM, name);
+        obj.put(MongoDBFields.FIELD_REALNAME, realItemName);
+        obj.put(MongoDBFields.FIELD_TIMESTAMP, date);
+        obj.put(MongoDBFields.FIELD_VALUE, value);
+        if (item instanceof NumberItem && state instanceof QuantityType<?>) {
+            obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
+        }
+
+        MongoDBBulkWriter bulkWriter = this.bulkWriter;
+        if (bulkWriter != null) {
+            if (bulkWriter.offer(new MongoDBBulkWriter.PendingDocument(collectionName, obj))) {
+                logger.debug("MongoDB queued {}={}", name, value);
+            }
+            return;
+        }
+
         // Connect to mongodb server if we're not already connected
         // If we can't connect, log.
         if (!tryConnectToDatabase()) {
@@ -355,9 +492,6 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        String realItemName = item.getName();
-        String collectionName = collectionPerItem ? realItemName : this.collection;
-
         @Nullable
         MongoCollection<Document> collection = connectToCollection(collectionName);
 
@@ -366,21 +500,9 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        String name = (alias != null) ? alias : realItemName;
-        Object value = MongoDBTypeConversions.convertValue(state);
-
-        Document obj = new Document();
-        obj.put(MongoDBFields.FIELD_ID, new ObjectId());
-        obj.put(MongoDBFields.FIELD_ITEM, name);
-        obj.put(MongoDBFields.FIELD_REALNAME, realItemName);
-        obj.put(MongoDBFields.FIELD_TIMESTAMP, date);
-        obj.put(MongoDBFields.FIELD_VALUE, value);
-        if (item instanceof NumberItem && state instanceof QuantityType<?>) {
-            obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
-        }
         try {
             collection.insertOne(obj);
-        } catch (org.bson.BsonMaximumSizeExceededException e) {
+        } catch (BsonMaximumSizeExceededException e) {
             logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.", name);
             throw e;
         }
@@ -467,6 +589,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     @Override
     public boolean remove(FilterCriteria filter) {
+        flushPendingDocuments();
         MongoCollection<Document> collection = prepareCollection(filter);
         // If collection creation failed, return nothing.
         if (collection == null) {
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.ServerAddress;
+
+/**
+ * Tests how the {@link MongoDBBulkWriter} handles documents that could not be stored.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBBulkWriterTest {
+    private final List<Integer> inserted = new ArrayList<>();
+    private @Nullable RuntimeException failure;
+
+    private final MongoDBBulkWriter subject = new MongoDBBulkWriter(4, 2, 1000, mock(ScheduledExecutorService.class),
+            (collectionName, documents) -> {
+                RuntimeException localFailure = failure;
+                if (localFailure != null) {
+                    throw localFailure;
+                }
+                inserted.add(documents.size());
+            });
+
+    private void offer(int count) {
+        for (int i = 0; i < count; i++) {
+            subject.offer(new MongoDBBulkWriter.PendingDocument("collection",
+                    new Document(MongoDBFields.FIELD_ITEM, "item" + i)));
+        }
+    }
+
+    @Test
+    public void documentsAreWrittenInChunks() {
+        offer(3);
+
+        subject.flush();
+
+        assertEquals(List.of(2, 1), inserted);
+        assertEquals(3, subject.getWrittenCount());
+    }
+
+    @Test
+    public void transientFailureIsRetried() {
+        failure = new MongoSocketException("connection refused", new ServerAddress());
+        offer(3);
+        subject.flush();
+        assertEquals(0, subject.getWrittenCount());
+        assertEquals(0, subject.getDroppedCount());
+
+        failure = null;
+        offer(1);
+        subject.flush();
+
+        assertEquals(4, subject.getWrittenCount());
+        assertEquals(0, subject.getDroppedCount());
+    }
+
+    @Test
+    public void missingConnectionIsTransient() {
+        failure = new IllegalStateException("No connection to database");
+        offer(1);
+        subject.flush();
+
+        failure = null;
+        subject.flush();
+
+        assertEquals(1, subject.getWrittenCount());
+    }
+
+    @Test
+    public void rejectedChunkIsDropped() {
+        failure = new MongoException(13, "not authorized");
+        offer(3);
+        subject.flush();
+
+        failure = null;
+        subject.flush();
+
+        assertEquals(0, subject.getWrittenCount());
+        assertEquals(3, subject.getDroppedCount());
+    }
+
+    @Test
+    public void retriesAreLimitedToCapacity() {
+        failure = new MongoSocketException("connection refused", new ServerAddress());
+        offer(4);
+        subject.flush();
+        offer(4);
+        subject.flush();
+        assertEquals(4, subject.getDroppedCount());
+
+        failure = null;
+        subject.flush();
+
+        assertEquals(4, subject.getWrittenCount());
+    }
+
+    @Test
+    public void pendingRetriesAreDroppedOnStop() {
+        failure = new MongoSocketException("connection refused", new ServerAddress());
+        offer(3);
+
+        subject.stop();
+
+        assertEquals(0, subject.getWrittenCount());
+        assertEquals(3, subject.getDroppedCount());
+    }
+}
@@ -48,6 +48,7 @@ import org.openhab.core.library.types.RawType;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.osgi.framework.BundleContext;
+import org.slf4j.LoggerFactory;
 
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
@@ -989,4 +990,90 @@ public class MongoDBPersistenceServiceTest {
             dbContainer.stop();
         }
     }
+
+    /**
+     * Tests storing and querying items with bulk writes enabled.
+     *
+     * This test checks if documents waiting in the write buffer are written before a query is executed, so the query
+     * returns all stored values.
+     * It uses different database backends provided by the provideDatabaseBackends method.
+     *
+     * @param dbContainer The container running the MongoDB instance.
+     */
+    @ParameterizedTest
+    @MethodSource("org.openhab.persistence.mongodb.internal.DataCreationHelper#provideDatabaseBackends")
+    public void testBulkWriteStoreAndQuery(DatabaseTestContainer dbContainer) {
+        try {
+            // Preparation
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            setupResult.config.put("writeBatchSize", 100);
+            setupResult.config.put("writeFlushInterval", 60000);
+
+            NumberItem itemReg = DataCreationHelper.createNumberItem("TestItem", 0);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem")).thenReturn(itemReg);
+            } catch (ItemNotFoundException e) {
+            }
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            // Execution
+            for (int i = 0; i < 10; i++) {
+                service.store(DataCreationHelper.createNumberItem("TestItem", i), null);
+            }
+            Iterable<HistoricItem> result = service.query(DataCreationHelper.createFilterCriteria("TestItem"));
+
+            // Verification
+            VerificationHelper.verifyQueryResult(result, 0, 1, 10);
+            service.deactivate(1);
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /**
+     * Measures the insert rate with and without bulk writes.
+     *
+     * This test stores the same number of values with single inserts and with unordered bulk inserts into the in-memory
+     * MongoDB server and logs the resulting rates. It checks that all values are written in both modes.
+     */
+    @Test
+    public void testBulkWriteInsertRate() {
+        int count = 5000;
+        long singleRate = measureInsertRate(Map.of(), count);
+        long bulkRate = measureInsertRate(Map.of("writeBatchSize", 500), count);
+
+        LoggerFactory.getLogger(MongoDBPersistenceServiceTest.class).info(
+                "Stored {} values: {} inserts/s with single inserts, {} inserts/s with bulk inserts", count,
+                singleRate, bulkRate);
+    }
+
+    private long measureInsertRate(Map<String, Object> additionalConfig, int count) {
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            setupResult.config.putAll(additionalConfig);
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            List<NumberItem> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(DataCreationHelper.createNumberItem("TestItem" + (i % 10), i));
+            }
+
+            long start = System.nanoTime();
+            for (NumberItem item : items) {
+                service.store(item, null);
+            }
+            // writes all values still waiting in the buffer
+            service.deactivate(1);
+            long elapsedNanos = Math.max(1, System.nanoTime() - start);
+
+            assertEquals(count, setupResult.database.getCollection("testCollection").countDocuments());
+            return count * 1_000_000_000L / elapsedNanos;
+        } finally {
+            dbContainer.stop();
+        }
+    }
 }
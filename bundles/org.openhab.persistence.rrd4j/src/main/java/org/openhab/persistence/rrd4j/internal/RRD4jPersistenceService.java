@@ -22,6 +22,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -34,6 +35,8 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.DoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -80,8 +83,10 @@ import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
+import org.rrd4j.core.ArcDef;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
@@ -135,9 +140,19 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private static final Path DB_FOLDER = Path.of(OpenHAB.getUserDataFolder(), "persistence", "rrd4j").toAbsolutePath();
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
+    private static final RrdBackendFactory READ_BACKEND_FACTORY = RrdBackendFactory.getFactory("NIO");
+
+    // keep enough room in the pool for files that are opened by queries
+    private static final int MAX_CACHED_DATABASES = DATABASE_POOL.getCapacity() / 2;
+    private static final long CACHED_DATABASE_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int WRITE_LOCK_STRIPES = 16;
 
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
+    private final RrdDbHandleCache handleCache = new RrdDbHandleCache(MAX_CACHED_DATABASES,
+            CACHED_DATABASE_IDLE_MILLIS, name -> getDB(name, true));
+    private final Lock[] writeLocks = Stream.generate(ReentrantLock::new).limit(WRITE_LOCK_STRIPES)
+            .toArray(Lock[]::new);
     private boolean active = false;
 
     public static Path getDatabasePath(String name) {
@@ -148,6 +163,71 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return DATABASE_POOL;
     }
 
+    /**
+     * Reads data from an open database.
+     */
+    @FunctionalInterface
+    public interface DatabaseReader<T> {
+        T read(RrdDb db) throws IOException;
+    }
+
+    /**
+     * Reads from a database.
+     *
+     * The database is opened read-only and memory mapped, outside of the pool, so readers neither wait for the writer
+     * nor for each other. A read that runs while the writer stores a sample may see the sample in some archives
+     * but not yet in others.
+     *
+     * @param name the name of the database
+     * @param reader reads the data from the database, which must not be closed by the reader
+     * @return the result of the reader, or null if there is no database with this name
+     * @throws IOException if the database could not be opened or read
+     */
+    public static <T> @Nullable T readDB(String name, DatabaseReader<T> reader) throws IOException {
+        Path path = getDatabasePath(name);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        Builder builder = RrdDb.getBuilder();
+        builder.setPath(path.toString());
+        builder.setReadOnly(true);
+        builder.setBackendFactory(READ_BACKEND_FACTORY);
+        try (RrdDb db = builder.build()) {
+            return reader.read(db);
+        }
+    }
+
+    /**
+     * Determines the resolution for fetching data from a database.
+     *
+     * Returns the step of the coarsest archive that covers the requested time range and still provides at least the
+     * requested number of points. If no archive provides enough points, 1 is returned, which makes rrd4j use the finest
+     * archive covering the time range.
+     *
+     * @param db the database to fetch from
+     * @param start the start of the time range in seconds
+     * @param end the end of the time range in seconds
+     * @param points the minimum number of points
+     * @return the resolution in seconds
+     * @throws IOException if the database definition could not be read
+     */
+    public static long getFetchResolution(RrdDb db, long start, long end, int points) throws IOException {
+        RrdDef rrdDef = db.getRrdDef();
+        ArcDef[] arcDefs = rrdDef.getArcDefs();
+        ConsolFun function = arcDefs[0].getConsolFun();
+        long lastUpdate = db.getLastUpdateTime();
+        long resolution = 1;
+        for (ArcDef arcDef : arcDefs) {
+            long step = rrdDef.getStep() * arcDef.getSteps();
+            boolean coversRange = lastUpdate - step * arcDef.getRows() <= start;
+            boolean enoughPoints = (end - start) / step >= points;
+            if (arcDef.getConsolFun() == function && coversRange && enoughPoints && step > resolution) {
+                resolution = step;
+            }
+        }
+        return resolution;
+    }
+
     private final ScheduledFuture<?> storeJob;
 
     @Activate
@@ -273,6 +353,7 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
         // make sure we really store everything
         doStore(true);
+        handleCache.clear();
     }
 
     @Override
@@ -340,30 +421,50 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private void doStore(boolean force) {
         long now = System.currentTimeMillis() / 1000;
+        // collect all samples that are due, so that each database is only opened once per pass
+        Map<String, List<Map.Entry<Long, Double>>> samples = new LinkedHashMap<>();
         while (!storageMap.isEmpty()) {
             Key key = storageMap.firstKey();
             if (now > key.timestamp || force) {
                 // no new elements can be added for this timestamp because we are already past that time or the service
                 // requires forced storing
                 Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
+                samples.computeIfAbsent(key.name, k -> new ArrayList<>()).add(Map.entry(key.timestamp, value));
             } else {
-                return;
+                break;
             }
         }
+        samples.forEach(this::writePointsToDatabase);
+        handleCache.evictIdle();
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
-        RrdDb db = null;
+    private void writePointsToDatabase(String name, List<Map.Entry<Long, Double>> points) {
+        Lock lock = writeLocks[Math.floorMod(name.hashCode(), writeLocks.length)];
+        lock.lock();
         try {
-            db = getDB(name, true);
-        } catch (Exception e) {
-            logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
-        }
-        if (db == null) {
-            return;
+            RrdDb db = null;
+            try {
+                db = handleCache.acquire(name);
+            } catch (Exception e) {
+                logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+            }
+            if (db == null) {
+                return;
+            }
+            for (Map.Entry<Long, Double> point : points) {
+                writePointToDatabase(db, name, point.getValue(), point.getKey());
+            }
+            try {
+                db.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
+    private void writePointToDatabase(RrdDb db, String name, double value, long timestamp) {
         ConsolFun function = getConsolidationFunction(db);
         if (function != ConsolFun.AVERAGE) {
             try {
@@ -400,11 +501,6 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
-        try {
-            db.close();
-        } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
-        }
     }
 
     @Override
@@ -427,18 +523,6 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
         logger.trace("Querying rrd4j database for item '{}'", itemName);
 
-        RrdDb db = null;
-        try {
-            db = getDB(itemName, false);
-        } catch (Exception e) {
-            logger.warn("Failed to open rrd4j database '{}' for querying ({})", itemName, e.toString());
-            return List.of();
-        }
-        if (db == null) {
-            logger.debug("Could not find item '{}' in rrd4j database", itemName);
-            return List.of();
-        }
-
         Item item = null;
         Unit<?> unit = null;
         try {
@@ -452,88 +536,93 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             logger.debug("Could not find item '{}' in registry", itemName);
         }
 
+        DoubleFunction<State> toState = toStateMapper(item, unit);
+
+        try {
+            List<HistoricItem> items = readDB(itemName, db -> query(db, filter, itemName, toState));
+            if (items == null) {
+                logger.debug("Could not find item '{}' in rrd4j database", itemName);
+                return List.of();
+            }
+            return items;
+        } catch (IOException e) {
+            logger.warn("Could not query rrd4j database for item '{}': {}", itemName, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private List<HistoricItem> query(RrdDb db, FilterCriteria filter, String itemName, DoubleFunction<State> toState)
+            throws IOException {
+        ZonedDateTime filterBeginDate = filter.getBeginDate();
+        ZonedDateTime filterEndDate = filter.getEndDate();
         long start = 0L;
         long end = filterEndDate == null ? System.currentTimeMillis() / 1000
                 : filterEndDate.toInstant().getEpochSecond();
 
-        DoubleFunction<State> toState = toStateMapper(item, unit);
-
-        try {
-            if (filterBeginDate == null) {
-                // as rrd goes back for years and gets more and more inaccurate, we only support descending order
-                // and a single return value if no begin date is given - this case is required specifically for the
-                // historicState() query, which we want to support
-                if (filter.getOrdering() == Ordering.DESCENDING && filter.getPageSize() == 1
-                        && filter.getPageNumber() == 0) {
-                    if (filterEndDate == null || Duration.between(filterEndDate, ZonedDateTime.now()).getSeconds() < db
-                            .getRrdDef().getStep()) {
-                        // we are asked only for the most recent value!
-                        double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
-                        if (!Double.isNaN(lastValue)) {
-                            HistoricItem rrd4jItem = new RRD4jItem(itemName, toState.apply(lastValue),
-                                    ZonedDateTime.ofInstant(Instant.ofEpochSecond(db.getLastArchiveUpdateTime()),
-                                            ZoneId.systemDefault()));
-                            return List.of(rrd4jItem);
-                        } else {
-                            return List.of();
-                        }
+        if (filterBeginDate == null) {
+            // as rrd goes back for years and gets more and more inaccurate, we only support descending order
+            // and a single return value if no begin date is given - this case is required specifically for the
+            // historicState() query, which we want to support
+            if (filter.getOrdering() == Ordering.DESCENDING && filter.getPageSize() == 1
+                    && filter.getPageNumber() == 0) {
+                if (filterEndDate == null || Duration.between(filterEndDate, ZonedDateTime.now()).getSeconds() < db
+                        .getRrdDef().getStep()) {
+                    // we are asked only for the most recent value!
+                    double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
+                    if (!Double.isNaN(lastValue)) {
+                        HistoricItem rrd4jItem = new RRD4jItem(itemName, toState.apply(lastValue),
+                                ZonedDateTime.ofInstant(Instant.ofEpochSecond(db.getLastArchiveUpdateTime()),
+                                        ZoneId.systemDefault()));
+                        return List.of(rrd4jItem);
                     } else {
-                        start = end;
+                        return List.of();
                     }
                 } else {
-                    throw new UnsupportedOperationException(
-                            "rrd4j does not allow querys without a begin date, unless order is descending and a single value is requested");
+                    start = end;
                 }
             } else {
-                start = filterBeginDate.toInstant().getEpochSecond();
-            }
-
-            // do not call method {@link RrdDb#createFetchRequest(ConsolFun, long, long, long)} if start > end to avoid
-            // an IAE to be thrown
-            if (start > end) {
-                logger.debug("Could not query rrd4j database for item '{}': start ({}) > end ({})", itemName, start,
-                        end);
-                return List.of();
+                throw new UnsupportedOperationException(
+                        "rrd4j does not allow querys without a begin date, unless order is descending and a single value is requested");
             }
+        } else {
+            start = filterBeginDate.toInstant().getEpochSecond();
+        }
 
-            FetchRequest request = db.createFetchRequest(getConsolidationFunction(db), start, end, 1);
-            FetchData result = request.fetchData();
+        // do not call method {@link RrdDb#createFetchRequest(ConsolFun, long, long, long)} if start > end to avoid
+        // an IAE to be thrown
+        if (start > end) {
+            logger.debug("Could not query rrd4j database for item '{}': start ({}) > end ({})", itemName, start, end);
+            return List.of();
+        }
 
-            List<HistoricItem> items = new ArrayList<>();
-            long ts = result.getFirstTimestamp();
-            ZonedDateTime zdt = ZonedDateTime.ofInstant(Instant.ofEpochSecond(ts), ZoneId.systemDefault());
-            long step = result.getRowCount() > 1 ? result.getStep() : 0;
+        FetchRequest request = db.createFetchRequest(getConsolidationFunction(db), start, end, 1);
+        FetchData result = request.fetchData();
 
-            double prevValue = Double.NaN;
-            State prevState = null;
-            for (double value : result.getValues(DATASOURCE_STATE)) {
-                if (!Double.isNaN(value) && (((ts >= start) && (ts <= end)) || (start == end))) {
-                    State state;
+        List<HistoricItem> items = new ArrayList<>();
+        long ts = result.getFirstTimestamp();
+        ZonedDateTime zdt = ZonedDateTime.ofInstant(Instant.ofEpochSecond(ts), ZoneId.systemDefault());
+        long step = result.getRowCount() > 1 ? result.getStep() : 0;
 
-                    if (prevValue == value) {
-                        state = prevState;
-                    } else {
-                        prevState = state = toState.apply(value);
-                        prevValue = value;
-                    }
+        double prevValue = Double.NaN;
+        State prevState = null;
+        for (double value : result.getValues(DATASOURCE_STATE)) {
+            if (!Double.isNaN(value) && (((ts >= start) && (ts <= end)) || (start == end))) {
+                State state;
 
-                    RRD4jItem rrd4jItem = new RRD4jItem(itemName, state, zdt);
-                    items.add(rrd4jItem);
+                if (prevValue == value) {
+                    state = prevState;
+                } else {
+                    prevState = state = toState.apply(value);
+                    prevValue = value;
                 }
-                zdt = zdt.plusSeconds(step);
-                ts += step;
-            }
-            return items;
-        } catch (IOException e) {
-            logger.warn("Could not query rrd4j database for item '{}': {}", itemName, e.getMessage());
-            return List.of();
-        } finally {
-            try {
-                db.close();
-            } catch (IOException e) {
-                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+
+                RRD4jItem rrd4jItem = new RRD4jItem(itemName, state, zdt);
+                items.add(rrd4jItem);
             }
+            zdt = zdt.plusSeconds(step);
+            ts += step;
         }
+        return items;
     }
 
     @Override
@@ -662,6 +751,13 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return SUPPORTED_TYPES.contains(ItemUtil.getMainItemType(item.getType()));
     }
 
+    /**
+     * Get the cache of open database handles used for storing values.
+     */
+    public RrdDbHandleCache getHandleCache() {
+        return handleCache;
+    }
+
     public List<String> getRrdFiles() {
         try (Stream<Path> stream = Files.list(DB_FOLDER)) {
             return stream.filter(file -> !Files.isDirectory(file) && file.toFile().getName().endsWith(".rrd"))
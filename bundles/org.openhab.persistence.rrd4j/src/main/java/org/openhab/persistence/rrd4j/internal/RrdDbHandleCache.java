@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RrdDbHandleCache} keeps the most recently used databases open.
+ *
+ * All databases are opened through the shared {@link org.rrd4j.core.RrdDbPool}, which counts the references to each
+ * file and only closes it when the last reference is released. The cache holds one such reference per hot database, so
+ * the {@link RrdDb} instances handed out by {@link #acquire(String)} are served from the pool without opening the file
+ * again. Callers must close the returned instance as before; this only releases their own reference.
+ *
+ * The least recently used database is released when more than the maximum number of databases are cached, and
+ * databases that have not been used for the idle time are released by {@link #evictIdle()}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RrdDbHandleCache {
+
+    private record Entry(RrdDb db, long lastAccess) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(RrdDbHandleCache.class);
+
+    private final int maxSize;
+    private final long idleMillis;
+    private final Function<String, @Nullable RrdDb> opener;
+    private final LinkedHashMap<String, Entry> handles = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * @param maxSize maximum number of databases kept open
+     * @param idleMillis time after which an unused database is released
+     * @param opener opens a new reference to the database with the given name, or returns null if that is not possible
+     */
+    public RrdDbHandleCache(int maxSize, long idleMillis, Function<String, @Nullable RrdDb> opener) {
+        this.maxSize = maxSize;
+        this.idleMillis = idleMillis;
+        this.opener = opener;
+    }
+
+    /**
+     * Opens a reference to a database, keeping the database open in the cache afterwards.
+     *
+     * @param name the name of the database
+     * @return the database, which must be closed by the caller, or null if it could not be opened
+     */
+    public @Nullable RrdDb acquire(String name) {
+        boolean cached;
+        synchronized (this) {
+            Entry entry = handles.get(name);
+            cached = entry != null;
+            if (entry != null) {
+                hitCount++;
+                handles.put(name, new Entry(entry.db(), System.currentTimeMillis()));
+            } else {
+                missCount++;
+            }
+        }
+
+        RrdDb db = opener.apply(name);
+        if (db == null || cached) {
+            return db;
+        }
+
+        // keep a reference of our own, so that the file stays open after the caller closed its reference
+        RrdDb cacheReference = opener.apply(name);
+        if (cacheReference != null) {
+            List<RrdDb> released = new ArrayList<>();
+            synchronized (this) {
+                Entry previous = handles.put(name, new Entry(cacheReference, System.currentTimeMillis()));
+                if (previous != null) {
+                    // another thread cached the database in the meantime
+                    released.add(previous.db());
+                }
+                Iterator<Entry> iterator = handles.values().iterator();
+                while (handles.size() > maxSize && iterator.hasNext()) {
+                    released.add(iterator.next().db());
+                    iterator.remove();
+                    evictionCount++;
+                }
+            }
+            released.forEach(this::release);
+        }
+        return db;
+    }
+
+    /**
+     * Releases all databases that have not been used for longer than the idle time.
+     */
+    public void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleMillis;
+        List<RrdDb> released = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Entry> iterator = handles.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.lastAccess() > threshold) {
+                    // entries are in access order, so all following ones are more recent
+                    break;
+                }
+                released.add(entry.db());
+                iterator.remove();
+                evictionCount++;
+            }
+        }
+        released.forEach(this::release);
+    }
+
+    /**
+     * Releases the database with the given name, e.g. before its file is deleted.
+     */
+    public void invalidate(String name) {
+        Entry entry;
+        synchronized (this) {
+            entry = handles.remove(name);
+        }
+        if (entry != null) {
+            release(entry.db());
+        }
+    }
+
+    /**
+     * Releases all cached databases.
+     */
+    public void clear() {
+        List<RrdDb> released;
+        synchronized (this) {
+            released = handles.values().stream().map(Entry::db).toList();
+            handles.clear();
+        }
+        released.forEach(this::release);
+    }
+
+    public synchronized int size() {
+        return handles.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private void release(RrdDb db) {
+        try {
+            db.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database: {}", e.getMessage());
+        }
+    }
+}
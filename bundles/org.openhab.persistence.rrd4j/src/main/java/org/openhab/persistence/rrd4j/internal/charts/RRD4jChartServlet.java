@@ -18,11 +18,17 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import javax.imageio.ImageIO;
 import javax.servlet.Servlet;
@@ -33,6 +39,7 @@ import javax.servlet.ServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
@@ -48,8 +55,7 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.http.HttpService;
 import org.osgi.service.http.NamespaceException;
 import org.rrd4j.ConsolFun;
-import org.rrd4j.core.RrdDb;
-import org.rrd4j.core.RrdDb.Builder;
+import org.rrd4j.core.FetchData;
 import org.rrd4j.graph.RrdGraph;
 import org.rrd4j.graph.RrdGraphConstants.FontTag;
 import org.rrd4j.graph.RrdGraphDef;
@@ -93,6 +99,8 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
 
     private static final Duration DEFAULT_PERIOD = Duration.ofDays(1);
 
+    private static final String FETCH_POOL_NAME = "persistence.rrd4j-chart";
+
     private static final Map<String, Duration> PERIODS = Map.ofEntries( //
             entry("h", Duration.ofHours(1)), entry("4h", Duration.ofHours(4)), //
             entry("8h", Duration.ofHours(8)), entry("12h", Duration.ofHours(12)), //
@@ -106,6 +114,7 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     private final HttpService httpService;
     private final ItemUIRegistry itemUIRegistry;
     private final TimeZoneProvider timeZoneProvider;
+    private final ExecutorService executor = ThreadPoolManager.getPool(FETCH_POOL_NAME);
 
     @Activate
     public RRD4jChartServlet(final @Reference HttpService httpService, final @Reference ItemUIRegistry itemUIRegistry,
@@ -178,33 +187,21 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
      * @param graphDef the graph definition to fill
      * @param item the item to add a line for
      * @param counter defines the number of the datasource and is used to determine the line color
+     * @param data the data of the item for the time range of the graph
      */
-    protected void addLine(RrdGraphDef graphDef, Item item, int counter) {
+    protected void addLine(RrdGraphDef graphDef, Item item, int counter, FetchData data) {
         Color color = LINECOLORS[counter % LINECOLORS.length];
         String label = itemUIRegistry.getLabel(item.getName());
-        String rrdName = RRD4jPersistenceService.getDatabasePath(item.getName()).toString();
-        ConsolFun consolFun;
         if (label != null && label.contains("[") && label.contains("]")) {
             label = label.substring(0, label.indexOf('['));
         }
-        try {
-            Builder builder = RrdDb.getBuilder();
-            builder.setPool(RRD4jPersistenceService.getDatabasePool());
-            builder.setPath(rrdName);
-
-            RrdDb db = builder.build();
-            consolFun = db.getRrdDef().getArcDefs()[0].getConsolFun();
-            db.close();
-        } catch (IOException e) {
-            consolFun = ConsolFun.MAX;
-        }
         if (item instanceof NumberItem) {
             // we only draw a line
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
+            graphDef.datasource(Integer.toString(counter), "state", data);
             graphDef.line(Integer.toString(counter), color, label, 2);
         } else {
             // we draw a line and fill the area beneath it with a transparent color
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
+            graphDef.datasource(Integer.toString(counter), "state", data);
             Color areaColor = AREACOLORS[counter % LINECOLORS.length];
 
             graphDef.area(Integer.toString(counter), areaColor);
@@ -212,6 +209,21 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         }
     }
 
+    /**
+     * Fetches the data of an item, using the coarsest archive that still provides one point per pixel.
+     */
+    private FetchData fetchData(Item item, long start, long end, int width) throws IOException {
+        FetchData data = RRD4jPersistenceService.readDB(item.getName(), db -> {
+            ConsolFun consolFun = db.getRrdDef().getArcDefs()[0].getConsolFun();
+            long resolution = RRD4jPersistenceService.getFetchResolution(db, start, end, width);
+            return db.createFetchRequest(consolFun, start, end, resolution).fetchData();
+        });
+        if (data == null) {
+            throw new IOException("No rrd4j database found for item '" + item.getName() + "'");
+        }
+        return data;
+    }
+
     @Override
     public void init(@Nullable ServletConfig config) throws ServletException {
     }
@@ -251,14 +263,13 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         graphDef.setFont(FontTag.TITLE, new Font("SansSerif", Font.PLAIN, 15));
         graphDef.setFont(FontTag.DEFAULT, new Font("SansSerif", Font.PLAIN, 11));
 
-        int seriesCounter = 0;
+        List<Item> seriesItems = new ArrayList<>();
 
         // Loop through all the items
         if (items != null) {
             String[] itemNames = items.split(",");
             for (String itemName : itemNames) {
-                Item item = itemUIRegistry.getItem(itemName);
-                addLine(graphDef, item, seriesCounter++);
+                seriesItems.add(itemUIRegistry.getItem(itemName));
             }
         }
 
@@ -268,15 +279,35 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             for (String groupName : groupNames) {
                 Item item = itemUIRegistry.getItem(groupName);
                 if (item instanceof GroupItem groupItem) {
-                    for (Item member : groupItem.getMembers()) {
-                        addLine(graphDef, member, seriesCounter++);
-                    }
+                    seriesItems.addAll(groupItem.getMembers());
                 } else {
                     throw new ItemNotFoundException("Item '" + item.getName() + "' defined in groups is not a group.");
                 }
             }
         }
 
+        // Fetch the data of all series in parallel, the graph only renders it afterwards
+        long start = startTime.toEpochSecond();
+        long end = endTime.toEpochSecond();
+        List<Future<FetchData>> futures = new ArrayList<>();
+        for (Item item : seriesItems) {
+            futures.add(executor.submit(() -> fetchData(item, start, end, width)));
+        }
+        try {
+            for (int seriesCounter = 0; seriesCounter < futures.size(); seriesCounter++) {
+                addLine(graphDef, seriesItems.get(seriesCounter), seriesCounter, futures.get(seriesCounter).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while fetching chart data"));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new UncheckedIOException("Error fetching chart data",
+                    cause instanceof IOException ioException ? ioException : new IOException(cause));
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
         // Write the chart as a PNG image
         try {
             RrdGraph graph = new RrdGraph(graphDef);
@@ -31,6 +31,7 @@ import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService;
+import org.openhab.persistence.rrd4j.internal.RrdDbHandleCache;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -47,8 +48,9 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
     private static final String CMD_LIST = "list";
     private static final String CMD_CHECK = "check";
     private static final String CMD_CLEAN = "clean";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN),
-            false);
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN, CMD_STATS), false);
 
     private final PersistenceServiceRegistry persistenceServiceRegistry;
     private final ItemRegistry itemRegistry;
@@ -81,6 +83,9 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         } else if (args.length >= 1 && args.length <= 2 && CMD_CLEAN.equalsIgnoreCase(args[0])) {
             checkAndClean(persistenceService, console, args.length == 2 ? args[1] : null, false);
             return;
+        } else if (args.length == 1 && CMD_STATS.equalsIgnoreCase(args[0])) {
+            printStatistics(persistenceService, console);
+            return;
         }
         printUsage(console);
     }
@@ -125,7 +130,10 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
                 if (checkOnly) {
                     console.println("  - " + filename + ": no item found");
                     nb++;
-                } else if (path.toFile().delete()) {
+                    continue;
+                }
+                persistenceService.getHandleCache().invalidate(name);
+                if (path.toFile().delete()) {
                     console.println("  - " + filename + ": file deleted");
                     nb++;
                 } else {
@@ -136,11 +144,21 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         console.println(nb + " files " + (checkOnly ? "to delete." : "deleted."));
     }
 
+    private void printStatistics(RRD4jPersistenceService persistenceService, Console console) {
+        RrdDbHandleCache handleCache = persistenceService.getHandleCache();
+        console.println("Open database handles:");
+        console.println(String.format("  %-20s%d/%d", "Cached", handleCache.size(), handleCache.getMaxSize()));
+        console.println(String.format("  %-20s%d", "Hits", handleCache.getHitCount()));
+        console.println(String.format("  %-20s%d", "Misses", handleCache.getMissCount()));
+        console.println(String.format("  %-20s%d", "Evictions", handleCache.getEvictionCount()));
+    }
+
     @Override
     public List<String> getUsages() {
         return List.of(buildCommandUsage(CMD_LIST, "list Round Robin Database files"),
                 buildCommandUsage(CMD_CHECK, "check for RRD files without existing item"),
-                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"));
+                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"),
+                buildCommandUsage(CMD_STATS, "show statistics of the open database handles"));
     }
 
     @Override
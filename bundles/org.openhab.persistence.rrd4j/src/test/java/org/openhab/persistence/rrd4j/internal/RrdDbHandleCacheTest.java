@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.rrd4j.core.RrdDb;
+
+/**
+ * Tests the references the {@link RrdDbHandleCache} keeps to the databases.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RrdDbHandleCacheTest {
+
+    private static final long NEVER_IDLE = Long.MAX_VALUE / 2;
+
+    private final Map<String, List<RrdDb>> opened = new HashMap<>();
+
+    private @Nullable RrdDb open(String name) {
+        if (name.startsWith("missing")) {
+            return null;
+        }
+        RrdDb db = mock(RrdDb.class);
+        opened.computeIfAbsent(name, n -> new ArrayList<>()).add(db);
+        return db;
+    }
+
+    private List<RrdDb> opened(String name) {
+        return opened.getOrDefault(name, List.of());
+    }
+
+    @Test
+    public void firstAcquireKeepsAnOwnReference() throws IOException {
+        RrdDbHandleCache cache = new RrdDbHandleCache(2, NEVER_IDLE, this::open);
+
+        RrdDb db = cache.acquire("a");
+
+        assertSame(opened("a").get(0), db);
+        assertEquals(2, opened("a").size());
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        verify(opened("a").get(1), never()).close();
+    }
+
+    @Test
+    public void cachedDatabaseOnlyOpensTheCallersReference() {
+        RrdDbHandleCache cache = new RrdDbHandleCache(2, NEVER_IDLE, this::open);
+
+        cache.acquire("a");
+        RrdDb db = cache.acquire("a");
+
+        assertSame(opened("a").get(2), db);
+        assertEquals(3, opened("a").size());
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void databaseThatCannotBeOpenedIsNotCached() {
+        RrdDbHandleCache cache = new RrdDbHandleCache(2, NEVER_IDLE, this::open);
+
+        assertNull(cache.acquire("missing"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedDatabaseIsReleasedWhenFull() throws IOException {
+        RrdDbHandleCache cache = new RrdDbHandleCache(2, NEVER_IDLE, this::open);
+
+        cache.acquire("a");
+        cache.acquire("b");
+        // makes "b" the least recently used database
+        cache.acquire("a");
+        cache.acquire("c");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        verify(opened("b").get(1)).close();
+        verify(opened("a").get(1), never()).close();
+        verify(opened("c").get(1), never()).close();
+        // the references handed out to callers are never closed by the cache
+        verify(opened("b").get(0), never()).close();
+    }
+
+    @Test
+    public void idleDatabasesAreReleased() throws IOException {
+        RrdDbHandleCache cache = new RrdDbHandleCache(2, 0, this::open);
+
+        cache.acquire("a");
+        cache.acquire("b");
+        cache.evictIdle();
+
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        verify(opened("a").get(1)).close();
+        verify(opened("b").get(1)).close();
+    }
+
+    @Test
+    public void recentlyUsedDatabasesAreNotReleasedWhenIdle() throws IOException {
+        RrdDbHandleCache cache = new RrdDbHandleCache(2, NEVER_IDLE, this::open);
+
+        cache.acquire("a");
+        cache.evictIdle();
+
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+        verify(opened("a").get(1), never()).close();
+    }
+
+    @Test
+    public void invalidateReleasesOnlyThatDatabase() throws IOException {
+        RrdDbHandleCache cache = new RrdDbHandleCache(2, NEVER_IDLE, this::open);
+
+        cache.acquire("a");
+        cache.acquire("b");
+        cache.invalidate("a");
+        cache.invalidate("unknown");
+
+        assertEquals(1, cache.size());
+        verify(opened("a").get(1)).close();
+        verify(opened("b").get(1), never()).close();
+
+        // the next acquire opens the database again
+        cache.acquire("a");
+        assertEquals(4, opened("a").size());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void clearReleasesAllDatabases() throws IOException {
+        RrdDbHandleCache cache = new RrdDbHandleCache(2, NEVER_IDLE, this::open);
+
+        cache.acquire("a");
+        cache.acquire("b");
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        verify(opened("a").get(1)).close();
+        verify(opened("b").get(1)).close();
+    }
+
+    @Test
+    public void errorClosingDatabaseIsIgnored() throws IOException {
+        RrdDbHandleCache cache = new RrdDbHandleCache(2, NEVER_IDLE, this::open);
+
+        cache.acquire("a");
+        doThrow(new IOException("closed")).when(opened("a").get(1)).close();
+
+        assertDoesNotThrow(cache::clear);
+        assertEquals(0, cache.size());
+    }
+}